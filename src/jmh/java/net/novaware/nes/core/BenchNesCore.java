@@ -0,0 +1,98 @@
+package net.novaware.nes.core;
+
+import dagger.BindsInstance;
+import dagger.Component;
+import net.novaware.nes.core.apu.Apu;
+import net.novaware.nes.core.apu.inject.ApuModule;
+import net.novaware.nes.core.board.Board;
+import net.novaware.nes.core.board.inject.BoardModule;
+import net.novaware.nes.core.board.inject.BoardScope;
+import net.novaware.nes.core.cart.Cartridge;
+import net.novaware.nes.core.clock.MasterClock;
+import net.novaware.nes.core.clock.inject.ClockModule;
+import net.novaware.nes.core.config.CoreConfig;
+import net.novaware.nes.core.config.ImmutableCoreConfig;
+import net.novaware.nes.core.config.Platform;
+import net.novaware.nes.core.config.Region;
+import net.novaware.nes.core.config.VideoStandard;
+import net.novaware.nes.core.cpu.Cpu;
+import net.novaware.nes.core.cpu.inject.CpuModule;
+import net.novaware.nes.core.cpu.inject.CpuVar;
+import net.novaware.nes.core.dma.inject.DmaModule;
+import net.novaware.nes.core.io.inject.IoModule;
+import net.novaware.nes.core.memory.MemoryBus;
+import net.novaware.nes.core.port.internal.PortModule;
+import net.novaware.nes.core.ppu.Ppu;
+import net.novaware.nes.core.ppu.RenderMode;
+import net.novaware.nes.core.ppu.inject.PpuModule;
+
+import java.net.URI;
+
+import static net.novaware.nes.core.cpu.inject.CpuVarName.BUS;
+
+/**
+ * Same graph as {@link NesCore} but with the units exposed, so benchmarks can drive them directly
+ */
+@BoardScope
+@Component(modules = {
+    DmaModule.class,
+    ApuModule.class,
+    IoModule.class,
+    PpuModule.class,
+    CpuModule.class,
+    ClockModule.class,
+    PortModule.class,
+    BoardModule.class
+})
+public abstract class BenchNesCore {
+
+    public static BenchNesCore newBenchNesCore() {
+        return newBenchNesCore(RenderMode.DOT);
+    }
+
+    public static BenchNesCore newBenchNesCore(RenderMode renderMode) {
+        return DaggerBenchNesCore.builder()
+                .coreConfig(ImmutableCoreConfig.builder()
+                        .setRecordCpuBus(false)
+                        .setRegion(Region.USA)
+                        .setPlatform(Platform.NES_FAMICOM)
+                        .setVideoStandard(VideoStandard.NTSC)
+                        .setRenderMode(renderMode)
+                        .build())
+                .build();
+    }
+
+    public abstract CoreConfig getCoreConfig();
+
+    public abstract Board getBoard();
+
+    public abstract Cpu getCpu();
+
+    public abstract Ppu getPpu();
+
+    public abstract Apu getApu();
+
+    @CpuVar(BUS)
+    public abstract MemoryBus getCpuBus();
+
+    public abstract MasterClock getMasterClock();
+
+    /**
+     * Connects the cartridge and brings the board out of reset without starting the clock thread
+     */
+    public void powerOnWith(URI rom) {
+        Cartridge cartridge = NesCore.newNesCore(getCoreConfig()).newCartridge(rom);
+        getBoard().getCartridgePort().connect(cartridge);
+
+        getBoard().powerOnHeadless();
+    }
+
+    @Component.Builder
+    public static abstract class Builder {
+
+        @BindsInstance
+        public abstract Builder coreConfig(CoreConfig config);
+
+        public abstract BenchNesCore build();
+    }
+}
@@ -0,0 +1,110 @@
+package net.novaware.nes.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Synthetic NROM-128 image used by the benchmarks, so no external ROM is needed.
+ * <br>
+ * Program (at $8000, mirrored at $C000):
+ * <pre>
+ * reset: SEI
+ *        CLD
+ *        LDX #$FF
+ *        TXS
+ * loop:  LDA #$1E      ; keep background and sprites on
+ *        STA $2001
+ *        LDX #$00
+ * inner: LDA $00,X
+ *        ADC #$01
+ *        STA $0200,X
+ *        INX
+ *        BNE inner
+ *        INC $10
+ *        LDY $10
+ *        JMP loop
+ * irq:   RTI
+ * </pre>
+ */
+public final class BenchRom {
+
+    public static final int HEADER_SIZE = 16;
+    public static final int PRG_SIZE = 16 * 1024;
+    public static final int CHR_SIZE = 8 * 1024;
+
+    private static final int[] PROGRAM = {
+        0x78,             // SEI
+        0xD8,             // CLD
+        0xA2, 0xFF,       // LDX #$FF
+        0x9A,             // TXS
+        0xA9, 0x1E,       // LDA #$1E
+        0x8D, 0x01, 0x20, // STA $2001
+        0xA2, 0x00,       // LDX #$00
+        0xB5, 0x00,       // LDA $00,X
+        0x69, 0x01,       // ADC #$01
+        0x9D, 0x00, 0x02, // STA $0200,X
+        0xE8,             // INX
+        0xD0, 0xF6,       // BNE inner
+        0xE6, 0x10,       // INC $10
+        0xA4, 0x10,       // LDY $10
+        0x4C, 0x05, 0x80, // JMP loop
+        0x40              // RTI
+    };
+
+    private static final int IRQ_HANDLER = 0x8000 + PROGRAM.length - 1;
+
+    private BenchRom() {
+    }
+
+    public static byte[] image() {
+        byte[] image = new byte[HEADER_SIZE + PRG_SIZE + CHR_SIZE];
+
+        image[0] = 'N';
+        image[1] = 'E';
+        image[2] = 'S';
+        image[3] = 0x1A;
+        image[4] = 1; // PRG-ROM in 16KB units
+        image[5] = 1; // CHR-ROM in 8KB units
+        image[6] = 0b0001; // vertical mirroring, mapper 0
+
+        final int prg = HEADER_SIZE;
+        for (int i = 0; i < PROGRAM.length; i++) {
+            image[prg + i] = (byte) PROGRAM[i];
+        }
+
+        putVector(image, prg + 0x3FFA, IRQ_HANDLER); // NMI
+        putVector(image, prg + 0x3FFC, 0x8000);      // RES
+        putVector(image, prg + 0x3FFE, IRQ_HANDLER); // IRQ
+
+        final int chr = HEADER_SIZE + PRG_SIZE;
+        for (int i = 0; i < CHR_SIZE; i++) {
+            image[chr + i] = (byte) (i * 37); // non trivial patterns
+        }
+
+        return image;
+    }
+
+    private static void putVector(byte[] image, int offset, int address) {
+        image[offset] = (byte) (address & 0xFF);
+        image[offset + 1] = (byte) ((address >> 8) & 0xFF);
+    }
+
+    /**
+     * @return file uri of the image written into a temp file (deleted on exit)
+     */
+    public static URI write() {
+        try {
+            Path file = Files.createTempFile("bench", ".nes");
+            file.toFile().deleteOnExit();
+
+            Files.write(file, image());
+
+            return file.toUri();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package net.novaware.nes.core.clock;
+
+import net.novaware.nes.core.BenchNesCore;
+import net.novaware.nes.core.BenchRom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * frames / sec of {@link MasterClock#runFrame()} end to end (CPU, PPU, APU, DMA and video encoder)
+ * with an NROM cartridge, without the real time spin wait
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MasterClockBenchmark {
+
+    private MasterClock masterClock;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchNesCore core = BenchNesCore.newBenchNesCore();
+        core.powerOnWith(BenchRom.write());
+
+        masterClock = core.getMasterClock();
+        masterClock.reset();
+    }
+
+    @Benchmark
+    public int runFrame() {
+        masterClock.calculateFrameBudget();
+        masterClock.runFrame();
+
+        return masterClock.frameCounter.getValue();
+    }
+}
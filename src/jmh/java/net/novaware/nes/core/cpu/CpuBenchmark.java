@@ -0,0 +1,44 @@
+package net.novaware.nes.core.cpu;
+
+import net.novaware.nes.core.BenchNesCore;
+import net.novaware.nes.core.BenchRom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ns / instruction of {@link Cpu#advance()} over the {@link BenchRom} instruction mix (no PPU stepping)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CpuBenchmark {
+
+    private Cpu cpu;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchNesCore core = BenchNesCore.newBenchNesCore();
+        core.powerOnWith(BenchRom.write());
+
+        cpu = core.getCpu();
+    }
+
+    @Benchmark
+    public int advance() {
+        return cpu.advance();
+    }
+}
@@ -0,0 +1,91 @@
+package net.novaware.nes.core.cpu.memory;
+
+import net.novaware.nes.core.BenchNesCore;
+import net.novaware.nes.core.BenchRom;
+import net.novaware.nes.core.memory.MemoryBus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.novaware.nes.core.util.UTypes.ubyte;
+import static net.novaware.nes.core.util.UTypes.ushort;
+
+/**
+ * ns / round trip of {@code access().read().data()} through the internal and cartridge {@code PagedMemory}
+ * <br>
+ * To check the page dispatch gets inlined:
+ * {@code -Djmh.args="CpuBusBenchmark -f 1 -jvmArgsAppend -XX:+UnlockDiagnosticVMOptions -jvmArgsAppend -XX:+PrintInlining"}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CpuBusBenchmark {
+
+    public enum Region {
+        RAM  (0x0000, 0x07FF),
+        WRAM (0x6000, 0x7FFF),
+        ROM  (0x8000, 0xFFFF),
+        ;
+        final int start;
+        final int mask;
+
+        Region(int start, int end) {
+            this.start = start;
+            this.mask = end - start;
+        }
+    }
+
+    private static final Region[] REGIONS = Region.values();
+
+    @Param({"RAM", "WRAM", "ROM"})
+    public Region region;
+
+    private MemoryBus cpuBus;
+    private int offset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchNesCore core = BenchNesCore.newBenchNesCore();
+        core.powerOnWith(BenchRom.write());
+
+        cpuBus = core.getCpuBus();
+        offset = 0;
+    }
+
+    @Benchmark
+    public int read() {
+        offset = (offset + 1) & region.mask;
+        return cpuBus.access(ushort(region.start + offset)).read().data();
+    }
+
+    /**
+     * Rotates over all regions, so the page call sites see every device kind
+     */
+    @Benchmark
+    public int readMixed() {
+        offset = (offset + 1) & 0x7FF;
+
+        Region mixed = REGIONS[offset % REGIONS.length];
+        return cpuBus.access(ushort(mixed.start + (offset & mixed.mask))).read().data();
+    }
+
+    @Benchmark
+    public void write() {
+        offset = (offset + 1) & region.mask;
+        cpuBus.access(ushort(region.start + offset)).write().data(ubyte(offset));
+    }
+}
@@ -0,0 +1,67 @@
+package net.novaware.nes.core.ppu;
+
+import net.novaware.nes.core.BenchNesCore;
+import net.novaware.nes.core.BenchRom;
+import net.novaware.nes.core.memory.MemoryBus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.novaware.nes.core.cpu.memory.CpuMemMap.PPU_MASK_REGISTER;
+import static net.novaware.nes.core.util.UTypes.ubyte;
+
+/**
+ * frames / sec of {@link Ppu#cycle(int)} over a full frame (no CPU), the whole frame is allowed at once
+ * so {@link RenderMode#SCANLINE} renders visible lines in one call
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PpuBenchmark {
+
+    @Param({"true", "false"})
+    public boolean rendering;
+
+    @Param({"DOT", "SCANLINE"})
+    public RenderMode renderMode;
+
+    private Ppu ppu;
+    private int dotsPerFrame;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchNesCore core = BenchNesCore.newBenchNesCore(renderMode);
+        core.powerOnWith(BenchRom.write());
+
+        ppu = core.getPpu();
+        dotsPerFrame = core.getCoreConfig().getVideoStandard().getPpuCyclesPerFrame();
+
+        frame(); // get past reset lock, mask writes are ignored until first pre-render line
+
+        MemoryBus cpuBus = core.getCpuBus();
+        cpuBus.access(PPU_MASK_REGISTER).write().data(ubyte(rendering ? 0x1E : 0x00));
+    }
+
+    @Benchmark
+    public int frame() {
+        int spent = 0;
+        while (spent < dotsPerFrame) {
+            spent += ppu.cycle(dotsPerFrame - spent);
+        }
+        return spent;
+    }
+}
@@ -1,43 +1,67 @@
 package net.novaware.nes.core.apu.memory;
 
+import dagger.Lazy;
 import jakarta.inject.Inject;
 import net.novaware.nes.core.board.inject.BoardScope;
+import net.novaware.nes.core.dma.DmcDma;
 import net.novaware.nes.core.memory.DataBus;
 import net.novaware.nes.core.memory.MemoryDevice;
+import net.novaware.nes.core.memory.OpenLine;
 import net.novaware.nes.core.util.Hex;
 import net.novaware.nes.core.util.Nameable;
+import net.novaware.nes.core.util.uml.Used;
 import org.checkerframework.checker.signedness.qual.Unsigned;
 
 import static net.novaware.nes.core.cpu.memory.CpuMemMap.APU_STATUS_REGISTER;
+import static net.novaware.nes.core.util.UTypes.sint;
+import static net.novaware.nes.core.util.UTypes.ubyte;
 
 @BoardScope
 public class ApuMemDevice implements MemoryDevice.ReadWrite, Nameable {
 
     // NOTE: we need 3 devices: Channel registers, Status register and Frame Counter
 
-    @Inject
-    public ApuMemDevice() {
+    private static final int DMC_ACTIVE = 0x10;
+    private static final int OPEN_BUS = 0x20;
+
+    @Used
+    private final Lazy<DmcDma> dmcDma; // reads through the cpu bus, lazy injected to prevent a dependency cycle
 
+    private DataBus.Line dataLine = new OpenLine();
+
+    @Inject
+    public ApuMemDevice(
+        Lazy<DmcDma> dmcDma
+    ) {
+        this.dmcDma = dmcDma;
     }
 
     @Override
-    public void onRead() {
+    public void onRead() { // TODO: other channels, frame and dmc irq flags
+        int status = sint(dataLine.data()) & OPEN_BUS;
 
+        if (dmcDma.get().isActive()) {
+            status |= DMC_ACTIVE;
+        }
+
+        dataLine.data(ubyte(status));
     }
 
     @Override
-    public void onWrite() {
+    public void onWrite() { // TODO: other channels
+        int data = sint(dataLine.data());
 
+        dmcDma.get().setEnabled((data & DMC_ACTIVE) != 0);
     }
 
     @Override
     public void onAttach(DataBus.Line dataLine) {
-
+        this.dataLine = dataLine;
     }
 
     @Override
     public void onDetach() {
-
+        this.dataLine = new OpenLine();
     }
 
     @Override
@@ -68,6 +68,18 @@ public class ApuRegFile extends RegisterFile {
         addressRegisters = List.of();
     }
 
+    public ByteRegister getDmcFreq() {
+        return dmcFreq;
+    }
+
+    public ByteRegister getDmcStart() {
+        return dmcStart;
+    }
+
+    public ByteRegister getDmcLength() {
+        return dmcLength;
+    }
+
     public ByteRegister[] getCpuRegisters() {
         return new ByteRegister[]{
                 sq1Vol, sq1Sweep, sq1Lo, sq1Hi,
@@ -4,6 +4,7 @@ import jakarta.inject.Inject;
 import net.novaware.nes.core.apu.Apu;
 import net.novaware.nes.core.board.inject.BoardScope;
 import net.novaware.nes.core.clock.ClockGenerator;
+import net.novaware.nes.core.clock.RunStats;
 import net.novaware.nes.core.config.Platform;
 import net.novaware.nes.core.config.Region;
 import net.novaware.nes.core.config.VideoStandard;
@@ -21,6 +22,8 @@ import net.novaware.nes.core.ppu.Ppu;
 import net.novaware.nes.core.util.uml.Owned;
 import net.novaware.nes.core.video.VideoEncoder;
 
+import java.util.function.BooleanSupplier;
+
 // TODO: thread safety! Make this an interface which has 2 implementations:
 //       - business logic, which assumes execution within single thread
 //       - thread separation logic, where call from separate thread get submitted to executor
@@ -104,7 +107,28 @@ public class Board {
         start();
     }
 
+    /**
+     * Power on without starting the clock thread, see {@link #runUnthrottled(int, BooleanSupplier)}
+     */
+    public void powerOnHeadless() {
+        initialize();
+        reset();
+    }
+
+    /**
+     * Runs up to maxFrames as fast as possible on the calling thread (test roms, batch jobs)
+     */
+    public RunStats runUnthrottled(int maxFrames, BooleanSupplier stopCondition) {
+        return clockGenerator.runUnthrottled(maxFrames, stopCondition);
+    }
+
     private void start() {
+        reset();
+
+        clockGenerator.start();
+    }
+
+    private void reset() {
         cpu.res(Signal.LOW); // TODO: refactor into single method?
         ppu.rst(Signal.LOW);
 
@@ -114,8 +138,6 @@ public class Board {
 
         cpu.res(Signal.HIGH);
         ppu.rst(Signal.HIGH);
-
-        clockGenerator.start();
     }
 
     public void powerOff() {
@@ -1,13 +1,16 @@
 package net.novaware.nes.core.cart;
 
 import net.novaware.nes.core.cart.internal.CartridgeImpl;
+import net.novaware.nes.core.clock.ClockSync;
+import net.novaware.nes.core.clock.PpuTimeline;
 import net.novaware.nes.core.config.Platform;
 import net.novaware.nes.core.config.Region;
 import net.novaware.nes.core.config.VideoStandard;
-import net.novaware.nes.core.cpu.signal.internal.Detector;
 import net.novaware.nes.core.file.NesFile;
+import net.novaware.nes.core.mapper.A12Mode;
 import net.novaware.nes.core.memory.BankedMemory;
 import net.novaware.nes.core.memory.MemoryDevice;
+import net.novaware.nes.core.pin.Pin;
 import net.novaware.nes.core.port.CartridgePort;
 
 /**
@@ -33,8 +36,17 @@ public interface Cartridge {
     /**
      * ___
      * IRQ (to CPU)
+     *
+     * @param irq active low, shared with other IRQ sources
+     * @param timeline lets IRQ sources predict when they fire instead of watching PPU
+     * @param a12Mode call before {@link #getPpuBusDevice(BankedMemory)}, watching changes the returned device
      */
-    void setIrqDetector(Detector irqDetector); // TODO: consider moving from internal and change the name?
+    void connectIrq(Pin irq, PpuTimeline timeline, A12Mode a12Mode);
+
+    /**
+     * Mapper register writes sync lagging components before switching banks
+     */
+    default void setClockSync(ClockSync clockSync) {}
 
     /**
      * @param ppuVideoMemory CIRAM A10, /CE
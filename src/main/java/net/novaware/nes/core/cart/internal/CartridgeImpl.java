@@ -1,20 +1,23 @@
 package net.novaware.nes.core.cart.internal;
 
 import net.novaware.nes.core.cart.Cartridge;
+import net.novaware.nes.core.clock.ClockSync;
+import net.novaware.nes.core.clock.PpuTimeline;
 import net.novaware.nes.core.config.Platform;
 import net.novaware.nes.core.config.Region;
 import net.novaware.nes.core.config.VideoStandard;
 import net.novaware.nes.core.cpu.memory.CpuMemMap;
-import net.novaware.nes.core.cpu.signal.internal.Detector;
 import net.novaware.nes.core.file.NesFile;
 import net.novaware.nes.core.file.NesMeta;
+import net.novaware.nes.core.mapper.A12Mode;
 import net.novaware.nes.core.mapper.Mapper;
-import net.novaware.nes.core.mapper.NROM;
+import net.novaware.nes.core.mapper.Mirroring;
 import net.novaware.nes.core.memory.BankedMemory;
 import net.novaware.nes.core.memory.MemoryDevice;
 import net.novaware.nes.core.memory.PagedMemory;
 import net.novaware.nes.core.memory.PhysicalMemory;
 import net.novaware.nes.core.memory.ReservedMemory;
+import net.novaware.nes.core.pin.Pin;
 import net.novaware.nes.core.ppu.memory.PpuMemMap;
 import net.novaware.nes.core.util.Quantity;
 import net.novaware.nes.core.util.UByteSupplier;
@@ -30,7 +33,6 @@ import static net.novaware.nes.core.ppu.memory.PpuMemMap.UNUSED_END;
 import static net.novaware.nes.core.ppu.memory.PpuMemMap.UNUSED_START;
 import static net.novaware.nes.core.util.Asserts.assertArgument;
 import static net.novaware.nes.core.util.Asserts.assertNonNull;
-import static net.novaware.nes.core.util.Quantity.Unit.BANK_16KB;
 import static net.novaware.nes.core.util.Quantity.Unit.BANK_1KB;
 import static net.novaware.nes.core.util.Quantity.Unit.BANK_8KB;
 import static net.novaware.nes.core.util.UTypes.UBYTE_MAX_VALUE;
@@ -42,8 +44,7 @@ public class CartridgeImpl implements Cartridge {
 
     private final NesFile nesFile;
 
-    // TODO: mapper is a MemoryDevice listening on some / all address ranges and reconfiguring banks, etc?
-    private Mapper mapper;
+    private final Mapper mapper;
 
     private final MemoryDevice.ReadWrite emptyDevice = new MemoryDevice.Empty();
 
@@ -59,25 +60,20 @@ public class CartridgeImpl implements Cartridge {
 
         UByteSupplier filler = () -> UBYTE_MAX_VALUE;  // TODO: maybe it should configurable same as internal V/RAM?
 
-        assertArgument(nesFile.meta().mapper() == 0, "only mapper 0 supported for now");
         assertArgument(meta.system() == NesMeta.System.NES, "only NES is supported");
         assertArgument(meta.videoStandard() == NTSC || meta.videoStandard() == NTSC_DUAL, "only NTSC supported");
 
         ByteBuffer program = nesFile.data().program();
 
-        Quantity programDataQuantity = nesFile.meta().programData();
-        this.mapper = new NROM(programDataQuantity.amount());
+        this.mapper = Mapper.of(meta);
 
-        BankedMemory programData = new BankedMemory("PRG-ROM", ushort(0x8000), new Quantity(1, BANK_16KB))
-            .setVirtualBanks(new Quantity(2, BANK_16KB))
-            .setPhysicalBanks(programDataQuantity);
+        // finest granularity of supported mappers, so switching any window only swaps bank refs
+        BankedMemory programData = new BankedMemory("PRG-ROM", ushort(0x8000), new Quantity(1, BANK_8KB))
+            .setVirtualBanks(new Quantity(4, BANK_8KB))
+            .setPhysicalBanks(new Quantity(meta.programData().toBytes() / (8 * 1024), BANK_8KB));
 
         programData.preloadPhysicalBanks(program);
 
-        programData.mapVirtualToPhysical(0, 0);
-        programData.mapVirtualToPhysical(1, programDataQuantity.amount() == 1 ? 0 : 1);
-        cpuBusDevice.attach(programData);
-
         // TODO: all addresses should come from memory map and update segment registers
         switch (meta.programMemory().kind()) {
             case VOLATILE -> {
@@ -95,13 +91,31 @@ public class CartridgeImpl implements Cartridge {
             case UNKNOWN -> throw new IllegalStateException("program memory kind should be known at this point");
         }
 
+        final BankedMemory videoData;
+
         if (meta.videoData().size().amount() > 0) {
-            BankedMemory videoData = new BankedMemory("CHR-ROM", ushort(0x0000), new Quantity(1, BANK_8KB))
-                    .setVirtualBanks(new Quantity(1, BANK_8KB))
-                    .setPhysicalBanks(meta.videoData().size());
+            videoData = new BankedMemory("CHR-ROM", ushort(0x0000), new Quantity(1, BANK_1KB))
+                    .setVirtualBanks(new Quantity(8, BANK_1KB))
+                    .setPhysicalBanks(new Quantity(meta.videoData().size().toBytes() / 1024, BANK_1KB));
 
             videoData.preloadPhysicalBanks(nesFile.data().video());
-            videoData.mapVirtualToPhysical(0, 0);
+        } else {
+            int videoMemoryBytes = meta.videoMemory().toBytes() > 0 ? meta.videoMemory().toBytes() : 8 * 1024;
+
+            videoData = new BankedMemory("CHR-RAM", ushort(0x0000), new Quantity(1, BANK_1KB))
+                    .setVirtualBanks(new Quantity(8, BANK_1KB))
+                    .setPhysicalBanks(new Quantity(videoMemoryBytes / 1024, BANK_1KB))
+                    .allocatePhysicalBanks(filler);
+        }
+
+        mapper.connect(programData, videoData);
+
+        cpuBusDevice.attachReads(programData);
+        cpuBusDevice.attach(mapper);
+
+        if (meta.videoData().size().amount() > 0) {
+            ppuBusDevice.attachReads(videoData);
+        } else {
             ppuBusDevice.attach(videoData);
         }
 
@@ -145,7 +159,14 @@ public class CartridgeImpl implements Cartridge {
     }
 
     @Override
-    public void setIrqDetector(Detector irqDetector) {}
+    public void connectIrq(Pin irq, PpuTimeline timeline, A12Mode a12Mode) {
+        mapper.connectIrq(irq, timeline, a12Mode);
+    }
+
+    @Override
+    public void setClockSync(ClockSync clockSync) {
+        mapper.setClockSync(clockSync);
+    }
 
     @Override
     public MemoryDevice.ReadWrite getPpuBusDevice(
@@ -155,7 +176,7 @@ public class CartridgeImpl implements Cartridge {
 
         configurePpuVideoMemory();
 
-        return ppuBusDevice;
+        return mapper.isWatchingPpu() ? new PpuBusWatcher(ppuBusDevice, mapper) : ppuBusDevice;
     }
 
     private void configurePpuVideoMemory() {
@@ -164,18 +185,7 @@ public class CartridgeImpl implements Cartridge {
         ppuVideoMemory
             .setVirtualBanks(new Quantity(4, BANK_1KB));
 
-        switch(nesFile.meta().videoData().layout()) {
-            case STANDARD_VERTICAL, ALTERNATIVE_VERTICAL -> ppuVideoMemory
-                .mapVirtualToPhysical(0, 0)
-                .mapVirtualToPhysical(1, 0)
-                .mapVirtualToPhysical(2, 1)
-                .mapVirtualToPhysical(3, 1);
-            case STANDARD_HORIZONTAL, ALTERNATIVE_HORIZONTAL -> ppuVideoMemory
-                .mapVirtualToPhysical(0, 0)
-                .mapVirtualToPhysical(1, 1)
-                .mapVirtualToPhysical(2, 0)
-                .mapVirtualToPhysical(3, 1);
-        }
+        mapper.connectNameTables(ppuVideoMemory, Mirroring.of(nesFile.meta().videoData().layout().mirroring()));
 
         ppuBusDevice.attach(ppuVideoMemory);
     }
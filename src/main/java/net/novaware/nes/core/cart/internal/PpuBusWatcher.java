@@ -0,0 +1,69 @@
+package net.novaware.nes.core.cart.internal;
+
+import net.novaware.nes.core.mapper.Mapper;
+import net.novaware.nes.core.memory.DataBus;
+import net.novaware.nes.core.memory.MemoryDevice;
+import org.checkerframework.checker.signedness.qual.Unsigned;
+
+import static net.novaware.nes.core.util.UTypes.sint;
+
+/**
+ * Shows every PPU address to the mapper before passing it on, used in {@link net.novaware.nes.core.mapper.A12Mode#WATCHED}.
+ * Not a paged memory, so the bus leaves the pattern cache unmapped.
+ */
+final class PpuBusWatcher implements MemoryDevice.ReadWrite {
+
+    private final MemoryDevice.ReadWrite device;
+    private final Mapper mapper;
+
+    PpuBusWatcher(MemoryDevice.ReadWrite device, Mapper mapper) {
+        this.device = device;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public @Unsigned short getStartAddress() {
+        return device.getStartAddress();
+    }
+
+    @Override
+    public @Unsigned short getEndAddress() {
+        return device.getEndAddress();
+    }
+
+    @Override
+    public void probe(@Unsigned short address, DataBus.Line dataLine) {
+        device.probe(address, dataLine);
+    }
+
+    @Override
+    public void onAccess(@Unsigned short address) {
+        mapper.onPpuAccess(sint(address));
+        device.onAccess(address);
+    }
+
+    @Override
+    public void onRead() {
+        device.onRead();
+    }
+
+    @Override
+    public void onWrite() {
+        device.onWrite();
+    }
+
+    @Override
+    public void onAttach(DataBus.Line dataLine) {
+        device.onAttach(dataLine);
+    }
+
+    @Override
+    public void onDetach() {
+        device.onDetach();
+    }
+
+    @Override
+    public String toString() {
+        return "A12(" + device + ")";
+    }
+}
@@ -0,0 +1,5 @@
+package net.novaware.nes.core.clock;
+
+public interface ClockConfig {
+    SyncMode getSyncMode();
+}
@@ -0,0 +1,46 @@
+package net.novaware.nes.core.clock;
+
+import net.novaware.nes.core.util.Nameable;
+
+/**
+ * Future hardware event (vblank, irq, dma completion etc.) dispatched by the {@link Scheduler}.
+ * Owners create the event once and reschedule it, so scheduling doesn't allocate.
+ */
+public final class ClockEvent implements Nameable {
+
+    static final int NOT_SCHEDULED = -1;
+
+    private final String name;
+    private final Runnable action;
+
+    long timestamp; // master cycles
+    long sequence;  // keeps insertion order for equal timestamps
+    int index = NOT_SCHEDULED; // position in the heap
+
+    public ClockEvent(String name, Runnable action) {
+        this.name = name;
+        this.action = action;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public boolean isScheduled() {
+        return index != NOT_SCHEDULED;
+    }
+
+    void fire() {
+        action.run();
+    }
+
+    @Override
+    public String toString() {
+        return name + "@" + timestamp;
+    }
+}
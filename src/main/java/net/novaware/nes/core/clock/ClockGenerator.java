@@ -1,5 +1,6 @@
 package net.novaware.nes.core.clock;
 
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
 public interface ClockGenerator {
@@ -7,5 +8,22 @@ public interface ClockGenerator {
     void stop();
     void forceStop();
 
+    /**
+     * Runs frames back to back on the calling thread, without real time pacing.
+     *
+     * @param maxFrames upper limit of frames to run
+     * @param stopCondition checked after every frame, stops the run when true
+     */
+    RunStats runUnthrottled(int maxFrames, BooleanSupplier stopCondition);
+
+    /**
+     * Frame skip for slow hosts and fast forward. Skipped frames keep exact timing
+     * (vblank, NMI, $2002, mapper IRQs), but produce no picture.
+     * Sprite 0 hit is not emulated, so $2002 bit 6 reads 0 on drawn and skipped frames alike.
+     *
+     * @param frameSkip frames skipped after each drawn one, 0 draws all
+     */
+    void setFrameSkip(int frameSkip);
+
     void setExceptionHandler(Consumer<Exception> exceptionHandler);
 }
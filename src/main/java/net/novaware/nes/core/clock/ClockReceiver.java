@@ -6,4 +6,14 @@ public interface ClockReceiver {
      * @return actual clock cycles consumed
      */
     int cycle();
+
+    /**
+     * Lets receivers that can batch their work consume more than one cycle at once
+     *
+     * @param maxCycles cycles the receiver is allowed to consume, at least 1
+     * @return actual clock cycles consumed
+     */
+    default int cycle(int maxCycles) {
+        return cycle();
+    }
 }
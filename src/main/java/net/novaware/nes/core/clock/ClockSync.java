@@ -0,0 +1,68 @@
+package net.novaware.nes.core.clock;
+
+import jakarta.inject.Inject;
+import net.novaware.nes.core.board.inject.BoardScope;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Lets devices observing lagging component state (e.g. PPU registers) request catch up
+ * without depending on the {@link MasterClock} directly (which would create a cycle in the graph).
+ */
+@BoardScope
+public class ClockSync {
+
+    private Runnable listener = () -> {};
+    private IntSupplier lag = () -> 0;
+
+    private final List<Runnable> observers = new ArrayList<>();
+
+    @Inject
+    public ClockSync() {
+
+    }
+
+    public void connect(Runnable listener) {
+        connect(listener, () -> 0);
+    }
+
+    /**
+     * @param lag master cycles the lagging components are behind the {@link Scheduler} time
+     */
+    public void connect(Runnable listener, IntSupplier lag) {
+        this.listener = listener;
+        this.lag = lag;
+    }
+
+    public void disconnect() {
+        this.listener = () -> {};
+        this.lag = () -> 0;
+    }
+
+    /**
+     * @param observer called after every sync, before the requesting device changes anything, in order of observing
+     */
+    public void observe(Runnable observer) {
+        observers.add(observer);
+    }
+
+    /**
+     * Bring lagging components up to the current CPU time
+     */
+    public void sync() {
+        listener.run();
+
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).run();
+        }
+    }
+
+    /**
+     * @return master cycles the lagging components are behind, negative when ahead (e.g. whole scan lines)
+     */
+    public int lag() {
+        return lag.getAsInt();
+    }
+}
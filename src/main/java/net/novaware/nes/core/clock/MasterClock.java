@@ -14,8 +14,14 @@ import org.jspecify.annotations.Nullable;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
+import static net.novaware.nes.core.config.VideoStandard.PHYSICAL_WIDTH;
+import static net.novaware.nes.core.config.VideoStandard.V_BLANK_START;
+import static net.novaware.nes.core.util.Asserts.assertArgument;
+import static net.novaware.nes.core.util.Asserts.assertState;
+
 // stats
 // predictions
 // frame time / power reserve
@@ -33,6 +39,15 @@ public class MasterClock implements ClockGenerator, Runnable { // TODO: this is
     public ClockReceiver videoEncoder;
 
     public final VideoStandard videoStandard;
+    public final SyncMode syncMode;
+
+    // master clock divisors, all scheduling below is done in whole master cycles
+    private final int cpuDivisor;
+    private final int ppuDivisor;
+    private final int apuDivisor;
+    private final int dmaDivisor;
+
+    private final Scheduler scheduler;
 
     private final ExecutorService executor;
     private @Nullable Future<?> future = null;
@@ -52,11 +67,17 @@ public class MasterClock implements ClockGenerator, Runnable { // TODO: this is
     public IntegerCounter cpuClockBudget = new IntegerCounter("CPU.CB"); // per frame
 
     public final BooleanRegister frameToggle; // TODO: maybe MasterClock should own this instead of ppu?
-    public DoubleCounter ppuClockBudget = new DoubleCounter("PPU.CB"); // per frame (even / odd)
-    public DoubleCounter ppuToCpuCycleBudget = new DoubleCounter("PPU.TODO");
+    private final BooleanRegister timingOnly;
+    private int frameSkip = 0; // frames without picture after each drawn one
+    public IntegerCounter ppuClockBudget = new IntegerCounter("PPU.CB"); // per frame (even / odd)
+    public IntegerCounter ppuLag = new IntegerCounter("PPU.LAG"); // master cycles ppu is behind cpu
+    private final ClockEvent ppuSyncEvent; // catch up only
+
+    private final IntegerCounter lineCounter;
+    private final IntegerCounter dotCounter;
 
     public IntegerCounter apuClockBudget = new IntegerCounter("APU.CB"); // per frame (every other cpu cycle)
-    public DoubleCounter apuToCpuCycleBudget = new DoubleCounter("APU.TODO");
+    public IntegerCounter apuLag = new IntegerCounter("APU.LAG"); // master cycles apu is behind cpu
 
     public IntegerCounter dmaClockBudget = new IntegerCounter("DMA.CB"); // per frame (+cpu alignment)
 
@@ -64,6 +85,11 @@ public class MasterClock implements ClockGenerator, Runnable { // TODO: this is
     public MasterClock(
         CoreConfig coreConfig, // TODO: maybe use Cart.Config or separate Clock.Config
         @PpuVar(PpuVarName.FT) BooleanRegister frameToggle,
+        @PpuVar(PpuVarName.TO) BooleanRegister timingOnly,
+        @PpuVar(PpuVarName.LC) IntegerCounter lineCounter,
+        @PpuVar(PpuVarName.DC) IntegerCounter dotCounter,
+        ClockSync clockSync,
+        Scheduler scheduler,
         @Named("CPU") ClockReceiver cpu,
         @Named("PPU") ClockReceiver ppu,
         @Named("APU") ClockReceiver apu,
@@ -72,16 +98,36 @@ public class MasterClock implements ClockGenerator, Runnable { // TODO: this is
         @Named("VE") ClockReceiver videoEncoder
     ) {
         this.videoStandard = coreConfig.getVideoStandard();
+        this.syncMode = coreConfig.getSyncMode();
+
+        this.cpuDivisor = videoStandard.getCpuDivisor();
+        this.ppuDivisor = videoStandard.getPpuDivisor();
+        this.apuDivisor = videoStandard.getApuDivisor();
+        this.dmaDivisor = videoStandard.getDmaDivisor();
 
         this.frameToggle = frameToggle;
+        this.timingOnly = timingOnly;
+        this.lineCounter = lineCounter;
+        this.dotCounter = dotCounter;
 
         this.cpu = cpu;
         this.ppu = ppu;
         this.apu = apu;
         this.dma = dma;
 
+        this.scheduler = scheduler;
         this.executor = clockExecutor;
         this.videoEncoder = videoEncoder;
+
+        @SuppressWarnings("methodref.receiver.bound") // called back only once the clock runs, after construction
+        Runnable syncPpu = this::syncPpu;
+        this.ppuSyncEvent = new ClockEvent("PPU.SYNC", syncPpu);
+
+        clockSync.connect(syncPpu, ppuLag::getValue);
+
+        if (syncMode == SyncMode.CATCH_UP) {
+            scheduler.schedule(ppuSyncEvent, scheduler.now()); // position of the ppu is known after first sync
+        }
     }
 
     long cpuTime;
@@ -91,41 +137,78 @@ public class MasterClock implements ClockGenerator, Runnable { // TODO: this is
         frameCounter.increment();
         frameBudget.decrement();
 
-        while (ppuClockBudget.getValue() >= videoStandard.getPpuDivisor()) { // TODO: calculate it correctly (double with epsilon)
+        // ppu takes it at the next pre-render line, so the skipped frame may trail this one slightly
+        timingOnly.set(frameSkip > 0 && frameCounter.getValue() % (frameSkip + 1) != 0);
+
+        // budget is a multiple of ppu divisor, so this stops exactly where the lockstep loop did
+        while (ppuClockBudget.getValue() > ppuLag.getValue()) {
             //long cpuStart = System.nanoTime(); // FIXME: nanoTime in the every instruction is verrrry slow!
             int cpuCyclesConsumed = cpu.cycle();
-            cpuClockBudget.decrementBy(cpuCyclesConsumed * videoStandard.getCpuDivisor());
             //cpuTime += System.nanoTime() - cpuStart;
 
-            double ppuCyclesBudget = (double) cpuCyclesConsumed * videoStandard.getCpuDivisor() / videoStandard.getPpuDivisor();
-            ppuToCpuCycleBudget.setValue(ppuToCpuCycleBudget.getValue() + ppuCyclesBudget);
+            int dmaCyclesConsumed = dma.cycle(); // stolen while cpu is halted, e.g. OAM DMA
 
-            //long ppuStart = System.nanoTime();
-            while (ppuToCpuCycleBudget.getValue() > 0.9) { // don't delay last cycle due to fraction inequality
-                ppuToCpuCycleBudget.decrement();
-                int ppuCyclesConsumed = ppu.cycle();
-                ppuClockBudget.decrementBy(ppuCyclesConsumed * videoStandard.getPpuDivisor());
+            do {
+                dmaClockBudget.decrementBy(dmaCyclesConsumed * dmaDivisor);
+                elapse(cpuCyclesConsumed + dmaCyclesConsumed); // fires due events
 
-                int videoEncoderCyclesConsumed = videoEncoder.cycle();
-                assert videoEncoderCyclesConsumed == ppuCyclesConsumed : "video encoder cycles problem!";
-            }
-            //ppuTime += System.nanoTime() - ppuStart;
+                cpuCyclesConsumed = 0;
+                dmaCyclesConsumed = dma.cycle(); // DMC fetches fired by the events halt the cpu right away
+            } while (dmaCyclesConsumed > 0);
+        }
 
-            double apuCyclesBudget = (double) cpuCyclesConsumed * videoStandard.getCpuDivisor() / videoStandard.getApuDivisor();
-            apuToCpuCycleBudget.setValue(apuToCpuCycleBudget.getValue() + apuCyclesBudget);
+        syncPpu(); // frame boundary, video output has to be complete
+    }
 
-            while (apuToCpuCycleBudget.getValue() > 0.9) { // don't delay last cycle due to fraction inequality
-                apuToCpuCycleBudget.decrement();
-                int apuCyclesConsumed = apu.cycle();
-                apuClockBudget.decrementBy(apuCyclesConsumed * videoStandard.getApuDivisor());
-            }
+    /**
+     * Lets PPU, APU and scheduled events follow the CPU
+     */
+    private void elapse(int cpuCycles) {
+        int cpuMasterCycles = cpuCycles * cpuDivisor;
+        cpuClockBudget.decrementBy(cpuMasterCycles);
+
+        ppuLag.incrementBy(cpuMasterCycles);
+        if (syncMode == SyncMode.LOCKSTEP) {
+            syncPpu();
+        }
+
+        apuLag.incrementBy(cpuMasterCycles);
+        while (apuLag.getValue() >= apuDivisor) {
+            int apuMasterCycles = apu.cycle() * apuDivisor;
+            apuLag.decrementBy(apuMasterCycles);
+            apuClockBudget.decrementBy(apuMasterCycles);
+        }
+
+        scheduler.advance(cpuMasterCycles);
+    }
 
-            for (int d = cpuCyclesConsumed; d > 0; d--) {
-                // TODO: or steal cycles from cpuClockBudget?
-                int dmaCyclesConsumed = dma.cycle();
-                dmaClockBudget.decrementBy(dmaCyclesConsumed * videoStandard.getDmaDivisor());
+    /**
+     * Runs the PPU until it catches up with the CPU. In {@link SyncMode#CATCH_UP} also schedules
+     * the next sync at the predicted vblank (NMI), so the CPU observes it on time.
+     */
+    void syncPpu() {
+        //long ppuStart = System.nanoTime();
+        while (ppuLag.getValue() >= ppuDivisor) { // remainder carries over, e.g. 16 / 5 on PAL
+            int ppuCycles = ppu.cycle(ppuLag.getValue() / ppuDivisor); // up to the end of the scan line
+            int ppuMasterCycles = ppuCycles * ppuDivisor;
+            ppuLag.decrementBy(ppuMasterCycles);
+            ppuClockBudget.decrementBy(ppuMasterCycles);
+
+            int videoEncoderCyclesConsumed = videoEncoder.cycle(ppuCycles);
+            assert videoEncoderCyclesConsumed == ppuCycles : "video encoder cycles problem!";
+        }
+        //ppuTime += System.nanoTime() - ppuStart;
+
+        if (syncMode == SyncMode.CATCH_UP) {
+            int position = lineCounter.getValue() * PHYSICAL_WIDTH + dotCounter.getValue();
+            int dots = V_BLANK_START * PHYSICAL_WIDTH + 1 - position;
+            if (dots < 0) {
+                dots += videoStandard.getPpuCyclesPerFrame();
             }
 
+            // one dot early covers both the skipped dot and counter post increment
+            int deadline = Math.max(1, dots - 1) * ppuDivisor;
+            scheduler.schedule(ppuSyncEvent, scheduler.now() - ppuLag.getValue() + deadline);
         }
     }
 
@@ -211,6 +294,34 @@ public class MasterClock implements ClockGenerator, Runnable { // TODO: this is
         executor.close();
     }
 
+    @Override
+    public RunStats runUnthrottled(int maxFrames, BooleanSupplier stopCondition) {
+        assertArgument(maxFrames >= 0, "maxFrames must not be negative");
+        assertState(future == null, "clock is already running on the executor");
+
+        long runStart = System.nanoTime();
+
+        int frames = 0;
+        boolean stopped = false;
+
+        while (frames < maxFrames && !stopped) {
+            calculateFrameBudget();
+            runFrame();
+            frames++;
+
+            stopped = stopCondition.getAsBoolean();
+        }
+
+        return new RunStats(frames, System.nanoTime() - runStart, stopped);
+    }
+
+    @Override
+    public void setFrameSkip(int frameSkip) {
+        assertArgument(frameSkip >= 0, "frameSkip must not be negative");
+
+        this.frameSkip = frameSkip;
+    }
+
     @Override
     public void setExceptionHandler(Consumer<Exception> exceptionHandler) {
         this.exceptionHandler = exceptionHandler;
@@ -254,6 +365,13 @@ public class MasterClock implements ClockGenerator, Runnable { // TODO: this is
         cpuClockBudget.reset();
         apuClockBudget.reset();
         dmaClockBudget.reset();
+
+        ppuLag.reset();
+        apuLag.reset();
+
+        if (syncMode == SyncMode.CATCH_UP) {
+            scheduler.schedule(ppuSyncEvent, scheduler.now());
+        }
     }
 
     void calculateSecondBudget() {
@@ -267,15 +385,12 @@ public class MasterClock implements ClockGenerator, Runnable { // TODO: this is
     }
 
     void calculateFrameBudget() {
-        double masterCycles = videoStandard.getMasterCycles();
-        int ppuCycles = (int) (ppuClockBudget.getValue()
-            + masterCycles
-            - ((videoStandard.isSkipDot() && frameToggle.get()) ? videoStandard.getPpuDivisor() : 0)
-        );
+        int masterCycles = videoStandard.getMasterCyclesPerFrame();
+        int skippedDot = (videoStandard.isSkipDot() && frameToggle.get()) ? ppuDivisor : 0;
 
-        ppuClockBudget.setValue(ppuCycles);
-        cpuClockBudget.setValue((int)(cpuClockBudget.getValue() + masterCycles));
-        apuClockBudget.setValue((int)(apuClockBudget.getValue() + masterCycles));
-        dmaClockBudget.setValue((int)(dmaClockBudget.getValue() + masterCycles));
+        ppuClockBudget.incrementBy(masterCycles - skippedDot);
+        cpuClockBudget.incrementBy(masterCycles);
+        apuClockBudget.incrementBy(masterCycles);
+        dmaClockBudget.incrementBy(masterCycles);
     }
 }
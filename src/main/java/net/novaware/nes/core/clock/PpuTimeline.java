@@ -0,0 +1,175 @@
+package net.novaware.nes.core.clock;
+
+import jakarta.inject.Inject;
+import net.novaware.nes.core.board.inject.BoardScope;
+import net.novaware.nes.core.config.CoreConfig;
+import net.novaware.nes.core.config.VideoStandard;
+import net.novaware.nes.core.ppu.inject.PpuVar;
+import net.novaware.nes.core.register.BooleanPipeline;
+import net.novaware.nes.core.register.BooleanRegister;
+import net.novaware.nes.core.register.IntegerCounter;
+import net.novaware.nes.core.register.ShortRegister;
+
+import static net.novaware.nes.core.ppu.inject.PpuVarName.CB;
+import static net.novaware.nes.core.ppu.inject.PpuVarName.CH;
+import static net.novaware.nes.core.ppu.inject.PpuVarName.CS;
+import static net.novaware.nes.core.ppu.inject.PpuVarName.DC;
+import static net.novaware.nes.core.ppu.inject.PpuVarName.FC;
+import static net.novaware.nes.core.ppu.inject.PpuVarName.LC;
+import static net.novaware.nes.core.ppu.inject.PpuVarName.RB;
+import static net.novaware.nes.core.ppu.inject.PpuVarName.RL;
+import static net.novaware.nes.core.ppu.inject.PpuVarName.RS;
+
+/**
+ * PPU position in master cycles, so devices can predict PPU driven events (e.g. mapper scanline counters)
+ * and schedule them instead of watching the PPU bus. Exact right after {@link ClockSync#sync()}.
+ * <br>
+ * Line clocks are the dots of the rendering lines (visible and pre-render) counted since power on.
+ * The skipped dot of odd frames is ignored, predictions across it are a dot late.
+ */
+@BoardScope
+public class PpuTimeline {
+
+    /**
+     * First sprite pattern fetch, A12 rises when only sprites use $1000
+     */
+    public static final int SPRITE_FETCH_DOT = 261;
+
+    /**
+     * First background prefetch for the next line, A12 rises when only background uses $1000
+     */
+    public static final int PREFETCH_DOT = 325;
+
+    public static final int NO_DOT = -1;
+
+    private final int ppuDivisor;
+    private final int lineWidth;
+    private final int frameDots;
+    private final int activeHeight;
+    private final int preRenderLine;
+
+    private final Scheduler scheduler;
+    private final ClockSync clockSync;
+
+    private final IntegerCounter frameCounter;
+    private final IntegerCounter lineCounter;
+    private final IntegerCounter dotCounter;
+
+    private final BooleanPipeline renderSprite;
+    private final BooleanPipeline renderBackground;
+    private final BooleanRegister resetLock;
+
+    private final BooleanRegister spriteSize;
+    private final ShortRegister backgroundPatternTable;
+    private final ShortRegister spritePatternTable;
+
+    @Inject
+    public PpuTimeline(
+        CoreConfig coreConfig,
+        Scheduler scheduler,
+        ClockSync clockSync,
+        @PpuVar(FC) IntegerCounter frameCounter,
+        @PpuVar(LC) IntegerCounter lineCounter,
+        @PpuVar(DC) IntegerCounter dotCounter,
+        @PpuVar(RS) BooleanPipeline renderSprite,
+        @PpuVar(RB) BooleanPipeline renderBackground,
+        @PpuVar(RL) BooleanRegister resetLock,
+        @PpuVar(CH) BooleanRegister spriteSize,
+        @PpuVar(CB) ShortRegister backgroundPatternTable,
+        @PpuVar(CS) ShortRegister spritePatternTable
+    ) {
+        VideoStandard videoStandard = coreConfig.getVideoStandard();
+
+        this.ppuDivisor = videoStandard.getPpuDivisor();
+        this.lineWidth = videoStandard.getPhysicalWidth();
+        this.frameDots = videoStandard.getPpuCyclesPerFrame();
+        this.activeHeight = videoStandard.getActiveHeight();
+        this.preRenderLine = videoStandard.getPhysicalHeight() - 1;
+
+        this.scheduler = scheduler;
+        this.clockSync = clockSync;
+
+        this.frameCounter = frameCounter;
+        this.lineCounter = lineCounter;
+        this.dotCounter = dotCounter;
+
+        this.renderSprite = renderSprite;
+        this.renderBackground = renderBackground;
+        this.resetLock = resetLock;
+
+        this.spriteSize = spriteSize;
+        this.backgroundPatternTable = backgroundPatternTable;
+        this.spritePatternTable = spritePatternTable;
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * @return true when PPU fetches from pattern tables (not force blank)
+     */
+    public boolean isRendering() {
+        return !resetLock.get() && (renderSprite.get() || renderBackground.get());
+    }
+
+    /**
+     * 8x16 sprites are assumed to come from $1000, as the unused sprite tile $FF does.
+     *
+     * @return dot where A12 rises after staying low for most of the line, {@link #NO_DOT} if it never does
+     */
+    public int getA12RiseDot() {
+        boolean spritesHigh = spriteSize.get() || (spritePatternTable.getAsInt() & 0x1000) != 0;
+        boolean backgroundHigh = (backgroundPatternTable.getAsInt() & 0x1000) != 0;
+
+        if (spritesHigh == backgroundHigh) {
+            return NO_DOT;
+        }
+
+        return spritesHigh ? SPRITE_FETCH_DOT : PREFETCH_DOT;
+    }
+
+    /**
+     * @return dots since power on
+     */
+    public long getPosition() {
+        return (long) frameCounter.getValue() * frameDots + lineCounter.getValue() * lineWidth + dotCounter.getValue();
+    }
+
+    /**
+     * @param position dots since power on, see {@link #getPosition()}
+     * @return how many times PPU executed the dot of a rendering line before the position
+     */
+    public long getLineClocks(long position, int dot) {
+        long frame = position / frameDots;
+        int inFrame = (int) (position % frameDots);
+        int line = inFrame / lineWidth;
+        boolean passed = inFrame % lineWidth > dot;
+
+        int clocks;
+        if (line < activeHeight) {
+            clocks = line + (passed ? 1 : 0);
+        } else if (line < preRenderLine) {
+            clocks = activeHeight;
+        } else {
+            clocks = activeHeight + (passed ? 1 : 0);
+        }
+
+        return frame * (activeHeight + 1) + clocks;
+    }
+
+    /**
+     * @param lineClock zero based, e.g. {@link #getLineClocks(long, int)} is the next one
+     * @return master cycle timestamp right after PPU executes the dot of the line clock
+     */
+    public long getTimestamp(long lineClock, int dot) {
+        long frame = lineClock / (activeHeight + 1);
+        int index = (int) (lineClock % (activeHeight + 1));
+        int line = index < activeHeight ? index : preRenderLine;
+
+        long target = frame * frameDots + (long) line * lineWidth + dot + 1;
+        long ppuTime = scheduler.now() - clockSync.lag();
+
+        return ppuTime + (target - getPosition()) * ppuDivisor;
+    }
+}
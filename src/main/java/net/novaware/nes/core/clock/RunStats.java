@@ -0,0 +1,19 @@
+package net.novaware.nes.core.clock;
+
+/**
+ * Outcome of an unthrottled run
+ *
+ * @param frames number of frames emulated
+ * @param duration wall time spent in nanos
+ * @param stopped true if the stop condition was met, false if the frame limit was reached
+ */
+public record RunStats(int frames, long duration, boolean stopped) {
+
+    public double getFps() {
+        return duration > 0 ? frames * 1_000_000_000d / duration : 0d;
+    }
+
+    public double getAvgFrameTime() { // ns
+        return frames > 0 ? (double) duration / frames : 0d;
+    }
+}
@@ -0,0 +1,193 @@
+package net.novaware.nes.core.clock;
+
+import jakarta.inject.Inject;
+import net.novaware.nes.core.board.inject.BoardScope;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+
+import static net.novaware.nes.core.util.Asserts.assertArgument;
+import static net.novaware.nes.core.util.Asserts.assertNonNull;
+
+/**
+ * Min-heap of {@link ClockEvent}s keyed by master cycle timestamp. {@link MasterClock} advances the time
+ * after every CPU instruction, events are fired once their timestamp is reached, in timestamp order.
+ * <br>
+ * Components schedule what they would otherwise poll for every cycle (e.g. vblank, irq, dma completion).
+ */
+@BoardScope
+public class Scheduler {
+
+    private @Nullable ClockEvent[] heap = new ClockEvent[16]; // null past size
+    private int size;
+
+    private long now; // master cycles since power on
+    private long next = Long.MAX_VALUE; // timestamp of the earliest event
+    private long sequence;
+
+    @Inject
+    public Scheduler() {
+
+    }
+
+    public long now() {
+        return now;
+    }
+
+    public long nextTimestamp() {
+        return next;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * (Re)schedules the event at absolute master cycle timestamp. Past timestamps fire on next advance.
+     */
+    public void schedule(ClockEvent event, long timestamp) {
+        if (event.isScheduled()) {
+            removeAt(event.index);
+        }
+
+        event.timestamp = timestamp;
+        event.sequence = sequence++;
+
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+
+        heap[size] = event;
+        event.index = size;
+        size++;
+
+        siftUp(event.index);
+        next = at(0).timestamp;
+    }
+
+    /**
+     * (Re)schedules the event relative to current time
+     */
+    public void scheduleIn(ClockEvent event, long masterCycles) {
+        assertArgument(masterCycles >= 0, "masterCycles must not be negative");
+
+        schedule(event, now + masterCycles);
+    }
+
+    public void cancel(ClockEvent event) {
+        if (!event.isScheduled()) {
+            return;
+        }
+
+        removeAt(event.index);
+        next = size > 0 ? at(0).timestamp : Long.MAX_VALUE;
+    }
+
+    /**
+     * Moves the time forward and fires all the events that are due
+     */
+    public void advance(int masterCycles) {
+        now += masterCycles;
+
+        if (now >= next) {
+            dispatch();
+        }
+    }
+
+    private void dispatch() {
+        while (size > 0 && at(0).timestamp <= now) {
+            ClockEvent event = at(0);
+            removeAt(0);
+            next = size > 0 ? at(0).timestamp : Long.MAX_VALUE;
+
+            event.fire(); // may schedule more events
+        }
+    }
+
+    public void reset() {
+        for (int i = 0; i < size; i++) {
+            at(i).index = ClockEvent.NOT_SCHEDULED;
+            heap[i] = null;
+        }
+
+        size = 0;
+        now = 0;
+        next = Long.MAX_VALUE;
+        sequence = 0;
+    }
+
+    private void removeAt(int index) {
+        ClockEvent removed = at(index);
+        removed.index = ClockEvent.NOT_SCHEDULED;
+
+        size--;
+        ClockEvent last = at(size);
+        heap[size] = null;
+
+        if (index == size) {
+            return;
+        }
+
+        heap[index] = last;
+        last.index = index;
+
+        siftDown(index);
+        if (last.index == index) {
+            siftUp(index);
+        }
+    }
+
+    private void siftUp(int index) {
+        ClockEvent event = at(index);
+
+        while (index > 0) {
+            int parent = (index - 1) >> 1;
+            ClockEvent parentEvent = at(parent);
+            if (!before(event, parentEvent)) {
+                break;
+            }
+
+            move(parentEvent, index);
+            index = parent;
+        }
+
+        move(event, index);
+    }
+
+    private void siftDown(int index) {
+        ClockEvent event = at(index);
+        int half = size >> 1;
+
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+
+            if (right < size && before(at(right), at(child))) {
+                child = right;
+            }
+
+            ClockEvent childEvent = at(child);
+            if (!before(childEvent, event)) {
+                break;
+            }
+
+            move(childEvent, index);
+            index = child;
+        }
+
+        move(event, index);
+    }
+
+    private ClockEvent at(int index) {
+        return assertNonNull(heap[index], "no event below size");
+    }
+
+    private void move(ClockEvent event, int index) {
+        heap[index] = event;
+        event.index = index;
+    }
+
+    private static boolean before(ClockEvent a, ClockEvent b) {
+        return a.timestamp < b.timestamp || (a.timestamp == b.timestamp && a.sequence < b.sequence);
+    }
+}
@@ -0,0 +1,17 @@
+package net.novaware.nes.core.clock;
+
+/**
+ * How {@link MasterClock} keeps the PPU in step with the CPU
+ */
+public enum SyncMode {
+    /**
+     * PPU is advanced after every CPU instruction
+     */
+    LOCKSTEP,
+
+    /**
+     * CPU runs ahead, PPU is advanced only when its state is observed:
+     * PPU register access (incl. OAM DMA), upcoming NMI and end of frame
+     */
+    CATCH_UP
+}
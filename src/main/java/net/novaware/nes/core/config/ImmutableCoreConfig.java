@@ -1,13 +1,20 @@
 package net.novaware.nes.core.config;
 
 import com.google.auto.value.AutoValue;
+import net.novaware.nes.core.clock.SyncMode;
+import net.novaware.nes.core.mapper.A12Mode;
 import net.novaware.nes.core.memory.MemoryBus;
+import net.novaware.nes.core.ppu.RenderMode;
+import org.checkerframework.checker.calledmethods.qual.CalledMethods;
 
 @AutoValue
 public abstract class ImmutableCoreConfig implements CoreConfig {
 
-    public static ImmutableCoreConfig.Builder builder() {
-        return new AutoValue_ImmutableCoreConfig.Builder();
+    public static ImmutableCoreConfig.@CalledMethods({"setSyncMode", "setRenderMode", "setA12Mode"}) Builder builder() {
+        return new AutoValue_ImmutableCoreConfig.Builder()
+                .setSyncMode(SyncMode.LOCKSTEP)
+                .setRenderMode(RenderMode.DOT)
+                .setA12Mode(A12Mode.PREDICTED);
     }
 
     abstract Builder toBuilder();
@@ -22,6 +29,12 @@ public abstract class ImmutableCoreConfig implements CoreConfig {
 
         public abstract Builder setVideoStandard(VideoStandard videoStandard);
 
+        public abstract Builder setSyncMode(SyncMode syncMode);
+
+        public abstract Builder setRenderMode(RenderMode renderMode);
+
+        public abstract Builder setA12Mode(A12Mode a12Mode);
+
         public abstract ImmutableCoreConfig build();
     }
 }
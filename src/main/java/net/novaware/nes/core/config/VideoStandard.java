@@ -88,6 +88,13 @@ public enum VideoStandard { // TODO: include post render scanline (241, NTSC bla
         return masterClock / getRefreshRate();
     }
 
+    /**
+     * Exact integer variant of {@link #getMasterCycles()}
+     */
+    public int getMasterCyclesPerFrame() {
+        return getPpuCyclesPerFrame() * ppuDivisor;
+    }
+
     public int getPpuCyclesPerFrame() {
         return physicalHeight * PHYSICAL_WIDTH;
     }
@@ -5,6 +5,7 @@ import net.novaware.nes.core.board.inject.BoardScope;
 import net.novaware.nes.core.clock.ClockReceiver;
 import net.novaware.nes.core.cpu.inject.CpuVar;
 import net.novaware.nes.core.cpu.register.CpuRegFile;
+import net.novaware.nes.core.cpu.register.CpuState;
 import net.novaware.nes.core.cpu.signal.Interruptible;
 import net.novaware.nes.core.cpu.signal.Overflowable;
 import net.novaware.nes.core.cpu.signal.Signal;
@@ -23,14 +24,11 @@ import net.novaware.nes.core.cpu.unit.StackEngine;
 import net.novaware.nes.core.cpu.unit.Unit;
 import net.novaware.nes.core.pin.Pin;
 import net.novaware.nes.core.register.BooleanRegister;
-import net.novaware.nes.core.register.IntegerCounter;
 import net.novaware.nes.core.util.uml.Owned;
 import net.novaware.nes.core.util.uml.Used;
 
 import java.util.List;
 
-import static net.novaware.nes.core.cpu.inject.CpuVarName.CC;
-import static net.novaware.nes.core.cpu.inject.CpuVarName.IC;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.IRQ;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.NMI;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.RDY;
@@ -82,8 +80,7 @@ public class Cpu implements Interruptible, Synchronizable, Overflowable, ClockRe
 
     @Used  private final List<Unit> units;
 
-    @Owned private final IntegerCounter cycleCounter;
-    @Owned private final IntegerCounter instructionCycle;
+    @Owned private final CpuState state;
 
     @Inject
     public Cpu(
@@ -101,8 +98,7 @@ public class Cpu implements Interruptible, Synchronizable, Overflowable, ClockRe
         StackEngine stackEngine,
         DiagnosticUnit diagnostics,
 
-        @CpuVar(CC)  IntegerCounter cycleCounter,
-        @CpuVar(IC)  IntegerCounter instructionCycle,
+        CpuState state,
         @CpuVar(IRQ) Pin irq,
         @CpuVar(NMI) Pin nmi,
         @CpuVar(S0H) Pin s0h,
@@ -132,8 +128,7 @@ public class Cpu implements Interruptible, Synchronizable, Overflowable, ClockRe
             this.diagnostics = diagnostics
         );
 
-        this.cycleCounter = cycleCounter;
-        this.instructionCycle = instructionCycle;
+        this.state = state;
 
         this.irq = irq;
         this.nmi = nmi;
@@ -170,19 +165,18 @@ public class Cpu implements Interruptible, Synchronizable, Overflowable, ClockRe
      */
     // TODO: use one lone coder test assembly to verify ticks
     public int advance() { // TODO: consider renaming to step()
-        instructionCycle.reset();
+        state.instructionCycles = 0;
 
         if (resReg.get()) {
             reset();
-            return instructionCycle.getValue();
+            return state.instructionCycles;
         }
 
         if (rdyReg.get()) {
             // TODO: repeat last bus.read operation which consumes 1 cycle!
             // Will it conflict with DMA?!
-            cycleCounter.increment();
-            instructionCycle.increment();
-            return instructionCycle.getValue();
+            state.cycle();
+            return state.instructionCycles;
         }
 
         controlUnit.fetchOperand();
@@ -210,7 +204,7 @@ public class Cpu implements Interruptible, Synchronizable, Overflowable, ClockRe
         controlUnit.fetchOpcode();
         syncListener.sync(LOW);
 
-        return instructionCycle.getValue();
+        return state.instructionCycles;
     }
 
     /**
@@ -2,11 +2,19 @@ package net.novaware.nes.core.cpu.inject;
 
 import dagger.Module;
 import dagger.Provides;
+import net.novaware.nes.core.apu.register.ApuRegFile;
 import net.novaware.nes.core.board.inject.BoardScope;
+import net.novaware.nes.core.config.CoreConfig;
+import net.novaware.nes.core.config.ImmutableCoreConfig;
+import net.novaware.nes.core.config.Platform;
+import net.novaware.nes.core.config.Region;
+import net.novaware.nes.core.config.VideoStandard;
 import net.novaware.nes.core.dma.inject.DmaVar;
 import net.novaware.nes.core.memory.MemoryDevice;
 import net.novaware.nes.core.memory.PhysicalMemory;
 import net.novaware.nes.core.ppu.inject.PpuVar;
+import net.novaware.nes.core.ppu.memory.ObjAttrMemory;
+import net.novaware.nes.core.ppu.register.ObjAttrRegister;
 import net.novaware.nes.core.register.ByteRegister;
 import net.novaware.nes.core.register.IntegerCounter;
 
@@ -22,6 +30,9 @@ import static net.novaware.nes.core.cpu.memory.CpuMemMap.PPU_REGISTERS_START;
 import static net.novaware.nes.core.dma.inject.DmaVarName.OAM;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.DC;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.LC;
+import static net.novaware.nes.core.ppu.inject.PpuVarName.POA;
+import static net.novaware.nes.core.ppu.memory.ObjAttrMemory.Kind.PRIMARY;
+import static net.novaware.nes.core.ppu.memory.ObjAttrMemory.PRIMARY_ENTRY_COUNT;
 
 /**
  * CPU Required Dependencies module. Should be provided by the board config.
@@ -54,6 +65,21 @@ public interface CpuDepModule {
         return new IntegerCounter(DC.doc());
     }
 
+    // FIXME: OAM DMA writes straight into PPU OAM
+    @Provides
+    @BoardScope
+    @PpuVar(POA)
+    static ObjAttrRegister provideStubObjAttrAddress() {
+        return new ObjAttrRegister(POA.doc(), 0x100);
+    }
+
+    @Provides
+    @BoardScope
+    @PpuVar(POA)
+    static ObjAttrMemory provideStubObjAttrMemory() {
+        return new ObjAttrMemory(POA.doc(), PRIMARY, PRIMARY_ENTRY_COUNT);
+    }
+
     @Provides
     @BoardScope
     @DmaVar(OAM)
@@ -68,6 +94,23 @@ public interface CpuDepModule {
         return new PhysicalMemory("APU.REGS", APU_REGISTERS_START, APU_REGISTERS_END, APU_REGISTERS_SIZE);
     }
 
+    @Provides
+    @BoardScope
+    static ApuRegFile provideStubApuRegFile() { // DMC sample address, length and rate
+        return new ApuRegFile();
+    }
+
+    @Provides
+    @BoardScope
+    static CoreConfig provideStubCoreConfig() { // DMC rate table follows the video standard
+        return ImmutableCoreConfig.builder()
+                .setRecordCpuBus(false)
+                .setRegion(Region.USA)
+                .setPlatform(Platform.NES_FAMICOM)
+                .setVideoStandard(VideoStandard.NTSC)
+                .build();
+    }
+
     @Provides
     @BoardScope
     @CpuVar(JOY)
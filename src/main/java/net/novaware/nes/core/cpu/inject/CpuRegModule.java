@@ -4,13 +4,17 @@ import dagger.Module;
 import dagger.Provides;
 import net.novaware.nes.core.board.inject.BoardScope;
 import net.novaware.nes.core.cpu.instruction.Instruction;
+import net.novaware.nes.core.cpu.register.CpuState;
+import net.novaware.nes.core.cpu.register.CpuStateViews;
 import net.novaware.nes.core.cpu.register.InstructionRegister;
 import net.novaware.nes.core.cpu.register.StatusRegister;
+import net.novaware.nes.core.register.AddressRegister;
 import net.novaware.nes.core.register.BooleanLatch;
 import net.novaware.nes.core.register.BooleanRegister;
 import net.novaware.nes.core.register.ByteRegister;
+import net.novaware.nes.core.register.CounterView;
+import net.novaware.nes.core.register.DataRegister;
 import net.novaware.nes.core.register.DelegatingRegister;
-import net.novaware.nes.core.register.IntegerCounter;
 import net.novaware.nes.core.register.ShortRegister;
 
 import static net.novaware.nes.core.cpu.inject.CpuVarName.A;
@@ -43,22 +47,22 @@ public interface CpuRegModule {
     @Provides
     @BoardScope
     @CpuVar(CC)
-    static IntegerCounter provideCpuCycleCounter() {
-        return new IntegerCounter(CC.doc());
+    static CounterView provideCpuCycleCounter(CpuState state) {
+        return CpuStateViews.cycleCounter(state);
     }
 
     @Provides
     @BoardScope
     @CpuVar(IC)
-    static IntegerCounter provideInstructionCycle() {
-        return new IntegerCounter(IC.doc());
+    static CounterView provideInstructionCycle(CpuState state) {
+        return CpuStateViews.instructionCycle(state);
     }
 
     @Provides
     @BoardScope
     @CpuVar(PC)
-    static ShortRegister provideProgramCounter() {
-        return new ShortRegister("PC");
+    static AddressRegister provideProgramCounter(CpuState state) {
+        return CpuStateViews.programCounter(state);
     }
 
     @Provides
@@ -114,29 +118,29 @@ public interface CpuRegModule {
     @Provides
     @BoardScope
     @CpuVar(A)
-    static ByteRegister provideAccumulator() {
-        return new ByteRegister("A");
+    static DataRegister provideAccumulator(CpuState state) {
+        return CpuStateViews.accumulator(state);
     }
 
     @Provides
     @BoardScope
     @CpuVar(X)
-    static ByteRegister provideIndexX() {
-        return new ByteRegister("X");
+    static DataRegister provideIndexX(CpuState state) {
+        return CpuStateViews.indexX(state);
     }
 
     @Provides
     @BoardScope
     @CpuVar(Y)
-    static ByteRegister provideIndexY() {
-        return new ByteRegister("Y");
+    static DataRegister provideIndexY(CpuState state) {
+        return CpuStateViews.indexY(state);
     }
 
     @Provides
     @BoardScope
     @CpuVar(PS)
-    static StatusRegister provideStatus() {
-        return new StatusRegister();
+    static StatusRegister provideStatus(CpuState state) {
+        return new StatusRegister(state);
     }
 
     @Provides
@@ -149,8 +153,8 @@ public interface CpuRegModule {
     @Provides
     @BoardScope
     @CpuVar(SP)
-    static ByteRegister provideStackPointer() {
-        return new ByteRegister("S");
+    static DataRegister provideStackPointer(CpuState state) {
+        return CpuStateViews.stackPointer(state);
     }
 
     // region Pin Registers
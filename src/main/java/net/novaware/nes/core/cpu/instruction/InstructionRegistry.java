@@ -6,9 +6,7 @@ import static net.novaware.nes.core.util.UTypes.sint;
 
 public class InstructionRegistry {
 
-    // Static lookup map for fast retrieval by opcode (essential for performance)
-    // TODO: may be optimized further by skipping the enum pointer chasing
-    // instead have arrays for group, addressing and size
+    // Static lookup map for retrieval by opcode, hot path uses flat arrays in OpcodeTable
     private static final Instruction[] OPCODE_MAP = new Instruction[256];
 
     static {
@@ -0,0 +1,104 @@
+package net.novaware.nes.core.cpu.instruction;
+
+import static net.novaware.nes.core.util.UTypes.ubyte;
+
+/**
+ * Flat primitive tables indexed by opcode, built once from {@link Instruction}.
+ * Fetch / decode / execute use these instead of chasing the enums on every instruction.
+ */
+public final class OpcodeTable {
+
+    public static final int SIZE = 256;
+
+    // region Addressing mode ids (switchable constants)
+
+    public static final int IMPLIED                = 0;
+    public static final int ACCUMULATOR            = 1;
+    public static final int IMMEDIATE              = 2;
+    public static final int RELATIVE               = 3;
+    public static final int ZERO_PAGE              = 4;
+    public static final int ZERO_PAGE_X            = 5;
+    public static final int ZERO_PAGE_Y            = 6;
+    public static final int ZERO_PAGE_X_INDIRECT   = 7;
+    public static final int ZERO_PAGE_INDIRECT_Y_R = 8;
+    public static final int ZERO_PAGE_INDIRECT_Y_W = 9;
+    public static final int ABSOLUTE               = 10;
+    public static final int ABSOLUTE_X_R           = 11;
+    public static final int ABSOLUTE_X_W           = 12;
+    public static final int ABSOLUTE_Y_R           = 13;
+    public static final int ABSOLUTE_Y_W           = 14;
+    public static final int ABSOLUTE_INDIRECT      = 15;
+    public static final int UNKNOWN                = 16;
+
+    // endregion
+
+    private static final int[] SIZES = new int[SIZE];
+    private static final int[] ADDRESSING = new int[SIZE];
+    private static final int[] GROUP = new int[SIZE];
+
+    private static final InstructionGroup[] GROUPS = InstructionGroup.values();
+
+    static {
+        for (int opcode = 0; opcode < SIZE; opcode++) {
+            Instruction instruction = InstructionRegistry.fromOpcode(ubyte(opcode));
+            AddressingMode mode = instruction.addressingMode();
+
+            SIZES[opcode] = instruction.size();
+            ADDRESSING[opcode] = idOf(mode);
+            GROUP[opcode] = instruction.group().ordinal();
+        }
+    }
+
+    private OpcodeTable() {
+    }
+
+    /**
+     * @return size of the instruction in bytes (including opcode), -1 for unknown opcodes
+     */
+    public static int size(int opcode) {
+        return SIZES[opcode];
+    }
+
+    /**
+     * @return addressing mode id, one of the constants in this class
+     */
+    public static int addressing(int opcode) {
+        return ADDRESSING[opcode];
+    }
+
+    /**
+     * @return {@link InstructionGroup} ordinal
+     */
+    public static int group(int opcode) {
+        return GROUP[opcode];
+    }
+
+    /**
+     * Off the hot path, e.g. for diagnostics
+     */
+    public static InstructionGroup groupOf(int opcode) {
+        return GROUPS[GROUP[opcode]];
+    }
+
+    public static int idOf(AddressingMode mode) {
+        return switch (mode) {
+            case IMPLIED                -> IMPLIED;
+            case ACCUMULATOR            -> ACCUMULATOR;
+            case IMMEDIATE              -> IMMEDIATE;
+            case RELATIVE               -> RELATIVE;
+            case ZERO_PAGE              -> ZERO_PAGE;
+            case ZERO_PAGE_X            -> ZERO_PAGE_X;
+            case ZERO_PAGE_Y            -> ZERO_PAGE_Y;
+            case ZERO_PAGE_X_INDIRECT   -> ZERO_PAGE_X_INDIRECT;
+            case ZERO_PAGE_INDIRECT_Y_R -> ZERO_PAGE_INDIRECT_Y_R;
+            case ZERO_PAGE_INDIRECT_Y_W -> ZERO_PAGE_INDIRECT_Y_W;
+            case ABSOLUTE               -> ABSOLUTE;
+            case ABSOLUTE_X_R           -> ABSOLUTE_X_R;
+            case ABSOLUTE_X_W           -> ABSOLUTE_X_W;
+            case ABSOLUTE_Y_R           -> ABSOLUTE_Y_R;
+            case ABSOLUTE_Y_W           -> ABSOLUTE_Y_W;
+            case ABSOLUTE_INDIRECT      -> ABSOLUTE_INDIRECT;
+            case UNKNOWN                -> UNKNOWN;
+        };
+    }
+}
@@ -2,38 +2,41 @@ package net.novaware.nes.core.cpu.memory;
 
 import jakarta.inject.Inject;
 import net.novaware.nes.core.cpu.inject.CpuVar;
+import net.novaware.nes.core.cpu.register.CpuState;
 import net.novaware.nes.core.memory.BusOp;
 import net.novaware.nes.core.memory.ControlBus;
 import net.novaware.nes.core.memory.DataBus;
 import net.novaware.nes.core.memory.DataLine;
+import net.novaware.nes.core.memory.DirectMemory;
 import net.novaware.nes.core.memory.MemoryBus;
 import net.novaware.nes.core.memory.MemoryDevice;
 import net.novaware.nes.core.memory.MemoryPage;
 import net.novaware.nes.core.memory.PagedMemory;
-import net.novaware.nes.core.register.IntegerCounter;
+import net.novaware.nes.core.util.UByteBuffer;
 import net.novaware.nes.core.util.uml.Owned;
 import net.novaware.nes.core.util.uml.Used;
+import org.checkerframework.checker.initialization.qual.UnknownInitialization;
 import org.checkerframework.checker.signedness.qual.Unsigned;
+import org.jspecify.annotations.Nullable;
 
 import java.util.stream.Stream;
 
 import static net.novaware.nes.core.cpu.inject.CpuVarName.ACR;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.APU;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.ATM;
-import static net.novaware.nes.core.cpu.inject.CpuVarName.CC;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.DMA;
-import static net.novaware.nes.core.cpu.inject.CpuVarName.IC;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.JOY;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.PPU;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.RAM;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.TMR;
+import static net.novaware.nes.core.util.UTypes.sint;
 import static net.novaware.nes.core.util.UTypes.ubyte;
+import static net.novaware.nes.core.util.UTypes.ushort;
 
 public class CpuBus implements MemoryBus {
 
     @Used
-    private final IntegerCounter cycleCounter;
-    private final IntegerCounter instructionCycle;
+    private final CpuState state;
 
     @Owned
     private final PagedMemory internal = new PagedMemory("INTERNAL", CpuMemMap.MEMORY_SIZE, new MemoryDevice.Empty());
@@ -50,10 +53,25 @@ public class CpuBus implements MemoryBus {
 
     private @Unsigned short addressLatch;
 
+    // region Direct pages
+
+    private static final int PAGES = CpuMemMap.MEMORY_SIZE >> 8;
+
+    /**
+     * Buffers of pages without side effects (RAM, PRG-ROM, WRAM), null means full device protocol
+     */
+    private final @Nullable UByteBuffer[] directReads = new UByteBuffer[PAGES];
+    private final @Nullable UByteBuffer[] directWrites = new UByteBuffer[PAGES];
+    private final int[] directIndexes = new int[PAGES]; // index of the page start within the buffer
+
+    private @Nullable UByteBuffer directLatch;
+    private int directIndexLatch;
+
+    // endregion
+
     @Inject
     public CpuBus(
-        @CpuVar(CC) IntegerCounter cycleCounter,
-        @CpuVar(IC) IntegerCounter instructionCycle,
+        CpuState state,
         @CpuVar(RAM) MemoryDevice.ReadWrite ram,
         @CpuVar(PPU) MemoryDevice.ReadWrite ppu,
         @CpuVar(ACR) MemoryDevice.WriteOnly apuChannelRegs,
@@ -63,8 +81,7 @@ public class CpuBus implements MemoryBus {
         @CpuVar(ATM) MemoryDevice.ReadWrite apuTest, // TODO: apu test
         @CpuVar(TMR) MemoryDevice.ReadWrite timer // TODO: timer
     ) {
-        this.cycleCounter = cycleCounter;
-        this.instructionCycle = instructionCycle;
+        this.state = state;
 
         MemoryPage page40 = new MemoryPage(ubyte(0x40), new MemoryDevice.Empty());
         page40.attach(apuChannelRegs);
@@ -79,6 +96,8 @@ public class CpuBus implements MemoryBus {
         internal.attach(page40);
 
         internal.onAttach(dataLine);
+
+        mapDirectPages();
     }
 
     @Override
@@ -90,24 +109,108 @@ public class CpuBus implements MemoryBus {
     public void attachCartridge(MemoryDevice.ReadWrite cartridge) {
         this.cartridge = cartridge;
         this.cartridge.onAttach(dataLine);
+
+        if (cartridge instanceof PagedMemory pages) {
+            pages.setRemapListener(this::mapDirectPages);
+        }
+
+        mapDirectPages();
     }
 
     @Override
     public void detachCartridge() {
+        if (cartridge instanceof PagedMemory pages) {
+            pages.setRemapListener(DirectMemory.NO_LISTENER);
+        }
+
         cartridge.onDetach();
         cartridge = new MemoryDevice.Empty();
+
+        mapDirectPages();
     }
 
     @Override
     public void attachExpansion(MemoryDevice.ReadWrite expansion) {
         this.expansion = expansion;
         this.expansion.onAttach(dataLine);
+
+        mapDirectPages();
     }
 
     @Override
     public void detachExpansion() {
         expansion.onDetach();
         expansion = new MemoryDevice.Empty();
+
+        mapDirectPages();
+    }
+
+    /**
+     * A page goes direct only when a single {@link DirectMemory} backs it and nothing else listens:
+     * the other side (internal or cartridge) is vacant and no expansion is attached.
+     */
+    private void mapDirectPages(@UnknownInitialization(CpuBus.class) CpuBus this) {
+        mapDirectPages(0, PAGES - 1);
+    }
+
+    /**
+     * Bank switches only touch the pages of the switched bank
+     */
+    private void mapDirectPages(@UnknownInitialization(CpuBus.class) CpuBus this, int firstPage, int lastPage) {
+        boolean noExpansion = expansion instanceof MemoryDevice.Empty;
+
+        for (int page = firstPage; page <= Math.min(lastPage, PAGES - 1); page++) {
+            directReads[page] = null;
+            directWrites[page] = null;
+            directIndexes[page] = 0;
+
+            DirectMemory device = noExpansion ? directDevice(page) : null;
+
+            if (device == null) {
+                continue;
+            }
+
+            @Unsigned short pageStart = ushort(page << 8);
+            UByteBuffer buffer = device.directBuffer(pageStart);
+
+            if (buffer == null) { // e.g. bank not mapped yet
+                continue;
+            }
+
+            directReads[page] = buffer;
+            directWrites[page] = device.isDirectlyWritable() ? buffer : null;
+            directIndexes[page] = device.directIndex(pageStart);
+        }
+    }
+
+    @Override
+    public @Nullable UByteBuffer directReadPage(int page) {
+        return directReads[page];
+    }
+
+    @Override
+    public int directReadIndex(int page) {
+        return directIndexes[page];
+    }
+
+    private @Nullable DirectMemory directDevice(@UnknownInitialization(CpuBus.class) CpuBus this, int page) {
+        if (cartridge instanceof MemoryDevice.Empty) {
+            return internal.directDevice(page);
+        }
+
+        if (!(cartridge instanceof PagedMemory pages)) {
+            return null; // unknown cartridge device, can't tell what it listens to
+        }
+
+        if (pages.isVacant(page)) {
+            return internal.directDevice(page);
+        }
+
+        if (internal.isVacant(page)) {
+            return pages.directDevice(page);
+        }
+
+        return null;
     }
 
     @Override
@@ -117,12 +220,7 @@ public class CpuBus implements MemoryBus {
         busOp = BusOp.ADDRESS_ACCESS;
         addressLatch = address;
 
-        cycleCounter.increment();
-        instructionCycle.increment();
-
-        internal.onAccess(addressLatch);
-        cartridge.onAccess(addressLatch);
-        expansion.onAccess(addressLatch);
+        state.cycle();
 
         return this;
     }
@@ -133,6 +231,8 @@ public class CpuBus implements MemoryBus {
 
         busOp = BusOp.CONTROL_READ;
 
+        latchDevices(directReads);
+
         return this;
     }
 
@@ -142,9 +242,30 @@ public class CpuBus implements MemoryBus {
 
         busOp = BusOp.CONTROL_WRITE;
 
+        latchDevices(directWrites);
+
         return this;
     }
 
+    /**
+     * Devices hear the address only when the access doesn't go direct, otherwise the page buffer is latched
+     */
+    private void latchDevices(@Nullable UByteBuffer[] directPages) {
+        int address = sint(addressLatch);
+        int page = address >> 8;
+
+        directLatch = directPages[page];
+
+        if (directLatch != null) {
+            directIndexLatch = directIndexes[page] + (address & 0xFF);
+            return;
+        }
+
+        internal.onAccess(addressLatch);
+        cartridge.onAccess(addressLatch);
+        expansion.onAccess(addressLatch);
+    }
+
     @Override
     public void probe(@Unsigned short address, DataBus.Line dataLine) {
         internal.probe(address, dataLine);
@@ -158,6 +279,13 @@ public class CpuBus implements MemoryBus {
 
         busOp = BusOp.DATA_READ;
 
+        UByteBuffer direct = directLatch;
+
+        if (direct != null) {
+            dataLine.data(direct.get(directIndexLatch));
+            return dataLine.cycle();
+        }
+
         internal.onRead();
         cartridge.onRead();
         expansion.onRead();
@@ -173,6 +301,14 @@ public class CpuBus implements MemoryBus {
 
         dataLine.data(data); // CPU driving the line
 
+        UByteBuffer direct = directLatch;
+
+        if (direct != null) {
+            direct.put(directIndexLatch, data);
+            dataLine.cycle();
+            return;
+        }
+
         internal.onWrite();
         cartridge.onWrite();
         expansion.onWrite();
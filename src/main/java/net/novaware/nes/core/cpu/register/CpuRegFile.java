@@ -3,9 +3,9 @@ package net.novaware.nes.core.cpu.register;
 import jakarta.inject.Inject;
 import net.novaware.nes.core.board.inject.BoardScope;
 import net.novaware.nes.core.cpu.inject.CpuVar;
-import net.novaware.nes.core.register.ByteRegister;
+import net.novaware.nes.core.register.AddressRegister;
+import net.novaware.nes.core.register.DataRegister;
 import net.novaware.nes.core.register.RegisterFile;
-import net.novaware.nes.core.register.ShortRegister;
 
 import java.util.List;
 
@@ -17,29 +17,29 @@ import static net.novaware.nes.core.cpu.inject.CpuVarName.X;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.Y;
 
 /**
- * CPU Standard Registers
+ * CPU Standard Registers, views over {@link CpuState} for debugging and tests
  */
 @BoardScope
 public class CpuRegFile extends RegisterFile {
 
-    private final ShortRegister programCounter;
+    private final AddressRegister programCounter;
 
-    private final ByteRegister accumulator;
+    private final DataRegister accumulator;
 
-    private final ByteRegister indexX;
-    private final ByteRegister indexY;
+    private final DataRegister indexX;
+    private final DataRegister indexY;
 
-    private final ByteRegister stackPointer;
+    private final DataRegister stackPointer;
 
     private final StatusRegister status;
 
     @Inject
     public CpuRegFile(
-        @CpuVar(PC) ShortRegister programCounter,
-        @CpuVar(A) ByteRegister accumulator,
-        @CpuVar(X) ByteRegister indexX,
-        @CpuVar(Y) ByteRegister indexY,
-        @CpuVar(SP) ByteRegister stackPointer,
+        @CpuVar(PC) AddressRegister programCounter,
+        @CpuVar(A) DataRegister accumulator,
+        @CpuVar(X) DataRegister indexX,
+        @CpuVar(Y) DataRegister indexY,
+        @CpuVar(SP) DataRegister stackPointer,
         @CpuVar(PS) StatusRegister status
     ) {
         super("CPU.REGS");
@@ -58,39 +58,39 @@ public class CpuRegFile extends RegisterFile {
         this.status = status;
     }
 
-    public ShortRegister getProgramCounter() {
+    public AddressRegister getProgramCounter() {
         return programCounter;
     }
 
     /** @see #getProgramCounter() */
-    public ShortRegister pc() {
+    public AddressRegister pc() {
         return programCounter;
     }
 
-    public ByteRegister getAccumulator() {
+    public DataRegister getAccumulator() {
         return accumulator;
     }
 
     /** @see #getAccumulator() */
-    public ByteRegister a() {
+    public DataRegister a() {
         return accumulator;
     }
 
-    public ByteRegister getIndexX() {
+    public DataRegister getIndexX() {
         return indexX;
     }
 
     /** @see #getIndexX() */
-    public ByteRegister x() {
+    public DataRegister x() {
         return indexX;
     }
 
-    public ByteRegister getIndexY() {
+    public DataRegister getIndexY() {
         return indexY;
     }
 
     /** @see #getIndexY() */
-    public ByteRegister y() {
+    public DataRegister y() {
         return indexY;
     }
 
@@ -103,12 +103,12 @@ public class CpuRegFile extends RegisterFile {
         return status;
     }
 
-    public ByteRegister getStackPointer() {
+    public DataRegister getStackPointer() {
         return stackPointer;
     }
 
     /** @see #getStackPointer() */
-    public ByteRegister sp() {
+    public DataRegister sp() {
         return stackPointer;
     }
 }
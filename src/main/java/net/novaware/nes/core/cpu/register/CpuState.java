@@ -0,0 +1,162 @@
+package net.novaware.nes.core.cpu.register;
+
+import jakarta.inject.Inject;
+import net.novaware.nes.core.board.inject.BoardScope;
+
+/**
+ * Compact CPU state for the instruction loop: registers, flags and cycle counters as plain ints
+ * next to each other, instead of separate heap objects.
+ * <br>
+ * Units of the instruction loop read and write the fields directly. Register objects ({@link CpuRegFile},
+ * {@link StatusRegister}, cycle counters) are views over them for debugging and tests, see {@link CpuStateViews}.
+ * Values are kept in range: 8-bit registers 0-255, pc 0-65535.
+ * <br>
+ * N, Z, C and V are evaluated lazily: ALU ops only store the values the flags derive from
+ * and the flags are built when something reads them (branches, PHP, BRK / IRQ push, debugger).
+ */
+@BoardScope
+public final class CpuState {
+
+    // region Status flags (bits of p)
+
+    public static final int C = 1;      // 0 - carry or !borrow
+    public static final int Z = 1 << 1; // 1 - zero
+    public static final int I = 1 << 2; // 2 - irq disabled
+    public static final int D = 1 << 3; // 3 - decimal
+    public static final int B = 1 << 4; // 4 - break, transient (only on stack)
+    public static final int U = 1 << 5; // 5 - unused, always one on stack
+    public static final int V = 1 << 6; // 6 - overflow
+    public static final int N = 1 << 7; // 7 - negative
+
+    // endregion
+
+    public int a;
+    public int x;
+    public int y;
+    public int sp;
+    public int pc;
+
+    public int p; // only I and D, the rest comes from the lazy fields below, see status()
+
+    // region Lazy flags
+
+    public int zeroResult = 1; // Z when low byte is 0
+    public int negativeResult; // N is bit 7
+    public int carryResult;    // C is bit 8
+    public int overflowResult; // V is bit 7
+
+    // endregion
+
+    public int cycles;            // cpu cycles since power on
+    public int instructionCycles; // cycles of the current instruction
+
+    @Inject
+    public CpuState() {
+
+    }
+
+    /**
+     * @return packed NV--DIZC (B and U are never set)
+     */
+    public int status() {
+        return (p & (I | D))
+            | (negativeResult & N)
+            | ((overflowResult & 0x80) >> 1)
+            | ((zeroResult & 0xFF) == 0 ? Z : 0)
+            | ((carryResult >> 8) & C);
+    }
+
+    /**
+     * @param value packed NV--DIZC, B and U are ignored
+     */
+    public void status(int value) {
+        p = value & (I | D);
+
+        negativeResult = value & N;
+        overflowResult = (value & V) << 1;
+        zeroResult = ~value & Z;
+        carryResult = (value & C) << 8;
+    }
+
+    public boolean flag(int mask) {
+        return (status() & mask) != 0;
+    }
+
+    public void flag(int mask, boolean value) {
+        int status = status();
+        status(value ? (status | mask) : (status & ~mask));
+    }
+
+    /**
+     * @return 1 if carry is set, 0 otherwise
+     */
+    public int carry() {
+        return (carryResult >> 8) & 1;
+    }
+
+    public boolean isCarry() {
+        return (carryResult & 0x100) != 0;
+    }
+
+    public void setCarry(boolean carry) {
+        carryResult = carry ? 0x100 : 0;
+    }
+
+    public boolean isZero() {
+        return (zeroResult & 0xFF) == 0;
+    }
+
+    public boolean isNegative() {
+        return (negativeResult & 0x80) != 0;
+    }
+
+    public boolean isOverflow() {
+        return (overflowResult & 0x80) != 0;
+    }
+
+    public void setOverflow(boolean overflow) {
+        overflowResult = overflow ? 0x80 : 0;
+    }
+
+    public boolean isDecimal() {
+        return (p & D) != 0;
+    }
+
+    public void setDecimal(boolean decimal) {
+        p = decimal ? (p | D) : (p & ~D);
+    }
+
+    public boolean isIrqDisabled() {
+        return (p & I) != 0;
+    }
+
+    public void setIrqDisabled(boolean irqDisabled) {
+        p = irqDisabled ? (p | I) : (p & ~I);
+    }
+
+    /**
+     * N and Z from the same result
+     */
+    public void zn(int result) {
+        zeroResult = result;
+        negativeResult = result;
+    }
+
+    /**
+     * Bus access or internal cycle
+     */
+    public void cycle() {
+        cycles++;
+        instructionCycles++;
+    }
+
+    /**
+     * Conditional cycle (page cross, branch taken) without a branch
+     */
+    public void maybeCycle(boolean yes) {
+        int amount = yes ? 1 : 0;
+
+        cycles += amount;
+        instructionCycles += amount;
+    }
+}
@@ -0,0 +1,218 @@
+package net.novaware.nes.core.cpu.register;
+
+import net.novaware.nes.core.register.AddressRegister;
+import net.novaware.nes.core.register.CounterView;
+import net.novaware.nes.core.register.DataRegister;
+import net.novaware.nes.core.util.Hex;
+import org.checkerframework.checker.signedness.qual.Unsigned;
+
+import static net.novaware.nes.core.cpu.inject.CpuVarName.CC;
+import static net.novaware.nes.core.cpu.inject.CpuVarName.IC;
+import static net.novaware.nes.core.util.UTypes.sint;
+import static net.novaware.nes.core.util.UTypes.ubyte;
+import static net.novaware.nes.core.util.UTypes.ushort;
+
+/**
+ * Register objects backed by {@link CpuState} fields, for debugging, tests and
+ * {@link net.novaware.nes.core.cpu.unit.DiagnosticUnit}. Units of the instruction loop use the fields directly.
+ */
+public final class CpuStateViews {
+
+    private CpuStateViews() {
+    }
+
+    public static DataRegister accumulator(CpuState state) {
+        return new ByteView("A") {
+            @Override int read() { return state.a; }
+            @Override void write(int value) { state.a = value; }
+        };
+    }
+
+    public static DataRegister indexX(CpuState state) {
+        return new ByteView("X") {
+            @Override int read() { return state.x; }
+            @Override void write(int value) { state.x = value; }
+        };
+    }
+
+    public static DataRegister indexY(CpuState state) {
+        return new ByteView("Y") {
+            @Override int read() { return state.y; }
+            @Override void write(int value) { state.y = value; }
+        };
+    }
+
+    public static DataRegister stackPointer(CpuState state) {
+        return new ByteView("S") {
+            @Override int read() { return state.sp; }
+            @Override void write(int value) { state.sp = value; }
+        };
+    }
+
+    public static AddressRegister programCounter(CpuState state) {
+        return new ShortView("PC") {
+            @Override int read() { return state.pc; }
+            @Override void write(int value) { state.pc = value; }
+        };
+    }
+
+    public static CounterView cycleCounter(CpuState state) {
+        return new IntView(CC.doc()) {
+            @Override int read() { return state.cycles; }
+            @Override void write(int value) { state.cycles = value; }
+        };
+    }
+
+    public static CounterView instructionCycle(CpuState state) {
+        return new IntView(IC.doc()) {
+            @Override int read() { return state.instructionCycles; }
+            @Override void write(int value) { state.instructionCycles = value; }
+        };
+    }
+
+    private abstract static class ByteView extends DataRegister {
+
+        ByteView(String name) {
+            super(name);
+        }
+
+        abstract int read();
+        abstract void write(int value);
+
+        @Override
+        public @Unsigned byte get() {
+            return ubyte(read());
+        }
+
+        @Override
+        public void set(@Unsigned byte data) {
+            write(sint(data));
+        }
+
+        @Override
+        public int getAsInt() {
+            return read();
+        }
+
+        @Override
+        public void setAsByte(int data) {
+            write(data & 0xFF);
+        }
+
+        @Override
+        public String toString() {
+            return getName() + ": 0x" + Hex.s(get());
+        }
+    }
+
+    private abstract static class ShortView extends AddressRegister {
+
+        ShortView(String name) {
+            super(name);
+        }
+
+        abstract int read();
+        abstract void write(int value);
+
+        @Override
+        public @Unsigned short get() {
+            return ushort(read());
+        }
+
+        @Override
+        public @Unsigned byte high() {
+            return ubyte(read() >> 8);
+        }
+
+        @Override
+        public @Unsigned byte low() {
+            return ubyte(read());
+        }
+
+        @Override
+        public int getAsInt() {
+            return read();
+        }
+
+        @Override
+        public int highAsInt() {
+            return read() >> 8;
+        }
+
+        @Override
+        public int lowAsInt() {
+            return read() & 0xFF;
+        }
+
+        @Override
+        public void set(@Unsigned short address) {
+            write(sint(address));
+        }
+
+        @Override
+        public AddressRegister high(@Unsigned byte hi) {
+            return highAsByte(sint(hi));
+        }
+
+        @Override
+        public AddressRegister low(@Unsigned byte lo) {
+            return lowAsByte(sint(lo));
+        }
+
+        @Override
+        public void setAsShort(int address) {
+            write(address & 0xFFFF);
+        }
+
+        @Override
+        public AddressRegister highAsByte(int hi) {
+            write((hi & 0xFF) << 8 | (read() & 0xFF));
+
+            return this;
+        }
+
+        @Override
+        public AddressRegister lowAsByte(int lo) {
+            write((read() & 0xFF00) | (lo & 0xFF));
+
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return getName() + ": 0x" + Hex.s(get());
+        }
+    }
+
+    private abstract static class IntView implements CounterView {
+
+        private final String name;
+
+        IntView(String name) {
+            this.name = name;
+        }
+
+        abstract int read();
+        abstract void write(int value);
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public int getValue() {
+            return read();
+        }
+
+        @Override
+        public void setValue(int value) {
+            write(value);
+        }
+
+        @Override
+        public String toString() {
+            return getName() + ": " + read();
+        }
+    }
+}
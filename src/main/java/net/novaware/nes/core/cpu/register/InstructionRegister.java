@@ -3,34 +3,56 @@ package net.novaware.nes.core.cpu.register;
 import net.novaware.nes.core.cpu.instruction.AddressingMode;
 import net.novaware.nes.core.cpu.instruction.Instruction;
 import net.novaware.nes.core.cpu.instruction.InstructionGroup;
+import net.novaware.nes.core.cpu.instruction.InstructionRegistry;
 import net.novaware.nes.core.register.Register;
+import org.checkerframework.checker.signedness.qual.Unsigned;
 
+import static net.novaware.nes.core.util.UTypes.sint;
+import static net.novaware.nes.core.util.UTypes.ubyte;
+
+/**
+ * Holds the decoded opcode. Group / addressing enums are derived on demand (diagnostics, tests),
+ * hot path works with the opcode and {@link net.novaware.nes.core.cpu.instruction.OpcodeTable}.
+ */
 public class InstructionRegister extends Register {
 
-    private InstructionGroup group = InstructionGroup.UNKNOWN;
-    private AddressingMode addressing = AddressingMode.UNKNOWN;
+    public static final int NONE = -1;
 
-    // TODO: consider adding fields for lambdas to decode and execute methods to get rid of switches
+    private int opcode = NONE;
 
     public InstructionRegister(String name) {
         super(name);
     }
 
+    public void set(@Unsigned byte opcode) {
+        this.opcode = sint(opcode);
+    }
+
     public void set(Instruction instruction) {
-        group = instruction.group();
-        addressing = instruction.addressingMode();
+        opcode = instruction == Instruction.OxUK ? NONE : sint(instruction.opcode());
+    }
+
+    /**
+     * @return decoded opcode or {@link #NONE}
+     */
+    public int getOpcode() {
+        return opcode;
+    }
+
+    private Instruction getInstruction() {
+        return opcode == NONE ? Instruction.OxUK : InstructionRegistry.fromOpcode(ubyte(opcode));
     }
 
     public InstructionGroup getGroup() {
-        return group;
+        return getInstruction().group();
     }
 
     public AddressingMode getAddressing() {
-        return addressing;
+        return getInstruction().addressingMode();
     }
 
     @Override
     public String toString() {
-        return getName() + ": " + group + " " + addressing;
+        return getName() + ": " + getGroup() + " " + getAddressing();
     }
 }
@@ -9,15 +9,16 @@ import static net.novaware.nes.core.cpu.inject.CpuVarName.PS;
  */
 public class StatusRegister extends Register { // TODO: consider renaming to CpuStatusRegister
 
-    private boolean negative;     // 7 - signed mode
-    private boolean overflow;     // 6 - signed mode
-    //              expansion     // 5 - always one
-    //              break         // 4 - transient
-
-    private boolean decimal;      // 3 - ADC and SBC in decimal mode
-    private boolean irq_off;      // 2 - 0 if irq enabled, 1 if irq disabled
-    private boolean zero;         // 1 - zero flag
-    private boolean carry;        // 0 - carry or !borrow flag
+    // flags are kept in CpuState (I and D in p, the rest lazily), see CpuState.status():
+    // 7 - negative, signed mode
+    // 6 - overflow, signed mode
+    // 5 - expansion, always one
+    // 4 - break, transient
+    // 3 - decimal, ADC and SBC in decimal mode
+    // 2 - irq_off, 0 if irq enabled, 1 if irq disabled
+    // 1 - zero flag
+    // 0 - carry or !borrow flag
+    private final CpuState state;
 
     /**
      * Working copy of status register that can be manipulated during stack operations
@@ -25,74 +26,73 @@ public class StatusRegister extends Register { // TODO: consider renaming to Cpu
     private transient Status copy;
 
     public StatusRegister() {
+        this(new CpuState());
+    }
+
+    public StatusRegister(CpuState state) {
         super(PS.doc());
 
+        this.state = state;
         copy = new Status();
     }
 
     public void initialize() {
-        negative = false;
-        overflow = false;
-
-        decimal = false;
-        irq_off = true;
-        zero = false;
-        carry = false;
+        state.status(CpuState.I);
     }
 
     public void reset() {
-        irq_off = true;
+        state.p |= CpuState.I;
     }
 
     public boolean isNegative() {
-        return negative;
+        return state.isNegative();
     }
 
     public StatusRegister setNegative(boolean negative) {
-        this.negative = negative;
+        state.negativeResult = negative ? 0x80 : 0;
 
         return this;
     }
 
     public boolean isOverflow() {
-        return overflow;
+        return state.isOverflow();
     }
 
     public StatusRegister setOverflow(boolean overflow) {
-        this.overflow = overflow;
+        state.setOverflow(overflow);
 
         return this;
     }
 
     public boolean isDecimal() {
-        return decimal;
+        return state.isDecimal();
     }
 
     public StatusRegister setDecimal(boolean decimal) {
-        this.decimal = decimal;
+        state.setDecimal(decimal);
 
         return this;
     }
 
     public boolean isIrqDisabled() {
-        return irq_off;
+        return state.isIrqDisabled();
     }
 
     // TODO: if the flag is changed after irq was sampled there should be 1 instruction delay
     //       verify this is correct in our pseudo pipeline (opcode fetch at the end)
     //       on the other hand, when returning from interrupt there is no delay
     public StatusRegister setIrqDisabled(boolean irqDisabled) {
-        this.irq_off = irqDisabled;
+        state.setIrqDisabled(irqDisabled);
 
         return this;
     }
 
     public boolean isZero() {
-        return zero;
+        return state.isZero();
     }
 
     public StatusRegister setZero(boolean zero) {
-        this.zero = zero;
+        state.zeroResult = zero ? 0 : 1;
 
         return this;
     }
@@ -101,64 +101,61 @@ public class StatusRegister extends Register { // TODO: consider renaming to Cpu
      * Special shorthand for setting ZN flags
      */
     public StatusRegister maybeZeroOrNegative(int value) {
-        this.zero = (value & 0xFF) == 0;
-        this.negative = (value & 0x80) != 0;
+        state.zn(value);
 
         return this;
     }
 
     public boolean getCarry() {
-        return carry;
+        return state.isCarry();
     }
 
     public StatusRegister setCarry(boolean carry) {
-        this.carry = carry;
+        state.setCarry(carry);
 
         return this;
     }
 
     public boolean getBorrow() {
-        return !carry;
+        return !getCarry();
     }
 
     public StatusRegister setBorrow(boolean borrow) {
-        this.carry = !borrow;
-
-        return this;
+        return setCarry(!borrow);
     }
 
     public Status get() {
-        copy.setNegative(negative)
-                .setOverflow(overflow)
+        copy.setNegative(isNegative())
+                .setOverflow(isOverflow())
                 .setBreak(false) // default
-                .setDecimal(decimal)
-                .setIrqDisabled(irq_off)
-                .setZero(zero)
-                .setCarry(carry);
+                .setDecimal(isDecimal())
+                .setIrqDisabled(isIrqDisabled())
+                .setZero(isZero())
+                .setCarry(getCarry());
 
         return copy;
     }
 
     public void set(Status status) {
-        negative = status.isNegative();
-        overflow = status.isOverflow();
-        decimal = status.isDecimal();
-        irq_off = status.isIrqDisabled();
-        zero = status.isZero();
-        carry = status.getCarry();
+        setNegative(status.isNegative());
+        setOverflow(status.isOverflow());
+        setDecimal(status.isDecimal());
+        setIrqDisabled(status.isIrqDisabled());
+        setZero(status.isZero());
+        setCarry(status.getCarry());
     }
 
     @Override
     public String toString() {
         return getName() + ": " +
-                (negative ? "N" : "_") + // 7
-                (overflow ? "V" : "_") + // 6
-                            "1" +        // 5 unused
-                            "_" +        // 4 break
-
-                (decimal  ? "D" : "_") + // 3
-                (irq_off  ? "I" : "_") + // 2
-                (zero     ? "Z" : "_") + // 1
-                (carry    ? "C" : "_");  // 0
+                (isNegative()     ? "N" : "_") + // 7
+                (isOverflow()     ? "V" : "_") + // 6
+                                    "1" +        // 5 unused
+                                    "_" +        // 4 break
+
+                (isDecimal()      ? "D" : "_") + // 3
+                (isIrqDisabled()  ? "I" : "_") + // 2
+                (isZero()         ? "Z" : "_") + // 1
+                (getCarry()       ? "C" : "_");  // 0
     }
 }
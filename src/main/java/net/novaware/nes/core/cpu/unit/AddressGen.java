@@ -2,7 +2,7 @@ package net.novaware.nes.core.cpu.unit;
 
 import jakarta.inject.Inject;
 import net.novaware.nes.core.board.inject.BoardScope;
-import net.novaware.nes.core.cpu.register.CpuRegFile;
+import net.novaware.nes.core.cpu.register.CpuState;
 import net.novaware.nes.core.util.uml.Used;
 import org.checkerframework.checker.signedness.qual.Unsigned;
 
@@ -14,27 +14,25 @@ public class AddressGen implements Unit {
 
 
     @Used
-    private final CpuRegFile registers;
+    private final CpuState state;
 
     @Used
     private final MemoryMgmt mmu;
 
     @Inject
     public AddressGen(
-        CpuRegFile registers,
+        CpuState state,
         MemoryMgmt mmu
     ) {
-        this.registers = registers;
+        this.state = state;
         this.mmu = mmu;
     }
 
     public @Unsigned short getPc() {
-        var pc = registers.pc();
+        int pc = state.pc;
+        state.pc = (pc + 1) & 0xFFFF;
 
-        int pcVal = pc.getAsInt();
-        pc.setAsShort(pcVal + 1);
-
-        return ushort(pcVal);
+        return ushort(pc);
     }
 
     /**
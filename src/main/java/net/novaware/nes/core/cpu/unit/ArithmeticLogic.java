@@ -3,48 +3,33 @@ package net.novaware.nes.core.cpu.unit;
 import jakarta.inject.Inject;
 import net.novaware.nes.core.board.inject.BoardScope;
 import net.novaware.nes.core.cpu.inject.CpuVar;
-import net.novaware.nes.core.cpu.register.CpuRegFile;
-import net.novaware.nes.core.cpu.register.StatusRegister;
-import net.novaware.nes.core.register.ByteRegister;
-import net.novaware.nes.core.register.DataRegister;
+import net.novaware.nes.core.cpu.register.CpuState;
 import net.novaware.nes.core.register.DelegatingRegister;
 import net.novaware.nes.core.util.uml.Used;
 import org.checkerframework.checker.signedness.qual.Unsigned;
 
 import java.util.function.IntBinaryOperator;
 
-import static net.novaware.nes.core.cpu.inject.CpuVarName.A;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.DO;
-import static net.novaware.nes.core.cpu.inject.CpuVarName.PS;
 import static net.novaware.nes.core.util.UTypes.sint;
 import static net.novaware.nes.core.util.UTypes.ubyte;
 
 @BoardScope
 public class ArithmeticLogic implements Unit {
 
-    @Used
-    private final CpuRegFile registers; // TODO: replace with direct register access
-
-    @Used
-    private final ByteRegister accumulator;
-
     @Used
     private final DelegatingRegister operand2; // TODO: rename to operand when 0 args methods done
 
     @Used
-    private final StatusRegister status;
+    private final CpuState state; // flags are written lazily, see CpuState.status()
 
     @Inject
     public ArithmeticLogic(
-        CpuRegFile registers,
-        @CpuVar(A) ByteRegister accumulator,
         @CpuVar(DO) DelegatingRegister operand,
-        @CpuVar(PS) StatusRegister status
+        CpuState state
     ) {
-        this.registers = registers;
-        this.accumulator = accumulator;
         this.operand2 = operand;
-        this.status = status;
+        this.state = state;
     }
 
     /**
@@ -52,51 +37,24 @@ public class ArithmeticLogic implements Unit {
      * @see <a href="https://6502.org/tutorials/decimal_mode.html">Decimal Mode</a>
      */
     public void addWithCarry(@Unsigned byte data) {
-        int prevCarry = registers.status().getCarry() ? 1 : 0;
-
-        int a = registers.a().getAsInt();
-        int aSign = a >> 7;
-
-        int dataVal = sint(data);
-        int dataSign = dataVal >> 7;
-
-        int result = a + dataVal + prevCarry;
-        int byteResult = result & 0xFF;
-
-        int resultSign = byteResult >> 7;
-
-        boolean overflow = resultSign != aSign && resultSign != dataSign;
-
-        registers.a().setAsByte(byteResult);
-        registers.status()
-                .setCarry(result > 0xFF)
-                .setZero(byteResult == 0)
-                .setOverflow(overflow)
-                .setNegative(resultSign == 1);
+        addWithCarry(state.a, sint(data));
     }
 
+    /**
+     * SBC is ADC of the inverted operand, carry is !borrow
+     */
     public void subtractWithBorrow(@Unsigned byte data) {
-        int prevBorrow = registers.status().getBorrow() ? 1 : 0;
-
-        int a = registers.a().getAsInt();
-        int aSign = a >> 7;
-
-        int dataVal = sint(data);
-        int dataSign = dataVal >> 7;
-
-        int result = a - dataVal - prevBorrow;
-        int byteResult = result & 0xFF;
+        addWithCarry(state.a, sint(data) ^ 0xFF);
+    }
 
-        int resultSign = byteResult >> 7;
-        registers.a().setAsByte(byteResult);
+    private void addWithCarry(int a, int dataVal) {
+        int result = a + dataVal + state.carry();
 
-        boolean overflow = resultSign != aSign && resultSign == dataSign;
+        state.a = result & 0xFF;
 
-        registers.status()
-                .setBorrow(result < 0)
-                .setZero(byteResult == 0)
-                .setOverflow(overflow)
-                .setNegative(resultSign == 1);
+        state.carryResult = result;
+        state.overflowResult = (a ^ result) & (dataVal ^ result); // sign of both inputs differs from result
+        state.zn(result);
     }
 
     public @Unsigned byte incrementMemory(@Unsigned byte data) {
@@ -113,41 +71,40 @@ public class ArithmeticLogic implements Unit {
         int result = dataVal + by;
 
         // TODO: status register gets updated here but memory outside (in readModifyWrite)
-        status.maybeZeroOrNegative(result);
+        state.zn(result);
 
         return ubyte(result);
     }
 
     public void incrementX() {
-        incrementRegister(registers.x(), 1);
+        state.x = increment(state.x, 1);
     }
 
     public void decrementX() {
-        incrementRegister(registers.x(), -1);
+        state.x = increment(state.x, -1);
     }
 
     public void incrementY() {
-        incrementRegister(registers.y(), 1);
+        state.y = increment(state.y, 1);
     }
 
     public void decrementY() {
-        incrementRegister(registers.y(), -1);
+        state.y = increment(state.y, -1);
     }
 
-    private void incrementRegister(DataRegister register, int by) {
-        int val = register.getAsInt();
+    private int increment(int value, int by) {
+        int result = (value + by) & 0xFF;
 
-        int result = val + by;
+        state.zn(result);
 
-        register.setAsByte(result);
-        status.maybeZeroOrNegative(result);
+        return result;
     }
 
     public void bitwiseOp(@Unsigned byte operand, IntBinaryOperator operator) {
-        int result = operator.applyAsInt(accumulator.getAsInt(), sint(operand));
+        int result = operator.applyAsInt(state.a, sint(operand)) & 0xFF;
 
-        accumulator.setAsByte(result);
-        status.maybeZeroOrNegative(result);
+        state.a = result;
+        state.zn(result);
     }
 
     public void bitwiseAnd(@Unsigned byte operand) {
@@ -165,105 +122,93 @@ public class ArithmeticLogic implements Unit {
     }
 
     public void bitTest(@Unsigned byte data) {
-        @Unsigned byte a = registers.a().get();
-
-        int aVal = sint(a);
         int dataVal = sint(data);
 
-        int result = aVal & dataVal & 0xFF;
-
-        registers.status()
-                .setZero(result == 0)
-                .setOverflow((dataVal & (1 << 6)) != 0)
-                .setNegative((dataVal & (1 << 7)) != 0);
+        state.zeroResult = state.a & dataVal;
+        state.negativeResult = dataVal;      // bit 7
+        state.overflowResult = dataVal << 1; // bit 6
     }
 
     public void compareA(@Unsigned byte data) {
-        compareRegister(registers.a(), data);
+        compareRegister(state.a, data);
     }
 
     public void compareX(@Unsigned byte data) {
-        compareRegister(registers.x(), data);
+        compareRegister(state.x, data);
     }
 
     public void compareY(@Unsigned byte data) {
-        compareRegister(registers.y(), data);
+        compareRegister(state.y, data);
     }
 
-    private void compareRegister(DataRegister register, @Unsigned byte data) {
-        @Unsigned byte reg = register.get();
-
-        int regVal = sint(reg);
-        int dataVal = sint(data);
-
-        int result = regVal - dataVal;
+    private void compareRegister(int regVal, @Unsigned byte data) {
+        int result = regVal - sint(data);
 
-        registers.status()
-                .setBorrow(result < 0)
-                .maybeZeroOrNegative(result);
+        state.carryResult = result + 0x100; // bit 8 set when no borrow
+        state.zn(result);
     }
 
     public @Unsigned byte rotateLeft(@Unsigned byte data) {
-        int oldCarry = registers.status().getCarry() ? 1 : 0;
-
-        int dataVal = sint(data);
+        int result = (sint(data) << 1) | state.carry();
 
-        int result = (dataVal << 1) | oldCarry; // modify
-        boolean newCarry = (result & (1 << 8)) > 0;
-        int resultByte = result & 0xFF;
-
-        registers.status()
-                .setCarry(newCarry)
-                .setZero(resultByte == 0)
-                .setNegative((resultByte & (1 << 7)) > 0);
+        state.carryResult = result;
+        state.zn(result);
 
         return ubyte(result);
     }
 
     public @Unsigned byte rotateRight(@Unsigned byte data) {
-        int oldCarry = registers.status().getCarry() ? (1 << 7) : 0;
-        boolean newCarry = (data & 0b1) > 0;
-        int newData = (sint(data) >> 1) | oldCarry; // modify // FIXME: consider >> vs >>>
+        int dataVal = sint(data);
+        int result = (dataVal >> 1) | (state.carry() << 7);
 
-        registers.status()
-                .setCarry(newCarry)
-                .setZero(newData == 0)
-                .setNegative((newData & (1 << 7)) > 0);
+        state.carryResult = dataVal << 8; // bit 0 goes to carry
+        state.zn(result);
 
-        return ubyte(newData);
+        return ubyte(result);
     }
 
     public @Unsigned byte arithmeticShiftLeft(@Unsigned byte data) {
-        int dataVal = sint(data);
-
-        int result = dataVal << 1;
-        int resultByte = result & 0xFF;
+        int result = sint(data) << 1;
 
-        registers.status()
-                .setCarry(((result & (1 << 8)) > 0))
-                .setZero(resultByte == 0)
-                .setNegative((resultByte & (1 << 7)) > 0);
+        state.carryResult = result;
+        state.zn(result);
 
-        return ubyte(resultByte);
+        return ubyte(result);
     }
 
     public @Unsigned byte logicalShiftRight(@Unsigned byte data) {
         int dataVal = sint(data);
-
         int result = dataVal >> 1;
-        int resultByte = result & 0xFF;
 
-        registers.status()
-                .setCarry((dataVal & 0b1) > 0)
-                .setZero(resultByte == 0)
-                .setNegative(false);
+        state.carryResult = dataVal << 8; // bit 0 goes to carry
+        state.zn(result);
+
+        return ubyte(result);
+    }
+
+    void transferAToX() {
+        state.x = transfer(state.a);
+    }
+
+    void transferXToA() {
+        state.a = transfer(state.x);
+    }
 
-        return ubyte(resultByte);
+    void transferAToY() {
+        state.y = transfer(state.a);
     }
 
-    void transfer(DataRegister src, DataRegister dst) {
-        @Unsigned byte data = src.get();
-        dst.set(data);
-        status.maybeZeroOrNegative(sint(data));
+    void transferYToA() {
+        state.a = transfer(state.y);
+    }
+
+    void transferSpToX() {
+        state.x = transfer(state.sp);
+    }
+
+    private int transfer(int value) {
+        state.zn(value);
+
+        return value;
     }
 }
@@ -5,32 +5,35 @@ import net.novaware.nes.core.board.inject.BoardScope;
 import net.novaware.nes.core.cpu.inject.CpuVar;
 import net.novaware.nes.core.cpu.instruction.InstructionGroup;
 import net.novaware.nes.core.cpu.instruction.InstructionRegistry;
-import net.novaware.nes.core.cpu.register.CpuRegFile;
+import net.novaware.nes.core.cpu.instruction.OpcodeTable;
+import net.novaware.nes.core.cpu.register.CpuState;
 import net.novaware.nes.core.cpu.register.InstructionRegister;
 import net.novaware.nes.core.register.BooleanLatch;
 import net.novaware.nes.core.register.ByteRegister;
-import net.novaware.nes.core.register.IntegerCounter;
 import net.novaware.nes.core.register.DelegatingRegister;
 import net.novaware.nes.core.register.ShortRegister;
 import net.novaware.nes.core.util.UByteUnaryOperator;
 import net.novaware.nes.core.util.uml.Owned;
 import net.novaware.nes.core.util.uml.Used;
+import org.checkerframework.checker.initialization.qual.UnderInitialization;
 import org.checkerframework.checker.signedness.qual.Unsigned;
 
-import static net.novaware.nes.core.cpu.inject.CpuVarName.CC;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.CI;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.CO;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.DI;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.DO;
-import static net.novaware.nes.core.cpu.inject.CpuVarName.IC;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.ID;
+import static net.novaware.nes.core.cpu.instruction.OpcodeTable.ACCUMULATOR;
+import static net.novaware.nes.core.util.UTypes.sint;
+import static net.novaware.nes.core.util.UTypes.ubyte;
+import static net.novaware.nes.core.util.UTypes.ushort;
 
 @BoardScope
 public class ControlUnit implements Unit {
 
     @Owned private final ControlFlow flow;
 
-    @Used private final CpuRegFile registers;
+    @Used private final CpuState state;
     @Used private final BooleanLatch interruptDisabled;
 
     @Used private final ByteRegister currentInstruction;
@@ -38,9 +41,6 @@ public class ControlUnit implements Unit {
     @Used private final InstructionRegister decodedInstruction;
     @Used private final DelegatingRegister decodedOperand;
 
-    @Used private final IntegerCounter cycleCounter;
-    @Used private final IntegerCounter instructionCycle;
-
     @Used private final AddressGen addressGen;
     @Used private final ArithmeticLogic alu;
     @Used private final InstructionDecoder decoder;
@@ -50,11 +50,21 @@ public class ControlUnit implements Unit {
     @Used private final PrefetchUnit prefetch;
     @Used private final StackEngine stackEngine;
 
+    private final Runnable[] executors = new Runnable[OpcodeTable.SIZE]; // per opcode, built once
+
+    // created once, so the method refs don't allocate on every read-modify-write
+    private final UByteUnaryOperator incrementMemory;
+    private final UByteUnaryOperator decrementMemory;
+    private final UByteUnaryOperator arithmeticShiftLeft;
+    private final UByteUnaryOperator logicalShiftRight;
+    private final UByteUnaryOperator rotateLeft;
+    private final UByteUnaryOperator rotateRight;
+
     @Inject
     public ControlUnit(
         ControlFlow flow,
 
-        CpuRegFile registers,
+        CpuState state,
         @CpuVar(ID) BooleanLatch interruptDisabled,
         @CpuVar(CI) ByteRegister currentInstruction,
         @CpuVar(CO) ShortRegister currentOperand,
@@ -62,9 +72,6 @@ public class ControlUnit implements Unit {
         @CpuVar(DI) InstructionRegister decodedInstruction,
         @CpuVar(DO) DelegatingRegister decodedOperand,
 
-        @CpuVar(CC) IntegerCounter cycleCounter,
-        @CpuVar(IC) IntegerCounter instructionCycle,
-
         AddressGen addressGen,
         ArithmeticLogic alu,
         InstructionDecoder decoder,
@@ -76,16 +83,13 @@ public class ControlUnit implements Unit {
     ) {
         this.flow = flow;
 
-        this.registers = registers;
+        this.state = state;
         this.interruptDisabled = interruptDisabled;
         this.currentInstruction = currentInstruction;
         this.currentOperand = currentOperand;
         this.decodedInstruction = decodedInstruction;
         this.decodedOperand = decodedOperand;
 
-        this.cycleCounter = cycleCounter;
-        this.instructionCycle = instructionCycle;
-
         this.addressGen = addressGen;
         this.alu = alu;
         this.decoder = decoder;
@@ -94,26 +98,41 @@ public class ControlUnit implements Unit {
         this.mmu = mmu;
         this.prefetch = prefetch;
         this.stackEngine = stackEngine;
+
+        this.incrementMemory = alu::incrementMemory;
+        this.decrementMemory = alu::decrementMemory;
+        this.arithmeticShiftLeft = alu::arithmeticShiftLeft;
+        this.logicalShiftRight = alu::logicalShiftRight;
+        this.rotateLeft = alu::rotateLeft;
+        this.rotateRight = alu::rotateRight;
+
+        for (int opcode = 0; opcode < executors.length; opcode++) {
+            InstructionGroup group = InstructionRegistry.fromOpcode(ubyte(opcode)).group();
+
+            executors[opcode] = OpcodeTable.addressing(opcode) == ACCUMULATOR
+                ? accumulatorExecutorOf(group)
+                : executorOf(group);
+        }
     }
 
     @Override
     public void initialize() {
         flow.initialize();
 
-        registers.a().setAsByte(0);
-        registers.x().setAsByte(0);
-        registers.y().setAsByte(0);
-        registers.sp().setAsByte(0x00);
-        registers.status().initialize();
+        state.a = 0;
+        state.x = 0;
+        state.y = 0;
+        state.sp = 0x00;
+        state.status(CpuState.I);
     }
 
     @Override
     public void reset() {
-        cycleCounter.reset();
-        instructionCycle.reset();
+        state.cycles = 0;
+        state.instructionCycles = 0;
 
         interruptDisabled.reset();
-        registers.status().reset();
+        state.setIrqDisabled(true);
 
         flow.reset();
 
@@ -143,11 +162,11 @@ public class ControlUnit implements Unit {
     }
 
     public void fetchOperand() {
-        int size = InstructionRegistry.fromOpcode(currentInstruction.get()).size(); // TODO: consider dedicated instruction size index
+        int size = OpcodeTable.size(currentInstruction.getAsInt());
 
         switch (size) {
             case 1 -> {
-                mmu.specifyAnd(registers.pc().get()).readByte(); // no pc increment, data ignored
+                mmu.specifyAnd(ushort(state.pc)).readByte(); // no pc increment, data ignored
                 currentOperand.lowAsByte(0x00);
                 currentOperand.highAsByte(0x00);
             }
@@ -169,105 +188,122 @@ public class ControlUnit implements Unit {
 
     // TODO: test that correct units are called
     public void execute() {
-        InstructionGroup instruction = decodedInstruction.getGroup();
+        executors[decodedInstruction.getOpcode()].run();
+    }
 
-        switch (instruction) { // TODO: make these 0 argument methods
-            case ADD_WITH_CARRY       -> alu.addWithCarry(decodedOperand.getData());
-            case SUBTRACT_WITH_BORROW -> alu.subtractWithBorrow(decodedOperand.getData());
+    private Runnable executorOf(@UnderInitialization(ControlUnit.class) ControlUnit this, InstructionGroup group) {
+        return switch (group) { // TODO: make these 0 argument methods
+            case ADD_WITH_CARRY       -> () -> alu.addWithCarry(decodedOperand.getData());
+            case SUBTRACT_WITH_BORROW -> () -> alu.subtractWithBorrow(decodedOperand.getData());
 
-            case INCREMENT_MEMORY -> readModifyWrite(alu::incrementMemory);
-            case DECREMENT_MEMORY -> readModifyWrite(alu::decrementMemory);
+            case INCREMENT_MEMORY -> () -> readModifyWrite(decodedOperand, incrementMemory);
+            case DECREMENT_MEMORY -> () -> readModifyWrite(decodedOperand, decrementMemory);
 
-            case INCREMENT_X -> alu.incrementX();
-            case DECREMENT_X -> alu.decrementX();
+            case INCREMENT_X -> () -> alu.incrementX();
+            case DECREMENT_X -> () -> alu.decrementX();
 
-            case INCREMENT_Y -> alu.incrementY();
-            case DECREMENT_Y -> alu.decrementY();
+            case INCREMENT_Y -> () -> alu.incrementY();
+            case DECREMENT_Y -> () -> alu.decrementY();
 
-            case BRANCH_IF_NEGATIVE_SET -> flow.branchIf(registers.status().isNegative());
-            case BRANCH_IF_NEGATIVE_CLR -> flow.branchIf(!registers.status().isNegative());
+            case BRANCH_IF_NEGATIVE_SET -> () -> flow.branchIf(state.isNegative());
+            case BRANCH_IF_NEGATIVE_CLR -> () -> flow.branchIf(!state.isNegative());
 
-            case BRANCH_IF_ZERO_SET     -> flow.branchIf(registers.status().isZero());
-            case BRANCH_IF_ZERO_CLR     -> flow.branchIf(!registers.status().isZero());
+            case BRANCH_IF_ZERO_SET     -> () -> flow.branchIf(state.isZero());
+            case BRANCH_IF_ZERO_CLR     -> () -> flow.branchIf(!state.isZero());
 
-            case BRANCH_IF_CARRY_SET    -> flow.branchIf(registers.status().getCarry());
-            case BRANCH_IF_CARRY_CLR    -> flow.branchIf(!registers.status().getCarry());
+            case BRANCH_IF_CARRY_SET    -> () -> flow.branchIf(state.isCarry());
+            case BRANCH_IF_CARRY_CLR    -> () -> flow.branchIf(!state.isCarry());
 
-            case BRANCH_IF_OVERFLOW_SET -> flow.branchIf(registers.status().isOverflow());
-            case BRANCH_IF_OVERFLOW_CLR -> flow.branchIf(!registers.status().isOverflow());
+            case BRANCH_IF_OVERFLOW_SET -> () -> flow.branchIf(state.isOverflow());
+            case BRANCH_IF_OVERFLOW_CLR -> () -> flow.branchIf(!state.isOverflow());
 
-            case COMPARE_A_WITH_MEMORY -> alu.compareA(decodedOperand.getData());
-            case COMPARE_X_WITH_MEMORY -> alu.compareX(decodedOperand.getData());
-            case COMPARE_Y_WITH_MEMORY -> alu.compareY(decodedOperand.getData());
+            case COMPARE_A_WITH_MEMORY -> () -> alu.compareA(decodedOperand.getData());
+            case COMPARE_X_WITH_MEMORY -> () -> alu.compareX(decodedOperand.getData());
+            case COMPARE_Y_WITH_MEMORY -> () -> alu.compareY(decodedOperand.getData());
 
-            case JUMP_TO_LOCATION -> flow.jumpTo();
+            case JUMP_TO_LOCATION -> () -> flow.jumpTo();
 
-            case JUMP_TO_SUBROUTINE -> flow.call();
-            case RETURN_FROM_SUBROUTINE -> flow.returnFromCall();
+            case JUMP_TO_SUBROUTINE -> () -> flow.call();
+            case RETURN_FROM_SUBROUTINE -> () -> flow.returnFromCall();
 
-            case SET_CARRY -> registers.status().setCarry(true);
-            case CLR_CARRY -> registers.status().setCarry(false);
+            case SET_CARRY -> () -> state.setCarry(true);
+            case CLR_CARRY -> () -> state.setCarry(false);
 
             // TODO: http://www.6502.org/tutorials/decimal_mode.html
-            case SET_DECIMAL -> registers.status().setDecimal(true);
-            case CLR_DECIMAL -> registers.status().setDecimal(false);
+            case SET_DECIMAL -> () -> state.setDecimal(true);
+            case CLR_DECIMAL -> () -> state.setDecimal(false);
 
-            case SET_INTERRUPT_DISABLE -> interruptDisabled.delayedSet(true);
-            case CLR_INTERRUPT_DISABLE -> interruptDisabled.delayedSet(false);
+            case SET_INTERRUPT_DISABLE -> () -> interruptDisabled.delayedSet(true);
+            case CLR_INTERRUPT_DISABLE -> () -> interruptDisabled.delayedSet(false);
 
-            case CLR_OVERFLOW -> registers.status().setOverflow(false);
+            case CLR_OVERFLOW -> () -> state.setOverflow(false);
 
-            case FORCE_BREAK -> interrupts.forceBreak(); // TODO: what about unused operand that is skipped on return?
-            case RETURN_FROM_INTERRUPT -> interrupts.returnFromInterrupt();
+            case FORCE_BREAK -> () -> interrupts.forceBreak(); // TODO: what about unused operand that is skipped on return?
+            case RETURN_FROM_INTERRUPT -> () -> interrupts.returnFromInterrupt();
 
-            case BITWISE_AND -> alu.bitwiseAnd(decodedOperand.getData());
-            case BITWISE_OR -> alu.bitwiseOr();
-            case BITWISE_XOR -> alu.bitwiseXor(decodedOperand.getData());
-            case BIT_TEST -> alu.bitTest(decodedOperand.getData());
+            case BITWISE_AND -> () -> alu.bitwiseAnd(decodedOperand.getData());
+            case BITWISE_OR -> () -> alu.bitwiseOr();
+            case BITWISE_XOR -> () -> alu.bitwiseXor(decodedOperand.getData());
+            case BIT_TEST -> () -> alu.bitTest(decodedOperand.getData());
 
-            case LOAD_A_WITH_MEMORY -> loadStore.load(registers.a());
-            case STORE_A_IN_MEMORY -> loadStore.store(registers.a());
+            case LOAD_A_WITH_MEMORY -> () -> loadStore.loadA();
+            case STORE_A_IN_MEMORY -> () -> loadStore.storeA();
 
-            case LOAD_X_WITH_MEMORY -> loadStore.load(registers.x());
-            case STORE_X_IN_MEMORY -> loadStore.store(registers.x());
+            case LOAD_X_WITH_MEMORY -> () -> loadStore.loadX();
+            case STORE_X_IN_MEMORY -> () -> loadStore.storeX();
 
-            case LOAD_Y_WITH_MEMORY -> loadStore.load(registers.y());
-            case STORE_Y_IN_MEMORY -> loadStore.store(registers.y());
+            case LOAD_Y_WITH_MEMORY -> () -> loadStore.loadY();
+            case STORE_Y_IN_MEMORY -> () -> loadStore.storeY();
 
-            case NO_OPERATION -> {}
+            case NO_OPERATION -> () -> {};
 
-            case TRANSFER_A_TO_X -> alu.transfer(registers.a(), registers.x());
-            case TRANSFER_X_TO_A -> alu.transfer(registers.x(), registers.a());
+            case TRANSFER_A_TO_X -> () -> alu.transferAToX();
+            case TRANSFER_X_TO_A -> () -> alu.transferXToA();
 
-            case TRANSFER_A_TO_Y -> alu.transfer(registers.a(), registers.y());
-            case TRANSFER_Y_TO_A -> alu.transfer(registers.y(), registers.a());
+            case TRANSFER_A_TO_Y -> () -> alu.transferAToY();
+            case TRANSFER_Y_TO_A -> () -> alu.transferYToA();
 
-            case SHIFT_LEFT  -> readModifyWrite(alu::arithmeticShiftLeft);
-            case SHIFT_RIGHT -> readModifyWrite(alu::logicalShiftRight);
+            case SHIFT_LEFT  -> () -> readModifyWrite(decodedOperand, arithmeticShiftLeft);
+            case SHIFT_RIGHT -> () -> readModifyWrite(decodedOperand, logicalShiftRight);
 
-            case ROTATE_LEFT  -> readModifyWrite(alu::rotateLeft);
-            case ROTATE_RIGHT -> readModifyWrite(alu::rotateRight);
+            case ROTATE_LEFT  -> () -> readModifyWrite(decodedOperand, rotateLeft);
+            case ROTATE_RIGHT -> () -> readModifyWrite(decodedOperand, rotateRight);
 
-            case PUSH_A_TO_SP   -> stackEngine.push(registers.a());
-            case PULL_A_FROM_SP -> stackEngine.pull(registers.a());
+            case PUSH_A_TO_SP   -> () -> stackEngine.pushA();
+            case PULL_A_FROM_SP -> () -> stackEngine.pullA();
 
-            case PUSH_STATUS_TO_SP   -> stackEngine.pushStatus(true);
-            case PULL_STATUS_FROM_SP -> stackEngine.pullStatusWithDelayedInterruptDisable();
+            case PUSH_STATUS_TO_SP   -> () -> stackEngine.pushStatus(true);
+            case PULL_STATUS_FROM_SP -> () -> stackEngine.pullStatusWithDelayedInterruptDisable();
 
-            case TRANSFER_SP_TO_X -> alu.transfer(registers.sp(), registers.x());
-            case TRANSFER_X_TO_SP -> registers.sp().set(registers.x().get()); // no flag updates
+            case TRANSFER_SP_TO_X -> () -> alu.transferSpToX();
+            case TRANSFER_X_TO_SP -> () -> state.sp = state.x; // no flag updates
 
-            case DEC_MEM_CMP_A -> { readModifyWrite(alu::decrementMemory); alu.compareA(decodedOperand.getData()); } // FIXME: test illegal
+            case DEC_MEM_CMP_A -> () -> { readModifyWrite(decodedOperand, decrementMemory); alu.compareA(decodedOperand.getData()); }; // FIXME: test illegal
 
-            default -> throw new UnsupportedOperationException("Unsupported instruction: " + instruction.name());
-        }
+            default -> () -> { throw new UnsupportedOperationException("Unsupported instruction: " + group.name()); };
+        };
+    }
+
+    /**
+     * ASL, LSR, ROL and ROR on A without going through the decoded operand
+     */
+    private Runnable accumulatorExecutorOf(@UnderInitialization(ControlUnit.class) ControlUnit this, InstructionGroup group) {
+        return switch (group) {
+            case SHIFT_LEFT  -> () -> modifyAccumulator(state, arithmeticShiftLeft);
+            case SHIFT_RIGHT -> () -> modifyAccumulator(state, logicalShiftRight);
+
+            case ROTATE_LEFT  -> () -> modifyAccumulator(state, rotateLeft);
+            case ROTATE_RIGHT -> () -> modifyAccumulator(state, rotateRight);
+
+            default -> executorOf(group);
+        };
     }
 
     public void commitAll() {
         interruptDisabled.commit();
     }
 
-    /* package */ void readModifyWrite(UByteUnaryOperator operator) { // TODO: move to alu
+    /* package */ static void readModifyWrite(DelegatingRegister decodedOperand, UByteUnaryOperator operator) { // TODO: move to alu
         @Unsigned byte data = decodedOperand.getData(); // read
         decodedOperand.setData(data); // write unmodified
 
@@ -275,6 +311,10 @@ public class ControlUnit implements Unit {
         decodedOperand.setData(newData); // write
     }
 
+    /* package */ static void modifyAccumulator(CpuState state, UByteUnaryOperator operator) {
+        state.a = sint(operator.applyAsUByte(ubyte(state.a)));
+    }
+
     public void sampleInterrupts() {
         interrupts.sample();
     }
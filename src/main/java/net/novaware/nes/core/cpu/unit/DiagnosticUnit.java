@@ -11,6 +11,7 @@ import net.novaware.nes.core.memory.MemoryBus;
 import net.novaware.nes.core.ppu.inject.PpuVar;
 import net.novaware.nes.core.ppu.inject.PpuVarName;
 import net.novaware.nes.core.register.ByteRegister;
+import net.novaware.nes.core.register.CounterView;
 import net.novaware.nes.core.register.DelegatingRegister;
 import net.novaware.nes.core.register.IntegerCounter;
 import net.novaware.nes.core.register.ShortRegister;
@@ -40,8 +41,8 @@ public class DiagnosticUnit implements Unit, Runnable { // TODO: extract the who
     private final InstructionRegister decodedInstruction;
     private final DelegatingRegister decodedOperand;
     private final CpuRegFile registers;
-    private final IntegerCounter cycleCounter;
-    private final IntegerCounter instructionCycle;
+    private final CounterView cycleCounter;
+    private final CounterView instructionCycle;
     private final MemoryBus cpuBus;
 
     private final IntegerCounter lineCounter;
@@ -60,8 +61,8 @@ public class DiagnosticUnit implements Unit, Runnable { // TODO: extract the who
 
         CpuRegFile registers,
 
-        @CpuVar(CC) IntegerCounter cycleCounter,
-        @CpuVar(IC) IntegerCounter instructionCycle,
+        @CpuVar(CC) CounterView cycleCounter,
+        @CpuVar(IC) CounterView instructionCycle,
         @CpuVar(BUS)MemoryBus cpuBus,
 
         @PpuVar(PpuVarName.LC) IntegerCounter lineCounter,
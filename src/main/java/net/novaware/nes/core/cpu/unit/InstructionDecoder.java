@@ -3,15 +3,11 @@ package net.novaware.nes.core.cpu.unit;
 import jakarta.inject.Inject;
 import net.novaware.nes.core.board.inject.BoardScope;
 import net.novaware.nes.core.cpu.inject.CpuVar;
-import net.novaware.nes.core.cpu.instruction.AddressingMode;
-import net.novaware.nes.core.cpu.instruction.Instruction;
-import net.novaware.nes.core.cpu.instruction.InstructionRegistry;
-import net.novaware.nes.core.cpu.register.CpuRegFile;
+import net.novaware.nes.core.cpu.instruction.OpcodeTable;
+import net.novaware.nes.core.cpu.register.CpuState;
 import net.novaware.nes.core.cpu.register.InstructionRegister;
 import net.novaware.nes.core.memory.MemoryBus;
 import net.novaware.nes.core.register.ByteRegister;
-import net.novaware.nes.core.register.IntegerCounter;
-import net.novaware.nes.core.register.DataRegister;
 import net.novaware.nes.core.register.DelegatingRegister;
 import net.novaware.nes.core.register.ShortRegister;
 import net.novaware.nes.core.util.Hex;
@@ -20,12 +16,26 @@ import org.checkerframework.checker.signedness.qual.Signed;
 import org.checkerframework.checker.signedness.qual.Unsigned;
 
 import static net.novaware.nes.core.cpu.inject.CpuVarName.BUS;
-import static net.novaware.nes.core.cpu.inject.CpuVarName.CC;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.CI;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.CO;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.DI;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.DO;
-import static net.novaware.nes.core.cpu.inject.CpuVarName.IC;
+import static net.novaware.nes.core.cpu.instruction.OpcodeTable.ABSOLUTE;
+import static net.novaware.nes.core.cpu.instruction.OpcodeTable.ABSOLUTE_INDIRECT;
+import static net.novaware.nes.core.cpu.instruction.OpcodeTable.ABSOLUTE_X_R;
+import static net.novaware.nes.core.cpu.instruction.OpcodeTable.ABSOLUTE_X_W;
+import static net.novaware.nes.core.cpu.instruction.OpcodeTable.ABSOLUTE_Y_R;
+import static net.novaware.nes.core.cpu.instruction.OpcodeTable.ABSOLUTE_Y_W;
+import static net.novaware.nes.core.cpu.instruction.OpcodeTable.ACCUMULATOR;
+import static net.novaware.nes.core.cpu.instruction.OpcodeTable.IMMEDIATE;
+import static net.novaware.nes.core.cpu.instruction.OpcodeTable.IMPLIED;
+import static net.novaware.nes.core.cpu.instruction.OpcodeTable.RELATIVE;
+import static net.novaware.nes.core.cpu.instruction.OpcodeTable.ZERO_PAGE;
+import static net.novaware.nes.core.cpu.instruction.OpcodeTable.ZERO_PAGE_INDIRECT_Y_R;
+import static net.novaware.nes.core.cpu.instruction.OpcodeTable.ZERO_PAGE_INDIRECT_Y_W;
+import static net.novaware.nes.core.cpu.instruction.OpcodeTable.ZERO_PAGE_X;
+import static net.novaware.nes.core.cpu.instruction.OpcodeTable.ZERO_PAGE_X_INDIRECT;
+import static net.novaware.nes.core.cpu.instruction.OpcodeTable.ZERO_PAGE_Y;
 import static net.novaware.nes.core.util.UTypes.sint;
 import static net.novaware.nes.core.util.UTypes.ubyte;
 import static net.novaware.nes.core.util.UTypes.ushort;
@@ -33,57 +43,45 @@ import static net.novaware.nes.core.util.UTypes.ushort;
 @BoardScope
 public class InstructionDecoder implements Unit {
 
-    @Used private final CpuRegFile registers;
-
     @Used private final ByteRegister currentInstruction;
     @Used private final ShortRegister currentOperand;
     @Used private final InstructionRegister decodedInstruction;
     @Used private final DelegatingRegister decodedOperand;
 
-    @Used private final IntegerCounter cycleCounter;
-    @Used private final IntegerCounter instructionCycle;
+    @Used private final CpuState state;
 
     @Used private final MemoryBus memoryBus;
     @Used private final AddressGen addressGen;
 
     @Inject
     public InstructionDecoder(
-        CpuRegFile registers,
-
         @CpuVar(CI) ByteRegister currentInstruction,
         @CpuVar(CO) ShortRegister currentOperand,
 
         @CpuVar(DI) InstructionRegister decodedInstruction,
         @CpuVar(DO) DelegatingRegister decodedOperand,
 
-        @CpuVar(CC) IntegerCounter cycleCounter,
-        @CpuVar(IC) IntegerCounter instructionCycle,
+        CpuState state,
         @CpuVar(BUS) MemoryBus memoryBus,
         AddressGen addressGen
     ) {
-        this.registers = registers;
-
         this.currentInstruction = currentInstruction;
         this.currentOperand = currentOperand;
         this.decodedInstruction = decodedInstruction;
         this.decodedOperand = decodedOperand;
 
-        this.cycleCounter = cycleCounter;
-        this.instructionCycle = instructionCycle;
+        this.state = state;
         this.memoryBus = memoryBus;
         this.addressGen = addressGen;
     }
 
     public void decode() {
         @Unsigned byte opcode = currentInstruction.get();
+        decodedInstruction.set(opcode);
 
-        Instruction instruction = InstructionRegistry.fromOpcode(opcode);
-        decodedInstruction.set(instruction);
-
-        AddressingMode addressingMode = instruction.addressingMode();
         @Unsigned short operand = currentOperand.get();
 
-        switch (addressingMode) {
+        switch (OpcodeTable.addressing(sint(opcode))) {
             case IMPLIED -> decodeImplied();
             case ACCUMULATOR -> decodeAccumulator();
 
@@ -93,8 +91,8 @@ public class InstructionDecoder implements Unit {
 
             case ZERO_PAGE -> decodeZeroPage(operand);
 
-            case ZERO_PAGE_X -> decodeZeroPageIndexed(registers.x(), operand);
-            case ZERO_PAGE_Y -> decodeZeroPageIndexed(registers.y(), operand);
+            case ZERO_PAGE_X -> decodeZeroPageIndexed(state.x, operand);
+            case ZERO_PAGE_Y -> decodeZeroPageIndexed(state.y, operand);
 
             case ZERO_PAGE_X_INDIRECT -> decodeZeroPageIndexed_X_Indirect(operand);
 
@@ -103,35 +101,34 @@ public class InstructionDecoder implements Unit {
 
             case ABSOLUTE -> decodeAbsolute(operand);
 
-            case ABSOLUTE_X_R -> decodeAbsoluteIndexedRead(registers.x(), operand);
-            case ABSOLUTE_X_W -> decodeAbsoluteIndexedWrite(registers.x(), operand);
+            case ABSOLUTE_X_R -> decodeAbsoluteIndexedRead(state.x, operand);
+            case ABSOLUTE_X_W -> decodeAbsoluteIndexedWrite(state.x, operand);
 
-            case ABSOLUTE_Y_R -> decodeAbsoluteIndexedRead(registers.y(), operand);
-            case ABSOLUTE_Y_W -> decodeAbsoluteIndexedWrite(registers.y(), operand);
+            case ABSOLUTE_Y_R -> decodeAbsoluteIndexedRead(state.y, operand);
+            case ABSOLUTE_Y_W -> decodeAbsoluteIndexedWrite(state.y, operand);
 
             case ABSOLUTE_INDIRECT -> decodeAbsoluteIndirect(operand); // only jump
 
-            case UNKNOWN -> throw new UnsupportedOperationException("Unsupported opcode: " + Hex.s(opcode));
+            default -> throw new UnsupportedOperationException("Unsupported opcode: " + Hex.s(opcode));
         }
     }
 
     private void decodeZeroPageIndexed_Y_IndirectRead(@Unsigned short operand) {
         int address = sint(addressGen.fetchAddressPageWrap(operand)); // stay within zero page
-        int yVal = registers.y().getAsInt();
+        int yVal = state.y;
 
         int result = address + yVal;
 
         boolean pageChange = (address & 0xFF00) != (result & 0xFF00);
 
-        cycleCounter.maybeIncrement(pageChange); // TODO: this should be a bus read from address without a zero page wrap (oops)
-        instructionCycle.maybeIncrement(pageChange); // TODO: this should be a bus read from address without a zero page wrap (oops)
+        state.maybeCycle(pageChange); // TODO: this should be a bus read from address without a zero page wrap (oops)
 
         decodedOperand.configureMemory(memoryBus, ushort(result));
     }
 
     private void decodeZeroPageIndexed_Y_IndirectWrite(@Unsigned short operand) {
         int address = sint(addressGen.fetchAddressPageWrap(operand)); // stay within zero page
-        int yVal = registers.y().getAsInt();
+        int yVal = state.y;
 
         memoryBus.access(ushort(address)).read().data(); // sum cycle
         int result = address + yVal;
@@ -141,7 +138,7 @@ public class InstructionDecoder implements Unit {
 
     private void decodeZeroPageIndexed_X_Indirect(@Unsigned short operand) {
         int address = sint(operand);
-        int xVal = registers.x().getAsInt();
+        int xVal = state.x;
 
         memoryBus.access(operand).read().data(); // sum cycle
         int indirectAddress = (address + xVal) & 0xFF; // stay within zero page
@@ -150,30 +147,23 @@ public class InstructionDecoder implements Unit {
         decodedOperand.configureMemory(memoryBus, result);
     }
 
-    private void decodeAbsoluteIndexedRead(DataRegister indexRegister, @Unsigned short operand) {
-        int indexVal = indexRegister.getAsInt();
-
+    private void decodeAbsoluteIndexedRead(int indexVal, @Unsigned short operand) {
         int result = indexVal + sint(operand);
 
         boolean pageChange = (sint(operand) & 0xFF00) != (result & 0xFF00);
-        cycleCounter.maybeIncrement(pageChange); // TODO: this should be a bus read from address without page change
-        instructionCycle.maybeIncrement(pageChange); // TODO: this should be a bus read from address without page change
+        state.maybeCycle(pageChange); // TODO: this should be a bus read from address without page change
 
         decodedOperand.configureMemory(memoryBus, ushort(result));
     }
 
-    private void decodeAbsoluteIndexedWrite(DataRegister indexRegister, @Unsigned short operand) {
-        int indexVal = indexRegister.getAsInt();
-
+    private void decodeAbsoluteIndexedWrite(int indexVal, @Unsigned short operand) {
         memoryBus.access(operand).read().data(); // sum cycle
         int result = indexVal + sint(operand);
 
         decodedOperand.configureMemory(memoryBus, ushort(result));
     }
 
-    private void decodeZeroPageIndexed(DataRegister indexRegister, @Unsigned short operand) {
-        int indexVal = indexRegister.getAsInt();
-
+    private void decodeZeroPageIndexed(int indexVal, @Unsigned short operand) {
         memoryBus.access(operand).read().data(); // sum cycle
         int result = (sint(operand) + indexVal) & 0xFF;
 
@@ -183,7 +173,7 @@ public class InstructionDecoder implements Unit {
     private void decodeRelative(@Unsigned short operand) {
         @SuppressWarnings("signedness")
         @Signed int signedOperand = (byte) operand;
-        int pc = registers.pc().getAsInt();
+        int pc = state.pc;
 
         decodedOperand.configureAddress(ushort(pc + signedOperand));
     }
@@ -202,7 +192,7 @@ public class InstructionDecoder implements Unit {
     }
 
     private void decodeAccumulator() {
-        decodedOperand.configureDataRegister(registers.a());
+        decodedOperand.configureData(ubyte(state.a)); // ControlUnit writes A directly, the operand only shows it
     }
 
     private void decodeImmediate(@Unsigned short operand) {
@@ -3,7 +3,7 @@ package net.novaware.nes.core.cpu.unit;
 import jakarta.inject.Inject;
 import net.novaware.nes.core.board.inject.BoardScope;
 import net.novaware.nes.core.cpu.inject.CpuVar;
-import net.novaware.nes.core.cpu.register.CpuRegFile;
+import net.novaware.nes.core.cpu.register.CpuState;
 import net.novaware.nes.core.register.BooleanRegister;
 import net.novaware.nes.core.register.ShortRegister;
 import net.novaware.nes.core.util.uml.Used;
@@ -14,13 +14,14 @@ import static net.novaware.nes.core.cpu.inject.CpuVarName.IRQ;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.NMI;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.RES;
 import static net.novaware.nes.core.util.UTypes.USHORT_0;
+import static net.novaware.nes.core.util.UTypes.sint;
 import static net.novaware.nes.core.util.UTypes.ushort;
 
 @BoardScope
 public class InterruptLogic implements Unit {
 
     @Used
-    private final CpuRegFile registers;
+    private final CpuState state;
 
     @Used
     private final AddressGen agu;
@@ -54,7 +55,7 @@ public class InterruptLogic implements Unit {
 
     @Inject
     public InterruptLogic(
-            CpuRegFile registers,
+            CpuState state,
             StackEngine stackEngine,
             AddressGen agu,
             MemoryMgmt mmu,
@@ -66,7 +67,7 @@ public class InterruptLogic implements Unit {
             @CpuVar(IRQ) ShortRegister irqVector,
             @CpuVar(RES) ShortRegister resVector
     ) {
-        this.registers = registers;
+        this.state = state;
         this.stackEngine = stackEngine;
         this.agu = agu;
         this.mmu = mmu;
@@ -103,20 +104,20 @@ public class InterruptLogic implements Unit {
         mmu.specifyAnd(ushort(randomAddress)).readByte();  // 1
         mmu.specifyAnd(ushort(randomAddress + 1)).readByte();// 2
 
-        int sp = registers.sp().getAsInt();
+        int sp = state.sp;
 
-        registers.sp().setAsByte(sp);
+        state.sp = sp & 0xFF;
         mmu.specifyAnd(ushort(sp)).readByte();             // 3
 
         sp -= 1;
-        registers.sp().setAsByte(sp);
+        state.sp = sp & 0xFF;
         mmu.specifyAnd(ushort(sp)).readByte();             // 4
 
         sp -= 2;
-        registers.sp().setAsByte(sp);
+        state.sp = sp & 0xFF;
         mmu.specifyAnd(ushort(sp)).readByte();             // 5
 
-        registers.pc().set(fetchVector());                 // 6, 7
+        state.pc = sint(fetchVector());                    // 6, 7
     }
 
     public void forceBreak() {
@@ -135,7 +136,7 @@ public class InterruptLogic implements Unit {
     }
 
     private void hardwareInterrupt() {
-        int pcVal = registers.pc().getAsInt();             // Cycles
+        int pcVal = state.pc;                              // Cycles
         mmu.specifyAnd(ushort(pcVal)).readByte();          // 1
         mmu.specifyAnd(ushort(pcVal + 1)).readByte();      // 2
 
@@ -143,17 +144,17 @@ public class InterruptLogic implements Unit {
     }
 
     private void performInterrupt() {
-        stackEngine.push(registers.pc().get());            // 3, 4
+        stackEngine.push(ushort(state.pc));                // 3, 4
         stackEngine.pushStatus(brkRegister.get());         // 5
 
-        registers.status().setIrqDisabled(true);
+        state.setIrqDisabled(true);
 
-        registers.pc().set(fetchVector());                 // 6, 7
+        state.pc = sint(fetchVector());                    // 6, 7
     }
 
     public void returnFromInterrupt() {
         stackEngine.pullStatus();
-        stackEngine.pull(registers.pc());
+        state.pc = stackEngine.pullAddress();
     }
 
     public void sample() {
@@ -163,7 +164,7 @@ public class InterruptLogic implements Unit {
             return;
         }
 
-        if (irqRegister.get() && !registers.status().isIrqDisabled()) {
+        if (irqRegister.get() && !state.isIrqDisabled()) {
             hardwareInterrupt(); // servicing irq sets irq disabled
             return;
         }
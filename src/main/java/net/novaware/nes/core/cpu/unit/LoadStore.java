@@ -3,44 +3,62 @@ package net.novaware.nes.core.cpu.unit;
 import jakarta.inject.Inject;
 import net.novaware.nes.core.board.inject.BoardScope;
 import net.novaware.nes.core.cpu.inject.CpuVar;
-import net.novaware.nes.core.cpu.register.StatusRegister;
-import net.novaware.nes.core.register.DataRegister;
+import net.novaware.nes.core.cpu.register.CpuState;
 import net.novaware.nes.core.register.DelegatingRegister;
 import net.novaware.nes.core.util.uml.Used;
-import org.checkerframework.checker.signedness.qual.Unsigned;
 
 import static net.novaware.nes.core.cpu.inject.CpuVarName.DO;
-import static net.novaware.nes.core.cpu.inject.CpuVarName.PS;
 import static net.novaware.nes.core.util.UTypes.sint;
+import static net.novaware.nes.core.util.UTypes.ubyte;
 
 @BoardScope
 public class LoadStore implements Unit {
 
-    @Used private final StatusRegister status;
+    @Used private final CpuState state;
     @Used private final DelegatingRegister decodedOperand;
 
     @Inject
     public LoadStore(
-        @CpuVar(PS) StatusRegister status,
+        CpuState state,
         @CpuVar(DO) DelegatingRegister decodedOperand
     ) {
-        this.status = status;
+        this.state = state;
         this.decodedOperand = decodedOperand;
     }
 
-    void load(DataRegister register) {
-        @Unsigned byte data = decodedOperand.getData();
+    void loadA() {
+        state.a = load();
+    }
+
+    void loadX() {
+        state.x = load();
+    }
+
+    void loadY() {
+        state.y = load();
+    }
 
-        register.set(data);
+    private int load() {
+        int data = sint(decodedOperand.getData());
 
-        int dataVal = sint(data);
+        state.zn(data);
 
-        status.maybeZeroOrNegative(dataVal);
+        return data;
     }
 
-    void store(DataRegister register) {
-        @Unsigned byte data = register.get();
+    void storeA() {
+        store(state.a);
+    }
+
+    void storeX() {
+        store(state.x);
+    }
+
+    void storeY() {
+        store(state.y);
+    }
 
-        decodedOperand.setData(data);
+    private void store(int data) {
+        decodedOperand.setData(ubyte(data));
     }
 }
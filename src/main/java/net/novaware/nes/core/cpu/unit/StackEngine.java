@@ -3,17 +3,16 @@ package net.novaware.nes.core.cpu.unit;
 import jakarta.inject.Inject;
 import net.novaware.nes.core.board.inject.BoardScope;
 import net.novaware.nes.core.cpu.inject.CpuVar;
-import net.novaware.nes.core.cpu.register.CpuRegFile;
-import net.novaware.nes.core.cpu.register.Status;
-import net.novaware.nes.core.cpu.register.StatusRegister;
-import net.novaware.nes.core.register.AddressRegister;
+import net.novaware.nes.core.cpu.register.CpuState;
 import net.novaware.nes.core.register.BooleanLatch;
-import net.novaware.nes.core.register.DataRegister;
 import net.novaware.nes.core.register.SegmentRegister;
 import org.checkerframework.checker.signedness.qual.Unsigned;
 
 import static net.novaware.nes.core.cpu.inject.CpuVarName.ID;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.SS;
+import static net.novaware.nes.core.cpu.register.CpuState.B;
+import static net.novaware.nes.core.cpu.register.CpuState.I;
+import static net.novaware.nes.core.cpu.register.CpuState.U;
 import static net.novaware.nes.core.util.Asserts.assertState;
 import static net.novaware.nes.core.util.UTypes.sint;
 import static net.novaware.nes.core.util.UTypes.ubyte;
@@ -23,8 +22,7 @@ import static net.novaware.nes.core.util.UTypes.ushort;
 public class StackEngine implements Unit {
 
     private final SegmentRegister stackSegment;
-    private final DataRegister stackPointer;
-    private final StatusRegister status;
+    private final CpuState state;
     private final BooleanLatch interruptDisabled;
 
     private final MemoryMgmt mmu;
@@ -33,13 +31,12 @@ public class StackEngine implements Unit {
     public StackEngine (
         @CpuVar(SS) SegmentRegister stackSegment,
         @CpuVar(ID) BooleanLatch interruptDisabled,
-        CpuRegFile registers,
+        CpuState state,
         MemoryMgmt mmu
     ) {
         this.stackSegment = stackSegment;
         this.interruptDisabled = interruptDisabled;
-        this.stackPointer = registers.getStackPointer();
-        this.status = registers.getStatus();
+        this.state = state;
 
         this.mmu = mmu;
     }
@@ -49,14 +46,12 @@ public class StackEngine implements Unit {
     }
 
     private void increment() {
-        int sp = stackPointer.getAsInt();
         // TODO: maybe do a peek here before adding one
-        stackPointer.setAsByte(sp + 1);
+        state.sp = (state.sp + 1) & 0xFF;
     }
 
     private void decrement() {
-        int sp = stackPointer.getAsInt();
-        stackPointer.setAsByte(sp - 1);
+        state.sp = (state.sp - 1) & 0xFF;
     }
 
     private @Unsigned short address() {
@@ -64,20 +59,15 @@ public class StackEngine implements Unit {
     }
 
     private int addressInt() {
-        return stackSegment.getStartAsInt() + stackPointer.getAsInt();
+        return stackSegment.getStartAsInt() + state.sp;
     }
 
     void peek() {
         mmu.specifyAnd(address()).readByte();
     }
 
-    void push(DataRegister register) {
-        push(register.get());
-    }
-
-    void push(AddressRegister register) {
-        push(register.high());
-        push(register.low());
+    void pushA() {
+        push(ubyte(state.a));
     }
 
     void push(@Unsigned short address) {
@@ -106,57 +96,53 @@ public class StackEngine implements Unit {
         return data;
     }
 
-    void pull(DataRegister register) {
+    void pullA() {
         peek(); // additional cycle to read current sp // TODO: maybe move to increment()
 
-        @Unsigned byte data = pull();
-        int dataVal = sint(data);
+        int data = sint(pull());
 
-        register.set(data);
-
-        status.maybeZeroOrNegative(dataVal);
+        state.a = data;
+        state.zn(data);
     }
 
-    void pull(AddressRegister register) {
-        // order matters, low first
-        register.low(pull());
-        register.high(pull());
+    /**
+     * @return address pulled low byte first
+     */
+    int pullAddress() {
+        int lo = sint(pull());
+        int hi = sint(pull());
+
+        return hi << 8 | lo;
     }
 
     void pushStatus(boolean brk) {
-        Status toPush = status.get().setBreak(brk);
-
-        @Unsigned byte data = toPush.get();
+        int data = state.status() | U | (brk ? B : 0);
 
         mmu.specifyAnd(address())
-                .writeByte(data);
+                .writeByte(ubyte(data));
 
         decrement();
     }
 
-    private Status pullStatus0() {
+    private int pullStatus0() {
         peek();                    // additional cycle to read current sp // TODO: maybe move to increment()
         increment();
 
         @Unsigned byte data = mmu.specifyAnd(address())
                 .readByte();
 
-        Status workingCopy = status.get();
-        workingCopy.set(data);
-
-        return workingCopy;
+        return sint(data); // break and unused bits are ignored
     }
 
     public void pullStatus() {
-        status.set(pullStatus0());
+        state.status(pullStatus0());
     }
 
     public void pullStatusWithDelayedInterruptDisable() {
-        Status workingCopy = pullStatus0();
+        int data = pullStatus0();
 
-        interruptDisabled.delayedSet(workingCopy.isIrqDisabled());
-        workingCopy.setIrqDisabled(status.isIrqDisabled());
+        interruptDisabled.delayedSet((data & I) != 0);
 
-        status.set(workingCopy);
+        state.status((data & ~I) | (state.p & I));
     }
 }
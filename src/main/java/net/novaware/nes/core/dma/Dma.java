@@ -1,25 +1,39 @@
 package net.novaware.nes.core.dma;
 
-import dagger.Lazy;
 import jakarta.inject.Inject;
+import net.novaware.nes.core.board.inject.BoardScope;
 import net.novaware.nes.core.clock.ClockReceiver;
-import net.novaware.nes.core.cpu.Cpu;
+import net.novaware.nes.core.clock.ClockSync;
 import net.novaware.nes.core.cpu.inject.CpuVar;
-import net.novaware.nes.core.cpu.memory.CpuMemMap;
-import net.novaware.nes.core.cpu.signal.Signal;
+import net.novaware.nes.core.cpu.register.CpuState;
 import net.novaware.nes.core.dma.inject.DmaVar;
 import net.novaware.nes.core.memory.MemoryBus;
+import net.novaware.nes.core.ppu.inject.PpuVar;
+import net.novaware.nes.core.ppu.memory.ObjAttrMemory;
+import net.novaware.nes.core.ppu.register.ObjAttrRegister;
 import net.novaware.nes.core.register.ByteRegister;
+import net.novaware.nes.core.util.UByteBuffer;
 import net.novaware.nes.core.util.uml.Owned;
 import net.novaware.nes.core.util.uml.Used;
 import org.checkerframework.checker.signedness.qual.Unsigned;
+import org.jspecify.annotations.Nullable;
 
 import static net.novaware.nes.core.cpu.inject.CpuVarName.BUS;
 import static net.novaware.nes.core.dma.inject.DmaVarName.OAM;
-import static net.novaware.nes.core.util.UTypes.UBYTE_0;
+import static net.novaware.nes.core.ppu.inject.PpuVarName.POA;
 import static net.novaware.nes.core.util.UTypes.ushort;
 
-public class Dma implements ClockReceiver { // TODO: remember about DMC DMA which is a different controller?
+/**
+ * OAM DMA runs as a whole after the instruction which wrote $4014, CPU is halted for the cycles it steals.
+ * {@link net.novaware.nes.core.clock.MasterClock} adds them to the CPU cycles, so the other components see the right time.
+ * <br>
+ * Pages without read side effects (RAM, PRG-ROM) are copied at once, others are read through the bus.
+ * <br>
+ * DMC fetches are scheduled by {@link DmcDma}, their cycles are charged here as well. The master clock asks again
+ * after firing the scheduled events, so a fetch stalls the CPU before its next instruction.
+ */
+@BoardScope
+public class Dma implements ClockReceiver {
 
     enum State {
         /**
@@ -48,51 +62,117 @@ public class Dma implements ClockReceiver { // TODO: remember about DMC DMA whic
         WRITE
     }
 
+    static final int OAM_SIZE = 256;
+
+    static final int HALT_CYCLES = 1;
+    static final int ALIGN_CYCLES = 1;
+    static final int TRANSFER_CYCLES = OAM_SIZE * 2; // read + write
+
     @Owned
     private final ByteRegister oamDma;
 
-    // TODO: replace direct reference with a signal sender?
     @Used
-    private final Lazy<Cpu> cpu; // top level chip so lazy injected to prevent stack overflow during construction
+    private final CpuState cpuState;
 
     @Used
     private final MemoryBus cpuBus;
 
+    @Used
+    private final ObjAttrRegister oamAddress;
+
+    @Used
+    private final ObjAttrMemory oamMemory;
+
+    @Used
+    private final ClockSync clockSync;
+
+    @Used
+    private final DmcDma dmcDma;
+
+    private State state = State.IDLE;
+
     @Inject
     public Dma(
             @DmaVar(OAM) ByteRegister oamDma,
-            Lazy<Cpu> cpu,
-            @CpuVar(BUS) MemoryBus cpuBus
+            CpuState cpuState,
+            @CpuVar(BUS) MemoryBus cpuBus,
+            @PpuVar(POA) ObjAttrRegister oamAddress,
+            @PpuVar(POA) ObjAttrMemory oamMemory,
+            ClockSync clockSync,
+            DmcDma dmcDma
     ) {
         this.oamDma = oamDma;
-        this.cpu = cpu;
+        this.cpuState = cpuState;
         this.cpuBus = cpuBus;
+        this.oamAddress = oamAddress;
+        this.oamMemory = oamMemory;
+        this.clockSync = clockSync;
+        this.dmcDma = dmcDma;
     }
 
+    /**
+     * CPU halts once the current instruction is done
+     */
     public void triggerDma() {
-        cpu.get().rdy(Signal.LOW);
+        state = State.HALT;
+    }
+
+    State getState() {
+        return state;
+    }
+
+    /**
+     * @return CPU cycles stolen by the transfers, 0 when idle
+     */
+    @Override
+    public int cycle() {
+        int haltCycle = cpuState.cycles; // first cycle after the last instruction
+        int cycles = dmcDma.takeStolenCycles(); // usually none, taken as soon as the scheduler fired the fetch
+
+        if (state != State.IDLE) {
+            int oamCycles = oamCycles(haltCycle + cycles);
+
+            dmcDma.overlapOam(cpuState.instructionCycles + cycles, oamCycles);
+            transfer();
 
-        // halt cycle
-        // align cycle* (if dma.read on cpubus.write)
+            cycles += oamCycles + dmcDma.takeStolenCycles();
+        }
+
+        cpuState.cycles = haltCycle + cycles; // bus reads of the slow path counted themselves
+        state = State.IDLE;
 
-        // read cycle   \
-        //               > (256x)
-        // write cycle  /
+        return cycles;
+    }
 
-        int startAddress = oamDma.getAsInt() << 8;
-        cpuBus.access(CpuMemMap.PPU_OAM_ADDRESS_REGISTER).write().data(UBYTE_0);
+    private int oamCycles(int haltCycle) {
+        int cycles = HALT_CYCLES;
 
-        for(int i = 0; i < 256; i++) {
-            int address = startAddress | i;
-            @Unsigned byte data = cpuBus.access(ushort(address)).read().data();
-            cpuBus.access(CpuMemMap.PPU_OAM_DATA_REGISTER).write().data(data);
+        state = State.ALIGN;
+        if ((haltCycle & 1) == 0) { // reads happen on even (get) cycles
+            cycles += ALIGN_CYCLES;
         }
 
-        cpu.get().rdy(Signal.HIGH);
+        state = State.READ; // alternates with WRITE, done in bulk
+        return cycles + TRANSFER_CYCLES;
     }
 
-    @Override
-    public int cycle() {
-        return 0;
+    private void transfer() {
+        clockSync.sync(); // PPU sees the new sprites only from now on
+
+        int page = oamDma.getAsInt();
+        @Nullable UByteBuffer source = cpuBus.directReadPage(page);
+
+        if (source != null) {
+            oamMemory.load(oamAddress.get(), source, cpuBus.directReadIndex(page));
+            return; // address wraps back after 256 writes
+        }
+
+        int startAddress = page << 8;
+        for (int i = 0; i < OAM_SIZE; i++) {
+            @Unsigned byte data = cpuBus.access(ushort(startAddress | i)).read().data();
+
+            oamMemory.write(oamAddress.get(), data);
+            oamAddress.increment(1);
+        }
     }
 }
@@ -0,0 +1,203 @@
+package net.novaware.nes.core.dma;
+
+import jakarta.inject.Inject;
+import net.novaware.nes.core.apu.register.ApuRegFile;
+import net.novaware.nes.core.board.inject.BoardScope;
+import net.novaware.nes.core.clock.ClockEvent;
+import net.novaware.nes.core.clock.Scheduler;
+import net.novaware.nes.core.config.CoreConfig;
+import net.novaware.nes.core.config.VideoStandard;
+import net.novaware.nes.core.cpu.inject.CpuVar;
+import net.novaware.nes.core.cpu.register.CpuState;
+import net.novaware.nes.core.memory.MemoryBus;
+import net.novaware.nes.core.util.UByteBuffer;
+import net.novaware.nes.core.util.uml.Used;
+import org.checkerframework.checker.signedness.qual.Unsigned;
+import org.jspecify.annotations.Nullable;
+
+import static net.novaware.nes.core.cpu.inject.CpuVarName.BUS;
+import static net.novaware.nes.core.util.UTypes.ushort;
+
+/**
+ * DMC sample fetches (APU DMA). Instead of counting output bits every cycle, the next fetch is scheduled
+ * for when the sample buffer runs empty, 8 bits of the current rate later.
+ * <br>
+ * Each fetch halts the CPU for a few cycles, {@link Dma} hands them over to the master clock right after
+ * the scheduler fired the fetch, before the next instruction.
+ *
+ * @see <a href="https://www.nesdev.org/wiki/APU_DMC">APU DMC on nesdev.org</a>
+ * @see <a href="https://www.nesdev.org/wiki/DMA">DMA on nesdev.org</a>
+ */
+@BoardScope
+public class DmcDma { // TODO: irq at the end of the sample, once the APU exists
+
+    /**
+     * CPU cycles per output bit, indexed by the low nibble of $4010
+     */
+    static final int[] NTSC_RATES = {428, 380, 340, 320, 286, 254, 226, 214, 190, 160, 142, 128, 106, 84, 72, 54};
+    static final int[] PAL_RATES = {398, 354, 316, 298, 276, 236, 210, 198, 176, 148, 132, 118, 98, 78, 66, 50};
+
+    static final int SAMPLE_BITS = 8;
+
+    static final int FETCH_CYCLES = 4; // halt, dummy, align, get
+    static final int OAM_FETCH_CYCLES = 2; // squeezed in between OAM reads and writes
+
+    static final int SAMPLE_START = 0xC000;
+    static final int SAMPLE_WRAP = 0x8000; // address after $FFFF
+
+    private static final int LOOP = 0x40;
+    private static final int RATE = 0x0F;
+
+    @Used
+    private final ApuRegFile apuRegFile;
+
+    @Used
+    private final CpuState cpuState;
+
+    @Used
+    private final MemoryBus cpuBus;
+
+    @Used
+    private final Scheduler scheduler;
+
+    private final int cpuDivisor;
+    private final int[] rates;
+
+    private final ClockEvent fetchEvent;
+
+    private int address;
+    private int bytesRemaining;
+    private @Unsigned byte sample; // sample buffer, the output unit takes it from here
+
+    private int stolenCycles;
+
+    @Inject
+    public DmcDma(
+        ApuRegFile apuRegFile,
+        CoreConfig coreConfig,
+        CpuState cpuState,
+        @CpuVar(BUS) MemoryBus cpuBus,
+        Scheduler scheduler
+    ) {
+        this.apuRegFile = apuRegFile;
+        this.cpuState = cpuState;
+        this.cpuBus = cpuBus;
+        this.scheduler = scheduler;
+
+        VideoStandard videoStandard = coreConfig.getVideoStandard();
+        this.cpuDivisor = videoStandard.getCpuDivisor();
+        this.rates = cpuDivisor == VideoStandard.PAL.getCpuDivisor() ? PAL_RATES : NTSC_RATES; // 2A07
+
+        @SuppressWarnings("methodref.receiver.bound") // fires only once scheduled, after construction
+        Runnable fetch = this::fetch;
+        this.fetchEvent = new ClockEvent("DMC.FETCH", fetch);
+    }
+
+    /**
+     * $4015 bit 4. Enabling restarts the sample only when it already ended, disabling stops it right away.
+     */
+    public void setEnabled(boolean enabled) {
+        if (!enabled) {
+            bytesRemaining = 0;
+            scheduler.cancel(fetchEvent);
+            return;
+        }
+
+        if (bytesRemaining == 0) {
+            restart();
+            scheduler.schedule(fetchEvent, scheduler.now()); // buffer is empty, fetch after this instruction
+        }
+    }
+
+    /**
+     * @return $4015 bit 4, sample bytes left to fetch
+     */
+    public boolean isActive() {
+        return bytesRemaining > 0;
+    }
+
+    public int getAddress() {
+        return address;
+    }
+
+    public int getBytesRemaining() {
+        return bytesRemaining;
+    }
+
+    public @Unsigned byte getSample() {
+        return sample;
+    }
+
+    /**
+     * @return CPU cycles stolen by the fetches since the last call
+     */
+    int takeStolenCycles() {
+        int cycles = stolenCycles;
+        stolenCycles = 0;
+
+        return cycles;
+    }
+
+    /**
+     * Runs the fetches which fall into OAM DMA right away, these take fewer cycles.
+     *
+     * @param haltDelay CPU cycles from the current time of the scheduler to the OAM DMA halt
+     * @param oamCycles CPU cycles of the OAM DMA
+     */
+    void overlapOam(int haltDelay, int oamCycles) {
+        long haltTime = scheduler.now() + (long) haltDelay * cpuDivisor;
+        long endTime = haltTime + (long) oamCycles * cpuDivisor;
+
+        while (fetchEvent.isScheduled() && fetchEvent.getTimestamp() < endTime) {
+            boolean overlapping = fetchEvent.getTimestamp() >= haltTime;
+
+            scheduler.cancel(fetchEvent);
+            fetch(overlapping ? OAM_FETCH_CYCLES : FETCH_CYCLES);
+        }
+    }
+
+    private void restart() {
+        address = SAMPLE_START + apuRegFile.getDmcStart().getAsInt() * 64;
+        bytesRemaining = apuRegFile.getDmcLength().getAsInt() * 16 + 1;
+    }
+
+    private void fetch() {
+        fetch(FETCH_CYCLES);
+    }
+
+    private void fetch(int cycles) {
+        sample = read(address);
+        stolenCycles += cycles;
+
+        address = address == 0xFFFF ? SAMPLE_WRAP : address + 1;
+        bytesRemaining--;
+
+        int freq = apuRegFile.getDmcFreq().getAsInt();
+
+        if (bytesRemaining == 0) {
+            if ((freq & LOOP) == 0) {
+                return;
+            }
+
+            restart();
+        }
+
+        long period = (long) SAMPLE_BITS * rates[freq & RATE] * cpuDivisor;
+        scheduler.schedule(fetchEvent, fetchEvent.getTimestamp() + period); // rate changes apply from the next byte
+    }
+
+    private @Unsigned byte read(int address) {
+        int page = address >> 8;
+        @Nullable UByteBuffer source = cpuBus.directReadPage(page);
+
+        if (source != null) {
+            return source.get(cpuBus.directReadIndex(page) + (address & 0xFF));
+        }
+
+        int cycles = cpuState.cycles;
+        @Unsigned byte data = cpuBus.access(ushort(address)).read().data();
+        cpuState.cycles = cycles; // charged with the stolen cycles
+
+        return data;
+    }
+}
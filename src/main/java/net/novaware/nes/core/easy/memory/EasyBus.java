@@ -2,6 +2,7 @@ package net.novaware.nes.core.easy.memory;
 
 import jakarta.inject.Inject;
 import net.novaware.nes.core.cpu.inject.CpuVar;
+import net.novaware.nes.core.cpu.register.CpuState;
 import net.novaware.nes.core.memory.BusOp;
 import net.novaware.nes.core.memory.ControlBus;
 import net.novaware.nes.core.memory.DataBus;
@@ -9,13 +10,11 @@ import net.novaware.nes.core.memory.DataLine;
 import net.novaware.nes.core.memory.MemoryBus;
 import net.novaware.nes.core.memory.MemoryDevice;
 import net.novaware.nes.core.memory.PagedMemory;
-import net.novaware.nes.core.register.IntegerCounter;
 import net.novaware.nes.core.register.SegmentRegister;
 import net.novaware.nes.core.util.uml.Owned;
 import net.novaware.nes.core.util.uml.Used;
 import org.checkerframework.checker.signedness.qual.Unsigned;
 
-import static net.novaware.nes.core.cpu.inject.CpuVarName.CC;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.CS;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.PPU;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.RAM;
@@ -32,7 +31,7 @@ public class EasyBus implements MemoryBus {
 
     @Owned
     private final PagedMemory internal = new PagedMemory("INTERNAL", MEMORY_SIZE, new MemoryDevice.Empty());
-    private final IntegerCounter cycleCounter;
+    private final CpuState state;
 
     private final SegmentRegister codeSegment;
 
@@ -47,13 +46,13 @@ public class EasyBus implements MemoryBus {
 
     @Inject
     public EasyBus(
-        @CpuVar(CC)  IntegerCounter cycleCounter,
+        CpuState state,
         @CpuVar(RAM) MemoryDevice.ReadWrite ram,
         @CpuVar(SS)  MemoryDevice.ReadWrite stack,
         @CpuVar(PPU) MemoryDevice.ReadWrite vram,
         @CpuVar(CS)  SegmentRegister codeSegment
     ) {
-        this.cycleCounter = cycleCounter;
+        this.state = state;
         this.codeSegment = codeSegment;
 
         internal.attach(ram);
@@ -100,7 +99,7 @@ public class EasyBus implements MemoryBus {
 
         busOp = BusOp.ADDRESS_ACCESS;
         addressLatch = address;
-        cycleCounter.increment();
+        state.cycle();
 
         internal.onAccess(addressLatch);
         cartridge.onAccess(addressLatch);
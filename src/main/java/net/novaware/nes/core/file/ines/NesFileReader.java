@@ -9,17 +9,18 @@ import net.novaware.nes.core.util.UByteBuffer;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.ByteBuffer;
-import java.nio.file.Files;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
 import static net.novaware.nes.core.file.Problem.Severity.MAJOR;
 import static net.novaware.nes.core.util.Asserts.assertArgument;
 
@@ -40,22 +41,27 @@ public class NesFileReader extends NesFileHandler {
 
     // TODO: add method for parsing header and returning just meta
 
+    /**
+     * Maps the file into memory instead of reading it, data sections are read only views over the mapping.
+     * Mapping stays valid after the channel is closed, until the buffers are garbage collected.
+     */
     // TODO: allow specifying the version (user override)
-    public Result read(URI origin, ReaderMode mode) throws NesFileReadingException { // TODO: test
+    public Result read(URI origin, ReaderMode mode) throws NesFileReadingException {
         assertArgument(origin != null, "origin must be provided");
         assertArgument(origin.getScheme().equals("file"), "origin must be a file URI");
         assertArgument(mode != null, "mode must be provided");
 
-        try (
-                InputStream inputStream = Files.newInputStream(Path.of(origin));
-                BufferedInputStream bufferedInputStream = new BufferedInputStream(inputStream)
-        ) {
-            return read(origin, bufferedInputStream, mode);
+        final ByteBuffer inputBuffer;
+        try (FileChannel channel = FileChannel.open(Path.of(origin), READ)) {
+            inputBuffer = channel.map(READ_ONLY, 0, channel.size());
         } catch (IOException e) {
             throw new NesFileReadingException("Failed to read NES file: " + origin, e);
         } // TODO: catch illegal argument / state exceptions and wrap in NesFileReadingException
+
+        return read(origin, inputBuffer, mode);
     }
-    
+
+
     /**
      * Reads the input stream and deconstructs it according to header info
      * @param origin file path or url pointing to the file
@@ -68,9 +74,28 @@ public class NesFileReader extends NesFileHandler {
         assertArgument(inputStream != null, "inputStream must be provided");
         assertArgument(mode != null, "mode must be provided");
 
+        return read(origin, readInputStream(origin, inputStream), mode);
+    }
+
+    /**
+     * Slices the buffer according to header info, data sections share the buffer content
+     * @param origin file path or url pointing to the file
+     * @param input whole file, e.g. mapped or read into heap
+     * @param mode strictness of the reader
+     */
+    public Result read(URI origin, ByteBuffer input, ReaderMode mode) throws NesFileReadingException {
+        assertArgument(origin != null, "origin must be provided");
+        assertArgument("file".equals(origin.getScheme()), "origin must be a file URI");
+        assertArgument(input != null, "input must be provided");
+        assertArgument(mode != null, "mode must be provided");
+
+        if (input.capacity() < NesHeader.SIZE) {
+            throw new NesFileReadingException("Input data is too short to contain iNES header");
+        }
+
         var allProblems = new ArrayList<Problem>();
 
-        var inputBuffer = readInputStream(origin, inputStream);
+        var inputBuffer = input.order(LITTLE_ENDIAN);
 
         final var headerSize = NesHeader.SIZE;
         var headerBuffer = UByteBuffer.of(inputBuffer.slice(0, headerSize));
@@ -145,12 +170,6 @@ public class NesFileReader extends NesFileHandler {
         } catch (IOException e) {
             throw new NesFileReadingException("Unable to read input bytes of: " + origin + " ", e);
         }
-        var inputBuffer = ByteBuffer.wrap(inputBytes);
-        inputBuffer.order(LITTLE_ENDIAN);
-
-        if (inputBuffer.capacity() < NesHeader.SIZE) {
-            throw new NesFileReadingException("Input data is too short to contain iNES header");
-        }
-        return inputBuffer;
+        return ByteBuffer.wrap(inputBytes).asReadOnlyBuffer(); // same as a mapped file
     }
 }
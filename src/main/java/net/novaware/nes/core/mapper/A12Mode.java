@@ -0,0 +1,18 @@
+package net.novaware.nes.core.mapper;
+
+/**
+ * How scanline counters (MMC3) see the rising edges of PPU address line A12
+ */
+public enum A12Mode {
+
+    /**
+     * Counter catches up from the PPU position, IRQ is scheduled where it is predicted to fire.
+     * Pattern table setups that don't rise A12 once per line (e.g. CHR fetches through $2007) are not counted.
+     */
+    PREDICTED,
+
+    /**
+     * Every PPU bus access goes through the mapper, slower but follows any A12 activity
+     */
+    WATCHED
+}
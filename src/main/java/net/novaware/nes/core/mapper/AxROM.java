@@ -0,0 +1,29 @@
+package net.novaware.nes.core.mapper;
+
+/**
+ * Switchable 32 KB of PRG, single screen mirroring selected by bit 4, 8 KB of CHR RAM.
+ *
+ * @see <a href="https://www.nesdev.org/wiki/AxROM">AxROM on nesdev.org</a>
+ */
+public class AxROM extends BaseMapper {
+
+    public static final int NUMBER = 7;
+
+    @Override
+    public int getNumber() {
+        return NUMBER;
+    }
+
+    @Override
+    protected void powerOn() {
+        mapProgram32(0);
+        mapVideo8(0);
+        setMirroring(Mirroring.SINGLE_LOWER);
+    }
+
+    @Override
+    protected void writeRegister(int address, int data) {
+        mapProgram32(data & 0x07);
+        setMirroring((data & 0x10) == 0 ? Mirroring.SINGLE_LOWER : Mirroring.SINGLE_UPPER);
+    }
+}
@@ -0,0 +1,226 @@
+package net.novaware.nes.core.mapper;
+
+import net.novaware.nes.core.clock.ClockEvent;
+import net.novaware.nes.core.clock.ClockSync;
+import net.novaware.nes.core.clock.PpuTimeline;
+import net.novaware.nes.core.cpu.signal.Signal;
+import net.novaware.nes.core.memory.BankedMemory;
+import net.novaware.nes.core.memory.DataBus;
+import net.novaware.nes.core.memory.OpenLine;
+import net.novaware.nes.core.pin.Pin;
+import org.checkerframework.checker.signedness.qual.Unsigned;
+import org.jspecify.annotations.Nullable;
+
+import static net.novaware.nes.core.util.Asserts.assertNonNull;
+import static net.novaware.nes.core.util.UTypes.sint;
+import static net.novaware.nes.core.util.UTypes.ushort;
+
+/**
+ * Registers at $8000-$FFFF and bank switching helpers, sizes are in KB like on nesdev.org.
+ * Bank numbers wrap around the physical banks (as unconnected high bits do), -1 is the last bank.
+ * <br>
+ * IRQ sources (scanline or cycle counters) predict when they fire and schedule a single {@link ClockEvent}.
+ */
+public abstract class BaseMapper implements Mapper {
+
+    private static final @Unsigned short START_ADDRESS = ushort(0x8000);
+    private static final @Unsigned short END_ADDRESS = ushort(0xFFFF);
+
+    private @Nullable BankedMemory program;
+    private @Nullable BankedMemory video;
+    private @Nullable BankedMemory nameTables;
+    private @Nullable Mirroring mirroring;
+
+    private ClockSync clockSync = new ClockSync();
+
+    private @Nullable Pin irq;
+    private @Nullable PpuTimeline timeline;
+    private final ClockEvent irqEvent;
+
+    private DataBus.Line dataLine = new OpenLine();
+    private int addressLatch;
+
+    protected BaseMapper() {
+        @SuppressWarnings("methodref.receiver.bound") // fires only once scheduled, after construction
+        Runnable onIrqEvent = this::onIrqEvent;
+        this.irqEvent = new ClockEvent(getClass().getSimpleName() + ".IRQ", onIrqEvent);
+    }
+
+    @Override
+    public void connect(BankedMemory program, BankedMemory video) {
+        this.program = program;
+        this.video = video;
+
+        powerOn();
+    }
+
+    @Override
+    public void connectNameTables(BankedMemory nameTables, Mirroring mirroring) {
+        this.nameTables = nameTables;
+
+        setMirroring(this.mirroring != null ? this.mirroring : mirroring);
+    }
+
+    @Override
+    public void setClockSync(ClockSync clockSync) {
+        this.clockSync = clockSync;
+    }
+
+    @Override
+    public void connectIrq(Pin irq, PpuTimeline timeline, A12Mode a12Mode) {
+        this.irq = irq;
+        this.timeline = timeline;
+    }
+
+    protected ClockSync getClockSync() {
+        return clockSync;
+    }
+
+    protected @Nullable PpuTimeline getTimeline() {
+        return timeline;
+    }
+
+    /**
+     * Maps the banks on power on
+     */
+    protected abstract void powerOn();
+
+    /**
+     * Called after the lagging components caught up
+     *
+     * @param address $8000-$FFFF
+     * @param data written by CPU
+     */
+    protected abstract void writeRegister(int address, int data);
+
+    // region Bank switching
+
+    protected void mapProgram8(int slot, int bank) {
+        BankedMemory program = assertNonNull(this.program, "program should be connected");
+        program.mapVirtualToPhysical(slot, physical(bank, program));
+    }
+
+    protected void mapProgram16(int slot, int bank) {
+        mapProgram8(slot * 2, bank * 2);
+        mapProgram8(slot * 2 + 1, bank * 2 + 1);
+    }
+
+    protected void mapProgram32(int bank) {
+        mapProgram16(0, bank * 2);
+        mapProgram16(1, bank * 2 + 1);
+    }
+
+    protected void mapVideo1(int slot, int bank) {
+        BankedMemory video = assertNonNull(this.video, "video should be connected");
+        video.mapVirtualToPhysical(slot, physical(bank, video));
+    }
+
+    protected void mapVideo2(int slot, int bank) {
+        mapVideo1(slot * 2, bank * 2);
+        mapVideo1(slot * 2 + 1, bank * 2 + 1);
+    }
+
+    protected void mapVideo4(int slot, int bank) {
+        mapVideo2(slot * 2, bank * 2);
+        mapVideo2(slot * 2 + 1, bank * 2 + 1);
+    }
+
+    protected void mapVideo8(int bank) {
+        mapVideo4(0, bank * 2);
+        mapVideo4(1, bank * 2 + 1);
+    }
+
+    /**
+     * Kept until PPU connects, when set on power on
+     */
+    protected void setMirroring(Mirroring mirroring) {
+        this.mirroring = mirroring;
+
+        BankedMemory nameTables = this.nameTables;
+        if (nameTables == null) {
+            return;
+        }
+
+        for (int nameTable = 0; nameTable < 4; nameTable++) {
+            nameTables.mapVirtualToPhysical(nameTable, mirroring.bank(nameTable));
+        }
+    }
+
+    private static int physical(int bank, BankedMemory memory) {
+        int banks = memory.getPhysicalBankCount().amount();
+
+        return Math.floorMod(bank, banks);
+    }
+
+    // endregion
+
+    // region IRQ
+
+    /**
+     * Drives the shared IRQ line, stays active until the mapper acknowledges it
+     */
+    protected void setIrq(boolean active) {
+        if (irq != null) {
+            irq.set(active ? Signal.LOW : Signal.HIGH);
+        }
+    }
+
+    /**
+     * {@link #onIrqEvent()} gets called once the master cycle timestamp is reached
+     */
+    protected void scheduleIrqEvent(long timestamp) {
+        if (timeline != null) {
+            timeline.getScheduler().schedule(irqEvent, timestamp);
+        }
+    }
+
+    protected void cancelIrqEvent() {
+        if (timeline != null) {
+            timeline.getScheduler().cancel(irqEvent);
+        }
+    }
+
+    /**
+     * Predicted firing point reached, lagging components are not synced yet
+     */
+    protected void onIrqEvent() {}
+
+    // endregion
+
+    @Override
+    public @Unsigned short getStartAddress() {
+        return START_ADDRESS;
+    }
+
+    @Override
+    public @Unsigned short getEndAddress() {
+        return END_ADDRESS;
+    }
+
+    @Override
+    public void onAccess(@Unsigned short address) {
+        addressLatch = sint(address);
+    }
+
+    @Override
+    public void onWrite() {
+        clockSync.sync();
+
+        writeRegister(addressLatch, sint(dataLine.data()));
+    }
+
+    @Override
+    public void onAttach(DataBus.Line dataLine) {
+        this.dataLine = dataLine;
+    }
+
+    @Override
+    public void onDetach() {
+        this.dataLine = new OpenLine();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " (" + getNumber() + ")";
+    }
+}
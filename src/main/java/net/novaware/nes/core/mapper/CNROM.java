@@ -0,0 +1,28 @@
+package net.novaware.nes.core.mapper;
+
+/**
+ * Fixed 16 or 32 KB of PRG, switchable 8 KB of CHR.
+ *
+ * @see <a href="https://www.nesdev.org/wiki/CNROM">CNROM on nesdev.org</a>
+ */
+public class CNROM extends BaseMapper {
+
+    public static final int NUMBER = 3;
+
+    @Override
+    public int getNumber() {
+        return NUMBER;
+    }
+
+    @Override
+    protected void powerOn() {
+        mapProgram16(0, 0);
+        mapProgram16(1, -1);
+        mapVideo8(0);
+    }
+
+    @Override
+    protected void writeRegister(int address, int data) {
+        mapVideo8(data);
+    }
+}
@@ -0,0 +1,104 @@
+package net.novaware.nes.core.mapper;
+
+/**
+ * Registers are loaded serially through a 5 bit shift register, one bit per write.
+ * The fifth write selects the register by address bits 14 and 13.
+ * <br>
+ * Ignoring writes on consecutive CPU cycles (RMW instructions) and SUROM / SXROM
+ * outer banks are not supported.
+ *
+ * @see <a href="https://www.nesdev.org/wiki/MMC1">MMC1 on nesdev.org</a>
+ */
+public class MMC1 extends BaseMapper {
+
+    public static final int NUMBER = 1;
+
+    private static final int SHIFT_RESET = 0b1_0000;
+
+    private int shift = SHIFT_RESET;
+
+    private int control = 0x0C;
+    private int videoBank0;
+    private int videoBank1;
+    private int programBank;
+
+    @Override
+    public int getNumber() {
+        return NUMBER;
+    }
+
+    @Override
+    protected void powerOn() {
+        mapProgram();
+        mapVideo();
+    }
+
+    @Override
+    protected void writeRegister(int address, int data) {
+        if ((data & 0x80) != 0) {
+            shift = SHIFT_RESET;
+            control |= 0x0C;
+            mapProgram();
+            return;
+        }
+
+        boolean full = (shift & 1) != 0;
+        shift = (shift >> 1) | ((data & 1) << 4);
+
+        if (!full) {
+            return;
+        }
+
+        int value = shift;
+        shift = SHIFT_RESET;
+
+        switch (address & 0xE000) {
+            case 0x8000 -> {
+                control = value;
+                setMirroring(switch (control & 0x03) {
+                    case 0 -> Mirroring.SINGLE_LOWER;
+                    case 1 -> Mirroring.SINGLE_UPPER;
+                    case 2 -> Mirroring.VERTICAL;
+                    default -> Mirroring.HORIZONTAL;
+                });
+                mapProgram();
+                mapVideo();
+            }
+            case 0xA000 -> {
+                videoBank0 = value;
+                mapVideo();
+            }
+            case 0xC000 -> {
+                videoBank1 = value;
+                mapVideo();
+            }
+            default -> {
+                programBank = value & 0x0F; // bit 4 enables PRG RAM
+                mapProgram();
+            }
+        }
+    }
+
+    private void mapProgram() {
+        switch ((control >> 2) & 0x03) {
+            case 0, 1 -> mapProgram32(programBank >> 1);
+            case 2 -> {
+                mapProgram16(0, 0);
+                mapProgram16(1, programBank);
+            }
+            default -> {
+                mapProgram16(0, programBank);
+                mapProgram16(1, -1);
+            }
+        }
+    }
+
+    private void mapVideo() {
+        if ((control & 0x10) == 0) {
+            mapVideo8(videoBank0 >> 1);
+        } else {
+            mapVideo4(0, videoBank0);
+            mapVideo4(1, videoBank1);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package net.novaware.nes.core.mapper;
+
+import net.novaware.nes.core.clock.PpuTimeline;
+import net.novaware.nes.core.pin.Pin;
+
+import static net.novaware.nes.core.clock.PpuTimeline.NO_DOT;
+import static net.novaware.nes.core.clock.PpuTimeline.SPRITE_FETCH_DOT;
+import static net.novaware.nes.core.util.Asserts.assertNonNull;
+
+/**
+ * Eight bank registers selected through $8000 and loaded through $8001,
+ * two 8 KB PRG windows next to the fixed second last and last banks, 2 KB and 1 KB CHR windows.
+ * <br>
+ * Scanline counter is clocked by PPU A12 rises, see {@link A12Mode} for how they are found.
+ *
+ * @see <a href="https://www.nesdev.org/wiki/MMC3">MMC3 on nesdev.org</a>
+ */
+public class MMC3 extends BaseMapper {
+
+    public static final int NUMBER = 4;
+
+    private int bankSelect;
+    private final int[] banks = {0, 2, 4, 5, 6, 7, 0, 1};
+
+    /**
+     * A12 has to stay low for about 3 CPU cycles (M2 based filter) before a rise clocks the counter
+     */
+    static final int A12_LOW_DOTS = 9;
+
+    private int irqLatch;
+    private int irqCounter;
+    private boolean irqReload;
+    private boolean irqEnabled;
+
+    private A12Mode a12Mode = A12Mode.PREDICTED;
+    private long position; // ppu dots the counter caught up with
+    private boolean predictionStale; // synced, PPU state may change before the next instruction
+
+    private boolean a12High;
+    private long a12LowSince;
+
+    @Override
+    public int getNumber() {
+        return NUMBER;
+    }
+
+    @Override
+    public void connectIrq(Pin irq, PpuTimeline timeline, A12Mode a12Mode) {
+        super.connectIrq(irq, timeline, a12Mode);
+
+        this.a12Mode = a12Mode;
+        this.position = timeline.getPosition();
+
+        getClockSync().observe(this::catchUp);
+    }
+
+    @Override
+    public boolean isWatchingPpu() {
+        return a12Mode == A12Mode.WATCHED;
+    }
+
+    @Override
+    protected void powerOn() {
+        mapProgram();
+        mapVideo();
+    }
+
+    @Override
+    protected void writeRegister(int address, int data) {
+        boolean even = (address & 1) == 0;
+
+        switch (address & 0xE000) {
+            case 0x8000 -> {
+                if (even) {
+                    int changed = bankSelect ^ data;
+                    bankSelect = data;
+
+                    if ((changed & 0x40) != 0) { mapProgram(); }
+                    if ((changed & 0x80) != 0) { mapVideo(); }
+                } else {
+                    int register = bankSelect & 0x07;
+                    banks[register] = data;
+
+                    if (register < 6) { mapVideo(); } else { mapProgram(); }
+                }
+            }
+            case 0xA000 -> {
+                if (even) {
+                    setMirroring((data & 1) == 0 ? Mirroring.VERTICAL : Mirroring.HORIZONTAL);
+                }
+                // odd: PRG RAM protect, not emulated
+            }
+            case 0xC000 -> {
+                if (even) {
+                    irqLatch = data;
+                } else {
+                    irqCounter = 0;
+                    irqReload = true;
+                }
+                predictIrq();
+            }
+            case 0xE000 -> {
+                irqEnabled = !even;
+                if (even) {
+                    setIrq(false); // acknowledge
+                }
+                predictIrq();
+            }
+        }
+    }
+
+    // region Scanline counter
+
+    @Override
+    public void onPpuAccess(int address) {
+        boolean high = (address & 0x1000) != 0;
+        if (high == a12High) {
+            return;
+        }
+
+        a12High = high;
+        long now = assertNonNull(getTimeline(), "timeline should be connected").getPosition();
+
+        if (!high) {
+            a12LowSince = now;
+        } else if (now - a12LowSince >= A12_LOW_DOTS) {
+            clockCounter(1);
+        }
+    }
+
+    /**
+     * Counts the A12 rises since the last sync, PPU state (rendering, pattern tables) did not change in between
+     */
+    private void catchUp() {
+        PpuTimeline timeline = assertNonNull(getTimeline(), "timeline should be connected");
+        long now = timeline.getPosition();
+
+        int dot = timeline.getA12RiseDot();
+        if (a12Mode == A12Mode.PREDICTED && dot != NO_DOT && timeline.isRendering()) {
+            clockCounter(timeline.getLineClocks(now, dot) - timeline.getLineClocks(position, dot));
+        }
+
+        position = now;
+
+        if (irqEnabled && !predictionStale) { // sync usually precedes a PPU state change, predict again once it is done
+            predictionStale = true;
+            scheduleIrqEvent(timeline.getScheduler().now());
+        }
+    }
+
+    private void clockCounter(long clocks) {
+        while (clocks > 0) {
+            if (irqCounter == 0 || irqReload) {
+                irqCounter = irqLatch;
+                irqReload = false;
+                clocks--;
+            } else {
+                int steps = (int) Math.min(clocks, irqCounter);
+                irqCounter -= steps;
+                clocks -= steps;
+            }
+
+            if (irqCounter == 0 && irqEnabled) {
+                setIrq(true);
+            }
+
+            if (irqCounter == 0 && irqLatch == 0) {
+                break; // reloads with zero on every clock, nothing changes anymore
+            }
+        }
+    }
+
+    /**
+     * Schedules the clock that brings the counter to zero, or a look at the next line when A12 does not rise
+     */
+    private void predictIrq() {
+        PpuTimeline timeline = getTimeline();
+        if (timeline == null) {
+            return;
+        }
+
+        predictionStale = false;
+
+        if (!irqEnabled) {
+            cancelIrqEvent();
+            return;
+        }
+
+        int dot = timeline.getA12RiseDot();
+        boolean counting = dot != NO_DOT && timeline.isRendering();
+
+        int clocks = !counting ? 1 : (irqCounter == 0 || irqReload) ? irqLatch + 1 : irqCounter;
+        if (!counting) {
+            dot = SPRITE_FETCH_DOT;
+        }
+
+        long next = timeline.getLineClocks(position, dot);
+        scheduleIrqEvent(timeline.getTimestamp(next + clocks - 1, dot));
+    }
+
+    @Override
+    protected void onIrqEvent() {
+        if (!predictionStale) {
+            getClockSync().sync(); // counter catches up and fires
+        } // else counter caught up at the last sync, only the PPU state changed since
+
+        predictIrq();
+    }
+
+    // endregion
+
+    private void mapProgram() {
+        boolean swap = (bankSelect & 0x40) != 0;
+
+        mapProgram8(swap ? 2 : 0, banks[6]);
+        mapProgram8(1, banks[7]);
+        mapProgram8(swap ? 0 : 2, -2);
+        mapProgram8(3, -1);
+    }
+
+    private void mapVideo() {
+        int inversion = (bankSelect & 0x80) != 0 ? 4 : 0; // in 1 KB slots
+
+        mapVideo1(inversion, banks[0] & 0xFE);
+        mapVideo1(inversion + 1, banks[0] | 1);
+        mapVideo1(inversion + 2, banks[1] & 0xFE);
+        mapVideo1(inversion + 3, banks[1] | 1);
+
+        for (int i = 0; i < 4; i++) {
+            mapVideo1((4 - inversion) + i, banks[2 + i]);
+        }
+    }
+}
@@ -1,18 +1,69 @@
 package net.novaware.nes.core.mapper;
 
+import net.novaware.nes.core.clock.ClockSync;
+import net.novaware.nes.core.clock.PpuTimeline;
+import net.novaware.nes.core.file.NesMeta;
+import net.novaware.nes.core.memory.BankedMemory;
+import net.novaware.nes.core.memory.MemoryDevice;
+import net.novaware.nes.core.pin.Pin;
+
 /**
+ * Listens to register writes on the CPU bus and switches banks of the cartridge memories.
+ * Switching only remaps bank references, the data is never copied.
+ *
  * @see <a href="https://www.nesdev.org/wiki/Mapper">Mapper on nesdev.org</a>
  */
-public interface Mapper {
-    // mapping program rom
-    // mapping video rom
+public interface Mapper extends MemoryDevice.WriteOnly {
     // mapping save ram
-    // nametable mirroring
-    // mapping chr-ram or rom
-    // generate interrupts (conditional too)
     // sound generation
     // attribute table mapping alteration
 
     int getNumber();
 
+    /**
+     * Maps the power on banks
+     *
+     * @param program PRG in 8 KB virtual banks from $8000
+     * @param video CHR in 1 KB virtual banks from $0000
+     */
+    void connect(BankedMemory program, BankedMemory video);
+
+    /**
+     * @param nameTables CIRAM in 1 KB virtual banks from $2000
+     * @param mirroring from the header, kept until the mapper switches it
+     */
+    void connectNameTables(BankedMemory nameTables, Mirroring mirroring);
+
+    /**
+     * Register writes bring lagging components up to date first, so they don't see the switch early
+     */
+    void setClockSync(ClockSync clockSync);
+
+    /**
+     * @param irq CPU IRQ line, active low
+     * @param timeline to schedule IRQs where they are predicted to fire
+     * @param a12Mode how scanline counters see PPU A12
+     */
+    default void connectIrq(Pin irq, PpuTimeline timeline, A12Mode a12Mode) {}
+
+    /**
+     * @return true if every PPU bus access should be passed to {@link #onPpuAccess(int)}
+     */
+    default boolean isWatchingPpu() {
+        return false;
+    }
+
+    default void onPpuAccess(int address) {}
+
+    static Mapper of(NesMeta meta) {
+        return switch (meta.mapper()) {
+            case NROM.NUMBER -> new NROM(meta.programData().amount());
+            case MMC1.NUMBER -> new MMC1();
+            case UxROM.NUMBER -> new UxROM();
+            case CNROM.NUMBER -> new CNROM();
+            case MMC3.NUMBER -> new MMC3();
+            case AxROM.NUMBER -> new AxROM();
+            default -> throw new IllegalArgumentException("unsupported mapper: " + meta.mapper());
+        };
+    }
 }
@@ -0,0 +1,5 @@
+package net.novaware.nes.core.mapper;
+
+public interface MapperConfig {
+    A12Mode getA12Mode();
+}
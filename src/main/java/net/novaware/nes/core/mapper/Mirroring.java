@@ -0,0 +1,32 @@
+package net.novaware.nes.core.mapper;
+
+import net.novaware.nes.core.file.NesMeta;
+
+/**
+ * Arrangement of the 2 KB CIRAM in the 4 nametables of the PPU address space
+ *
+ * @see <a href="https://www.nesdev.org/wiki/Mirroring#Nametable_Mirroring">Nametable Mirroring on nesdev.org</a>
+ */
+public enum Mirroring {
+    HORIZONTAL   (0, 0, 1, 1),
+    VERTICAL     (0, 1, 0, 1),
+    SINGLE_LOWER (0, 0, 0, 0),
+    SINGLE_UPPER (1, 1, 1, 1);
+
+    private final int[] banks;
+
+    Mirroring(int... banks) {
+        this.banks = banks;
+    }
+
+    /**
+     * @return CIRAM bank mapped into the nametable
+     */
+    public int bank(int nameTable) {
+        return banks[nameTable];
+    }
+
+    public static Mirroring of(NesMeta.Mirroring mirroring) {
+        return mirroring == NesMeta.Mirroring.VERTICAL ? VERTICAL : HORIZONTAL;
+    }
+}
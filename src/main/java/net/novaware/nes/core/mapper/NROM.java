@@ -5,7 +5,7 @@ import static net.novaware.nes.core.util.Asserts.assertArgument;
 /**
  * @see <a href="https://www.nesdev.org/wiki/NROM">NROM on nesdev.org</a>
  */
-public class NROM implements Mapper {
+public class NROM extends BaseMapper {
 
     public static final int NUMBER = 0;
 
@@ -24,4 +24,16 @@ public class NROM implements Mapper {
     public int getNumber() {
         return NUMBER;
     }
+
+    @Override
+    protected void powerOn() {
+        mapProgram16(0, 0);
+        mapProgram16(1, banks - 1); // NROM-128 mirrored in the upper half
+        mapVideo8(0);
+    }
+
+    @Override
+    protected void writeRegister(int address, int data) {
+        // no registers, writes to ROM are ignored
+    }
 }
@@ -0,0 +1,30 @@
+package net.novaware.nes.core.mapper;
+
+/**
+ * Switchable 16 KB at $8000, last 16 KB fixed at $C000, 8 KB of CHR RAM.
+ * <br>
+ * Bus conflicts of UNROM are not emulated, games avoid them anyway.
+ *
+ * @see <a href="https://www.nesdev.org/wiki/UxROM">UxROM on nesdev.org</a>
+ */
+public class UxROM extends BaseMapper {
+
+    public static final int NUMBER = 2;
+
+    @Override
+    public int getNumber() {
+        return NUMBER;
+    }
+
+    @Override
+    protected void powerOn() {
+        mapProgram16(0, 0);
+        mapProgram16(1, -1);
+        mapVideo8(0);
+    }
+
+    @Override
+    protected void writeRegister(int address, int data) {
+        mapProgram16(0, data);
+    }
+}
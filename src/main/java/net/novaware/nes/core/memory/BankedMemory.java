@@ -22,7 +22,7 @@ import static net.novaware.nes.core.util.UTypes.ushort;
  * 4. Set Virtual bank quantity
  * 5. Map Virtual banks to Physical banks
  */
-public class BankedMemory implements MemoryDevice.ReadWrite, Nameable {
+public final class BankedMemory implements MemoryDevice.ReadWrite, DirectMemory, Nameable {
 
     private final String name;
     private final @Unsigned short startAddress;
@@ -36,6 +36,8 @@ public class BankedMemory implements MemoryDevice.ReadWrite, Nameable {
 
     private DataBus.Line dataLine = new OpenLine();
 
+    private RemapListener remapListener = NO_LISTENER;
+
     public BankedMemory(
         String name,
         @Unsigned short startAddress,
@@ -78,6 +80,9 @@ public class BankedMemory implements MemoryDevice.ReadWrite, Nameable {
         return this;
     }
 
+    /**
+     * Banks become views over the data without copying, read only data (e.g. mapped ROM file) stays read only
+     */
     public void preloadPhysicalBanks(ByteBuffer data) {
         assertArgument(data.capacity() == getPhysicalBankCount().toBytes(), "mismatch between data and physical banks");
 
@@ -108,6 +113,9 @@ public class BankedMemory implements MemoryDevice.ReadWrite, Nameable {
 
         this.virtualBanks[virtualBank] = this.physicalBanks[physicalBank % physicalBanks.length];
 
+        int bankStart = sint(startAddress) + virtualBank * bankSize.toBytes();
+        remapListener.remapped(bankStart >> 8, (bankStart + bankSize.toBytes() - 1) >> 8); // only pages of this bank
+
         return this;
     }
 
@@ -170,8 +178,10 @@ public class BankedMemory implements MemoryDevice.ReadWrite, Nameable {
     }
 
     @Override
-    public void onWrite() {             // TODO: block writes so it behaves like ROM
-        writeByte(dataLine.data());
+    public void onWrite() {
+        if (!virtualBanks[bankIndex].isReadOnly()) { // ROM ignores writes
+            writeByte(dataLine.data());
+        }
     }
 
     @Override
@@ -184,6 +194,33 @@ public class BankedMemory implements MemoryDevice.ReadWrite, Nameable {
         this.dataLine = new OpenLine();
     }
 
+    @Override
+    public UByteBuffer directBuffer(@Unsigned short address) {
+        int virtualAddress = sint(address) - sint(startAddress);
+
+        return virtualBanks[virtualAddress / bankSize.toBytes()];
+    }
+
+    @Override
+    public int directIndex(@Unsigned short address) {
+        int virtualAddress = sint(address) - sint(startAddress);
+
+        return virtualAddress % bankSize.toBytes();
+    }
+
+    /**
+     * Writes may hit mapper registers behind ROM, so they take the full path
+     */
+    @Override
+    public boolean isDirectlyWritable() {
+        return false;
+    }
+
+    @Override
+    public void setRemapListener(RemapListener listener) {
+        this.remapListener = listener;
+    }
+
     @Override
     public String toString() {
         return name + " (" + Hex.s(startAddress) + ":" + Hex.s(getEndAddress()) + ")";
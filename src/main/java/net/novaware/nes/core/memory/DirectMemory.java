@@ -0,0 +1,43 @@
+package net.novaware.nes.core.memory;
+
+import net.novaware.nes.core.util.UByteBuffer;
+import org.checkerframework.checker.signedness.qual.Unsigned;
+
+/**
+ * Memory without side effects on access, so a bus can read (and write) its backing buffer directly
+ * instead of going through the device protocol.
+ * <br>
+ * Buffer and index are resolved per page (256 bytes), the rest of the page follows contiguously.
+ */
+public interface DirectMemory extends MemoryDevice {
+
+    RemapListener NO_LISTENER = (firstPage, lastPage) -> {};
+
+    /**
+     * Notified about pages (256 bytes) which got a different buffer or index
+     */
+    @FunctionalInterface
+    interface RemapListener {
+        void remapped(int firstPage, int lastPage);
+    }
+
+    /**
+     * @return buffer holding the byte at address
+     */
+    UByteBuffer directBuffer(@Unsigned short address);
+
+    /**
+     * @return index of the byte at address within {@link #directBuffer(short)}
+     */
+    int directIndex(@Unsigned short address);
+
+    /**
+     * @return true if plain writes into the buffer are the whole effect of a write
+     */
+    boolean isDirectlyWritable();
+
+    /**
+     * @param listener called with the pages whose buffer or index changed (e.g. bank switch)
+     */
+    default void setRemapListener(RemapListener listener) {}
+}
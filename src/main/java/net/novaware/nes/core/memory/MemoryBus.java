@@ -1,6 +1,8 @@
 package net.novaware.nes.core.memory;
 
+import net.novaware.nes.core.util.UByteBuffer;
 import org.checkerframework.checker.signedness.qual.Unsigned;
+import org.jspecify.annotations.Nullable;
 
 public interface MemoryBus extends AddressBus.Line, ControlBus.Line, DataBus.Line {
 
@@ -11,4 +13,21 @@ public interface MemoryBus extends AddressBus.Line, ControlBus.Line, DataBus.Lin
 
     void attachExpansion(MemoryDevice.ReadWrite expansion);
     void detachExpansion();
+
+    /**
+     * Lets bulk transfers (e.g. OAM DMA) copy a page at once
+     *
+     * @param page address >> 8
+     * @return buffer backing the page when reading it has no side effects, null otherwise
+     */
+    default @Nullable UByteBuffer directReadPage(int page) {
+        return null;
+    }
+
+    /**
+     * @return index of the page start within {@link #directReadPage(int)}
+     */
+    default int directReadIndex(int page) {
+        return 0;
+    }
 }
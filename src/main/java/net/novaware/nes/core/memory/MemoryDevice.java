@@ -17,7 +17,7 @@ public interface MemoryDevice extends AddressBus.Device {
     interface WriteOnly extends MemoryDevice, ControlBus.WriteOnlyDevice, DataBus.Device {}
     interface ReadWrite extends ReadOnly, WriteOnly {}
 
-    class Empty implements ReadWrite, MemoryDevice { // TODO: consider 16 and 14 bit variants
+    final class Empty implements ReadWrite, MemoryDevice { // TODO: consider 16 and 14 bit variants
         @Override public @Unsigned short getStartAddress() { return USHORT_0; }
         @Override public @Unsigned short getEndAddress() { return USHORT_MAX_VALUE; }
         @Override public void onAccess(@Unsigned short address) {}
@@ -126,10 +126,11 @@ public class MemoryPage implements MemoryDevice.ReadWrite {
     }
 
     private void onAttachOffsets(DataBus.Line dataLine) {
-        devices.stream()
-                .filter(d -> d instanceof DataBus.Device)
-                .map(d -> (DataBus.Device) d)
-                .forEach(d -> d.onAttach(dataLine));
+        for (int i = 0; i < devices.size(); i++) {
+            if (devices.get(i) instanceof DataBus.Device device) {
+                device.onAttach(dataLine);
+            }
+        }
     }
 
     @Override
@@ -3,6 +3,7 @@ package net.novaware.nes.core.memory;
 import net.novaware.nes.core.util.Hex;
 import net.novaware.nes.core.util.Nameable;
 import org.checkerframework.checker.signedness.qual.Unsigned;
+import org.jspecify.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,9 +16,21 @@ import static net.novaware.nes.core.util.UTypes.ushort;
 
 /**
  * Redirects calls to page specific device within index
+ * <br>
+ * Each page is also tagged with the kind of its device, so the common final device classes are called
+ * through a switch with exact types (inlinable) instead of a megamorphic interface call.
  */
 public class PagedMemory implements MemoryDevice.ReadWrite, Nameable {
 
+    // region Device kinds
+
+    private static final byte OTHER = 0;    // interface call
+    private static final byte VACANT = 1;   // fallback Empty, nothing to call
+    private static final byte PHYSICAL = 2; // PhysicalMemory
+    private static final byte BANKED = 3;   // BankedMemory
+
+    // endregion
+
     private final String name;
     private final int lastPage;
     private final MemoryDevice.ReadWrite fallback;
@@ -27,13 +40,21 @@ public class PagedMemory implements MemoryDevice.ReadWrite, Nameable {
     private final MemoryDevice.ReadOnly[] readPages;
     private final MemoryDevice.WriteOnly[] writePages;
 
+    private final byte[] readKinds;
+    private final byte[] writeKinds;
+
     private @Unsigned short addressLatch;
 
     private MemoryDevice.ReadOnly readPageLatch;
     private MemoryDevice.WriteOnly writePageLatch;
 
+    private byte readKindLatch;
+    private byte writeKindLatch;
+
     private Line dataLine = new OpenLine();
 
+    private DirectMemory.RemapListener remapListener = DirectMemory.NO_LISTENER;
+
     public PagedMemory(String name, int size, MemoryDevice.ReadWrite fallback) {
         this.name = name;
         this.lastPage = (0xFF00 & (size - 1)) >> 8;
@@ -44,14 +65,23 @@ public class PagedMemory implements MemoryDevice.ReadWrite, Nameable {
         readPages = new MemoryDevice.ReadOnly[length];
         writePages = new MemoryDevice.WriteOnly[length];
 
+        readKinds = new byte[length];
+        writeKinds = new byte[length];
+
         for(int i = 0; i < length; i++) {
             readPages[i] = this.fallback;
             writePages[i] = this.fallback;
+
+            readKinds[i] = kindOf(this.fallback);
+            writeKinds[i] = kindOf(this.fallback);
         }
 
         readPageLatch = this.fallback;
         writePageLatch = this.fallback;
 
+        readKindLatch = kindOf(this.fallback);
+        writeKindLatch = kindOf(this.fallback);
+
         addressLatch = this.fallback.getEndAddress();
     }
 
@@ -72,8 +102,19 @@ public class PagedMemory implements MemoryDevice.ReadWrite, Nameable {
         readPages[toPage(address)].probe(address, dataLine);
     }
 
-    @SuppressWarnings("not.interned") // comparing refs on purpose
     public void attach(MemoryDevice memoryDevice) {
+        attach(memoryDevice, true);
+    }
+
+    /**
+     * Attaches only the read side of the device, writes to its pages go elsewhere (e.g. ROM under mapper registers)
+     */
+    public void attachReads(MemoryDevice.ReadOnly memoryDevice) {
+        attach(memoryDevice, false);
+    }
+
+    @SuppressWarnings("not.interned") // comparing refs on purpose
+    private void attach(MemoryDevice memoryDevice, boolean writes) {
         devices.add(memoryDevice);
 
         for (int page = 0; page <= lastPage; page++) {
@@ -91,18 +132,26 @@ public class PagedMemory implements MemoryDevice.ReadWrite, Nameable {
                             " with " + readDevice);
 
                     readPages[page] = readDevice;
+                    readKinds[page] = kindOf(readDevice);
                 }
 
-                if (memoryDevice instanceof MemoryDevice.WriteOnly writeDevice) {
+                if (writes && memoryDevice instanceof MemoryDevice.WriteOnly writeDevice) {
                     MemoryDevice.WriteOnly previousWrite = writePages[page];
 
                     assertArgument(previousWrite == fallback, "Attempting to replace W " + previousWrite +
                             " with " + writeDevice);
 
                     writePages[page] = writeDevice;
+                    writeKinds[page] = kindOf(writeDevice);
                 }
             }
         }
+
+        if (memoryDevice instanceof DirectMemory direct) {
+            direct.setRemapListener(this::remapped);
+        }
+
+        remapped(0, lastPage);
     }
 
     @SuppressWarnings("not.interned") // comparing refs on purpose
@@ -112,12 +161,53 @@ public class PagedMemory implements MemoryDevice.ReadWrite, Nameable {
         for (int page = 0; page <= lastPage; page++) {
             if (readPages[page] == memoryDevice) {
                 readPages[page] = fallback;
+                readKinds[page] = kindOf(fallback);
             }
 
             if (writePages[page] == memoryDevice) {
                 writePages[page] = fallback;
+                writeKinds[page] = kindOf(fallback);
             }
         }
+
+        if (memoryDevice instanceof DirectMemory direct) {
+            direct.setRemapListener(DirectMemory.NO_LISTENER);
+        }
+
+        remapped(0, lastPage);
+    }
+
+    private void remapped(int firstPage, int lastPage) {
+        remapListener.remapped(firstPage, lastPage);
+    }
+
+    /**
+     * @param listener called when pages are attached, detached (all pages) or remapped by a {@link DirectMemory}
+     */
+    public void setRemapListener(DirectMemory.RemapListener listener) {
+        this.remapListener = listener;
+    }
+
+    /**
+     * @return device that backs the whole page without side effects, null if the page needs the device protocol.
+     * Writes may belong to another device when the direct one is not {@link DirectMemory#isDirectlyWritable()}.
+     */
+    @SuppressWarnings("not.interned") // comparing refs on purpose
+    public @Nullable DirectMemory directDevice(int page) {
+        if (readPages[page] instanceof DirectMemory direct
+            && (writePages[page] == readPages[page] || !direct.isDirectlyWritable())) {
+            return direct;
+        }
+
+        return null;
+    }
+
+    /**
+     * @return true if no device is attached to the page, accesses only reach the fallback
+     */
+    @SuppressWarnings("not.interned") // comparing refs on purpose
+    public boolean isVacant(int page) {
+        return readPages[page] == fallback && writePages[page] == fallback;
     }
 
     @Override
@@ -128,22 +218,64 @@ public class PagedMemory implements MemoryDevice.ReadWrite, Nameable {
 
         readPageLatch = readPages[page];
         writePageLatch = writePages[page];
+
+        readKindLatch = readKinds[page];
+        writeKindLatch = writeKinds[page];
     }
 
     private int toPage(@Unsigned short address) {
         return (sint(address) & 0xFF00) >> 8;
     }
 
+    private static byte kindOf(MemoryDevice device) {
+        return switch (device) {
+            case PhysicalMemory ignored -> PHYSICAL;
+            case BankedMemory ignored -> BANKED;
+            case MemoryDevice.Empty ignored -> VACANT; // does nothing on purpose
+            default -> OTHER;
+        };
+    }
+
     @Override
     public void onRead() {
-        readPageLatch.onAccess(addressLatch);
-        readPageLatch.onRead();
+        switch (readKindLatch) {
+            case VACANT -> {}
+            case PHYSICAL -> {
+                PhysicalMemory physical = (PhysicalMemory) readPageLatch;
+                physical.onAccess(addressLatch);
+                physical.onRead();
+            }
+            case BANKED -> {
+                BankedMemory banked = (BankedMemory) readPageLatch;
+                banked.onAccess(addressLatch);
+                banked.onRead();
+            }
+            default -> {
+                readPageLatch.onAccess(addressLatch);
+                readPageLatch.onRead();
+            }
+        }
     }
 
     @Override
     public void onWrite() {
-        writePageLatch.onAccess(addressLatch);
-        writePageLatch.onWrite();
+        switch (writeKindLatch) {
+            case VACANT -> {}
+            case PHYSICAL -> {
+                PhysicalMemory physical = (PhysicalMemory) writePageLatch;
+                physical.onAccess(addressLatch);
+                physical.onWrite();
+            }
+            case BANKED -> {
+                BankedMemory banked = (BankedMemory) writePageLatch;
+                banked.onAccess(addressLatch);
+                banked.onWrite();
+            }
+            default -> {
+                writePageLatch.onAccess(addressLatch);
+                writePageLatch.onWrite();
+            }
+        }
     }
 
     @Override
@@ -153,10 +285,11 @@ public class PagedMemory implements MemoryDevice.ReadWrite, Nameable {
     }
 
     private void onAttachPages(Line dataLine) {
-        devices.stream()
-                .filter(d -> d instanceof DataBus.Device)
-                .map(d -> (DataBus.Device) d)
-                .forEach(d -> d.onAttach(dataLine));
+        for (int i = 0; i < devices.size(); i++) {
+            if (devices.get(i) instanceof DataBus.Device device) {
+                device.onAttach(dataLine);
+            }
+        }
     }
 
     @Override
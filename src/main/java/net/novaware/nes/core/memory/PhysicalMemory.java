@@ -13,7 +13,7 @@ import static net.novaware.nes.core.util.UTypes.sint;
 /**
  * TODO: write a Javadoc about size vs end address
  */
-public class PhysicalMemory implements MemoryDevice, MemoryDevice.ReadWrite, Nameable {
+public final class PhysicalMemory implements MemoryDevice, MemoryDevice.ReadWrite, DirectMemory, Nameable {
 
     private final String name;
 
@@ -126,6 +126,21 @@ public class PhysicalMemory implements MemoryDevice, MemoryDevice.ReadWrite, Nam
         this.dataLine = new OpenLine();
     }
 
+    @Override
+    public UByteBuffer directBuffer(@Unsigned short address) {
+        return buffer;
+    }
+
+    @Override
+    public int directIndex(@Unsigned short address) {
+        return toPosition(address);
+    }
+
+    @Override
+    public boolean isDirectlyWritable() {
+        return true;
+    }
+
     @Override
     public String toString() {
         return name + " (" + Hex.s(startAddress) + ":" + Hex.s(endAddress) + ")";
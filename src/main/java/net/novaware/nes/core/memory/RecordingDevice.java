@@ -1,6 +1,6 @@
 package net.novaware.nes.core.memory;
 
-import net.novaware.nes.core.register.IntegerCounter;
+import net.novaware.nes.core.register.CounterView;
 import net.novaware.nes.core.util.Hex;
 import org.checkerframework.checker.signedness.qual.Unsigned;
 
@@ -48,7 +48,7 @@ public class RecordingDevice implements MemoryDevice.ReadWrite {
 
     private final @Unsigned short startAddress;
     private final @Unsigned short endAddress;
-    private final IntegerCounter cycleCounter;
+    private final CounterView cycleCounter;
 
     private int recordedCycle;
 
@@ -57,7 +57,7 @@ public class RecordingDevice implements MemoryDevice.ReadWrite {
     public RecordingDevice(
         @Unsigned short startAddress,
         @Unsigned short endAddress,
-        IntegerCounter cycleCounter
+        CounterView cycleCounter
     ) {
         this.startAddress = startAddress;
         this.endAddress = endAddress;
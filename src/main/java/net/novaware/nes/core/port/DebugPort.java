@@ -10,6 +10,11 @@ public interface DebugPort extends InputPort, OutputPort {
 
     void setProgramCounter(@Unsigned short address);
 
+    /**
+     * Reads CPU address space without side effects
+     */
+    @Unsigned byte peek(@Unsigned short address);
+
     interface Receiver {
         void onException(Exception exception);
     }
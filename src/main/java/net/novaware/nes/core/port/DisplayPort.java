@@ -9,6 +9,9 @@ public interface DisplayPort extends OutputPort {
     void disconnect();
 
     interface Plug {
+        /**
+         * Called on the emulation thread after each frame, consumer reads it after {@link DisplayMemory#acquire()}
+         */
         void onDisplayData(DisplayMemory displayMemory);
         // TODO: sync line to notify new frame is ready
     }
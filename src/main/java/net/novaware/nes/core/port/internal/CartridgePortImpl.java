@@ -3,9 +3,14 @@ package net.novaware.nes.core.port.internal;
 import jakarta.inject.Inject;
 import net.novaware.nes.core.board.inject.BoardScope;
 import net.novaware.nes.core.cart.Cartridge;
+import net.novaware.nes.core.clock.ClockSync;
+import net.novaware.nes.core.clock.PpuTimeline;
+import net.novaware.nes.core.config.CoreConfig;
 import net.novaware.nes.core.cpu.inject.CpuVar;
+import net.novaware.nes.core.mapper.A12Mode;
 import net.novaware.nes.core.memory.BankedMemory;
 import net.novaware.nes.core.memory.MemoryBus;
+import net.novaware.nes.core.pin.Pin;
 import net.novaware.nes.core.port.CartridgePort;
 import net.novaware.nes.core.ppu.inject.PpuVar;
 import net.novaware.nes.core.ppu.inject.PpuVarName;
@@ -13,6 +18,7 @@ import org.jspecify.annotations.Nullable;
 
 import static java.util.Objects.requireNonNull;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.BUS;
+import static net.novaware.nes.core.cpu.inject.CpuVarName.IRQ;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.VRAM;
 
 @BoardScope
@@ -23,17 +29,31 @@ public class CartridgePortImpl implements CartridgePort {
     private BankedMemory ppuVideoMemory;
     private MemoryBus ppuBus;
 
+    private ClockSync clockSync;
+
+    private Pin irq;
+    private PpuTimeline ppuTimeline;
+    private A12Mode a12Mode;
+
     private @Nullable Cartridge cartridge; // TODO: replace with null object
 
     @Inject
     public CartridgePortImpl(
         @CpuVar(BUS) MemoryBus cpuBus,
         @PpuVar(VRAM) BankedMemory ppuVideoMemory,
-        @PpuVar(PpuVarName.BUS) MemoryBus ppuBus // TODO: consider PpuBus & CpuBus here
+        @PpuVar(PpuVarName.BUS) MemoryBus ppuBus, // TODO: consider PpuBus & CpuBus here
+        ClockSync clockSync,
+        @CpuVar(IRQ) Pin irq,
+        PpuTimeline ppuTimeline,
+        CoreConfig coreConfig
     ) {
         this.cpuBus = cpuBus;
         this.ppuVideoMemory = ppuVideoMemory;
         this.ppuBus = ppuBus;
+        this.clockSync = clockSync;
+        this.irq = irq;
+        this.ppuTimeline = ppuTimeline;
+        this.a12Mode = coreConfig.getA12Mode();
     }
 
     @Override
@@ -51,6 +71,8 @@ public class CartridgePortImpl implements CartridgePort {
 
         // TODO: check if cartridge config compatible with the board config
 
+        cartridge.setClockSync(clockSync);
+        cartridge.connectIrq(irq, ppuTimeline, a12Mode);
 
         cpuBus.attachCartridge(cartridge.getCpuBusDevice());
         ppuBus.attachCartridge(cartridge.getPpuBusDevice(ppuVideoMemory));
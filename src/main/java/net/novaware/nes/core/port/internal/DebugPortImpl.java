@@ -2,23 +2,31 @@ package net.novaware.nes.core.port.internal;
 
 import jakarta.inject.Inject;
 import net.novaware.nes.core.board.inject.BoardScope;
+import net.novaware.nes.core.cpu.inject.CpuVar;
 import net.novaware.nes.core.cpu.register.CpuRegFile;
+import net.novaware.nes.core.memory.DataLine;
+import net.novaware.nes.core.memory.MemoryBus;
 import net.novaware.nes.core.port.DebugPort;
 import org.checkerframework.checker.signedness.qual.Unsigned;
 import org.jspecify.annotations.Nullable;
 
+import static net.novaware.nes.core.cpu.inject.CpuVarName.BUS;
+
 @BoardScope
 public class DebugPortImpl implements DebugPort {
 
     private final CpuRegFile registers;
+    private final MemoryBus cpuBus;
 
     private @Nullable Receiver receiver; // replace with null object
 
     @Inject
     public DebugPortImpl(
-        CpuRegFile registers
+        CpuRegFile registers,
+        @CpuVar(BUS) MemoryBus cpuBus
     ) {
         this.registers = registers;
+        this.cpuBus = cpuBus;
     }
 
     @Override
@@ -36,6 +44,15 @@ public class DebugPortImpl implements DebugPort {
         registers.getProgramCounter().set(address);
     }
 
+    @Override
+    public @Unsigned byte peek(@Unsigned short address) {
+        DataLine probeLine = new DataLine(); // fresh line, so nothing leaks from previous peek
+
+        cpuBus.probe(address, probeLine);
+
+        return probeLine.cycle();
+    }
+
     public void onException(Exception exception) {
         if (receiver != null) {
             receiver.onException(exception);
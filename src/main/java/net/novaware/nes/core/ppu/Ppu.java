@@ -3,6 +3,7 @@ package net.novaware.nes.core.ppu;
 import jakarta.inject.Inject;
 import net.novaware.nes.core.board.inject.BoardScope;
 import net.novaware.nes.core.clock.ClockReceiver;
+import net.novaware.nes.core.config.CoreConfig;
 import net.novaware.nes.core.config.VideoStandard;
 import net.novaware.nes.core.cpu.signal.Signal;
 import net.novaware.nes.core.memory.MemoryBus;
@@ -20,6 +21,7 @@ import net.novaware.nes.core.register.BooleanRegister;
 import net.novaware.nes.core.util.uml.Owned;
 import net.novaware.nes.core.util.uml.Used;
 
+import static net.novaware.nes.core.config.VideoStandard.PHYSICAL_WIDTH;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.AT0;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.BUS;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.NT0;
@@ -44,6 +46,7 @@ import static net.novaware.nes.core.util.UTypes.USHORT_0;
 public class Ppu implements ClockReceiver {
 
     private final VideoStandard videoStandard = VideoStandard.NTSC;
+    private final boolean scanLineMode;
 
     private final MemoryBus bus;
 
@@ -69,6 +72,7 @@ public class Ppu implements ClockReceiver {
 
     @Inject
     public Ppu(
+        CoreConfig config,
         @PpuVar(BUS) MemoryBus bus,
         @PpuVar(VBI) Pin vBlankInterrupt,
         @PpuVar(S0H) Pin sprite0Hit,
@@ -85,6 +89,7 @@ public class Ppu implements ClockReceiver {
         VideoOutRegister videoOut,
         ControlUnit controlUnit
     ) {
+        this.scanLineMode = config.getRenderMode() == RenderMode.SCANLINE;
         this.bus = bus;
         this.vBlankInterrupt = vBlankInterrupt;
         this.sprite0Hit = sprite0Hit;
@@ -167,6 +172,33 @@ public class Ppu implements ClockReceiver {
         return spent;
     }
 
+    /**
+     * In {@link RenderMode#SCANLINE} runs a whole visible line at once if allowed to,
+     * otherwise dot by dot like {@link #cycle()}, up to the end of the current line.
+     * Stopping there leaves the completed VOUT line to the encoder before the next one starts.
+     */
+    @Override
+    public int cycle(int maxCycles) {
+        if (scanLineMode
+            && maxCycles >= PHYSICAL_WIDTH
+            && !rstReg.get()
+            && regs.status.isSettled()
+            && regs.renderBackground.isSettled()
+            && regs.renderSprite.isSettled() // pipelines would change state mid-line
+            && controlUnit.isLineStart()
+        ) {
+            return controlUnit.renderLine();
+        }
+
+        int spent = 0;
+
+        do {
+            spent += cycle();
+        } while (spent < maxCycles && regs.dotCounter.getValue() != 0);
+
+        return spent;
+    }
+
     public void reset(Signal s) {
         rstPin.set(s);
     }
@@ -4,4 +4,6 @@ import net.novaware.nes.core.config.VideoStandard;
 
 public interface PpuConfig {
     VideoStandard getVideoStandard();
+
+    RenderMode getRenderMode();
 }
@@ -0,0 +1,19 @@
+package net.novaware.nes.core.ppu;
+
+/**
+ * How {@link Ppu} advances through visible scan lines
+ */
+public enum RenderMode {
+    /**
+     * Every dot is a separate {@link Ppu#cycle()}
+     */
+    DOT,
+
+    /**
+     * Whole visible line in one call when the caller lets the PPU run at least a line ahead,
+     * dot by dot otherwise. Register writes and bank switches catch the PPU up before they land
+     * (see {@link net.novaware.nes.core.clock.ClockSync}), so they never fall inside such a line.
+     * Pays off with {@link net.novaware.nes.core.clock.SyncMode#CATCH_UP}, lock step never runs a line ahead.
+     */
+    SCANLINE
+}
@@ -0,0 +1,190 @@
+package net.novaware.nes.core.ppu.action;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packed encoding of all actions a PPU dot performs, one int per dot.
+ * <br>
+ * Each category gets its own bit field holding an op code (0 = no operation),
+ * so a dot with nothing to do is a plain 0 word.
+ * <pre>
+ *   15      14     13-11  10-8   7-6    5-4   3-0
+ *   UNLOCK  SHIFT  FLAG   VIEW   DRAW   OAM   BUS
+ * </pre>
+ */
+public final class Microcode {
+
+    public static final int NOP = 0;
+
+    // region Bus (bits 3-0)
+
+    public static final int BUS_SHIFT = 0;
+    public static final int BUS_MASK = 0b1111;
+
+    public static final int NTA = 1;
+    public static final int NTD = 2;
+    public static final int ATA = 3;
+    public static final int ATD = 4;
+    public static final int BLA = 5;
+    public static final int BLD = 6;
+    public static final int BHA = 7;
+    public static final int BHD = 8;
+    public static final int NDU = 9;
+    public static final int NDI = 10;
+    public static final int SLA = 11;
+    public static final int SLD = 12;
+    public static final int SHA = 13;
+    public static final int SHD = 14;
+
+    // endregion
+    // region OAM (bits 5-4)
+
+    public static final int OAM_SHIFT = 4;
+    public static final int OAM_MASK = 0b11;
+
+    public static final int CSO = 1;
+    public static final int RSO = 2;
+    public static final int EPO = 3;
+
+    // endregion
+    // region Draw (bits 7-6)
+
+    public static final int DRAW_SHIFT = 6;
+    public static final int DRAW_MASK = 0b11;
+
+    public static final int RDR = 1;
+    public static final int CLR = 2;
+
+    // endregion
+    // region View (bits 10-8)
+
+    public static final int VIEW_SHIFT = 8;
+    public static final int VIEW_MASK = 0b111;
+
+    public static final int INX = 1;
+    public static final int INY = 2;
+    public static final int TTX = 3;
+    public static final int TTY = 4;
+
+    // endregion
+    // region Flag (bits 13-11)
+
+    public static final int FLAG_SHIFT = 11;
+    public static final int FLAG_MASK = 0b111;
+
+    public static final int SEV = 1;
+    public static final int SEH = 2;
+    public static final int CLH = 3;
+    public static final int CLS = 4;
+
+    // endregion
+    // region Misc (bits 15-14)
+
+    public static final int SHIFT = 1 << 14;
+
+    /**
+     * Releases the reset lock, not an {@link Action}, set on every pre-render dot.
+     */
+    public static final int UNLOCK = 1 << 15;
+
+    // endregion
+
+    /**
+     * Ops that only happen while rendering is enabled (and the reset lock is released)
+     */
+    public static final int RENDERING = SHIFT
+        | BUS_MASK << BUS_SHIFT
+        | OAM_MASK << OAM_SHIFT
+        | DRAW_MASK << DRAW_SHIFT
+        | VIEW_MASK << VIEW_SHIFT;
+
+    private static final ActionCategory[] EXECUTION_ORDER = {
+        ActionCategory.DRAW, ActionCategory.MISC, ActionCategory.BUS,
+        ActionCategory.VIEW, ActionCategory.OAM, ActionCategory.FLAG
+    };
+
+    private Microcode() {}
+
+    public static int bus(int word)  { return (word >> BUS_SHIFT) & BUS_MASK; }
+    public static int oam(int word)  { return (word >> OAM_SHIFT) & OAM_MASK; }
+    public static int draw(int word) { return (word >> DRAW_SHIFT) & DRAW_MASK; }
+    public static int view(int word) { return (word >> VIEW_SHIFT) & VIEW_MASK; }
+    public static int flag(int word) { return (word >> FLAG_SHIFT) & FLAG_MASK; }
+
+    /**
+     * @return word with action merged into its category field
+     */
+    public static int encode(int word, Action action) {
+        return word | switch (action) {
+            case ACCESS_NAME_TABLE_ADDRESS -> NTA << BUS_SHIFT;
+            case READ_NAME_TABLE_DATA      -> NTD << BUS_SHIFT;
+            case ACCESS_ATTR_TABLE_ADDRESS -> ATA << BUS_SHIFT;
+            case READ_ATTR_TABLE_DATA      -> ATD << BUS_SHIFT;
+            case ACCESS_BG_LO_BITS_ADDRESS -> BLA << BUS_SHIFT;
+            case READ_BG_LO_BITS_DATA      -> BLD << BUS_SHIFT;
+            case ACCESS_BG_HI_BITS_ADDRESS -> BHA << BUS_SHIFT;
+            case READ_BG_HI_BITS_DATA      -> BHD << BUS_SHIFT;
+            case UNUSED_NAME_TABLE_DATA    -> NDU << BUS_SHIFT;
+            case IGNORED_NAME_TABLE_DATA   -> NDI << BUS_SHIFT;
+            case ACCESS_SP_LO_BITS_ADDRESS -> SLA << BUS_SHIFT;
+            case READ_SP_LO_BITS_DATA      -> SLD << BUS_SHIFT;
+            case ACCESS_SP_HI_BITS_ADDRESS -> SHA << BUS_SHIFT;
+            case READ_SP_HI_BITS_DATA      -> SHD << BUS_SHIFT;
+
+            case CLR_SECONDARY_OAM -> CSO << OAM_SHIFT;
+            case READ_PRIMARY_OAM  -> RSO << OAM_SHIFT;
+            case EVAL_PRIMARY_OAM  -> EPO << OAM_SHIFT;
+
+            case RENDER -> RDR << DRAW_SHIFT;
+            case CLEAR  -> CLR << DRAW_SHIFT;
+
+            case INCREMENT_X      -> INX << VIEW_SHIFT;
+            case INCREMENT_Y      -> INY << VIEW_SHIFT;
+            case TRANSFER_TX_TO_X -> TTX << VIEW_SHIFT;
+            case TRANSFER_TY_TO_Y -> TTY << VIEW_SHIFT;
+
+            case SET_VBLANK -> SEV << FLAG_SHIFT;
+            case SET_HBLANK -> SEH << FLAG_SHIFT;
+            case CLR_HBLANK -> CLH << FLAG_SHIFT;
+            case CLR_STATUS -> CLS << FLAG_SHIFT;
+
+            case SHIFT -> Microcode.SHIFT;
+
+            case NO_OPERATION -> NOP;
+            case UNKNOWN -> throw new IllegalArgumentException("Unknown action has no encoding");
+        };
+    }
+
+    /**
+     * @return actions packed in the word, in execution order (draw, shift, bus, view, oam, flag)
+     */
+    public static List<Action> decode(int word) {
+        List<Action> actions = new ArrayList<>(6);
+
+        for (ActionCategory category : EXECUTION_ORDER) {
+            int field = word & maskOf(category);
+
+            for (Action action : Action.values()) {
+                if (action.getCategory() == category && action != Action.NO_OPERATION
+                    && field != NOP && encode(NOP, action) == field) {
+                    actions.add(action);
+                }
+            }
+        }
+
+        return actions;
+    }
+
+    private static int maskOf(ActionCategory category) {
+        return switch (category) {
+            case BUS  -> BUS_MASK << BUS_SHIFT;
+            case OAM  -> OAM_MASK << OAM_SHIFT;
+            case DRAW -> DRAW_MASK << DRAW_SHIFT;
+            case VIEW -> VIEW_MASK << VIEW_SHIFT;
+            case FLAG -> FLAG_MASK << FLAG_SHIFT;
+            case MISC -> SHIFT;
+            case UNKNOWN -> NOP;
+        };
+    }
+}
@@ -41,6 +41,7 @@ import static net.novaware.nes.core.ppu.inject.PpuVarName.RS;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.RST;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.SOA;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.T;
+import static net.novaware.nes.core.ppu.inject.PpuVarName.TO;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.VOUT;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.VX;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.W;
@@ -240,6 +241,16 @@ public interface PpuRegModule {
         return new BooleanRegister(FT.doc());
     }
 
+    /**
+     * Requests frames without picture, latched by PPU at the start of pre-render scanline
+     */
+    @Provides
+    @BoardScope
+    @PpuVar(TO)
+    static BooleanRegister provideTimingOnly() {
+        return new BooleanRegister(TO.doc());
+    }
+
     /**
      * Prevents changes in PPU CTRL and MASK registers after reset until first pre-render scanline
      */
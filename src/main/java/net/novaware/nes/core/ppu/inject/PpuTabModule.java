@@ -5,6 +5,7 @@ import dagger.Provides;
 import net.novaware.nes.core.board.inject.BoardScope;
 import net.novaware.nes.core.memory.MemoryBus;
 import net.novaware.nes.core.ppu.memory.ObjAttrMemory;
+import net.novaware.nes.core.ppu.memory.PatternCache;
 import net.novaware.nes.core.ppu.register.ObjAttrRegister;
 import net.novaware.nes.core.ppu.table.AttributeTable;
 import net.novaware.nes.core.ppu.table.NameTable;
@@ -42,9 +43,10 @@ public interface PpuTabModule {
     @PpuVar(PT0)
     static PatternTable providePatternTable0(
             @PpuVar(PT0) SegmentRegister segment,
-            @PpuVar(BUS) MemoryBus ppuBus
+            @PpuVar(BUS) MemoryBus ppuBus,
+            PatternCache patternCache
     ) {
-        return new PatternTable(PT0.doc(), segment, ppuBus);
+        return new PatternTable(PT0.doc(), segment, ppuBus, patternCache);
     }
 
     @Provides
@@ -52,9 +54,10 @@ public interface PpuTabModule {
     @PpuVar(PT1)
     static PatternTable providePatternTable1(
             @PpuVar(PT1) SegmentRegister segment,
-            @PpuVar(BUS) MemoryBus ppuBus
+            @PpuVar(BUS) MemoryBus ppuBus,
+            PatternCache patternCache
     ) {
-        return new PatternTable(PT1.doc(), segment, ppuBus);
+        return new PatternTable(PT1.doc(), segment, ppuBus, patternCache);
     }
 
     @Provides
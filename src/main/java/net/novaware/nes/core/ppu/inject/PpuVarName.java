@@ -9,6 +9,7 @@ public enum PpuVarName {
     FT ("", "frameToggle", "Frame Toggle"),
     LC ("", "lineCounter",  "Line Counter"),
     DC ("", "dotCounter",   "Dot Counter"),
+    TO ("", "timingOnly",   "Timing Only"),
 
     PS ("STATUS", "ppuStatus",       "PPU Status"),
     HB ("",       "horizontalBlank", "Horizontal Blank"),
@@ -4,28 +4,67 @@ import net.novaware.nes.core.util.Nameable;
 import org.checkerframework.checker.signedness.qual.Unsigned;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static net.novaware.nes.core.util.UTypes.sint;
 import static net.novaware.nes.core.util.UTypes.ubyte;
 
 /**
  * Early prototype
+ * <br>
+ * Frames are flat (row after row) and form a triple buffer: the producer draws into the back frame and
+ * {@link #swap() publishes} it, the consumer {@link #acquire() takes} the latest published frame as its front.
+ * Neither side ever waits and the front frame doesn't change until the consumer acquires again,
+ * so it's always a complete one. Single producer, single consumer.
+ * <br>
+ * Each row carries a tint: color emphasis and greyscale of the mask register while it was drawn.
  */
 public class DisplayMemory implements Nameable {
 
     private static final int COLOR_MASK = 0b11_1111;
     private static final int META_MASK = 0b1100_0000;
 
+    public static final int TINT_RED = 0b0001;
+    public static final int TINT_GREEN = 0b0010;
+    public static final int TINT_BLUE = 0b0100;
+    public static final int TINT_EMPHASIS = TINT_RED | TINT_GREEN | TINT_BLUE;
+    public static final int TINT_GREYSCALE = 0b1000;
+
+    private static final int INDEX_MASK = 0b011;
+    private static final int FRESH = 0b100; // published but not acquired yet
+
     private final String name;
 
-    private @Unsigned byte[][] frontBuffer; // FIXME: 2d and sync causes glitching in the top few rows
-    private @Unsigned byte[][] backBuffer;
+    private final int height;
+    private final int width;
+
+    private final @Unsigned byte[][] frames = new @Unsigned byte[3][];
+    private final @Unsigned byte[][] tints = new @Unsigned byte[3][]; // per row, follow frames
+
+    private int back = 0; // producer side
+    private @Unsigned byte[] backBuffer;
+    private @Unsigned byte[] backTints;
+
+    private final AtomicInteger ready = new AtomicInteger(1); // handoff, index with FRESH flag
+
+    private int front = 2; // consumer side
+    private @Unsigned byte[] frontBuffer;
+    private @Unsigned byte[] frontTints;
 
     public DisplayMemory(String name, int height, int width) {
         this.name = name;
+        this.height = height;
+        this.width = width;
+
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = new @Unsigned byte[height * width];
+            tints[i] = new @Unsigned byte[height];
+        }
 
-        frontBuffer = new @Unsigned byte[height][width];
-        backBuffer = new @Unsigned byte[height][width];
+        backBuffer = frames[back];
+        backTints = tints[back];
+        frontBuffer = frames[front];
+        frontTints = tints[front];
     }
 
     // TODO: structure: 0bMMMM_CCCC where CCCC is color from palette and MMMM is metadata like layer/zindex/transparency? etc
@@ -40,38 +79,86 @@ public class DisplayMemory implements Nameable {
     //  - mask/clip (left 8 pixels)
     //  - overscan / bezel (ui side, ppu not involved)
 
-    // TODO: allow multiple instances for handoff between threads
-
     public int getHeight() {
-        return frontBuffer.length;
+        return height;
     }
 
     public int getWidth() {
-        assert frontBuffer.length > 0;
+        return width;
+    }
+
+    /**
+     * Consumer side, reads the acquired frame
+     */
+    public @Unsigned byte getColor(int y, int x) {
+        assert y < height && x < width; // TODO: consider hard assertions, but verify performance penalty
 
-        return frontBuffer[0].length;
+        return ubyte(sint(frontBuffer[y * width + x]) & COLOR_MASK);
     }
 
-    public @Unsigned byte getColor(int y, int x) { // TODO: probably should be synced
-        assert y < frontBuffer.length; // TODO: consider hard assertions, but verify performance penalty
-        assert 0 < frontBuffer.length & x < frontBuffer[0].length;
+    /**
+     * Consumer side, valid until next {@link #acquire()}, not to be modified
+     *
+     * @return acquired frame, row after row
+     */
+    public @Unsigned byte[] getFrame() {
+        return frontBuffer;
+    }
+
+    /**
+     * Consumer side, takes the latest published frame as front
+     *
+     * @return false if no frame was published since the last acquire, front stays the same
+     */
+    public boolean acquire() {
+        if ((ready.get() & FRESH) == 0) {
+            return false;
+        }
 
-        return ubyte(sint(frontBuffer[y][x]) & COLOR_MASK);
+        front = ready.getAndSet(front) & INDEX_MASK;
+        frontBuffer = frames[front];
+        frontTints = tints[front];
+
+        return true;
+    }
+
+    /**
+     * Consumer side
+     *
+     * @return tint of the acquired frame row, TINT_* bits
+     */
+    public int getTint(int y) {
+        return sint(frontTints[y]);
+    }
+
+    public void setTint(int y, int tint) {
+        backTints[y] = ubyte(tint);
+    }
+
+    public void setTint(int tint) {
+        Arrays.fill(backTints, ubyte(tint));
     }
 
     public void setColor(int y, int x, @Unsigned byte color) {
-        assert y < backBuffer.length; // TODO: consider hard assertions, but verify performance penalty
-        assert 0 < backBuffer.length && x < backBuffer[0].length;
+        assert y < height && x < width; // TODO: consider hard assertions, but verify performance penalty
 
-        backBuffer[y][x] = ubyte(sint(color) & COLOR_MASK);
+        backBuffer[y * width + x] = ubyte(sint(color) & COLOR_MASK);
     }
 
-    public void setColor(@Unsigned byte color) {
-        for(int y = 0; y < backBuffer.length; ++y) {
-            Arrays.fill(backBuffer[y], ubyte(sint(color) & COLOR_MASK));
+    public void setColors(int y, int x, @Unsigned byte[] colors) {
+        assert y < height && x + colors.length <= width;
+
+        int offset = y * width + x;
+
+        for (int i = 0; i < colors.length; i++) {
+            backBuffer[offset + i] = ubyte(sint(colors[i]) & COLOR_MASK);
         }
     }
 
+    public void setColor(@Unsigned byte color) {
+        Arrays.fill(backBuffer, ubyte(sint(color) & COLOR_MASK));
+    }
+
     public @Unsigned byte getMeta(int y, int x) { // TODO: consider dedicated methods per info like enum with layers
         return 0; // TODO: implement
     }
@@ -90,9 +177,12 @@ public class DisplayMemory implements Nameable {
         return name + ": " + getWidth() + "x" + getHeight();
     }
 
-    public synchronized void swap() {
-        @Unsigned byte[][] swapped = frontBuffer;
-        frontBuffer = backBuffer;
-        backBuffer = swapped;
+    /**
+     * Producer side, publishes the back frame and takes the previously published (or released) one to draw into
+     */
+    public void swap() {
+        back = ready.getAndSet(back | FRESH) & INDEX_MASK;
+        backBuffer = frames[back];
+        backTints = tints[back];
     }
 }
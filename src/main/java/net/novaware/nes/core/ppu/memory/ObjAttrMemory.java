@@ -2,6 +2,7 @@ package net.novaware.nes.core.ppu.memory;
 
 import net.novaware.nes.core.util.Hex;
 import net.novaware.nes.core.util.Nameable;
+import net.novaware.nes.core.util.UByteBuffer;
 import org.checkerframework.checker.signedness.qual.Unsigned;
 
 import static net.novaware.nes.core.util.Asserts.assertArgument;
@@ -34,6 +35,8 @@ public class ObjAttrMemory implements Nameable {
     private final @Unsigned byte[] buffer;
     private final @Unsigned byte mask;
 
+    private long dirtyYs = -1L; // bit per entry, Y byte written since last take
+
     public ObjAttrMemory(String name, Kind kind, int count) {
         this.name = name;
         this.kind = kind;
@@ -79,6 +82,42 @@ public class ObjAttrMemory implements Nameable {
         int maybeWithoutUnused = sint(data) & maybeUnsetUnused;
 
         this.buffer[index] = ubyte(maybeWithoutUnused);
+
+        if ((index & 0b11) == 0) {
+            dirtyYs |= 1L << (index >> 2);
+        }
+    }
+
+    /**
+     * OAM DMA: fills the whole memory from the address on (wrapping around), same result as writing byte by byte
+     *
+     * @param index of the first byte in the source
+     */
+    public void load(@Unsigned byte address, UByteBuffer source, int index) {
+        int start = getIndex(address);
+        int tail = buffer.length - start;
+
+        source.get(index, buffer, start, tail);
+        source.get(index + tail, buffer, 0, start);
+
+        if (kind == Kind.PRIMARY) {
+            for (int i = 2; i < buffer.length; i += ENTRY_SIZE) { // attribute bytes
+                buffer[i] = ubyte(sint(buffer[i]) & ~0b11100);
+            }
+        }
+
+        dirtyYs = -1L;
+    }
+
+    /**
+     * Lets an index of sprites by line follow the writes ($2004 and OAM DMA) incrementally
+     *
+     * @return bit per entry whose Y was written since the previous call, all set initially
+     */
+    public long takeDirtyYs() {
+        long dirty = dirtyYs;
+        dirtyYs = 0;
+        return dirty;
     }
 
     public int getSize() {
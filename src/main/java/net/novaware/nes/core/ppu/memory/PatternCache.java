@@ -0,0 +1,174 @@
+package net.novaware.nes.core.ppu.memory;
+
+import jakarta.inject.Inject;
+import net.novaware.nes.core.board.inject.BoardScope;
+import net.novaware.nes.core.util.UByteBuffer;
+import org.jspecify.annotations.Nullable;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static net.novaware.nes.core.util.Asserts.assertArgument;
+import static net.novaware.nes.core.util.Asserts.assertNonNull;
+
+/**
+ * Pre-decoded 8x8 tiles of the pattern tables (0x0000-0x1FFF), keyed by CHR bank and tile.
+ * <br>
+ * A row packs 8 pixels as 2-bit indices, leftmost pixel in bits 15-14, same order the shifters output them.
+ * Decoding happens lazily per tile and survives bank switching, so CHR-ROM tiles are decoded once.
+ * For debugging ({@link net.novaware.nes.core.ppu.table.PatternTable}), the renderer fetches through the bus.
+ * Writes (CHR-RAM) are not tracked, a tile is checked against its plane bytes when read and decoded again if they changed.
+ *
+ * @see <a href="https://www.nesdev.org/wiki/PPU_pattern_tables">PPU pattern tables on nesdev.org</a>
+ */
+@BoardScope
+public final class PatternCache {
+
+    public static final int PAGES = PpuMemMap.PATTERN_TABLE_0_SIZE + PpuMemMap.PATTERN_TABLE_1_SIZE >> 8;
+
+    private static final int TILE_SHIFT = 4; // 16 bytes: 8 lo plane + 8 hi plane
+    private static final int ROW_SHIFT = 3;
+    private static final int PLANE_HI = 0b1000;
+    private static final int SLIVER_MASK = 0b0111;
+
+    /**
+     * Decoded tiles of one bank, both orientations packed in an int: lo 16 bits as is, hi 16 bits flipped
+     */
+    private static final class Bank {
+        private final UByteBuffer buffer;
+        private final int[] rows;
+        private final long[] planes; // lo and hi plane bytes the tile was decoded from
+        private final boolean[] decoded;
+
+        private Bank(UByteBuffer buffer) {
+            int tiles = buffer.capacity() >> TILE_SHIFT;
+
+            this.buffer = buffer;
+            this.rows = new int[tiles << ROW_SHIFT];
+            this.planes = new long[tiles << 1];
+            this.decoded = new boolean[tiles];
+        }
+
+        private void decode(int tile) {
+            int start = tile << TILE_SHIFT;
+
+            for (int sliver = 0; sliver < 8; sliver++) {
+                int lo = buffer.getAsInt(start + sliver);
+                int hi = buffer.getAsInt(start + PLANE_HI + sliver);
+
+                rows[tile << ROW_SHIFT | sliver] = decodeRow(lo, hi)
+                    | decodeRow(reverse(lo), reverse(hi)) << 16;
+            }
+
+            planes[tile << 1] = plane(start);
+            planes[tile << 1 | 1] = plane(start + PLANE_HI);
+            decoded[tile] = true;
+        }
+
+        private boolean isValid(int tile) {
+            int start = tile << TILE_SHIFT;
+
+            return decoded[tile]
+                && planes[tile << 1] == plane(start)
+                && planes[tile << 1 | 1] == plane(start + PLANE_HI);
+        }
+
+        private long plane(int start) {
+            long bytes = 0;
+
+            for (int sliver = 0; sliver < 8; sliver++) {
+                bytes = bytes << 8 | buffer.getAsInt(start + sliver);
+            }
+
+            return bytes;
+        }
+    }
+
+    private final Map<UByteBuffer, Bank> banks = new IdentityHashMap<>(); // buffers compare by content
+
+    private final @Nullable Bank[] pageBanks = new Bank[PAGES];
+    private final int[] pageTiles = new int[PAGES]; // index of the page's first tile within the bank
+
+    @Inject
+    public PatternCache() {
+    }
+
+    /**
+     * @param buffer bank backing the page, null if the page can't be read directly
+     * @param index of the page start within the buffer
+     */
+    public void map(int page, @Nullable UByteBuffer buffer, int index) {
+        assertArgument(0 <= page && page < PAGES, "page out of pattern tables");
+
+        if (buffer == null) {
+            pageBanks[page] = null;
+            pageTiles[page] = 0;
+            return;
+        }
+
+        assertArgument((index & 0xFF) == 0, "page not aligned within the bank");
+
+        pageBanks[page] = banks.computeIfAbsent(buffer, Bank::new);
+        pageTiles[page] = index >> TILE_SHIFT;
+    }
+
+    public boolean isMapped(int address) {
+        return address >> 8 < PAGES && pageBanks[address >> 8] != null;
+    }
+
+    /**
+     * @param address of the sliver in the low plane, like {@link net.novaware.nes.core.ppu.table.PatternTables} builds it
+     * @return 8 pixels, leftmost in bits 15-14
+     */
+    public int getRow(int address) {
+        return row(address) & 0xFFFF;
+    }
+
+    /**
+     * @return 8 pixels of a horizontally flipped tile, leftmost in bits 15-14
+     */
+    public int getFlippedRow(int address) {
+        return (row(address) >> 16) & 0xFFFF;
+    }
+
+    private int row(int address) {
+        assert (address & PLANE_HI) == 0 : "address of the low plane expected";
+
+        Bank bank = assertNonNull(pageBanks[address >> 8], "page not mapped");
+
+        int tile = pageTiles[address >> 8] + ((address & 0xFF) >> TILE_SHIFT);
+
+        if (!bank.isValid(tile)) {
+            bank.decode(tile);
+        }
+
+        return bank.rows[tile << ROW_SHIFT | address & SLIVER_MASK];
+    }
+
+    /**
+     * @return number of banks seen so far
+     */
+    public int getBankCount() {
+        return banks.size();
+    }
+
+    /**
+     * @return 8 pixels of the plane bytes, leftmost in bits 15-14
+     */
+    public static int decodeRow(int lo, int hi) {
+        int row = 0;
+
+        for (int x = 0; x < 8; x++) {
+            int bit = 7 - x;
+            int pixel = ((hi >> bit) & 1) << 1 | (lo >> bit) & 1;
+
+            row |= pixel << (14 - 2 * x);
+        }
+
+        return row;
+    }
+
+    private static int reverse(int bits) {
+        return Integer.reverse(bits) >>> 24;
+    }
+}
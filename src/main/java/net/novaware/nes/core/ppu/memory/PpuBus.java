@@ -6,12 +6,17 @@ import net.novaware.nes.core.memory.BusOp;
 import net.novaware.nes.core.memory.ControlBus;
 import net.novaware.nes.core.memory.DataBus;
 import net.novaware.nes.core.memory.DataLine;
+import net.novaware.nes.core.memory.DirectMemory;
 import net.novaware.nes.core.memory.MemoryBus;
 import net.novaware.nes.core.memory.MemoryDevice;
+import net.novaware.nes.core.memory.PagedMemory;
+import net.novaware.nes.core.util.UByteBuffer;
 import net.novaware.nes.core.util.uml.Used;
 import org.checkerframework.checker.signedness.qual.Unsigned;
+import org.jspecify.annotations.Nullable;
 
 import static net.novaware.nes.core.util.UTypes.sint;
+import static net.novaware.nes.core.util.UTypes.ushort;
 
 @BoardScope
 public class PpuBus implements MemoryBus {
@@ -29,9 +34,20 @@ public class PpuBus implements MemoryBus {
 
     private @Unsigned short addressLatch;
 
-    @Inject
+    @Used
+    private final PatternCache patternCache;
+
     public PpuBus() {
+        this(new PatternCache());
+    }
 
+    @Inject
+    public PpuBus(PatternCache patternCache) {
+        this.patternCache = patternCache;
+    }
+
+    public PatternCache getPatternCache() {
+        return patternCache;
     }
 
     @Override
@@ -43,24 +59,66 @@ public class PpuBus implements MemoryBus {
     public void attachCartridge(MemoryDevice.ReadWrite cartridge) {
         this.cartridge = cartridge;
         this.cartridge.onAttach(dataLine);
+
+        if (cartridge instanceof PagedMemory pages) {
+            pages.setRemapListener(this::mapPatternPages);
+        }
+
+        mapPatternPages();
     }
 
     @Override
     public void detachCartridge() {
+        if (cartridge instanceof PagedMemory pages) {
+            pages.setRemapListener(DirectMemory.NO_LISTENER);
+        }
+
         cartridge.onDetach();
         cartridge = new MemoryDevice.Empty();
+
+        mapPatternPages();
     }
 
     @Override
     public void attachExpansion(MemoryDevice.ReadWrite expansion) {
         this.expansion = expansion;
         this.expansion.onAttach(dataLine);
+
+        mapPatternPages();
     }
 
     @Override
     public void detachExpansion() {
         expansion.onDetach();
         expansion = new MemoryDevice.Empty();
+
+        mapPatternPages();
+    }
+
+    /**
+     * Same rule as direct pages of the cpu bus: a single {@link DirectMemory} backs the page and no expansion listens.
+     */
+    private void mapPatternPages() {
+        mapPatternPages(0, PatternCache.PAGES - 1);
+    }
+
+    private void mapPatternPages(int firstPage, int lastPage) {
+        boolean noExpansion = expansion instanceof MemoryDevice.Empty;
+
+        for (int page = firstPage; page <= Math.min(lastPage, PatternCache.PAGES - 1); page++) {
+            @Unsigned short pageStart = ushort(page << 8);
+
+            @Nullable DirectMemory device = noExpansion && cartridge instanceof PagedMemory pages ? pages.directDevice(page) : null;
+
+            if (device == null) {
+                patternCache.map(page, null, 0);
+                continue;
+            }
+
+            @Nullable UByteBuffer buffer = device.directBuffer(pageStart); // null e.g. when bank is not mapped yet
+
+            patternCache.map(page, buffer, buffer != null ? device.directIndex(pageStart) : 0);
+        }
     }
 
     @Override
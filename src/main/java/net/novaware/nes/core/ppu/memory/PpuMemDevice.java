@@ -2,6 +2,7 @@ package net.novaware.nes.core.ppu.memory;
 
 import jakarta.inject.Inject;
 import net.novaware.nes.core.board.inject.BoardScope;
+import net.novaware.nes.core.clock.ClockSync;
 import net.novaware.nes.core.cpu.memory.CpuBusBridge;
 import net.novaware.nes.core.cpu.memory.CpuMemMap;
 import net.novaware.nes.core.memory.DataBus;
@@ -101,6 +102,8 @@ public class PpuMemDevice implements MemoryDevice.ReadWrite, Nameable, CpuBusBri
 
     private final BooleanRegister resetLock;
 
+    private final ClockSync clockSync;
+
     private final Handler emptyHandler = new EmptyHandler();
     private Handler[] readHandlers = new Handler[8];
     private Handler[] writeHandlers = new Handler[8];
@@ -146,7 +149,9 @@ public class PpuMemDevice implements MemoryDevice.ReadWrite, Nameable, CpuBusBri
         @PpuVar(MB) BooleanRegister maskBackground,
         @PpuVar(GS) BooleanRegister greyscale,
 
-        @PpuVar(RL) BooleanRegister resetLock
+        @PpuVar(RL) BooleanRegister resetLock,
+
+        ClockSync clockSync
     ) {
         this.ppuBus = ppuBus;
         this.palette = palette;
@@ -180,6 +185,8 @@ public class PpuMemDevice implements MemoryDevice.ReadWrite, Nameable, CpuBusBri
         this.greyscale = greyscale;
         this.resetLock = resetLock;
 
+        this.clockSync = clockSync;
+
         for (int i = 0; i < readHandlers.length; i++) {
             readHandlers[i] = emptyHandler;
             writeHandlers[i] = emptyHandler;
@@ -229,6 +236,8 @@ public class PpuMemDevice implements MemoryDevice.ReadWrite, Nameable, CpuBusBri
 
     @Override
     public void onAccess(@Unsigned short address) { // TODO: THIS IS CPU A0..2 pins on ppu (3 bits)
+        clockSync.sync(); // lagging ppu has to catch up before its state is observed / modified
+
         final int addrInt = sint(address);
 
         addressLatch = ushort(addrInt & sint(PPU_REGISTERS_END));
@@ -43,6 +43,10 @@ public class PpuStatusRegister extends Register {
         this.spriteOverflow = spriteOverflow;
     }
 
+    public boolean isSettled() {
+        return verticalBlank.isSettled();
+    }
+
     public void cycle() {
         verticalBlank.cycle();
     }
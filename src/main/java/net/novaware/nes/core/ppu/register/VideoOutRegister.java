@@ -3,34 +3,76 @@ package net.novaware.nes.core.ppu.register;
 import net.novaware.nes.core.register.Register;
 import org.checkerframework.checker.signedness.qual.Unsigned;
 
+import static net.novaware.nes.core.config.VideoStandard.ACTIVE_WIDTH;
+
 /**
  * Represents VOUT physical pin in PPU
+ * <br>
+ * Dots are collected in a line buffer, encoder takes the line once it is complete,
+ * so it has to look at least once per scan line.
  */
 public class VideoOutRegister extends Register {
 
-    private int y;
-    private int x;
-    private @Unsigned byte colorIndex;
+    private int y = -1;
+
+    private final @Unsigned byte[] line = new @Unsigned byte[ACTIVE_WIDTH];
+    private boolean lineReady;
+
+    private @Unsigned byte fillColor;
+    private boolean fillReady;
 
     public VideoOutRegister(String name) {
         super(name);
     }
 
-    public void set(int y, int x, @Unsigned byte colorIndex) {
+    /**
+     * @return last completed line
+     */
+    public int getY() {
+        return y;
+    }
+
+    public void setLineColor(int x, @Unsigned byte colorIndex) {
+        line[x] = colorIndex;
+    }
+
+    /**
+     * Marks the line complete
+     */
+    public void setLine(int y) {
         this.y = y;
-        this.x = x;
-        this.colorIndex = colorIndex;
+        lineReady = true;
     }
 
-    public int getY() {
-        return y;
+    public @Unsigned byte[] getLine() {
+        return line;
+    }
+
+    public boolean isLineReady() {
+        return lineReady;
+    }
+
+    public void clearLineReady() {
+        lineReady = false;
+    }
+
+    /**
+     * Whole frame in a single color, e.g. backdrop before the first line
+     */
+    public void setFill(@Unsigned byte colorIndex) {
+        fillColor = colorIndex;
+        fillReady = true;
+    }
+
+    public @Unsigned byte getFillColor() {
+        return fillColor;
     }
 
-    public int getX() {
-        return x;
+    public boolean isFillReady() {
+        return fillReady;
     }
 
-    public @Unsigned byte getColorIndex() {
-        return colorIndex;
+    public void clearFillReady() {
+        fillReady = false;
     }
 }
@@ -2,6 +2,7 @@ package net.novaware.nes.core.ppu.table;
 
 import net.novaware.nes.core.memory.DataLine;
 import net.novaware.nes.core.memory.MemoryBus;
+import net.novaware.nes.core.ppu.memory.PatternCache;
 import net.novaware.nes.core.register.SegmentRegister;
 import net.novaware.nes.core.util.Hex;
 import org.checkerframework.checker.signedness.qual.Unsigned;
@@ -16,8 +17,16 @@ import static net.novaware.nes.core.util.UTypes.ushort;
  */
 public class PatternTable extends MemBusTable implements Table {
 
+    private final PatternCache patternCache;
+
     public PatternTable(String name, SegmentRegister segment, MemoryBus bus) {
+        this(name, segment, bus, new PatternCache());
+    }
+
+    public PatternTable(String name, SegmentRegister segment, MemoryBus bus, PatternCache patternCache) {
         super(name, segment, bus);
+
+        this.patternCache = patternCache;
     }
 
     /**
@@ -59,22 +68,14 @@ public class PatternTable extends MemBusTable implements Table {
 
         for (int y = 0; y < size.height(); y++) {
             int addressLo = PatternTables.getAddress(size, table, cell, 0, y);
-            int addressHi = PatternTables.getAddress(size, table, cell, 1, y);
-
-            bus.probe(ushort(addressLo), dataLine);
-            @Unsigned byte byteLo = dataLine.cycle();
-
-            bus.probe(ushort(addressHi), dataLine);
-            @Unsigned byte byteHi = dataLine.cycle();
+            int row = patternCache.isMapped(addressLo)
+                ? patternCache.getRow(addressLo)
+                : probeRow(dataLine, addressLo);
 
             pattern.append("║ ");
 
-            for (int x = size.width() - 1; x >= 0; x--) {
-                int mask = 1 << x;
-                int bitLo = (sint(byteLo) & mask) >> x;
-                int bitHi = (sint(byteHi) & mask) >> x;
-
-                int dot = (bitHi << 1) | bitLo;
+            for (int x = 0; x < size.width(); x++) {
+                int dot = (row >> (14 - 2 * x)) & 0b11;
 
                 char c = switch(dot) {
                     case 0b11 -> '█';
@@ -96,4 +97,16 @@ public class PatternTable extends MemBusTable implements Table {
 
         return pattern.toString();
     }
+
+    private int probeRow(DataLine dataLine, int addressLo) {
+        int addressHi = addressLo | 0b1000;
+
+        bus.probe(ushort(addressLo), dataLine);
+        @Unsigned byte byteLo = dataLine.cycle();
+
+        bus.probe(ushort(addressHi), dataLine);
+        @Unsigned byte byteHi = dataLine.cycle();
+
+        return PatternCache.decodeRow(sint(byteLo), sint(byteHi));
+    }
 }
@@ -6,6 +6,7 @@ import net.novaware.nes.core.config.CoreConfig;
 import net.novaware.nes.core.config.VideoStandard;
 import net.novaware.nes.core.pin.Pin;
 import net.novaware.nes.core.ppu.action.Action;
+import net.novaware.nes.core.ppu.action.Microcode;
 import net.novaware.nes.core.ppu.action.ScanLine;
 import net.novaware.nes.core.ppu.inject.PpuVar;
 import net.novaware.nes.core.ppu.memory.ObjAttrMemory;
@@ -31,6 +32,7 @@ import net.novaware.nes.core.util.Initializable;
 import org.checkerframework.checker.signedness.qual.Unsigned;
 
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 
 import static net.novaware.nes.core.cpu.signal.Signal.HIGH;
 import static net.novaware.nes.core.cpu.signal.Signal.LOW;
@@ -56,6 +58,35 @@ import static net.novaware.nes.core.ppu.action.Action.SHIFT;
 import static net.novaware.nes.core.ppu.action.Action.TRANSFER_TX_TO_X;
 import static net.novaware.nes.core.ppu.action.Action.TRANSFER_TY_TO_Y;
 import static net.novaware.nes.core.ppu.action.Action.UNUSED_NAME_TABLE_DATA;
+import static net.novaware.nes.core.ppu.action.Microcode.ATA;
+import static net.novaware.nes.core.ppu.action.Microcode.ATD;
+import static net.novaware.nes.core.ppu.action.Microcode.BHA;
+import static net.novaware.nes.core.ppu.action.Microcode.BHD;
+import static net.novaware.nes.core.ppu.action.Microcode.BLA;
+import static net.novaware.nes.core.ppu.action.Microcode.BLD;
+import static net.novaware.nes.core.ppu.action.Microcode.CLH;
+import static net.novaware.nes.core.ppu.action.Microcode.CLR;
+import static net.novaware.nes.core.ppu.action.Microcode.CLS;
+import static net.novaware.nes.core.ppu.action.Microcode.CSO;
+import static net.novaware.nes.core.ppu.action.Microcode.EPO;
+import static net.novaware.nes.core.ppu.action.Microcode.INX;
+import static net.novaware.nes.core.ppu.action.Microcode.INY;
+import static net.novaware.nes.core.ppu.action.Microcode.NDI;
+import static net.novaware.nes.core.ppu.action.Microcode.NDU;
+import static net.novaware.nes.core.ppu.action.Microcode.NOP;
+import static net.novaware.nes.core.ppu.action.Microcode.NTA;
+import static net.novaware.nes.core.ppu.action.Microcode.NTD;
+import static net.novaware.nes.core.ppu.action.Microcode.RDR;
+import static net.novaware.nes.core.ppu.action.Microcode.RSO;
+import static net.novaware.nes.core.ppu.action.Microcode.SEH;
+import static net.novaware.nes.core.ppu.action.Microcode.SEV;
+import static net.novaware.nes.core.ppu.action.Microcode.SHA;
+import static net.novaware.nes.core.ppu.action.Microcode.SHD;
+import static net.novaware.nes.core.ppu.action.Microcode.SLA;
+import static net.novaware.nes.core.ppu.action.Microcode.SLD;
+import static net.novaware.nes.core.ppu.action.Microcode.TTX;
+import static net.novaware.nes.core.ppu.action.Microcode.TTY;
+import static net.novaware.nes.core.ppu.action.Microcode.encode;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.CB;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.CC;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.CH;
@@ -73,6 +104,7 @@ import static net.novaware.nes.core.ppu.inject.PpuVarName.RS;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.S0H;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.SOA;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.T;
+import static net.novaware.nes.core.ppu.inject.PpuVarName.TO;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.VBI;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.VX;
 import static net.novaware.nes.core.ppu.memory.ObjAttrMemory.ENTRY_SIZE;
@@ -99,6 +131,7 @@ public class ControlUnit implements Initializable {
     private final IntegerCounter lineCounter;
     private final IntegerCounter dotCounter;
     private final BooleanRegister frameToggle;
+    private final BooleanRegister timingOnly;
 
     private final PpuStatusRegister status;
     private final BooleanRegister hBlank;
@@ -111,7 +144,6 @@ public class ControlUnit implements Initializable {
 
     private final ScanLine[] scanLines;
 
-    // TODO: consider microcode generated using rules below that stays inside a file
     private final Action[] shiftActions;
     private final Action[] busActions;
     private final Action[] oamActions;
@@ -119,6 +151,19 @@ public class ControlUnit implements Initializable {
     private final Action[] renderingViewActions;
     private final Action[] preRenderViewActions;
 
+    /**
+     * {@link Microcode} word per [scanLine][dot], rows are shared by lines of the same {@link ScanLine} type
+     */
+    private final int[][] microcode;
+
+    /**
+     * {@link #microcode} without picture: no draws and no background shifts on visible dots.
+     * Fetches, scrolling, sprite evaluation and flags stay, so mapper, $2002 and NMI timing do not change.
+     */
+    private final int[][] timingMicrocode;
+
+    private int[][] activeMicrocode; // switched only at the start of pre-render scanline
+
     private final TimingUnit timingUnit;
     private final BooleanRegister spriteSize;
     private final ViewPortRegister currentViewPort;
@@ -159,6 +204,7 @@ public class ControlUnit implements Initializable {
         @PpuVar(LC) IntegerCounter lineCounter,
         @PpuVar(DC) IntegerCounter dotCounter,
         @PpuVar(FT) BooleanRegister frameToggle,
+        @PpuVar(TO) BooleanRegister timingOnly,
 
         @PpuVar(PS) PpuStatusRegister status,
         @PpuVar(HB) BooleanRegister hBlank,
@@ -217,6 +263,7 @@ public class ControlUnit implements Initializable {
         this.lineCounter = lineCounter;
         this.dotCounter = dotCounter;
         this.frameToggle = frameToggle;
+        this.timingOnly = timingOnly;
         this.status = status;
         this.hBlank = hBlank;
         this.vBlankInterruptEnabled = vBlankInterruptEnabled;
@@ -232,6 +279,9 @@ public class ControlUnit implements Initializable {
         drawActions = initDrawActions(vs);
         renderingViewActions = initViewActions(vs, false);
         preRenderViewActions = initViewActions(vs, true);
+        microcode = initMicrocode(scanLines, drawActions, shiftActions, busActions, oamActions, renderingViewActions, preRenderViewActions);
+        timingMicrocode = initTimingMicrocode(microcode);
+        activeMicrocode = microcode;
 
         // TODO: make it nicer, maybe move entry constants to OAT
         spriteOutputUnits = new SpriteOutput[secObjAttrMemory.getSize() / ENTRY_SIZE];
@@ -391,124 +441,245 @@ public class ControlUnit implements Initializable {
         return renderingViewActions;
     }
 
-    public int cycle() { // TODO: PPU power up state lasts 1 full frame until first vBlank
-                         //  only some registers can be used
-        cycleCounter.increment();
+    private static int[][] initMicrocode(
+            ScanLine[] scanLines,
+            Action[] drawActions,
+            Action[] shiftActions,
+            Action[] busActions,
+            Action[] oamActions,
+            Action[] renderingViewActions,
+            Action[] preRenderViewActions
+    ) {
+        int[][] rows = new int[ScanLine.values().length][];
 
-        final int scanLine = lineCounter.getValue();
-        final int dot = dotCounter.getValue();
+        for (ScanLine lineType : ScanLine.values()) {
+            int[] row = new int[busActions.length]; // physical width
+
+            for (int dot = 0; dot < row.length; dot++) {
+                row[dot] = compileDot(lineType, dot, drawActions, shiftActions, busActions, oamActions, renderingViewActions, preRenderViewActions);
+            }
+
+            rows[lineType.ordinal()] = row;
+        }
+
+        int[][] microcode = new int[scanLines.length][];
+
+        for (int y = 0; y < scanLines.length; y++) {
+            microcode[y] = rows[scanLines[y].ordinal()];
+        }
 
-        final boolean forceBlank = !(renderSprite.get() || renderBackground.get());
+        return microcode;
+    }
+
+    private static int[][] initTimingMicrocode(int[][] microcode) {
+        int[][] timingMicrocode = new int[microcode.length][];
+        IdentityHashMap<int[], int[]> rows = new IdentityHashMap<>(); // keep rows shared
+
+        for (int y = 0; y < microcode.length; y++) {
+            timingMicrocode[y] = rows.computeIfAbsent(microcode[y], ControlUnit::stripPicture);
+        }
+
+        return timingMicrocode;
+    }
+
+    // sprite 0 hit is not emulated (bit 6 of $2002 stays clear), skipped frames read the same status as drawn ones
+    private static int[] stripPicture(int[] row) {
+        int[] stripped = new int[row.length];
+
+        for (int dot = 0; dot < row.length; dot++) {
+            int word = row[dot] & ~(Microcode.DRAW_MASK << Microcode.DRAW_SHIFT);
+
+            if (dot <= 256) { // shifters get refilled by the 16 shifts of the prefetch at 321-336
+                word &= ~Microcode.SHIFT;
+            }
+
+            stripped[dot] = word;
+        }
+
+        return stripped;
+    }
 
-        Action draw = NO_OPERATION;
-        Action shift = NO_OPERATION;
-        Action bus = NO_OPERATION;
-        Action view = NO_OPERATION;
-        Action oam = NO_OPERATION;
-        Action flag = NO_OPERATION;
+    private static int compileDot(
+            ScanLine lineType,
+            int dot,
+            Action[] drawActions,
+            Action[] shiftActions,
+            Action[] busActions,
+            Action[] oamActions,
+            Action[] renderingViewActions,
+            Action[] preRenderViewActions
+    ) {
+        int word = Microcode.NOP;
 
-        switch(scanLines[scanLine]) {
+        switch(lineType) {
             case RENDER_START:
-                draw = drawActions[dot];
-                shift = shiftActions[dot];
-                bus = busActions[dot];
-                view = renderingViewActions[dot];
-                oam = oamActions[dot];
-                flag = getRenderStartFlagAction(dot);
+                word = encode(word, drawActions[dot]);
+                word = encode(word, shiftActions[dot]);
+                word = encode(word, busActions[dot]);
+                word = encode(word, renderingViewActions[dot]);
+                word = encode(word, oamActions[dot]);
+                word = encode(word, getRenderStartFlagAction(dot));
                 break;
             case RENDERING:
             case RENDER_END:
-                draw = drawActions[dot];
-                shift = shiftActions[dot];
-                bus = busActions[dot];
-                view = renderingViewActions[dot];
-                oam = oamActions[dot];
-                flag = getRenderingFlagAction(dot);
+                word = encode(word, drawActions[dot]);
+                word = encode(word, shiftActions[dot]);
+                word = encode(word, busActions[dot]);
+                word = encode(word, renderingViewActions[dot]);
+                word = encode(word, oamActions[dot]);
+                word = encode(word, getRenderingFlagAction(dot));
                 break;
             case POST_RENDER:
-                bus = getPostRenderBusAction(dot);
-                flag = getPostRenderFlagAction(dot);
+                word = encode(word, getPostRenderBusAction(dot));
+                word = encode(word, getPostRenderFlagAction(dot));
                 break;
             case BLANK_START:
-                flag = getVBlankStartFlagAction(dot);
+                word = encode(word, getVBlankStartFlagAction(dot));
                 break;
             case BLANKING:
             case BLANK_END:
                 // NOOP for all
                 break;
             case PRE_RENDER:
-                draw = getPreRenderDrawAction(dot);
-                shift = shiftActions[dot];
-                bus = busActions[dot];
-                view = preRenderViewActions[dot];
-                flag = getPreRenderFlagAction(dot);
-                resetLock.set(false); // first pre-render
+                word = encode(word, getPreRenderDrawAction(dot));
+                word = encode(word, shiftActions[dot]);
+                word = encode(word, busActions[dot]);
+                word = encode(word, preRenderViewActions[dot]);
+                word = encode(word, getPreRenderFlagAction(dot));
+                word |= Microcode.UNLOCK; // first pre-render
                 break;
         }
 
-        // TODO: create a golden micro action file and compare in tests? for ntsc, pal, etc
-        //System.out.println(dot + ": " + bus.getMnemonic() + " " + view.getMnemonic() + " " + oam.getMnemonic() + " " + draw.getMnemonic() + " " + flag.getMnemonic());
+        return word;
+    }
+
+    public int cycle() { // TODO: PPU power up state lasts 1 full frame until first vBlank
+                         //  only some registers can be used
+        cycleCounter.increment();
+
+        final int line = lineCounter.getValue();
+        final int dot = dotCounter.getValue();
 
-        if (!resetLock.get() && !forceBlank) {
-            executeDraw(draw);
-            executeShift(shift);
-            executeBus(bus);
-            executeView(view);
-            executeOam(oam);
+        if (dot == 0 && line == videoStandard.getPhysicalHeight() - 1) {
+            activeMicrocode = timingOnly.get() ? timingMicrocode : microcode; // whole frames only
+        }
+
+        final int word = activeMicrocode[line][dot];
+
+        if (word != Microcode.NOP) {
+            if ((word & Microcode.UNLOCK) != 0) {
+                resetLock.set(false);
+            }
+
+            execute(word, isRendering());
         }
 
-        executeFlag(flag);
         timingUnit.increment();
 
         return 1;
     }
 
-    private void executeShift(Action shiftAction) {
-        switch(shiftAction) {
-            case SHIFT -> shiftShiftRegisters();
-            case NO_OPERATION -> {}
+    /**
+     * @return true at dot 0 of a visible line, where {@link #renderLine()} can start
+     */
+    public boolean isLineStart() {
+        return dotCounter.getValue() == 0 && lineCounter.getValue() < videoStandard.getActiveHeight();
+    }
+
+    /**
+     * Runs a whole visible line in one call: 34 tile fetches, sprite evaluation and fetches,
+     * priority mux of 256 dots into the VOUT line. Caller guarantees nothing outside of PPU
+     * changes its state in the meantime (register writes, pending pipelines, bank switches).
+     *
+     * @return dots spent
+     */
+    public int renderLine() {
+        assert isLineStart() : "not at the start of a visible line";
+
+        final int line = lineCounter.getValue();
+        final int[] row = activeMicrocode[line];
+        final boolean rendering = isRendering(); // constant for the whole line
+
+        for (int dot = 0; dot < row.length; dot++) {
+            final int word = row[dot];
+
+            if (word != Microcode.NOP) {
+                dotCounter.setValue(dot); // sprite evaluation and dot output read it
+                execute(word, rendering);
+            }
+        }
+
+        cycleCounter.incrementBy(row.length);
+        timingUnit.incrementLine();
+
+        return row.length;
+    }
+
+    /**
+     * @return true while the current frame runs without picture
+     */
+    @SuppressWarnings("not.interned") // comparing refs on purpose
+    public boolean isTimingOnly() {
+        return activeMicrocode == timingMicrocode;
+    }
+
+    private boolean isRendering() {
+        return !resetLock.get() && (renderSprite.get() || renderBackground.get()); // not force blank
+    }
+
+    private void execute(int word, boolean rendering) {
+        if (rendering && (word & Microcode.RENDERING) != 0) {
+            executeDraw(Microcode.draw(word));
+            if ((word & Microcode.SHIFT) != 0) {
+                shiftShiftRegisters();
+            }
+            executeBus(Microcode.bus(word));
+            executeView(Microcode.view(word));
+            executeOam(Microcode.oam(word));
         }
+
+        executeFlag(Microcode.flag(word));
     }
 
-    private void executeBus(Action busAction) {
-        switch(busAction) {
-            case ACCESS_NAME_TABLE_ADDRESS -> {
+    private void executeBus(int busOp) {
+        switch(busOp) {
+            case NTA -> {
                 @Unsigned short nameTableAddr = NameTables.getNameTableAddress(currentViewPort);
                 bus.access(nameTableAddr);
             }
-            case READ_NAME_TABLE_DATA      -> {
+            case NTD -> {
                 @Unsigned byte nameTableData = bus.read().data();
                 nameTableBuffer.set(nameTableData);
             }
-            case ACCESS_ATTR_TABLE_ADDRESS -> {
+            case ATA -> {
                 @Unsigned short attrTableAddr = AttributeTables.getAttrTableAddress(currentViewPort);
                 bus.access(attrTableAddr);
             }
-            case READ_ATTR_TABLE_DATA      -> {
+            case ATD -> {
                 @Unsigned byte attrTableData = bus.read().data();
                 extractCurrentAttribute(attrTableData);
             }
-            case ACCESS_BG_LO_BITS_ADDRESS -> {
+            case BLA -> {
                 int bgLoAddr = PatternTables.getSingleAddress(backgroundPatternTable.getAsInt() >> 12, nameTableBuffer.getAsInt(), 0, currentViewPort.getFineY());
                 bus.access(ushort(bgLoAddr));
             }
-            case READ_BG_LO_BITS_DATA      -> {
+            case BLD -> {
                 @Unsigned byte bgLoData = bus.read().data();
                 backgroundBuffer.low(bgLoData);
             }
-            case ACCESS_BG_HI_BITS_ADDRESS -> {
+            case BHA -> {
                 int bgHiAddr = PatternTables.getSingleAddress(backgroundPatternTable.getAsInt() >> 12, nameTableBuffer.getAsInt(), 1, currentViewPort.getFineY());
                 bus.access(ushort(bgHiAddr));
             }
-            case READ_BG_HI_BITS_DATA      -> {
+            case BHD -> {
                 @Unsigned byte bgHiData = bus.read().data();
                 backgroundBuffer.high(bgHiData);
             }
 
-            case UNUSED_NAME_TABLE_DATA    -> unusedNameTable(bus.read().data());
-            case IGNORED_NAME_TABLE_DATA   -> ignoredNameTable(bus.read().data());
+            case NDU -> unusedNameTable(bus.read().data());
+            case NDI -> ignoredNameTable(bus.read().data());
 
-            case ACCESS_SP_LO_BITS_ADDRESS -> {
+            case SLA -> {
                 int y = secObjAttrTable.getYAsInt();
                 int tile = secObjAttrTable.getTileAsInt();
                 @Unsigned byte attr = secObjAttrTable.getAttr();
@@ -527,7 +698,7 @@ public class ControlUnit implements Initializable {
 
                 bus.access(ushort(spLoAddr));
             }
-            case READ_SP_LO_BITS_DATA      -> {
+            case SLD -> {
                 @Unsigned byte attr = secObjAttrTable.getAttr();
 
                 @Unsigned byte spLoData = bus.read().data();
@@ -538,7 +709,7 @@ public class ControlUnit implements Initializable {
 
                 spriteOutputUnits[secObjAttrTable.getRow()].shifter.loadPlaneLow(spLoData);
             }
-            case ACCESS_SP_HI_BITS_ADDRESS -> {
+            case SHA -> {
                 int y = secObjAttrTable.getYAsInt();
                 int tile = secObjAttrTable.getTileAsInt();
                 @Unsigned byte attr = secObjAttrTable.getAttr();
@@ -546,7 +717,7 @@ public class ControlUnit implements Initializable {
                 int spHiAddr = getSpritePatternAddress(y, tile, 1, asFlipV(attr));
                 bus.access(ushort(spHiAddr));
             }
-            case READ_SP_HI_BITS_DATA      -> {
+            case SHD -> {
                 @Unsigned byte attr = secObjAttrTable.getAttr();
                 @Unsigned byte spHiData = bus.read().data();
 
@@ -559,8 +730,8 @@ public class ControlUnit implements Initializable {
                 //secOamIndex++;
                 secObjAttrTable.nextRow();
             }
-            case NO_OPERATION              -> {}
-            default -> throw new IllegalStateException("Unexpected bus action: " + busAction);
+            case NOP -> {}
+            default -> throw new IllegalStateException("Unexpected bus op: " + busOp);
         }
     }
 
@@ -621,20 +792,20 @@ public class ControlUnit implements Initializable {
         }
     }
 
-    private void executeFlag(Action flag) {
-        switch(flag) {
-            case SET_HBLANK -> hBlank.set(true);
-            case CLR_HBLANK -> hBlank.set(false);
-            case SET_VBLANK -> setVBlank(true);
-            case CLR_STATUS -> clearStatus();
-            case NO_OPERATION -> {}
-            default -> throw new IllegalStateException("Unexpected flag action: " + flag);
+    private void executeFlag(int flagOp) {
+        switch(flagOp) {
+            case SEH -> hBlank.set(true);
+            case CLH -> hBlank.set(false);
+            case SEV -> setVBlank(true);
+            case CLS -> clearStatus();
+            case NOP -> {}
+            default -> throw new IllegalStateException("Unexpected flag op: " + flagOp);
         }
     }
 
-    private void executeDraw(Action draw) {
-        switch(draw) {
-            case RENDER -> {
+    private void executeDraw(int drawOp) {
+        switch(drawOp) {
+            case RDR -> {
 
                 // TODO: mux pattern bits with attr bits using fine x
                 selectBgAndAttrBits();
@@ -650,13 +821,13 @@ public class ControlUnit implements Initializable {
                 // TODO: read dot from EXT and MUX it with previous+2 dot
                 // TODO: push previous+3 dot to videoOutRegister
             }
-            case CLEAR -> {
+            case CLR -> {
                 // TODO: on pal border region is always black
                 @Unsigned byte backdrop = paletteMemory.getColor(BACKGROUND, 1, 1); // TODO: for debugging, should be 0, 0);
-                videoOut.set(-1, -1, backdrop);
+                videoOut.setFill(backdrop);
             }
-            case NO_OPERATION -> {}
-            default -> throw new IllegalStateException("Unexpected draw action: " + draw);
+            case NOP -> {}
+            default -> throw new IllegalStateException("Unexpected draw op: " + drawOp);
         }
     }
 
@@ -721,7 +892,12 @@ public class ControlUnit implements Initializable {
         @Unsigned byte color = paletteMemory.getColor(section, palette, offset);
 
         // TODO: too early to output, do priority, ext in / out muxing
-        videoOut.set(lineCounter.getValue(), dotCounter.getValue() - 1, color);
+        final int x = dotCounter.getValue() - 1;
+        videoOut.setLineColor(x, color);
+
+        if (x == videoStandard.getActiveWidth() - 1) {
+            videoOut.setLine(lineCounter.getValue());
+        }
     }
 
     private void shiftShiftRegisters() {
@@ -729,51 +905,51 @@ public class ControlUnit implements Initializable {
         attributes.shiftPlanes();
     }
 
-    private void executeOam(Action oam) {
-        switch(oam) {
-            case READ_PRIMARY_OAM -> {
+    private void executeOam(int oamOp) {
+        switch(oamOp) {
+            case RSO -> {
                 @Unsigned byte data = priObjAttrMemory.read(priObjAttrRegister.get());
                 unusedObjAttrByte(data);
 
                 // TODO: increment offset (OAMADDR is the start)
             }
-            case CLR_SECONDARY_OAM -> {
+            case CSO -> {
                 secObjAttrMemory.write(secObjAttrRegister.get(), UBYTE_MAX_VALUE);
 
                 secObjAttrRegister.increment(1); // 8 rows, 32 cells
             }
-            case EVAL_PRIMARY_OAM -> {
+            case EPO -> {
                 spriteUnit.eval();
             }
-            case NO_OPERATION -> {}
-            default -> throw new IllegalStateException("Unexpected oam action: " + oam);
+            case NOP -> {}
+            default -> throw new IllegalStateException("Unexpected oam op: " + oamOp);
         }
     }
 
-    private void executeView(Action view) {
+    private void executeView(int viewOp) {
         // FIXME: force blank (rendering off) should not alter VX
-        switch(view) {
-            case INCREMENT_X -> {
+        switch(viewOp) {
+            case INX -> {
                 loadShifters();
                 currentViewPort.incrementX();
             }
-            case INCREMENT_Y -> currentViewPort.incrementY();
-            case TRANSFER_TX_TO_X -> {
+            case INY -> currentViewPort.incrementY();
+            case TTX -> {
                 tempViewPort.transferX(currentViewPort);
                 //secOamIndex = 0;
                 secObjAttrTable.setRow(0); // TODO: or just firstRow()?
             }
-            case TRANSFER_TY_TO_Y -> tempViewPort.transferY(currentViewPort);
-            case NO_OPERATION -> {}
-            default -> throw new IllegalStateException("Unexpected view action: " + view);
+            case TTY -> tempViewPort.transferY(currentViewPort);
+            case NOP -> {}
+            default -> throw new IllegalStateException("Unexpected view op: " + viewOp);
         }
     }
 
-    private Action getPostRenderBusAction(int dot) {
+    private static Action getPostRenderBusAction(int dot) {
         return dot == 0 ? ACCESS_BG_LO_BITS_ADDRESS : NO_OPERATION;
     }
 
-    private Action getPostRenderFlagAction(int dot) {
+    private static Action getPostRenderFlagAction(int dot) {
         return dot == 0 ? CLR_HBLANK : NO_OPERATION;
     }
 
@@ -784,7 +960,7 @@ public class ControlUnit implements Initializable {
         }
     }
 
-    private Action getRenderingFlagAction(int dot) {
+    private static Action getRenderingFlagAction(int dot) {
         return switch(dot) {
             case 257 -> SET_HBLANK;
             case 0   -> CLR_HBLANK;
@@ -792,19 +968,19 @@ public class ControlUnit implements Initializable {
         };
     }
 
-    private Action getRenderStartFlagAction(int dot) {
+    private static Action getRenderStartFlagAction(int dot) {
         return dot == 257 ? SET_HBLANK : NO_OPERATION;
     }
 
-    private Action getVBlankStartFlagAction(int dot) {
+    private static Action getVBlankStartFlagAction(int dot) {
         return dot == 1 ? Action.SET_VBLANK : Action.NO_OPERATION;
     }
 
-    private Action getPreRenderFlagAction(int dot) {
+    private static Action getPreRenderFlagAction(int dot) {
         return dot == 1 ? Action.CLR_STATUS : Action.NO_OPERATION;
     }
 
-    private Action getPreRenderDrawAction(int dot) {
+    private static Action getPreRenderDrawAction(int dot) {
         return dot == 1 ? Action.CLEAR : NO_OPERATION;
     }
 
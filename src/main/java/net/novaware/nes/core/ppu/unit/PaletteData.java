@@ -2,9 +2,6 @@ package net.novaware.nes.core.ppu.unit;
 
 import org.checkerframework.checker.signedness.qual.Unsigned;
 
-import java.awt.*;
-import java.util.stream.IntStream;
-
 import static net.novaware.nes.core.util.UTypes.sint;
 import static net.novaware.nes.core.util.UTypes.ubyte;
 
@@ -37,19 +34,10 @@ public class PaletteData {
             0xF8E870, 0xD8F878, 0xB8F8B8, 0xB8F8D8, 0x00FCFC, 0xD8D8D8, 0x000000, 0x000000
     };
 
-    private static final Color[] COLOR_OBJECTS; // FIXME cache for now, but this is AWT in core code
-
-    static {
-        COLOR_OBJECTS = IntStream.of(COLORS)
-                .mapToObj(Color::new)
-                .toArray(Color[]::new);
-    }
-
+    /**
+     * @return 0xRRGGBB
+     */
     public int getColor(@Unsigned byte index) {
         return COLORS[sint(index)];
     }
-
-    public Color getColorObj(@Unsigned byte index) {
-        return COLOR_OBJECTS[sint(index)];
-    }
 }
@@ -4,35 +4,54 @@ import jakarta.inject.Inject;
 import net.novaware.nes.core.board.inject.BoardScope;
 import net.novaware.nes.core.ppu.inject.PpuVar;
 import net.novaware.nes.core.ppu.memory.ObjAttrMemory;
-import net.novaware.nes.core.ppu.register.ObjAttrRegister;
+import net.novaware.nes.core.ppu.register.PpuStatusRegister;
 import net.novaware.nes.core.register.BooleanRegister;
 import net.novaware.nes.core.register.IntegerCounter;
 
+import java.util.Arrays;
+
 import static net.novaware.nes.core.ppu.inject.PpuVarName.CH;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.DC;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.LC;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.POA;
+import static net.novaware.nes.core.ppu.inject.PpuVarName.PS;
 import static net.novaware.nes.core.ppu.inject.PpuVarName.SOA;
+import static net.novaware.nes.core.ppu.memory.ObjAttrMemory.ENTRY_SIZE;
+import static net.novaware.nes.core.ppu.memory.ObjAttrMemory.PRIMARY_ENTRY_COUNT;
 import static net.novaware.nes.core.util.UTypes.sint;
 import static net.novaware.nes.core.util.UTypes.ubyte;
 
+/**
+ * Sprite evaluation reads a per line index of sprites in range instead of scanning all OAM entries.
+ * The index follows Y writes of primary OAM and the sprite size, the rest of an entry is read when copied.
+ *
+ * @see <a href="https://www.nesdev.org/wiki/PPU_sprite_evaluation">PPU sprite evaluation on nesdev.org</a>
+ */
 @BoardScope
 public class SpriteUnit {
 
+    private static final int LINES = 0x100 + 16 + 1; // any Y + tallest sprite, lines past it hold no sprites
+
     private final IntegerCounter lineCounter;
     private final IntegerCounter dotCounter;
 
     private final BooleanRegister spriteSize;
+    private final PpuStatusRegister status;
 
     private final ObjAttrMemory priObjAttrMemory;
     private final ObjAttrMemory secObjAttrMemory;
 
+    private final long[] lineSprites = new long[LINES]; // bit per primary entry in range of the line
+    private final int[] indexedYs = new int[PRIMARY_ENTRY_COUNT];
+    private int indexedHeight = 0; // nothing indexed yet
+
     @Inject
     public SpriteUnit(
         @PpuVar(LC) IntegerCounter lineCounter,
         @PpuVar(DC) IntegerCounter dotCounter,
 
         @PpuVar(CH) BooleanRegister spriteSize,
+        @PpuVar(PS) PpuStatusRegister status,
 
         @PpuVar(POA) ObjAttrMemory priObjAttrMemory,
         @PpuVar(SOA) ObjAttrMemory secObjAttrMemory
@@ -41,39 +60,101 @@ public class SpriteUnit {
         this.dotCounter = dotCounter;
 
         this.spriteSize = spriteSize;
+        this.status = status;
 
         this.priObjAttrMemory = priObjAttrMemory;
         this.secObjAttrMemory = secObjAttrMemory;
     }
 
-
-    private ObjAttrRegister priOamRegister2 = new ObjAttrRegister("temp.poam.reg", 0x100);
-    private ObjAttrRegister secOamRegister2 = new ObjAttrRegister("temp.soam.reg", 0x20);
-
     public void eval() {
         int dot = dotCounter.getValue();
         if (dot == 65) {
-            boolean tallSprite = spriteSize.get();
-            int height = tallSprite ? 16 : 8;
+            int height = spriteSize.get() ? 16 : 8;
+            int futureY = lineCounter.getValue() + 1;
+
+            updateIndex(height);
+
+            long sprites = 0 <= futureY && futureY < LINES ? lineSprites[futureY] : 0L;
             int secOamI = 0;
+
             // TODO: create "VIEW" action that resets oamaddr and sec oam addr? or not
-            for(int i = 0; i < 0xFF; i+=4) { // TODO: use OAMADDR instead of i
-                int y = sint(priObjAttrMemory.read(ubyte(i)));
-                int futureY = lineCounter.getValue() + 1;
-                if (y < futureY && futureY <= y+height) {
-                    secObjAttrMemory.write(ubyte(secOamI), ubyte(y));
-                    secObjAttrMemory.write(ubyte(secOamI+1), priObjAttrMemory.read(ubyte(i+1)));
-                    secObjAttrMemory.write(ubyte(secOamI+2), priObjAttrMemory.read(ubyte(i+2)));
-                    secObjAttrMemory.write(ubyte(secOamI+3), priObjAttrMemory.read(ubyte(i+3)));
-
-                    secOamI+=4;
-
-                    if (secOamI >= secObjAttrMemory.getSize()) {
-                        // TODO: set sprite overflow?
-                        break;
-                    }
+            while (sprites != 0 && secOamI < secObjAttrMemory.getSize()) {
+                int n = Long.numberOfTrailingZeros(sprites);
+                sprites &= sprites - 1;
+
+                copyEntry(n * ENTRY_SIZE, secOamI);
+                secOamI += ENTRY_SIZE;
+
+                if (secOamI >= secObjAttrMemory.getSize()) {
+                    evalOverflow(n + 1, futureY, height);
                 }
             }
         }
     }
+
+    private void copyEntry(int priOamI, int secOamI) {
+        for (int b = 0; b < ENTRY_SIZE; b++) {
+            secObjAttrMemory.write(ubyte(secOamI + b), priObjAttrMemory.read(ubyte(priOamI + b)));
+        }
+    }
+
+    /**
+     * Secondary OAM is full, keeps looking with the hardware bug: after an entry out of range
+     * both entry (n) and byte (m) move on, so attributes, tiles and X get compared as if they were Y.
+     */
+    private void evalOverflow(int n, int futureY, int height) {
+        int m = 0;
+
+        for (; n < PRIMARY_ENTRY_COUNT; n++) {
+            int y = sint(priObjAttrMemory.read(ubyte(n * ENTRY_SIZE + m)));
+
+            if (inRange(y, futureY, height)) {
+                status.setSpriteOverflow(true);
+                return;
+            }
+
+            m = (m + 1) & 0b11; // no carry into n
+        }
+    }
+
+    private static boolean inRange(int y, int futureY, int height) {
+        return y < futureY && futureY <= y + height;
+    }
+
+    private void updateIndex(int height) {
+        long dirty = priObjAttrMemory.takeDirtyYs();
+
+        if (height != indexedHeight) {
+            dirty = -1L;
+
+            if (indexedHeight != 0) {
+                Arrays.fill(lineSprites, 0L);
+                Arrays.fill(indexedYs, 0);
+                indexedHeight = 0; // entries below re-index from scratch
+            }
+        }
+
+        while (dirty != 0) {
+            int n = Long.numberOfTrailingZeros(dirty);
+            dirty &= dirty - 1;
+
+            if (indexedHeight != 0) {
+                mark(n, indexedYs[n], indexedHeight, false);
+            }
+
+            int y = sint(priObjAttrMemory.read(ubyte(n * ENTRY_SIZE)));
+            indexedYs[n] = y;
+            mark(n, y, height, true);
+        }
+
+        indexedHeight = height;
+    }
+
+    private void mark(int n, int y, int height, boolean inRange) {
+        long bit = 1L << n;
+
+        for (int line = y + 1; line <= y + height; line++) {
+            lineSprites[line] = inRange ? lineSprites[line] | bit : lineSprites[line] & ~bit;
+        }
+    }
 }
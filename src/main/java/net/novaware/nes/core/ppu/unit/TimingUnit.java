@@ -108,4 +108,16 @@ public class TimingUnit implements Initializable { // TODO: consider ActionRegis
         frameToggle.maybeToggle(nextFrame);
         lineCounter.maybeReset(nextFrame);
     }
+
+    /**
+     * Same as {@link #increment()} from dot 0 through the last dot of a line that does not end the frame
+     */
+    public void incrementLine() {
+        assert lineCounter.getValue() < lineLimit - 1 : "line ends the frame";
+
+        dotCounter.reset();
+        lineCounter.increment();
+
+        updateDotSkip();
+    }
 }
@@ -37,6 +37,13 @@ public class BooleanPipeline implements Pipeline {
         this.delay = delay;
     }
 
+    /**
+     * @return true if no delayed value is pending, {@link #cycle()} is a no-op then
+     */
+    public boolean isSettled() {
+        return delay < 0;
+    }
+
     public void cycle() {
         if (delay > 0) {
             delay--;
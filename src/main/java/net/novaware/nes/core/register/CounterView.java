@@ -0,0 +1,14 @@
+package net.novaware.nes.core.register;
+
+import net.novaware.nes.core.util.Nameable;
+
+/**
+ * Read / write access to a counter which may live outside of a register object,
+ * e.g. CPU cycles in {@link net.novaware.nes.core.cpu.register.CpuState}. For debugging and tests.
+ */
+public interface CounterView extends Nameable {
+
+    int getValue();
+
+    void setValue(int value);
+}
@@ -1,6 +1,6 @@
 package net.novaware.nes.core.register;
 
-public final class IntegerCounter extends Counter {
+public final class IntegerCounter extends Counter implements CounterView {
 
     private int value;
 
@@ -76,6 +76,15 @@ public class UByteBuffer {
         return this;
     }
 
+    /**
+     * @see ByteBuffer#get(int, byte[], int, int)
+     */
+    @SuppressWarnings("signedness")
+    public UByteBuffer get(int index, @Unsigned byte[] dst, int offset, int length) {
+        buffer.get(index, dst, offset, length);
+        return this;
+    }
+
     @SuppressWarnings("signedness")
     public UByteBuffer put(@Unsigned byte b) {
         buffer.put(b);
@@ -140,6 +149,10 @@ public class UByteBuffer {
 
     }
 
+    public boolean isReadOnly() {
+        return buffer.isReadOnly();
+    }
+
     public int capacity() {
         return buffer.capacity();
     }
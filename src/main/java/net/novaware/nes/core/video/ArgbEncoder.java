@@ -0,0 +1,102 @@
+package net.novaware.nes.core.video;
+
+import net.novaware.nes.core.ppu.memory.DisplayMemory;
+import net.novaware.nes.core.ppu.unit.PaletteData;
+import org.checkerframework.checker.signedness.qual.Unsigned;
+
+import static net.novaware.nes.core.ppu.memory.DisplayMemory.TINT_BLUE;
+import static net.novaware.nes.core.ppu.memory.DisplayMemory.TINT_EMPHASIS;
+import static net.novaware.nes.core.ppu.memory.DisplayMemory.TINT_GREEN;
+import static net.novaware.nes.core.ppu.memory.DisplayMemory.TINT_GREYSCALE;
+import static net.novaware.nes.core.ppu.memory.DisplayMemory.TINT_RED;
+import static net.novaware.nes.core.util.UTypes.sint;
+import static net.novaware.nes.core.util.UTypes.ubyte;
+
+/**
+ * Turns color indexed frames of {@link DisplayMemory} into packed ARGB ints,
+ * the layout of {@code BufferedImage.TYPE_INT_ARGB} rasters.
+ * <br>
+ * A lookup table holds all 64 colors for each of 8 emphasis combinations,
+ * greyscale masks the color index before the lookup.
+ *
+ * @see <a href="https://www.nesdev.org/wiki/NTSC_video#Color_Tint_Bits">Color tint bits on nesdev.org</a>
+ */
+public final class ArgbEncoder {
+
+    public static final int COLORS = 64;
+    public static final int LUT_SIZE = (TINT_EMPHASIS + 1) * COLORS;
+
+    private static final int COLOR_MASK = 0b11_1111;
+    private static final int GREY_MASK = 0b11_0000; // keeps the brightness column 0x_0
+
+    private static final int OPAQUE = 0xFF00_0000;
+    private static final double ATTENUATION = 0.746; // channels not emphasized, approximated
+
+    private final int[] lut;
+
+    public ArgbEncoder() {
+        this(new PaletteData());
+    }
+
+    public ArgbEncoder(PaletteData palette) {
+        lut = new int[LUT_SIZE];
+
+        for (int tint = 0; tint <= TINT_EMPHASIS; tint++) {
+            for (int color = 0; color < COLORS; color++) {
+                lut[tint * COLORS + color] = OPAQUE | emphasize(palette.getColor(ubyte(color)), color, tint);
+            }
+        }
+    }
+
+    /**
+     * @param tint TINT_* bits of {@link DisplayMemory}
+     */
+    public int getArgb(int tint, @Unsigned byte color) {
+        int colorMask = (tint & TINT_GREYSCALE) != 0 ? GREY_MASK : COLOR_MASK;
+
+        return lut[(tint & TINT_EMPHASIS) * COLORS + (sint(color) & colorMask)];
+    }
+
+    /**
+     * Converts the acquired frame, row after row, in one pass
+     *
+     * @param argb at least width x height, e.g. data of an image raster
+     */
+    public void encode(DisplayMemory display, int[] argb) {
+        int width = display.getWidth();
+        int height = display.getHeight();
+
+        assert argb.length >= width * height : "argb frame too small";
+
+        @Unsigned byte[] frame = display.getFrame();
+
+        for (int y = 0; y < height; y++) {
+            int tint = display.getTint(y);
+            int base = (tint & TINT_EMPHASIS) * COLORS;
+            int colorMask = (tint & TINT_GREYSCALE) != 0 ? GREY_MASK : COLOR_MASK;
+
+            int start = y * width;
+            int end = start + width;
+
+            for (int i = start; i < end; i++) {
+                argb[i] = lut[base + (frame[i] & colorMask)];
+            }
+        }
+    }
+
+    private static int emphasize(int rgb, int color, int tint) {
+        if ((tint & TINT_EMPHASIS) == 0 || (color & 0x0F) >= 0x0E) {
+            return rgb; // blacks of columns E and F stay as they are
+        }
+
+        int r = attenuate(rgb >> 16 & 0xFF, (tint & (TINT_GREEN | TINT_BLUE)) != 0);
+        int g = attenuate(rgb >> 8 & 0xFF, (tint & (TINT_RED | TINT_BLUE)) != 0);
+        int b = attenuate(rgb & 0xFF, (tint & (TINT_RED | TINT_GREEN)) != 0);
+
+        return r << 16 | g << 8 | b;
+    }
+
+    private static int attenuate(int channel, boolean yes) {
+        return yes ? (int) Math.round(channel * ATTENUATION) : channel;
+    }
+}
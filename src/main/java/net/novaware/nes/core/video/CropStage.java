@@ -0,0 +1,51 @@
+package net.novaware.nes.core.video;
+
+import net.novaware.nes.core.config.Overscan;
+
+import static net.novaware.nes.core.util.Asserts.assertArgument;
+
+/**
+ * Cuts the edges a TV would hide, amounts are taken from the whole display frame (border region included)
+ */
+public final class CropStage implements VideoStage {
+
+    private final int left;
+    private final int right;
+    private final int top;
+    private final int bottom;
+
+    public CropStage(int left, int right, int top, int bottom) {
+        assertArgument(left >= 0 && right >= 0 && top >= 0 && bottom >= 0, "negative crop");
+
+        this.left = left;
+        this.right = right;
+        this.top = top;
+        this.bottom = bottom;
+    }
+
+    public static CropStage of(Overscan overscan) {
+        assertArgument(overscan != Overscan.UNKNOWN, "unknown overscan");
+
+        return new CropStage(overscan.getLeft(), overscan.getRight(), overscan.getTop(), overscan.getBottom());
+    }
+
+    @Override
+    public int getWidth(int inputWidth) {
+        return inputWidth - left - right;
+    }
+
+    @Override
+    public int getHeight(int inputHeight) {
+        return inputHeight - top - bottom;
+    }
+
+    @Override
+    public void process(VideoFrame input, VideoFrame output, int fromRow, int toRow) {
+        int inWidth = input.getWidth();
+        int outWidth = output.getWidth();
+
+        for (int y = fromRow; y < toRow; y++) {
+            System.arraycopy(input.getPixels(), (y + top) * inWidth + left, output.getPixels(), y * outWidth, outWidth);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package net.novaware.nes.core.video;
+
+import org.jspecify.annotations.Nullable;
+
+import static net.novaware.nes.core.util.Asserts.assertNonNull;
+
+/**
+ * Approximation of a composite signal: colors go through YIQ and lose bandwidth horizontally,
+ * luma a little, I chroma more and Q chroma the most, so edges bleed like on a TV.
+ * <br>
+ * Not a simulation of the NES signal itself (no dot crawl or artifact colors).
+ *
+ * @see <a href="https://www.nesdev.org/wiki/NTSC_video">NTSC video on nesdev.org</a>
+ */
+public final class NtscStage implements VideoStage {
+
+    private static final int I_RADIUS = 2; // ~1.3 MHz
+    private static final int Q_RADIUS = 4; // ~0.4 MHz
+
+    /**
+     * Per band thread, sized to the widest row seen
+     */
+    private final ThreadLocal<float @Nullable [][]> scratch = ThreadLocal.withInitial(() -> new float[6][0]);
+
+    @Override
+    public void process(VideoFrame input, VideoFrame output, int fromRow, int toRow) {
+        int width = input.getWidth();
+
+        float[][] rows = assertNonNull(scratch.get(), "scratch has an initial value");
+        if (rows[0].length < width) {
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = new float[width];
+            }
+        }
+
+        float[] ys = rows[0];
+        float[] is = rows[1];
+        float[] qs = rows[2];
+        float[] yf = rows[3];
+        float[] iFiltered = rows[4];
+        float[] qFiltered = rows[5];
+
+        int[] in = input.getPixels();
+        int[] out = output.getPixels();
+
+        for (int row = fromRow; row < toRow; row++) {
+            int start = row * width;
+
+            for (int x = 0; x < width; x++) {
+                int rgb = in[start + x];
+                float r = rgb >> 16 & 0xFF;
+                float g = rgb >> 8 & 0xFF;
+                float b = rgb & 0xFF;
+
+                ys[x] = 0.299f * r + 0.587f * g + 0.114f * b;
+                is[x] = 0.596f * r - 0.274f * g - 0.322f * b;
+                qs[x] = 0.211f * r - 0.523f * g + 0.312f * b;
+            }
+
+            for (int x = 0; x < width; x++) {
+                yf[x] = (ys[Math.max(x - 1, 0)] + 2 * ys[x] + ys[Math.min(x + 1, width - 1)]) / 4;
+            }
+
+            blur(is, iFiltered, width, I_RADIUS);
+            blur(qs, qFiltered, width, Q_RADIUS);
+
+            for (int x = 0; x < width; x++) {
+                float y = yf[x];
+                float i = iFiltered[x];
+                float q = qFiltered[x];
+
+                int r = clamp(y + 0.956f * i + 0.621f * q);
+                int g = clamp(y - 0.272f * i - 0.647f * q);
+                int b = clamp(y - 1.106f * i + 1.703f * q);
+
+                out[start + x] = in[start + x] & 0xFF00_0000 | r << 16 | g << 8 | b;
+            }
+        }
+    }
+
+    /**
+     * Box filter with running sum, edges clamped
+     */
+    private static void blur(float[] src, float[] dst, int width, int radius) {
+        float sum = 0;
+
+        for (int k = -radius; k <= radius; k++) {
+            sum += src[Math.clamp(k, 0, width - 1)];
+        }
+
+        for (int x = 0; x < width; x++) {
+            dst[x] = sum / (2 * radius + 1);
+
+            sum -= src[Math.max(x - radius, 0)];
+            sum += src[Math.min(x + radius + 1, width - 1)];
+        }
+    }
+
+    private static int clamp(float channel) {
+        return Math.clamp(Math.round(channel), 0, 255);
+    }
+}
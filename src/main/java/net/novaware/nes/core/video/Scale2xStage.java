@@ -0,0 +1,69 @@
+package net.novaware.nes.core.video;
+
+/**
+ * Edge aware 2x pixel art scaler, rounds diagonals without blending colors
+ *
+ * @see <a href="https://www.scale2x.it/algorithm">Scale2x algorithm</a>
+ */
+public final class Scale2xStage implements VideoStage {
+
+    @Override
+    public int getWidth(int inputWidth) {
+        return inputWidth * 2;
+    }
+
+    @Override
+    public int getHeight(int inputHeight) {
+        return inputHeight * 2;
+    }
+
+    @Override
+    public void process(VideoFrame input, VideoFrame output, int fromRow, int toRow) {
+        int[] in = input.getPixels();
+        int[] out = output.getPixels();
+        int width = input.getWidth();
+        int height = input.getHeight();
+        int outWidth = output.getWidth();
+
+        for (int y = fromRow; y < toRow; y++) {
+            int row = y >> 1;
+            boolean lower = (y & 1) != 0;
+
+            int above = Math.max(row - 1, 0) * width;
+            int center = row * width;
+            int below = Math.min(row + 1, height - 1) * width;
+
+            int outStart = y * outWidth;
+
+            for (int x = 0; x < width; x++) {
+                int left = Math.max(x - 1, 0);
+                int right = Math.min(x + 1, width - 1);
+
+                int b = in[above + x];
+                int d = in[center + left];
+                int e = in[center + x];
+                int f = in[center + right];
+                int h = in[below + x];
+
+                int first;
+                int second;
+
+                if (b != h && d != f) {
+                    if (lower) {
+                        first = d == h ? d : e;
+                        second = h == f ? f : e;
+                    } else {
+                        first = d == b ? d : e;
+                        second = b == f ? f : e;
+                    }
+                } else {
+                    first = e;
+                    second = e;
+                }
+
+                out[outStart + 2 * x] = first;
+                out[outStart + 2 * x + 1] = second;
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package net.novaware.nes.core.video;
+
+import java.util.Arrays;
+
+import static net.novaware.nes.core.util.Asserts.assertArgument;
+
+/**
+ * Nearest neighbor scaling by an integer factor
+ */
+public final class ScaleStage implements VideoStage {
+
+    private final int factor;
+
+    public ScaleStage(int factor) {
+        assertArgument(factor > 0, "non positive factor");
+
+        this.factor = factor;
+    }
+
+    @Override
+    public int getWidth(int inputWidth) {
+        return inputWidth * factor;
+    }
+
+    @Override
+    public int getHeight(int inputHeight) {
+        return inputHeight * factor;
+    }
+
+    @Override
+    public void process(VideoFrame input, VideoFrame output, int fromRow, int toRow) {
+        int[] in = input.getPixels();
+        int[] out = output.getPixels();
+        int inWidth = input.getWidth();
+        int outWidth = output.getWidth();
+
+        for (int y = fromRow; y < toRow; y++) {
+            int inStart = (y / factor) * inWidth;
+            int outStart = y * outWidth;
+
+            for (int x = 0; x < inWidth; x++) {
+                int from = outStart + x * factor;
+                Arrays.fill(out, from, from + factor, in[inStart + x]);
+            }
+        }
+    }
+}
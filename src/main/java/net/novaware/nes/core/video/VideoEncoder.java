@@ -8,10 +8,16 @@ import net.novaware.nes.core.config.CoreConfig;
 import net.novaware.nes.core.config.VideoStandard;
 import net.novaware.nes.core.port.internal.DisplayPortImpl;
 import net.novaware.nes.core.ppu.memory.DisplayMemory;
+import net.novaware.nes.core.ppu.register.PpuMaskRegister;
 import net.novaware.nes.core.ppu.register.VideoOutRegister;
 
+import static net.novaware.nes.core.ppu.memory.DisplayMemory.TINT_BLUE;
+import static net.novaware.nes.core.ppu.memory.DisplayMemory.TINT_GREEN;
+import static net.novaware.nes.core.ppu.memory.DisplayMemory.TINT_GREYSCALE;
+import static net.novaware.nes.core.ppu.memory.DisplayMemory.TINT_RED;
+
 /**
- * Accepts color indexed dots from ppu and assembles the frame
+ * Accepts color indexed lines from ppu and assembles the frame
  */
 @BoardScope
 public class VideoEncoder implements ClockReceiver {
@@ -20,6 +26,7 @@ public class VideoEncoder implements ClockReceiver {
     private final BorderRegion borderRegion;
 
     private final VideoOutRegister videoOut;
+    private final PpuMaskRegister mask;
     private final DisplayMemory displayMemory;
 
     private final DisplayPortImpl displayPort;
@@ -28,38 +35,68 @@ public class VideoEncoder implements ClockReceiver {
     public VideoEncoder(
         CoreConfig config,
         VideoOutRegister videoOut,
+        PpuMaskRegister mask,
         DisplayMemory displayMemory,
         final DisplayPortImpl displayPort
     ) {
         this.videoStandard = config.getVideoStandard();
         this.borderRegion = BorderRegion.of(videoStandard);
         this.videoOut = videoOut;
+        this.mask = mask;
         this.displayMemory = displayMemory;
         this.displayPort = displayPort;
     }
 
     @Override
     public int cycle() {
-        int y = videoOut.getY();
-        int x = videoOut.getX();
+        encode();
+
+        return 1;
+    }
+
+    /**
+     * VOUT completes at most one line per call (see {@code Ppu#cycle(int)}), so a single look covers all the cycles
+     */
+    @Override
+    public int cycle(int maxCycles) {
+        encode();
+
+        return maxCycles;
+    }
 
-        int screenY = borderRegion.getTop() + y;
-        int screenX = borderRegion.getLeft() + x;
+    private void encode() {
+        if (videoOut.isFillReady()) {
+            videoOut.clearFillReady();
 
-        if (y < 0 && x < 0) {
-            displayMemory.setColor(videoOut.getColorIndex());
-        } else {
-            displayMemory.setColor(screenY, screenX, videoOut.getColorIndex());
+            displayMemory.setColor(videoOut.getFillColor());
+            displayMemory.setTint(tint());
         }
 
+        if (videoOut.isLineReady()) {
+            videoOut.clearLineReady();
+
+            int y = videoOut.getY();
+            int screenY = borderRegion.getTop() + y;
+
+            displayMemory.setColors(screenY, borderRegion.getLeft(), videoOut.getLine());
+            displayMemory.setTint(screenY, tint()); // tint is taken per row
+
+            maybeSwap(y);
+        }
+    }
+
+    private int tint() {
+        return (mask.emphasizeRed.get() ? TINT_RED : 0)
+            | (mask.emphasizeGreen.get() ? TINT_GREEN : 0)
+            | (mask.emphasizeBlue.get() ? TINT_BLUE : 0)
+            | (mask.greyscale.get() ? TINT_GREYSCALE : 0);
+    }
+
+    private void maybeSwap(int y) {
         // TODO: figure out a better way to notify about swap
-        if (y == videoStandard.getActiveHeight() - 1 && x == videoStandard.getActiveWidth() - 1) {
+        if (y == videoStandard.getActiveHeight() - 1) {
             displayMemory.swap();
             displayPort.onFrame();
         }
-
-        return 1;
     }
-
-    // TODO: there is a single pixel buffer which delays pixel output to display memory?
 }
@@ -1,7 +1,139 @@
 package net.novaware.nes.core.video;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * Processing of raw rgb frame into final picture
+ * <br>
+ * Stages run one after another, each split into bands of rows running in parallel on a small pool.
+ * Meant for the consumer side of {@link net.novaware.nes.core.port.DisplayPort}, keeping the emulation thread free.
+ * Frames and tasks are reused, no allocation per frame once sizes settle.
  */
-public class VideoFilter {
+public class VideoFilter implements AutoCloseable {
+
+    public static final int BAND_HEIGHT = 16;
+
+    private final ForkJoinPool pool;
+    private final boolean ownedPool;
+
+    private final VideoStage[] stages;
+    private final VideoFrame[] outputs;
+    private final Band[][] bands;
+    private final int[] bandsHeight; // output height the bands were cut for
+
+    private final Root root = new Root();
+
+    /**
+     * @param parallelism threads of a pool owned by the filter
+     */
+    public VideoFilter(int parallelism, VideoStage... stages) {
+        this(new ForkJoinPool(parallelism), true, stages);
+    }
+
+    public VideoFilter(ForkJoinPool pool, VideoStage... stages) {
+        this(pool, false, stages);
+    }
+
+    private VideoFilter(ForkJoinPool pool, boolean ownedPool, VideoStage... stages) {
+        this.pool = pool;
+        this.ownedPool = ownedPool;
+        this.stages = stages.clone();
+        this.outputs = new VideoFrame[stages.length];
+        this.bands = new Band[stages.length][];
+        this.bandsHeight = new int[stages.length];
+    }
+
+    /**
+     * @return last stage output, valid until next apply, input if there are no stages
+     */
+    public VideoFrame apply(VideoFrame input) {
+        VideoFrame frame = input;
+
+        for (int s = 0; s < stages.length; s++) {
+            VideoStage stage = stages[s];
+
+            int width = stage.getWidth(frame.getWidth());
+            int height = stage.getHeight(frame.getHeight());
+
+            VideoFrame output = prepare(s, width, height);
+
+            for (Band band : bands[s]) {
+                band.reinitialize();
+                band.input = frame;
+            }
+
+            root.reinitialize();
+            root.bands = bands[s];
+            pool.invoke(root);
+
+            frame = output;
+        }
+
+        return frame;
+    }
+
+    private VideoFrame prepare(int s, int width, int height) {
+        VideoFrame output = outputs[s];
+
+        if (output == null) {
+            output = outputs[s] = new VideoFrame(width, height);
+        } else {
+            output.resize(width, height);
+        }
+
+        if (bands[s] == null || bandsHeight[s] != height) {
+            int count = (height + BAND_HEIGHT - 1) / BAND_HEIGHT;
+
+            bands[s] = new Band[count];
+            bandsHeight[s] = height;
+
+            for (int b = 0; b < count; b++) {
+                bands[s][b] = new Band(stages[s], output, b * BAND_HEIGHT, Math.min((b + 1) * BAND_HEIGHT, height));
+            }
+        }
+
+        return output;
+    }
+
+    @Override
+    public void close() {
+        if (ownedPool) {
+            pool.shutdown();
+        }
+    }
+
+    private static final class Root extends RecursiveAction {
+
+        private Band[] bands = new Band[0];
+
+        @Override
+        protected void compute() {
+            ForkJoinTask.invokeAll(bands);
+        }
+    }
+
+    private static final class Band extends RecursiveAction {
+
+        private final VideoStage stage;
+        private final VideoFrame output;
+        private final int fromRow;
+        private final int toRow;
+
+        private VideoFrame input;
+
+        private Band(VideoStage stage, VideoFrame output, int fromRow, int toRow) {
+            this.stage = stage;
+            this.output = output;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.input = output;
+        }
+
+        @Override
+        protected void compute() {
+            stage.process(input, output, fromRow, toRow);
+        }
+    }
 }
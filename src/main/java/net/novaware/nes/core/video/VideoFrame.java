@@ -0,0 +1,59 @@
+package net.novaware.nes.core.video;
+
+import static net.novaware.nes.core.util.Asserts.assertArgument;
+
+/**
+ * Packed ARGB picture, row after row, reused between frames
+ */
+public final class VideoFrame {
+
+    private int width;
+    private int height;
+    private int[] pixels;
+
+    public VideoFrame(int width, int height) {
+        assertArgument(width > 0 && height > 0, "empty frame");
+
+        this.width = width;
+        this.height = height;
+        this.pixels = new int[width * height];
+    }
+
+    /**
+     * Keeps the buffer if it's big enough, contents are undefined afterwards
+     */
+    public void resize(int width, int height) {
+        assertArgument(width > 0 && height > 0, "empty frame");
+
+        if (width * height > pixels.length) {
+            pixels = new int[width * height];
+        }
+
+        this.width = width;
+        this.height = height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return buffer, may be longer than width x height
+     */
+    public int[] getPixels() {
+        return pixels;
+    }
+
+    public int getPixel(int y, int x) {
+        return pixels[y * width + x];
+    }
+
+    @Override
+    public String toString() {
+        return "VideoFrame: " + width + "x" + height;
+    }
+}
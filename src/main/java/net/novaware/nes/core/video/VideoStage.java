@@ -0,0 +1,20 @@
+package net.novaware.nes.core.video;
+
+/**
+ * Step of {@link VideoFilter}, processes bands of rows independently so bands can run in parallel
+ */
+public interface VideoStage {
+
+    default int getWidth(int inputWidth) {
+        return inputWidth;
+    }
+
+    default int getHeight(int inputHeight) {
+        return inputHeight;
+    }
+
+    /**
+     * Writes output rows [fromRow, toRow), reads any input rows, keeps no state between calls
+     */
+    void process(VideoFrame input, VideoFrame output, int fromRow, int toRow);
+}
@@ -1,6 +1,10 @@
 package net.novaware.nes.core.cart.internal
 
+import net.novaware.nes.core.file.NesDataBuilder
 import net.novaware.nes.core.file.NesFileBuilder
+import net.novaware.nes.core.file.NesMetaBuilder
+import net.novaware.nes.core.file.VideoDataBuilder
+import net.novaware.nes.core.mapper.UxROM
 import net.novaware.nes.core.memory.BankedMemory
 import net.novaware.nes.core.ppu.memory.PpuMemMap
 import net.novaware.nes.core.test.TestBus
@@ -8,6 +12,7 @@ import net.novaware.nes.core.util.Quantity
 import spock.lang.Specification
 
 import static net.novaware.nes.core.util.Quantity.Unit.BANK_1KB
+import static net.novaware.nes.core.util.QuantityBuilder.banks16kb
 import static net.novaware.nes.core.util.UTypes.UBYTE_MAX_VALUE
 import static net.novaware.nes.core.util.UTypes.sint
 
@@ -58,4 +63,39 @@ class CartridgeImplSpec extends Specification {
         video.read(0x2800) == video.read(0x2C00)
         video.read(0x2FFF) == video.read(0x2BFF)
     }
+
+    def "should switch program banks through mapper and write video ram"() {
+        given:
+        def meta = NesMetaBuilder.marioBros()
+                .mapper(UxROM.NUMBER)
+                .programData(banks16kb(8))
+                .videoData(VideoDataBuilder.vertical(0))
+        def nesFile = NesFileBuilder.marioBros()
+                .meta(meta)
+                .data(NesDataBuilder.randomData(meta))
+                .build()
+        def programData = nesFile.data().program()
+        def cartridge = new CartridgeImpl(nesFile)
+        def vram = new BankedMemory("VRAM", PpuMemMap.VRAM_START, new Quantity(1, BANK_1KB))
+                .setPhysicalBanks(new Quantity(2, BANK_1KB))
+                .allocatePhysicalBanks(() -> UBYTE_MAX_VALUE);
+
+        def program = new TestBus(cartridge.getCpuBusDevice())
+        def video = new TestBus(cartridge.getPpuBusDevice(vram))
+
+        when:
+        program.write(0x8000, 3)
+        video.write(0x1234, 0x56)
+
+        then:
+        program.read(0x8000) == sint(programData.get(3 * 0x4000))
+        program.read(0xBFFF) == sint(programData.get(4 * 0x4000 - 1))
+
+        // last bank fixed
+        program.read(0xC000) == sint(programData.get(7 * 0x4000))
+        program.read(0xFFFF) == sint(programData.get(8 * 0x4000 - 1))
+
+        // chr ram
+        video.read(0x1234) == 0x56
+    }
 }
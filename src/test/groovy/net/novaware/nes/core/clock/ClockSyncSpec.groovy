@@ -0,0 +1,23 @@
+package net.novaware.nes.core.clock
+
+import spock.lang.Specification
+
+class ClockSyncSpec extends Specification {
+
+    def clockSync = new ClockSync()
+
+    def "should notify every observer after the listener"() {
+        given:
+        def calls = []
+
+        clockSync.connect({ calls << 'listener' })
+        clockSync.observe({ calls << 'first' })
+        clockSync.observe({ calls << 'second' })
+
+        when:
+        clockSync.sync()
+
+        then:
+        calls == ['listener', 'first', 'second']
+    }
+}
@@ -0,0 +1,178 @@
+package net.novaware.nes.core.clock
+
+import com.sun.management.ThreadMXBean
+import net.novaware.nes.core.NesCore
+import net.novaware.nes.core.board.Board
+import net.novaware.nes.core.cart.Cartridge
+import net.novaware.nes.core.config.ImmutableCoreConfig
+import net.novaware.nes.core.config.Platform
+import net.novaware.nes.core.config.Region
+import net.novaware.nes.core.config.VideoStandard
+import net.novaware.nes.core.file.NesFile
+import net.novaware.nes.core.ppu.RenderMode
+import spock.lang.Specification
+
+import java.lang.management.ManagementFactory
+
+import static net.novaware.nes.core.file.TestRomBuilder.testRom
+import static net.novaware.nes.core.util.UTypes.sint
+import static net.novaware.nes.core.util.UTypes.ushort
+
+class MasterClockCT extends Specification {
+
+    static final int FRAMES = 12
+
+    static final int WARM_UP_FRAMES = 30
+    static final int MEASURED_FRAMES = 120
+    static final long BYTES_PER_FRAME = 1024 // stop condition calls and run stats, not the emulation
+
+    /**
+     * Clears the vblank flag left set at power on and waits two vblanks (PPU ignores $2000 / $2001
+     * writes until the first one ends), then enables NMI and rendering and spins in a loop not
+     * touching the PPU. NMI handler writes a growing row of tiles into the name table and changes
+     * the backdrop color every frame.
+     */
+    NesFile nmiDrivenRom() {
+        testRom()
+            .code(0x8000,
+                0x78,                   // reset: SEI
+                0xD8,                   //        CLD
+                0xA2, 0xFF,             //        LDX #$FF
+                0x9A,                   //        TXS
+                0x2C, 0x02, 0x20,       //        BIT $2002
+                0x2C, 0x02, 0x20,       // wait1: BIT $2002
+                0x10, 0xFB,             //        BPL wait1
+                0x2C, 0x02, 0x20,       // wait2: BIT $2002
+                0x10, 0xFB,             //        BPL wait2
+                0xA9, 0x80,             //        LDA #$80
+                0x8D, 0x00, 0x20,       //        STA $2000
+                0xA9, 0x1E,             //        LDA #$1E
+                0x8D, 0x01, 0x20,       //        STA $2001
+                0xE6, 0x01,             // loop:  INC $01
+                0x4C, 0x1C, 0x80        //        JMP loop
+            )
+            .code(0x8021,
+                0x48,                   // nmi:   PHA
+                0xAD, 0x02, 0x20,       //        LDA $2002
+                0xA9, 0x20,             //        LDA #$20
+                0x8D, 0x06, 0x20,       //        STA $2006
+                0xA5, 0x00,             //        LDA $00
+                0x8D, 0x06, 0x20,       //        STA $2006
+                0xA9, 0x01,             //        LDA #$01
+                0x8D, 0x07, 0x20,       //        STA $2007
+                0xE6, 0x00,             //        INC $00
+                0xA9, 0x3F,             //        LDA #$3F
+                0x8D, 0x06, 0x20,       //        STA $2006
+                0xA9, 0x00,             //        LDA #$00
+                0x8D, 0x06, 0x20,       //        STA $2006
+                0xA5, 0x00,             //        LDA $00
+                0x29, 0x3F,             //        AND #$3F
+                0x8D, 0x07, 0x20,       //        STA $2007
+                0xA9, 0x00,             //        LDA #$00
+                0x8D, 0x05, 0x20,       //        STA $2005
+                0x8D, 0x05, 0x20,       //        STA $2005
+                0xA9, 0x80,             //        LDA #$80
+                0x8D, 0x00, 0x20,       //        STA $2000
+                0x68,                   //        PLA
+                0x40                    // rti:   RTI
+            )
+            .reset(0x8000)
+            .nmi(0x8021)
+            .irq(0x8055)
+            .build()
+    }
+
+    Board newBoard(SyncMode syncMode, RenderMode renderMode) {
+        def board = NesCore.newNesCore(ImmutableCoreConfig.builder()
+                .setRecordCpuBus(false)
+                .setRegion(Region.USA)
+                .setPlatform(Platform.NES_FAMICOM)
+                .setVideoStandard(VideoStandard.NTSC)
+                .setSyncMode(syncMode)
+                .setRenderMode(renderMode)
+                .build()
+        ).newBoard()
+
+        board.getCartridgePort().connect(Cartridge.of(nmiDrivenRom()))
+
+        return board
+    }
+
+    List<List<Integer>> runFrames(SyncMode syncMode, RenderMode renderMode = RenderMode.DOT) {
+        def board = newBoard(syncMode, renderMode)
+
+        int displayHash = 0
+        board.getDisplayPort().connect { displayMemory ->
+            displayMemory.acquire()
+
+            int hash = 1
+            for (int y = 0; y < displayMemory.getHeight(); y++) {
+                for (int x = 0; x < displayMemory.getWidth(); x++) {
+                    hash = 31 * hash + sint(displayMemory.getColor(y, x))
+                }
+            }
+            displayHash = hash
+        }
+
+        def frames = []
+        def debugPort = board.getDebugPort()
+
+        board.powerOnHeadless()
+        board.runUnthrottled(FRAMES, {
+            // cpu and ppu are in sync at frame boundary in both modes
+            frames << [displayHash, sint(debugPort.peek(ushort(0x00))), sint(debugPort.peek(ushort(0x01)))]
+            false
+        })
+
+        return frames
+    }
+
+    def "should produce the same frames and cpu state in catch up mode as in lockstep"() {
+        when:
+        def lockstep = runFrames(SyncMode.LOCKSTEP)
+        def catchUp = runFrames(SyncMode.CATCH_UP)
+
+        then:
+        lockstep.size() == FRAMES
+        catchUp == lockstep
+
+        and: "nmi handler actually ran"
+        lockstep.last()[1] > 0
+        lockstep.collect { it[0] }.unique().size() > 1
+    }
+
+    def "should produce the same frames rendering whole scan lines"() {
+        when:
+        def dots = runFrames(SyncMode.CATCH_UP, RenderMode.DOT)
+        def scanLines = runFrames(SyncMode.CATCH_UP, RenderMode.SCANLINE)
+        def lockstepScanLines = runFrames(SyncMode.LOCKSTEP, RenderMode.SCANLINE)
+
+        then:
+        dots.size() == FRAMES
+        scanLines == dots
+        lockstepScanLines == dots
+    }
+
+    def "should not allocate while running frames"() {
+        given:
+        def board = newBoard(syncMode, renderMode)
+        def threads = (ThreadMXBean) ManagementFactory.getThreadMXBean()
+
+        board.powerOnHeadless()
+        board.runUnthrottled(WARM_UP_FRAMES, { false }) // class loading, lazily decoded patterns
+
+        when:
+        long before = threads.getCurrentThreadAllocatedBytes()
+        board.runUnthrottled(MEASURED_FRAMES, { false })
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before
+
+        then:
+        allocated < BYTES_PER_FRAME * MEASURED_FRAMES
+
+        where:
+        syncMode          | renderMode
+        SyncMode.LOCKSTEP | RenderMode.DOT
+        SyncMode.CATCH_UP | RenderMode.DOT
+        SyncMode.CATCH_UP | RenderMode.SCANLINE
+    }
+}
@@ -21,6 +21,11 @@ class MasterClockSpec extends Specification {
             .build()
 
     def frameToggle = PpuRegModule.provideFrameToggle()
+    def timingOnly = PpuRegModule.provideTimingOnly()
+    def lineCounter = PpuRegModule.provideLineCounter()
+    def dotCounter = PpuRegModule.provideDotCounter()
+    def clockSync = new ClockSync()
+    def scheduler = new Scheduler()
 
     def random = new Random()
 
@@ -49,7 +54,7 @@ class MasterClockSpec extends Specification {
     def dma = new ClockReceiver() {
         @Override
         int cycle() {
-            return 1
+            return 0 // nothing to transfer
         }
     }
 
@@ -63,7 +68,8 @@ class MasterClockSpec extends Specification {
     def executor = ClockModule.provideClockExecutor()
 
     private MasterClock newMasterClock() {
-        new MasterClock(coreConfig, frameToggle, cpu, ppu, apu, dma, executor, videoEncoder)
+        new MasterClock(coreConfig, frameToggle, timingOnly, lineCounter, dotCounter, clockSync, scheduler, cpu, ppu, apu, dma,
+                executor, videoEncoder)
     }
 
     def "should calculate cycles budget for a frame"() {
@@ -116,4 +122,200 @@ class MasterClockSpec extends Specification {
 
 
     }
+
+    def "should run frames unthrottled up to the limit"() {
+        given:
+        def masterClock = newMasterClock()
+
+        when:
+        def stats = masterClock.runUnthrottled(10, { false })
+
+        then:
+        stats.frames() == 10
+        !stats.stopped()
+        masterClock.frameCounter.getValue() == 10
+        masterClock.timeCounter.getValue() == 0 // no real time ticks
+    }
+
+    def "should stop unthrottled run when condition is met"() {
+        given:
+        def masterClock = newMasterClock()
+
+        when:
+        def stats = masterClock.runUnthrottled(100, { masterClock.frameCounter.getValue() >= 3 })
+
+        then:
+        stats.frames() == 3
+        stats.stopped()
+        masterClock.frameCounter.getValue() == 3
+    }
+
+    def "should not run unthrottled with negative frames"() {
+        given:
+        def masterClock = newMasterClock()
+
+        when:
+        masterClock.runUnthrottled(-1, { false })
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "should request timing only for skipped frames"() {
+        given:
+        def masterClock = newMasterClock()
+        def skipped = []
+
+        masterClock.setFrameSkip(2)
+
+        when:
+        masterClock.runUnthrottled(6, { skipped << timingOnly.get(); false })
+
+        then:
+        skipped == [true, true, false, true, true, false]
+
+        when:
+        masterClock.setFrameSkip(0)
+        masterClock.runUnthrottled(1, { false })
+
+        then:
+        !timingOnly.get()
+    }
+
+    def "should keep frame and cycle counts of the double based scheduler"() {
+        given: // expected values recorded with the previous DoubleCounter based runFrame
+        def counts = [cpu: 0, ins: 0, ppu: 0, apu: 0, dma: 0]
+        int[] pattern = [2, 3, 4, 5, 6, 7]
+
+        def countingCpu = { int c = pattern[counts.ins++ % pattern.length]; counts.cpu += c; c } as ClockReceiver
+        def countingPpu = { counts.ppu++; 1 } as ClockReceiver
+        def countingApu = { counts.apu++; 1 } as ClockReceiver
+        def countingDma = { counts.dma++; 0 } as ClockReceiver
+
+        def config = ImmutableCoreConfig.builder()
+                .setRecordCpuBus(false)
+                .setRegion(Region.USA)
+                .setPlatform(Platform.NES_FAMICOM)
+                .setVideoStandard(standard)
+                .setSyncMode(syncMode)
+                .build()
+
+        def masterClock = new MasterClock(config, frameToggle, timingOnly, lineCounter, dotCounter, clockSync, scheduler,
+                countingCpu, countingPpu, countingApu, countingDma, executor, videoEncoder)
+
+        frameToggle.set(oddFrame)
+
+        when:
+        def stats = masterClock.runUnthrottled(10, { false })
+
+        then:
+        stats.frames() == 10
+        counts.ins == instructions
+        counts.cpu == cpuCycles
+        counts.ppu == ppuCycles
+        counts.apu == apuCycles
+        counts.dma == instructions * 2 // before and after the events fired
+
+        and:
+        masterClock.ppuClockBudget.getValue() == ppuBudget
+        masterClock.cpuClockBudget.getValue() == cpuBudget
+        masterClock.apuClockBudget.getValue() == apuBudget
+
+        where:
+        standard            | syncMode          | oddFrame | instructions | cpuCycles | ppuCycles | apuCycles | ppuBudget | cpuBudget | apuBudget
+        VideoStandard.NTSC  | SyncMode.LOCKSTEP | false    | 66_180       | 297_810   | 893_430   | 148_905   | -40       | -40       | -40
+        VideoStandard.NTSC  | SyncMode.LOCKSTEP | true     | 66_180       | 297_810   | 893_430   | 148_905   | -80       | -40       | -40
+        VideoStandard.PAL   | SyncMode.LOCKSTEP | false    | 73_884       | 332_478   | 1_063_929 | 166_239   | -45       | -48       | -48
+        VideoStandard.DENDY | SyncMode.LOCKSTEP | false    | 78_810       | 354_645   | 1_063_935 | 177_322   | -75       | -75       | -60
+        VideoStandard.NTSC  | SyncMode.CATCH_UP | false    | 66_180       | 297_810   | 893_430   | 148_905   | -40       | -40       | -40
+        VideoStandard.NTSC  | SyncMode.CATCH_UP | true     | 66_180       | 297_810   | 893_430   | 148_905   | -80       | -40       | -40
+        VideoStandard.PAL   | SyncMode.CATCH_UP | false    | 73_884       | 332_478   | 1_063_929 | 166_239   | -45       | -48       | -48
+        VideoStandard.DENDY | SyncMode.CATCH_UP | false    | 78_810       | 354_645   | 1_063_935 | 177_322   | -75       | -75       | -60
+    }
+
+    def "should catch up ppu on sync request in the middle of a frame"() {
+        given:
+        def ppuCycles = 0
+        def syncedPpuCycles = -1
+        def instructions = 0
+
+        def config = ImmutableCoreConfig.builder()
+                .setRecordCpuBus(false)
+                .setRegion(Region.USA)
+                .setPlatform(Platform.NES_FAMICOM)
+                .setVideoStandard(VideoStandard.NTSC)
+                .setSyncMode(SyncMode.CATCH_UP)
+                .build()
+
+        def syncingCpu = {
+            if (++instructions == 10) {
+                clockSync.sync() // e.g. $2002 read during 10th instruction
+                syncedPpuCycles = ppuCycles
+            }
+            2
+        } as ClockReceiver
+        def countingPpu = { ppuCycles++; 1 } as ClockReceiver
+
+        def masterClock = new MasterClock(config, frameToggle, timingOnly, lineCounter, dotCounter, clockSync, scheduler,
+                syncingCpu, countingPpu, apu, dma, executor, videoEncoder)
+
+        when:
+        masterClock.runUnthrottled(1, { false })
+
+        then: "ppu is at the end of the previous instruction, like in lockstep"
+        syncedPpuCycles == 9 * 2 * 3
+        ppuCycles == 89_346 // 14_891 instructions * 6 dots, last one overshoots the frame
+    }
+
+    def "should charge cycles stolen by dma to the cpu"() {
+        given:
+        def ppuCycles = 0
+        def ppuCyclesAtSecond = -1
+        def instructions = 0
+        def transfers = 0
+
+        def watchingCpu = {
+            if (++instructions == 2) {
+                ppuCyclesAtSecond = ppuCycles
+            }
+            2
+        } as ClockReceiver
+        def countingPpu = { ppuCycles++; 1 } as ClockReceiver
+        def oamDma = { transfers++ == 0 ? 513 : 0 } as ClockReceiver
+
+        def masterClock = new MasterClock(coreConfig, frameToggle, timingOnly, lineCounter, dotCounter, clockSync, scheduler,
+                watchingCpu, countingPpu, apu, oamDma, executor, videoEncoder)
+
+        when:
+        masterClock.runUnthrottled(1, { false })
+
+        then: 'first instruction wrote $4014, the next one starts after the transfer'
+        ppuCyclesAtSecond == (2 + 513) * 3
+    }
+
+    def "should charge dmc fetch stall before the next instruction"() {
+        given:
+        def ppuCycles = 0
+        def ppuCyclesAtSecond = -1
+        def instructions = 0
+        def dmaCalls = 0
+
+        def watchingCpu = {
+            if (++instructions == 2) {
+                ppuCyclesAtSecond = ppuCycles
+            }
+            2
+        } as ClockReceiver
+        def countingPpu = { ppuCycles++; 1 } as ClockReceiver
+        def dmcDma = { ++dmaCalls == 2 ? 4 : 0 } as ClockReceiver // fetch fired by the scheduler after the first instruction
+
+        def masterClock = new MasterClock(coreConfig, frameToggle, timingOnly, lineCounter, dotCounter, clockSync, scheduler,
+                watchingCpu, countingPpu, apu, dmcDma, executor, videoEncoder)
+
+        when:
+        masterClock.runUnthrottled(1, { false })
+
+        then:
+        ppuCyclesAtSecond == (2 + 4) * 3
+    }
 }
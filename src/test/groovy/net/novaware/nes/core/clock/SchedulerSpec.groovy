@@ -0,0 +1,140 @@
+package net.novaware.nes.core.clock
+
+import spock.lang.Specification
+
+class SchedulerSpec extends Specification {
+
+    def scheduler = new Scheduler()
+    def fired = []
+
+    ClockEvent event(String name) {
+        new ClockEvent(name, { fired << name })
+    }
+
+    def "should fire events in timestamp order"() {
+        given:
+        scheduler.schedule(event("C"), 30)
+        scheduler.schedule(event("A"), 10)
+        scheduler.schedule(event("B"), 20)
+
+        when:
+        scheduler.advance(25)
+
+        then:
+        fired == ["A", "B"]
+        scheduler.now() == 25
+        scheduler.nextTimestamp() == 30
+        scheduler.size() == 1
+    }
+
+    def "should fire events with equal timestamps in scheduling order"() {
+        given:
+        ["A", "B", "C", "D"].each { scheduler.schedule(event(it), 5) }
+
+        when:
+        scheduler.advance(5)
+
+        then:
+        fired == ["A", "B", "C", "D"]
+        scheduler.nextTimestamp() == Long.MAX_VALUE
+    }
+
+    def "should not fire cancelled event"() {
+        given:
+        def a = event("A")
+        def b = event("B")
+        scheduler.schedule(a, 10)
+        scheduler.schedule(b, 20)
+
+        when:
+        scheduler.cancel(a)
+        scheduler.advance(100)
+
+        then:
+        fired == ["B"]
+        !a.isScheduled()
+        !b.isScheduled()
+    }
+
+    def "should move rescheduled event"() {
+        given:
+        def a = event("A")
+        scheduler.schedule(a, 10)
+        scheduler.schedule(event("B"), 20)
+
+        when:
+        scheduler.schedule(a, 30)
+        scheduler.advance(25)
+
+        then:
+        fired == ["B"]
+        a.getTimestamp() == 30
+        scheduler.nextTimestamp() == 30
+    }
+
+    def "should fire event scheduled by a handler if it is due"() {
+        given:
+        def b = event("B")
+        scheduler.schedule(new ClockEvent("A", { fired << "A"; scheduler.schedule(b, 15) }), 10)
+
+        when:
+        scheduler.advance(20)
+
+        then:
+        fired == ["A", "B"]
+    }
+
+    def "should schedule relative to current time"() {
+        given:
+        def a = event("A")
+        scheduler.advance(100)
+
+        when:
+        scheduler.scheduleIn(a, 50)
+
+        then:
+        a.getTimestamp() == 150
+
+        when:
+        scheduler.scheduleIn(a, -1)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "should keep heap order with many events"() {
+        given:
+        def random = new Random(42)
+        def events = (0..<200).collect { new ClockEvent("E$it", { }) }
+        events.each { scheduler.schedule(it, random.nextInt(1_000)) }
+        events.findAll { it.getTimestamp() % 3 == 0 }.each { scheduler.cancel(it) }
+
+        def remaining = events.findAll { it.isScheduled() }.collect { it.getTimestamp() }.sort()
+        def order = []
+
+        when:
+        while (scheduler.size() > 0) {
+            order << scheduler.nextTimestamp()
+            scheduler.advance((int) (scheduler.nextTimestamp() - scheduler.now()))
+        }
+
+        then:
+        order.unique() == remaining.unique()
+    }
+
+    def "should clear events on reset"() {
+        given:
+        def a = event("A")
+        scheduler.schedule(a, 10)
+        scheduler.advance(5)
+
+        when:
+        scheduler.reset()
+        scheduler.advance(100)
+
+        then:
+        fired.isEmpty()
+        !a.isScheduled()
+        scheduler.now() == 100
+    }
+}
@@ -28,4 +28,17 @@ class VideoStandardSpec extends Specification {
         DENDY     | 106_392 | 5_320_342.5d  | 50.007d | 35_464.0d | 1_773_447.5d | 531_960d  | 26_601_712.5d
         PAL_M     |  89_342 | 5_363_416.5d  | 60.032d | 29_780.6d | 1_787_805.5d | 357_368d  | 21_453_666.0d
     }
+
+    def "should calculate exact master cycles per frame"() {
+        expect:
+        standard.getMasterCyclesPerFrame() == masterCyc
+        assertThat(standard.getMasterCycles(), closeTo(masterCyc as double, 0.1d))
+
+        where:
+        standard  | masterCyc
+        NTSC      | 357_368
+        PAL       | 531_960
+        DENDY     | 531_960
+        PAL_M     | 357_368
+    }
 }
@@ -2,10 +2,10 @@ package net.novaware.nes.core.cpu
 
 import net.novaware.nes.core.cpu.inject.CpuRegModule
 import net.novaware.nes.core.cpu.register.CpuRegFile
+import net.novaware.nes.core.cpu.register.CpuState
 import net.novaware.nes.core.cpu.unit.*
 import net.novaware.nes.core.pin.Pin
 import net.novaware.nes.core.register.BooleanRegister
-import net.novaware.nes.core.register.IntegerCounter
 import spock.lang.Specification
 
 import static net.novaware.nes.core.cpu.signal.Signal.HIGH
@@ -37,8 +37,7 @@ class CpuSpec extends Specification {
     Pin resPin = Mock()
     BooleanRegister resReg = CpuRegModule.provideResRegister()
 
-    IntegerCounter cc = CpuRegModule.provideCpuCycleCounter()
-    IntegerCounter ic = CpuRegModule.provideInstructionCycle()
+    CpuState state = new CpuState()
 
     Cpu instance = new Cpu(
         registers,
@@ -53,8 +52,7 @@ class CpuSpec extends Specification {
         prefetch,
         stackEngine,
         diagnostics,
-        cc,
-        ic,
+        state,
         irq,
         nmi,
         s0h,
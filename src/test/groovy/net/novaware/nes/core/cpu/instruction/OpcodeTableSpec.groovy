@@ -0,0 +1,25 @@
+package net.novaware.nes.core.cpu.instruction
+
+import spock.lang.Specification
+
+import static net.novaware.nes.core.util.UTypes.ubyte
+
+class OpcodeTableSpec extends Specification {
+
+    def "should match instruction enums for every opcode"() {
+        expect:
+        for (int opcode = 0; opcode < OpcodeTable.SIZE; opcode++) {
+            Instruction i = InstructionRegistry.fromOpcode(ubyte(opcode))
+
+            assert OpcodeTable.size(opcode) == i.size()
+            assert OpcodeTable.addressing(opcode) == OpcodeTable.idOf(i.addressingMode())
+            assert OpcodeTable.group(opcode) == i.group().ordinal()
+            assert OpcodeTable.groupOf(opcode) == i.group()
+        }
+    }
+
+    def "should have unique addressing mode ids"() {
+        expect:
+        AddressingMode.values().collect { OpcodeTable.idOf(it) }.unique().size() == AddressingMode.values().length
+    }
+}
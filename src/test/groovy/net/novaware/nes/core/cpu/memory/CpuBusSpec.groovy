@@ -1,18 +1,24 @@
 package net.novaware.nes.core.cpu.memory
 
+import net.novaware.nes.core.cpu.inject.CpuRegModule
+import net.novaware.nes.core.cpu.register.CpuState
+import net.novaware.nes.core.memory.BankedMemory
+import net.novaware.nes.core.memory.BusOp
 import net.novaware.nes.core.memory.MemoryDevice
+import net.novaware.nes.core.memory.PagedMemory
 import net.novaware.nes.core.memory.PhysicalMemory
 import net.novaware.nes.core.memory.RecordingDevice
-import net.novaware.nes.core.register.IntegerCounter
+import net.novaware.nes.core.util.Quantity
 import spock.lang.Specification
 
 import static net.novaware.nes.core.cpu.memory.CpuMemMap.*
+import static net.novaware.nes.core.util.Quantity.Unit.BANK_16KB
 import static net.novaware.nes.core.util.UTypes.*
 
 class CpuBusSpec extends Specification {
 
-    def cycleCounter = new IntegerCounter("CPUCC")
-    def instructionCycle = new IntegerCounter("CPUCC")
+    def state = new CpuState()
+    def cycleCounter = CpuRegModule.provideCpuCycleCounter(state)
     def rec = new RecordingDevice(MEMORY_START, MEMORY_END, cycleCounter)
     def ram = new PhysicalMemory("RAM", RAM_START, RAM_MIRROR_END, RAM_SIZE)
     def ppu = new PhysicalMemory("PPU", PPU_REGISTERS_START, PPU_REGISTERS_END, PPU_REGISTERS_MIRROR_SIZE)
@@ -23,7 +29,7 @@ class CpuBusSpec extends Specification {
     def apuTestMode = new PhysicalMemory("ATM", APU_TEST_REGISTERS_START, APU_TEST_REGISTERS_END, APU_TEST_REGISTERS_SIZE)
     def timer = new PhysicalMemory("TMR", TIMER_REGISTERS_START, TIMER_REGISTERS_END, TIMER_REGISTERS_SIZE)
 
-    def newCpuBus() { new CpuBus(cycleCounter, instructionCycle, ram, ppu, apuChannelRegs, dma, apuStatus, joy, apuTestMode, timer) }
+    def newCpuBus() { new CpuBus(state, ram, ppu, apuChannelRegs, dma, apuStatus, joy, apuTestMode, timer) }
 
     def "should read and write to ram"() {
         given:
@@ -98,5 +104,72 @@ class CpuBusSpec extends Specification {
         0x2004  | 0xAA
     }
 
+    def "should read and write ram mirrors directly"() {
+        given:
+        CpuBus bus = newCpuBus()
+
+        when:
+        bus.access(ushort(0x0001)).write().data(ubyte(0x42))
+
+        then:
+        bus.access(ushort(0x0801)).read().data() == ubyte(0x42)
+        bus.access(ushort(0x1801)).read().data() == ubyte(0x42)
+    }
+
+    def "should read cartridge banks directly and follow bank switches"() {
+        given:
+        CpuBus bus = newCpuBus()
+
+        def rom = new BankedMemory("PRG-ROM", ushort(0x8000), new Quantity(1, BANK_16KB))
+            .setVirtualBanks(new Quantity(2, BANK_16KB))
+            .setPhysicalBanks(new Quantity(3, BANK_16KB))
+            .allocatePhysicalBanks({ UBYTE_0 })
+        rom.mapVirtualToPhysical(0, 0).mapVirtualToPhysical(1, 1)
+
+        def cart = new PagedMemory("CART", MEMORY_SIZE, new MemoryDevice.Empty())
+        cart.attach(rom)
+        bus.attachCartridge(cart)
+
+        bus.access(ushort(0x8010)).write().data(ubyte(0x11)) // writes take the device path
+        rom.mapVirtualToPhysical(0, 2)
+        bus.access(ushort(0x8010)).write().data(ubyte(0x22))
+
+        expect:
+        bus.access(ushort(0x8010)).read().data() == ubyte(0x22)
+
+        when:
+        rom.mapVirtualToPhysical(0, 0)
+
+        then:
+        bus.access(ushort(0x8010)).read().data() == ubyte(0x11)
+    }
+
+    def "should keep open bus value after direct read"() {
+        given:
+        CpuBus bus = newCpuBus()
+        bus.access(ushort(0x0010)).write().data(ubyte(0x5A))
+
+        when:
+        bus.access(ushort(0x0010)).read().data()
+        def openBus = bus.access(ushort(0x5000)).read().data() // nothing there
+
+        then:
+        openBus == ubyte(0x5A)
+    }
+
+    def "should let expansion hear every access"() {
+        given:
+        CpuBus bus = newCpuBus()
+        bus.attachExpansion(rec)
+
+        when:
+        bus.access(ushort(0x0010)).write().data(ubyte(0x5A))
+        def read = bus.access(ushort(0x0810)).read().data()
+
+        then:
+        read == ubyte(0x5A)
+        rec.activity().count { it.type() == BusOp.ADDRESS_ACCESS } == 2
+    }
+
     // TODO: write tests for apu and cartridge
 }
@@ -0,0 +1,81 @@
+package net.novaware.nes.core.cpu.register
+
+import spock.lang.Specification
+
+import static net.novaware.nes.core.util.UTypes.ubyte
+import static net.novaware.nes.core.util.UTypes.ushort
+
+class CpuStateSpec extends Specification {
+
+    def state = new CpuState()
+
+    def "should write through byte register views"() {
+        given:
+        def a = CpuStateViews.accumulator(state)
+        def sp = CpuStateViews.stackPointer(state)
+
+        when:
+        a.set(ubyte(0xF0))
+        sp.setAsByte(0x1FD)
+
+        then:
+        state.a == 0xF0
+        state.sp == 0xFD
+
+        when:
+        state.a = 0x0F
+
+        then:
+        a.getAsInt() == 0x0F
+        a.get() == ubyte(0x0F)
+        a.getName() == "A"
+    }
+
+    def "should write through program counter view"() {
+        given:
+        def pc = CpuStateViews.programCounter(state)
+
+        when:
+        pc.set(ushort(0xC000))
+        pc.lowAsByte(0x34)
+        pc.highAsByte(0x12)
+
+        then:
+        state.pc == 0x1234
+        pc.highAsInt() == 0x12
+        pc.lowAsInt() == 0x34
+    }
+
+    def "should count cycles in both counters"() {
+        given:
+        def cc = CpuStateViews.cycleCounter(state)
+        def ic = CpuStateViews.instructionCycle(state)
+
+        when:
+        state.cycle()
+        state.maybeCycle(true)
+        state.maybeCycle(false)
+        ic.setValue(0)
+        state.cycle()
+
+        then:
+        cc.getValue() == 3
+        ic.getValue() == 1
+    }
+
+    def "should keep status flags packed in p"() {
+        given:
+        def status = new StatusRegister(state)
+
+        when:
+        status.setCarry(true)
+        status.setNegative(true)
+        state.flag(CpuState.V, true)
+
+        then:
+        state.status() == (CpuState.C | CpuState.V | CpuState.N)
+        status.isOverflow()
+        state.flag(CpuState.C)
+        !state.flag(CpuState.Z)
+    }
+}
@@ -29,6 +29,19 @@ class InstructionRegisterSpec extends Specification {
         ir.getAddressing() == AddressingMode.IMMEDIATE
     }
 
+    def "should set decoded opcode"() {
+        given:
+        def ir = new InstructionRegister("DI")
+
+        when:
+        ir.set((byte) 0xBD) // LDA Absolute,X
+
+        then:
+        ir.getOpcode() == 0xBD
+        ir.getGroup() == InstructionGroup.LOAD_A_WITH_MEMORY
+        ir.getAddressing() == AddressingMode.ABSOLUTE_X_R
+    }
+
     def "should provide string representation"() {
         given:
         def ir = new InstructionRegister("DI")
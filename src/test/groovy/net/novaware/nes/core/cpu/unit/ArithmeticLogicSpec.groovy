@@ -384,7 +384,7 @@ class ArithmeticLogicSpec extends RegsAndRamBaseSpec {
         regs(a: 0x25)
 
         when:
-        alu.transfer(registers.a(), registers.x()) // TAX
+        alu.transferAToX() // TAX
 
         then:
         expectRegs(x: 0x25, z: false, n: false)
@@ -4,6 +4,7 @@ import net.novaware.nes.core.cpu.register.Status
 
 import static net.novaware.nes.core.cpu.signal.Signal.HIGH
 import static net.novaware.nes.core.cpu.signal.Signal.LOW
+import static net.novaware.nes.core.util.UTypes.ushort
 
 class InterruptLogicSpec extends ControlUnitBaseSpec {
 
@@ -23,8 +24,6 @@ class InterruptLogicSpec extends ControlUnitBaseSpec {
             0xFFFF, 0xAB,
         )
 
-        Status stackStatus = registers.status().get()
-
         rec.record()
 
         when:
@@ -47,8 +46,8 @@ class InterruptLogicSpec extends ControlUnitBaseSpec {
         )
 
         // pushed
-        stackStatus.isIrqDisabled() == initialIrqDisable
-        stackStatus.getBreak()
+        pushedStatus().isIrqDisabled() == initialIrqDisable
+        pushedStatus().getBreak()
 
         and: "return from it"
         interrupts.returnFromInterrupt()
@@ -61,8 +60,8 @@ class InterruptLogicSpec extends ControlUnitBaseSpec {
         )
 
         // pulled
-        stackStatus.isIrqDisabled() == initialIrqDisable
-        stackStatus.getBreak()
+        pushedStatus().isIrqDisabled() == initialIrqDisable
+        pushedStatus().getBreak()
 
         where:
         initialIrqDisable || stackEntry
@@ -84,8 +83,6 @@ class InterruptLogicSpec extends ControlUnitBaseSpec {
             0xFFFB, 0xAB,
         )
 
-        Status stackStatus = registers.status().get()
-
         rec.record()
 
         when:
@@ -109,8 +106,8 @@ class InterruptLogicSpec extends ControlUnitBaseSpec {
         )
 
         // pushed
-        stackStatus.isIrqDisabled() == initialIrqDisable
-        !stackStatus.getBreak()
+        pushedStatus().isIrqDisabled() == initialIrqDisable
+        !pushedStatus().getBreak()
 
         and: "return from it"
         interrupts.returnFromInterrupt()
@@ -123,8 +120,8 @@ class InterruptLogicSpec extends ControlUnitBaseSpec {
         )
 
         // pulled
-        stackStatus.isIrqDisabled() == initialIrqDisable
-        !stackStatus.getBreak()
+        pushedStatus().isIrqDisabled() == initialIrqDisable
+        !pushedStatus().getBreak()
 
         where:
         initialIrqDisable || stackEntry
@@ -146,8 +143,6 @@ class InterruptLogicSpec extends ControlUnitBaseSpec {
             0xFFFF, 0xAB,
         )
 
-        Status stackStatus = registers.status().get()
-
         rec.record()
 
         when:
@@ -172,8 +167,8 @@ class InterruptLogicSpec extends ControlUnitBaseSpec {
         )
 
         // pushed
-        !stackStatus.isIrqDisabled()
-        !stackStatus.getBreak()
+        !pushedStatus().isIrqDisabled()
+        !pushedStatus().getBreak()
 
         and: "return from it"
         interrupts.returnFromInterrupt()
@@ -186,8 +181,8 @@ class InterruptLogicSpec extends ControlUnitBaseSpec {
         )
 
         // pulled
-        !stackStatus.isIrqDisabled()
-        !stackStatus.getBreak()
+        !pushedStatus().isIrqDisabled()
+        !pushedStatus().getBreak()
     }
 
     def "should ignore irq (when disabled)"() {
@@ -225,4 +220,10 @@ class InterruptLogicSpec extends ControlUnitBaseSpec {
             0x01FD, 0xFF
         )
     }
+
+    private Status pushedStatus() { // P as it went on the stack, decoded from memory
+        def status = new Status()
+        status.set(bus.access(ushort(0x01FB)).read().data())
+        return status
+    }
 }
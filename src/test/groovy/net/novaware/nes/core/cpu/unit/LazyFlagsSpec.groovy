@@ -0,0 +1,251 @@
+package net.novaware.nes.core.cpu.unit
+
+import net.novaware.nes.core.cpu.instruction.InstructionGroup
+import net.novaware.nes.core.cpu.instruction.OpcodeTable
+
+import static net.novaware.nes.core.cpu.instruction.InstructionGroup.*
+import static net.novaware.nes.core.cpu.instruction.OpcodeTable.*
+import static net.novaware.nes.core.util.UTypes.sint
+import static net.novaware.nes.core.util.UTypes.ushort
+
+/**
+ * Differential test of lazily evaluated flags against the eager formulas they replaced,
+ * for every opcode of the table that reads or writes N, V, Z or C.
+ */
+class LazyFlagsSpec extends ControlUnitBaseSpec {
+
+    static final int PROGRAM = 0x0200
+    static final int ZP = 0x10
+    static final int ABS = 0x0300
+    static final int IND = 0x0400
+
+    static final int NVDZC = 0xCB // I is not lazy and PLP / CLI / SEI delay it
+
+    static final List<Integer> VALUES = [0x00, 0x01, 0x40, 0x7F, 0x80, 0xC0, 0xFF]
+    static final List<Integer> STATUSES = [0x00, 0x01, 0xC3, 0xCB]
+
+    def "lazy flags should match eager flags for every opcode"() {
+        given:
+        def cu = newControlUnit()
+        int checked = 0
+
+        expect:
+        for (int opcode = 0; opcode < OpcodeTable.SIZE; opcode++) {
+            InstructionGroup group = groupOf(opcode)
+
+            if (eager(group, 0, 0, 0, 0, 0) == null) {
+                continue
+            }
+
+            for (int a : VALUES) {
+                for (int m : VALUES) {
+                    for (int p : STATUSES) {
+                        int x = (a + 0x33) & 0xFF
+                        int y = (m + 0x77) & 0xFF
+
+                        verifyOpcode(cu, opcode, a, x, y, m, p)
+                    }
+                }
+            }
+
+            checked++
+        }
+
+        checked > 100
+    }
+
+    void verifyOpcode(ControlUnit cu, int opcode, int a, int x, int y, int m, int p) {
+        int mode = addressing(opcode)
+        int ea = effectiveAddress(mode, x, y)
+
+        ram(
+            PROGRAM,     opcode,
+            PROGRAM + 1, mode == IMMEDIATE ? m : (mode in [ABSOLUTE, ABSOLUTE_X_R, ABSOLUTE_X_W, ABSOLUTE_Y_R, ABSOLUTE_Y_W] ? ABS & 0xFF : ZP),
+            PROGRAM + 2, ABS >> 8,
+
+            (ZP + x) & 0xFF,     IND & 0xFF, // (zp,x) pointer
+            (ZP + x + 1) & 0xFF, IND >> 8
+        )
+
+        if (mode == ZERO_PAGE_INDIRECT_Y_R || mode == ZERO_PAGE_INDIRECT_Y_W) {
+            ram(ZP, IND & 0xFF, ZP + 1, IND >> 8)
+        }
+
+        if (ea >= 0) {
+            ram(ea, m)
+        }
+
+        ram(0x01FE, m) // PLA / PLP
+
+        regs(pc: PROGRAM, a: a, x: x, y: y, sp: 0xFD,
+            n: (p & 0x80) != 0, v: (p & 0x40) != 0, d: (p & 0x08) != 0, i: (p & 0x04) != 0, z: (p & 0x02) != 0, c: (p & 0x01) != 0)
+
+        Map expected = eager(groupOf(opcode), a, x, y, mode == ACCUMULATOR ? a : m, p)
+        int expectedA = mode == ACCUMULATOR ? expected.m as int : expected.a as int
+
+        cu.fetchOpcode()
+        cu.fetchOperand()
+        cu.decode()
+        cu.execute()
+
+        String ctx = "${hex(opcode)} a=${hex(a)} x=${hex(x)} y=${hex(y)} m=${hex(m)} p=${hex(p)}"
+
+        assert (registers.status.get().getAsInt() & NVDZC) == (expected.p & NVDZC) : ctx
+        assert registers.accumulator.getAsInt() == expectedA : ctx
+        assert registers.indexX.getAsInt() == expected.x : ctx
+        assert registers.indexY.getAsInt() == expected.y : ctx
+
+        if (expected.m != null && mode != ACCUMULATOR) {
+            assert sint(bus.access(ushort(ea)).read().data()) == expected.m : ctx
+        }
+        if (expected.pc != null) {
+            assert registers.programCounter.getAsInt() == expected.pc : ctx
+        }
+        if (expected.push != null) {
+            assert (sint(bus.access(ushort(0x01FD)).read().data()) & NVDZC) == (expected.push & NVDZC) : ctx
+        }
+    }
+
+    static int effectiveAddress(int mode, int x, int y) {
+        switch (mode) {
+            case ZERO_PAGE: return ZP
+            case ZERO_PAGE_X: return (ZP + x) & 0xFF
+            case ZERO_PAGE_Y: return (ZP + y) & 0xFF
+            case ABSOLUTE: return ABS
+            case ABSOLUTE_X_R: case ABSOLUTE_X_W: return ABS + x
+            case ABSOLUTE_Y_R: case ABSOLUTE_Y_W: return ABS + y
+            case ZERO_PAGE_X_INDIRECT: return IND
+            case ZERO_PAGE_INDIRECT_Y_R: case ZERO_PAGE_INDIRECT_Y_W: return IND + y
+            default: return -1
+        }
+    }
+
+    static String hex(int value) {
+        String.format("%02X", value)
+    }
+
+    /**
+     * Eager reference, the way ArithmeticLogic computed flags before they became lazy.
+     *
+     * @return expected a, x, y, memory result (m), p and optionally pc / pushed status, null if group is not covered
+     *         (shifts in accumulator mode get m as input and the caller takes m as the new a)
+     */
+    static Map eager(InstructionGroup group, int a, int x, int y, int m, int p) {
+        boolean n = (p & 0x80) != 0
+        boolean v = (p & 0x40) != 0
+        boolean z = (p & 0x02) != 0
+        boolean c = (p & 0x01) != 0
+
+        Integer mOut = null
+        Integer pc = null
+        Integer push = null
+
+        Closure<Void> zn = { int value ->
+            z = (value & 0xFF) == 0
+            n = (value & 0x80) != 0
+        }
+        Closure<Void> compare = { int reg, int data ->
+            int result = reg - data
+            c = result >= 0
+            zn(result)
+        }
+        Closure<Integer> branch = { boolean taken ->
+            PROGRAM + 2 + (taken ? ZP : 0)
+        }
+
+        switch (group) {
+            case ADD_WITH_CARRY: {
+                int result = a + m + (c ? 1 : 0)
+                int byteResult = result & 0xFF
+                v = (byteResult >> 7) != (a >> 7) && (byteResult >> 7) != (m >> 7)
+                c = result > 0xFF
+                a = byteResult
+                zn(a)
+                break
+            }
+            case SUBTRACT_WITH_BORROW: {
+                int result = a - m - (c ? 0 : 1)
+                int byteResult = result & 0xFF
+                v = (byteResult >> 7) != (a >> 7) && (byteResult >> 7) == (m >> 7)
+                c = result >= 0
+                a = byteResult
+                zn(a)
+                break
+            }
+
+            case INCREMENT_MEMORY: mOut = (m + 1) & 0xFF; zn(mOut); break
+            case DECREMENT_MEMORY: mOut = (m - 1) & 0xFF; zn(mOut); break
+            case INCREMENT_X: x = (x + 1) & 0xFF; zn(x); break
+            case DECREMENT_X: x = (x - 1) & 0xFF; zn(x); break
+            case INCREMENT_Y: y = (y + 1) & 0xFF; zn(y); break
+            case DECREMENT_Y: y = (y - 1) & 0xFF; zn(y); break
+
+            case COMPARE_A_WITH_MEMORY: compare(a, m); break
+            case COMPARE_X_WITH_MEMORY: compare(x, m); break
+            case COMPARE_Y_WITH_MEMORY: compare(y, m); break
+            case DEC_MEM_CMP_A: mOut = (m - 1) & 0xFF; compare(a, mOut); break
+
+            case BITWISE_AND: a = a & m; zn(a); break
+            case BITWISE_OR:  a = a | m; zn(a); break
+            case BITWISE_XOR: a = a ^ m; zn(a); break
+            case BIT_TEST:
+                z = (a & m) == 0
+                v = (m & 0x40) != 0
+                n = (m & 0x80) != 0
+                break
+
+            case LOAD_A_WITH_MEMORY: a = m; zn(a); break
+            case LOAD_X_WITH_MEMORY: x = m; zn(x); break
+            case LOAD_Y_WITH_MEMORY: y = m; zn(y); break
+
+            case TRANSFER_A_TO_X: x = a; zn(x); break
+            case TRANSFER_X_TO_A: a = x; zn(a); break
+            case TRANSFER_A_TO_Y: y = a; zn(y); break
+            case TRANSFER_Y_TO_A: a = y; zn(a); break
+            case TRANSFER_SP_TO_X: x = 0xFD; zn(x); break
+
+            case SHIFT_LEFT:   mOut = (m << 1) & 0xFF;                  c = (m & 0x80) != 0; zn(mOut); break
+            case SHIFT_RIGHT:  mOut = m >> 1;                           c = (m & 0x01) != 0; zn(mOut); break
+            case ROTATE_LEFT:  mOut = ((m << 1) | (c ? 1 : 0)) & 0xFF;  c = (m & 0x80) != 0; zn(mOut); break
+            case ROTATE_RIGHT: mOut = (m >> 1) | (c ? 0x80 : 0);        c = (m & 0x01) != 0; zn(mOut); break
+
+            case PULL_A_FROM_SP: a = m; zn(a); break
+            case PULL_STATUS_FROM_SP:
+                n = (m & 0x80) != 0
+                v = (m & 0x40) != 0
+                z = (m & 0x02) != 0
+                c = (m & 0x01) != 0
+                p = (p & ~0x08) | (m & 0x08)
+                break
+            case PUSH_STATUS_TO_SP: push = p; break
+
+            case SET_CARRY: c = true; break
+            case CLR_CARRY: c = false; break
+            case CLR_OVERFLOW: v = false; break
+            case SET_DECIMAL: p |= 0x08; break
+            case CLR_DECIMAL: p &= ~0x08; break
+
+            case BRANCH_IF_NEGATIVE_SET: pc = branch(n); break
+            case BRANCH_IF_NEGATIVE_CLR: pc = branch(!n); break
+            case BRANCH_IF_ZERO_SET:     pc = branch(z); break
+            case BRANCH_IF_ZERO_CLR:     pc = branch(!z); break
+            case BRANCH_IF_CARRY_SET:    pc = branch(c); break
+            case BRANCH_IF_CARRY_CLR:    pc = branch(!c); break
+            case BRANCH_IF_OVERFLOW_SET: pc = branch(v); break
+            case BRANCH_IF_OVERFLOW_CLR: pc = branch(!v); break
+
+            default:
+                return null
+        }
+
+        if (push != null) {
+            push = packed(n, v, p, z, c)
+        }
+
+        [a: a, x: x, y: y, m: mOut, p: packed(n, v, p, z, c), pc: pc, push: push]
+    }
+
+    static int packed(boolean n, boolean v, int p, boolean z, boolean c) {
+        (n ? 0x80 : 0) | (v ? 0x40 : 0) | (p & 0x0C) | (z ? 0x02 : 0) | (c ? 0x01 : 0)
+    }
+}
@@ -23,7 +23,7 @@ class LoadStoreSpec extends Specification {
         decodedOperand.setData(ubyte(data))
 
         when:
-        loadStore.load(regs.a())
+        loadStore.loadA()
 
         then:
         regs.a().getAsInt() == data
@@ -43,7 +43,7 @@ class LoadStoreSpec extends Specification {
         decodedOperand.configureMemory(bus, ushort(0x1234))
 
         when:
-        loadStore.store(regs.a())
+        loadStore.storeA()
 
         then:
         bus.access(ushort(0x1234)).read().data() == ubyte(0x56)
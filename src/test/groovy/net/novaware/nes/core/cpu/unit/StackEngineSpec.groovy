@@ -1,7 +1,6 @@
 package net.novaware.nes.core.cpu.unit
 
 import net.novaware.nes.core.cpu.register.CpuRegFile
-import net.novaware.nes.core.cpu.register.Status
 import net.novaware.nes.core.memory.MemoryBus
 import spock.lang.Specification
 
@@ -22,7 +21,7 @@ class StackEngineSpec extends Specification {
         regs.sp().setAsByte(0xFD)
 
         when:
-        engine.push(regs.a())
+        engine.pushA()
 
         then:
         bus.access(ushort(0x01FD)).read().data() == ubyte(0x12)
@@ -35,7 +34,7 @@ class StackEngineSpec extends Specification {
         bus.access(ushort(0x01FD)).write().data(ubyte(value))
 
         when:
-        engine.pull(regs.a())
+        engine.pullA()
 
         then:
         regs.a().get() == ubyte(value)
@@ -77,8 +76,6 @@ class StackEngineSpec extends Specification {
 
         bus.access(ushort(0x01FD)).write().data(ubyte(0b0011_0100))
 
-        Status s = regs.status().get() // we hold the reference to check break flag from the stack
-
         when:
         engine.pullStatus()
 
@@ -90,12 +87,6 @@ class StackEngineSpec extends Specification {
         !regs.status().isOverflow()
         !regs.status().isNegative()
 
-        !s.getCarry()
-        !s.isZero()
-        s.isIrqDisabled()
-        !s.isDecimal()
-        s.getBreak() // break was set
-        !s.isOverflow()
-        !s.isNegative()
+        !regs.status().get().getBreak() // break from the stack is ignored
     }
 }
@@ -1,7 +1,240 @@
 package net.novaware.nes.core.dma
 
+import net.novaware.nes.core.apu.register.ApuRegFile
+import net.novaware.nes.core.clock.ClockSync
+import net.novaware.nes.core.clock.Scheduler
+import net.novaware.nes.core.cpu.inject.CpuRegModule
+import net.novaware.nes.core.cpu.memory.CpuBus
+import net.novaware.nes.core.cpu.register.CpuState
+import net.novaware.nes.core.dma.inject.DmaRegModule
+import net.novaware.nes.core.memory.BusOp
+import net.novaware.nes.core.memory.MemoryDevice
+import net.novaware.nes.core.memory.PagedMemory
+import net.novaware.nes.core.memory.PhysicalMemory
+import net.novaware.nes.core.memory.RecordingDevice
+import net.novaware.nes.core.ppu.inject.PpuMemModule
+import net.novaware.nes.core.ppu.inject.PpuRegModule
 import spock.lang.Specification
 
+import static net.novaware.nes.core.config.CoreConfigBuilder.ntsc
+import static net.novaware.nes.core.cpu.memory.CpuMemMap.*
+import static net.novaware.nes.core.util.UTypes.*
+
 class DmaSpec extends Specification {
-    // TODO: write tests first
+
+    def state = new CpuState()
+    def cycleCounter = CpuRegModule.provideCpuCycleCounter(state)
+    def ram = new PhysicalMemory("RAM", RAM_START, RAM_MIRROR_END, RAM_SIZE)
+    def ppu = new PhysicalMemory("PPU", PPU_REGISTERS_START, PPU_REGISTERS_END, PPU_REGISTERS_MIRROR_SIZE)
+    def apuChannelRegs = new PhysicalMemory("ACR", APU_REGISTERS_START, APU_REGISTERS_END, APU_REGISTERS_SIZE)
+    def dmaDevice = new PhysicalMemory("DMA", OAM_DMA_REGISTER, OAM_DMA_REGISTER, 1)
+    def apuStatus = new PhysicalMemory("APU_STATUS", APU_STATUS_REGISTER, APU_STATUS_REGISTER, 1)
+    MemoryDevice[] joy = [new PhysicalMemory("JOY", IO_REGISTERS_START, IO_REGISTERS_END, IO_REGISTERS_SIZE)]
+    def apuTestMode = new PhysicalMemory("ATM", APU_TEST_REGISTERS_START, APU_TEST_REGISTERS_END, APU_TEST_REGISTERS_SIZE)
+    def timer = new PhysicalMemory("TMR", TIMER_REGISTERS_START, TIMER_REGISTERS_END, TIMER_REGISTERS_SIZE)
+
+    def cpuBus = new CpuBus(state, ram, ppu, apuChannelRegs, dmaDevice, apuStatus, joy, apuTestMode, timer)
+
+    def oamDma = DmaRegModule.provideOamDmaRegister()
+    def oamAddress = PpuRegModule.providePrimaryObjAttrAddress()
+    def oamMemory = PpuMemModule.providePrimaryObjAttrMemory()
+    def clockSync = new ClockSync()
+
+    def apuRegFile = new ApuRegFile()
+    def scheduler = new Scheduler()
+    def dmcDma = new DmcDma(apuRegFile, ntsc().build(), state, cpuBus, scheduler)
+
+    def dma = new Dma(oamDma, state, cpuBus, oamAddress, oamMemory, clockSync, dmcDma)
+
+    static final int PERIOD = 8 * 54 * 12 // fastest rate, master cycles per sample byte
+
+    def setup() {
+        for (int i = 0; i < 256; i++) {
+            cpuBus.access(ushort(0x0200 + i)).write().data(ubyte(i))
+        }
+    }
+
+    def "should copy the page into OAM from the OAM address on"() {
+        given:
+        def rec = new RecordingDevice(MEMORY_START, MEMORY_END, cycleCounter)
+        if (!direct) {
+            cpuBus.attachCartridge(rec) // unknown device listens, no direct pages
+        }
+
+        oamAddress.setAsByte(4)
+        oamDma.setAsByte(0x02)
+
+        when:
+        rec.record()
+        dma.triggerDma()
+        dma.cycle()
+
+        then:
+        (0..<256).every { i ->
+            int index = (4 + i) & 0xFF
+            int expected = (index & 0b11) == 0b10 ? i & ~0b11100 : i // unused attribute bits
+
+            sint(oamMemory.read(ubyte(index))) == expected
+        }
+        oamMemory.takeDirtyYs() == -1L
+        oamAddress.getAsInt() == 4
+
+        rec.activity().count { it.type() == BusOp.DATA_READ } == (direct ? 0 : 256)
+        dma.getState() == Dma.State.IDLE
+
+        where:
+        direct << [true, false]
+    }
+
+    def "should steal 513 cycles, one more to align after an odd write cycle"() {
+        given:
+        state.cycles = haltCycle
+        oamDma.setAsByte(0x02)
+
+        when:
+        dma.triggerDma()
+        def stolen = dma.cycle()
+
+        then:
+        stolen == expected
+        state.cycles == haltCycle + expected
+
+        and: 'nothing more until the next $4014 write'
+        dma.cycle() == 0
+
+        where:
+        haltCycle || expected
+        7         || 513
+        8         || 514
+    }
+
+    def "should fetch sample bytes when scheduled and charge their cycles"() {
+        given:
+        attachPrg(direct)
+        dmc(0x0F, 0x00, 0x01) // $C000, 17 bytes
+        state.cycles = 100
+
+        when:
+        dmcDma.setEnabled(true)
+        scheduler.advance(0)
+
+        then:
+        sint(dmcDma.getSample()) == 0x00
+        dmcDma.getAddress() == 0xC001
+        dmcDma.getBytesRemaining() == 16
+        state.cycles == 100
+
+        and: 'stolen cycles are charged after the next instruction'
+        dma.cycle() == DmcDma.FETCH_CYCLES
+        state.cycles == 100 + DmcDma.FETCH_CYCLES
+        dma.cycle() == 0
+
+        when:
+        scheduler.advance(PERIOD - 1)
+
+        then:
+        dmcDma.getBytesRemaining() == 16
+
+        when:
+        scheduler.advance(1)
+
+        then:
+        sint(dmcDma.getSample()) == 0x01
+        dmcDma.getBytesRemaining() == 15
+        dma.cycle() == DmcDma.FETCH_CYCLES
+
+        where:
+        direct << [true, false]
+    }
+
+    def "should loop or stop at the end of the sample"() {
+        given:
+        attachPrg(true)
+        dmc(loop ? 0x4F : 0x0F, 0x00, 0x00) // $C000, 1 byte
+
+        when:
+        dmcDma.setEnabled(true)
+        scheduler.advance(0)
+
+        then:
+        dmcDma.isActive() == loop
+        dmcDma.getAddress() == (loop ? 0xC000 : 0xC001)
+        scheduler.size() == (loop ? 1 : 0)
+
+        where:
+        loop << [true, false]
+    }
+
+    def 'should wrap the sample address to $8000'() {
+        given:
+        attachPrg(true)
+        dmc(0x0F, 0xFF, 0x04) // $FFC0, 65 bytes
+
+        when:
+        dmcDma.setEnabled(true)
+        scheduler.advance(0)
+        64.times { scheduler.advance(PERIOD) }
+
+        then:
+        sint(dmcDma.getSample()) == 0x00
+        dmcDma.getAddress() == 0x8001
+        !dmcDma.isActive()
+    }
+
+    def "should stop fetching when disabled"() {
+        given:
+        attachPrg(true)
+        dmc(0x0F, 0x00, 0x01)
+        dmcDma.setEnabled(true)
+
+        when:
+        dmcDma.setEnabled(false)
+        scheduler.advance(PERIOD)
+
+        then:
+        !dmcDma.isActive()
+        scheduler.size() == 0
+        dma.cycle() == 0
+    }
+
+    def "should fetch cheaper during OAM DMA"() {
+        given:
+        attachPrg(true)
+        dmc(0x0F, 0x00, 0x01)
+        dmcDma.setEnabled(true)
+        scheduler.advance(0)
+
+        state.cycles = 7
+        state.instructionCycles = 0
+        oamDma.setAsByte(0x02)
+
+        when: 'second fetch is due in the middle of the transfer'
+        dma.triggerDma()
+        def stolen = dma.cycle()
+
+        then:
+        stolen == DmcDma.FETCH_CYCLES + 513 + DmcDma.OAM_FETCH_CYCLES
+        state.cycles == 7 + stolen
+        dmcDma.getBytesRemaining() == 15
+        scheduler.nextTimestamp() == 2 * PERIOD
+    }
+
+    void attachPrg(boolean direct) {
+        int i = 0
+        def prg = new PhysicalMemory("PRG", ushort(0x8000), MEMORY_END, 0x8000).fill { ubyte(i++ & 0xFF) }
+
+        if (direct) {
+            def cart = new PagedMemory("CART", MEMORY_SIZE, new MemoryDevice.Empty())
+            cart.attach(prg)
+            cpuBus.attachCartridge(cart)
+        } else {
+            cpuBus.attachCartridge(prg) // unknown device, no direct pages
+        }
+    }
+
+    void dmc(int freq, int start, int length) {
+        apuRegFile.getDmcFreq().setAsByte(freq)
+        apuRegFile.getDmcStart().setAsByte(start)
+        apuRegFile.getDmcLength().setAsByte(length)
+    }
 }
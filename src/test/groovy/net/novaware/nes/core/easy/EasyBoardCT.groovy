@@ -20,7 +20,7 @@ class EasyBoardCT extends Specification {
         board.powerOff()
 
         then:
-        ((EasyBus)board.bus).cycleCounter.getValue() > 100
+        ((EasyBus)board.bus).state.cycles > 100
 
     }
 }
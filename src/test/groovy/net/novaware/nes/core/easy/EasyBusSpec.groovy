@@ -1,11 +1,11 @@
 package net.novaware.nes.core.easy
 
+import net.novaware.nes.core.cpu.register.CpuState
 import net.novaware.nes.core.easy.inject.EasyMemModule
 import net.novaware.nes.core.easy.memory.EasyBus
 import net.novaware.nes.core.memory.MemoryDevice
 import net.novaware.nes.core.memory.PagedMemory
 import net.novaware.nes.core.memory.PhysicalMemory
-import net.novaware.nes.core.register.IntegerCounter
 import net.novaware.nes.core.register.SegmentRegister
 import net.novaware.nes.core.test.TestBus
 import spock.lang.Specification
@@ -16,7 +16,7 @@ import static net.novaware.nes.core.util.UTypes.ubyte
 
 class EasyBusSpec extends Specification {
 
-    IntegerCounter cc = new IntegerCounter("CPU.CC")
+    CpuState state = new CpuState()
     MemoryDevice.ReadWrite ram = EasyMemModule.provideMemory()
     MemoryDevice.ReadWrite stack = EasyMemModule.provideStack()
     MemoryDevice.ReadWrite vram = EasyMemModule.provideVideoMemory()
@@ -25,7 +25,7 @@ class EasyBusSpec extends Specification {
     MemoryDevice.ReadWrite cartridge = new PhysicalMemory("CART", CARTRIDGE_START, CARTRIDGE_END, CARTRIDGE_SIZE)
     def codeSegment = new SegmentRegister("CS")
 
-    EasyBus bus = new EasyBus(cc, ram, stack, vram, codeSegment)
+    EasyBus bus = new EasyBus(state, ram, stack, vram, codeSegment)
 
     def "should write to correct memory segments"() {
         given:
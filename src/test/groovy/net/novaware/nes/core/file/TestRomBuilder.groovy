@@ -0,0 +1,70 @@
+package net.novaware.nes.core.file
+
+import net.novaware.nes.core.test.TestDataBuilder
+
+import java.nio.ByteBuffer
+
+import static java.nio.ByteBuffer.allocate
+import static java.nio.ByteOrder.LITTLE_ENDIAN
+
+/**
+ * NROM-128 image with hand assembled program, for component tests running real code.
+ * Program is placed at $8000 (mirrored at $C000), CHR is filled with non trivial patterns.
+ */
+class TestRomBuilder implements TestDataBuilder<NesFile> {
+
+    private static final int PROGRAM_START = 0x8000
+    private static final int PROGRAM_SIZE = 16 * 1024
+    private static final int VIDEO_SIZE = 8 * 1024
+
+    private static final int NMI_VECTOR = 0xFFFA
+    private static final int RESET_VECTOR = 0xFFFC
+    private static final int IRQ_VECTOR = 0xFFFE
+
+    private final ByteBuffer program = allocate(PROGRAM_SIZE).order(LITTLE_ENDIAN)
+    private final ByteBuffer video = allocate(VIDEO_SIZE).order(LITTLE_ENDIAN)
+
+    TestRomBuilder() {
+        for (int i = 0; i < VIDEO_SIZE; i++) {
+            video.put(i, (byte) (i * 37))
+        }
+    }
+
+    static TestRomBuilder testRom() {
+        return new TestRomBuilder()
+    }
+
+    TestRomBuilder code(int address, int... bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            program.put(offset(address + i), (byte) bytes[i])
+        }
+        return this
+    }
+
+    TestRomBuilder nmi(int address) {
+        program.putShort(offset(NMI_VECTOR), (short) address)
+        return this
+    }
+
+    TestRomBuilder reset(int address) {
+        program.putShort(offset(RESET_VECTOR), (short) address)
+        return this
+    }
+
+    TestRomBuilder irq(int address) {
+        program.putShort(offset(IRQ_VECTOR), (short) address)
+        return this
+    }
+
+    private static int offset(int address) {
+        assert address >= PROGRAM_START && address <= 0xFFFF
+        return (address - PROGRAM_START) % PROGRAM_SIZE
+    }
+
+    @Override
+    NesFile build() {
+        return NesFileBuilder.marioBros()
+                .data(NesDataBuilder.marioBros().program(program.duplicate()).video(video.duplicate()))
+                .build()
+    }
+}
@@ -5,6 +5,8 @@ import net.novaware.nes.core.file.NesFileFaker
 import net.novaware.nes.core.file.NesMeta
 import spock.lang.Specification
 
+import java.nio.file.Files
+
 import static net.novaware.nes.core.file.ReaderMode.LENIENT
 import static net.novaware.nes.core.file.ReaderMode.STRICT
 
@@ -72,4 +74,40 @@ class NesFileReaderSpec extends Specification {
         data.video().get(0) == fakeRom.videoRomStart
         data.video().get(params.videoRomSize - 1) == fakeRom.videoRomEnd
     }
+
+    def "should map file into read only sections"() {
+        given:
+        def faker = new NesFileFaker()
+        def params = new NesFileFaker.Params(
+                version: NesFileFaker.Version.iNES,
+                trainerPresent: false,
+                programRomSize: 2 * 16 * 1024, // bytes
+                videoRomSize: 1 * 8 * 1024, // bytes
+                nametable: NesFileFaker.Orientation.VERTICAL,
+                mapper: 0
+        )
+
+        def fakeRom = faker.generate(params)
+        def file = Files.createTempFile("mapped", ".nes")
+        Files.write(file, fakeRom.fileData)
+
+        when:
+        def result = new NesFileReader().read(file.toUri(), LENIENT)
+        def data = result.nesFile().data
+
+        then:
+        result.nesFile() != null
+
+        data.program().isReadOnly()
+        data.program().isDirect()
+        data.program().capacity() == params.programRomSize
+        data.program().get(0) == fakeRom.programRomStart
+        data.program().get(params.programRomSize - 1) == fakeRom.programRomEnd
+
+        data.video().isReadOnly()
+        data.video().get(params.videoRomSize - 1) == fakeRom.videoRomEnd
+
+        cleanup:
+        Files.deleteIfExists(file)
+    }
 }
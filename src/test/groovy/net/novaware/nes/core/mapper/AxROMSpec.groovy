@@ -0,0 +1,20 @@
+package net.novaware.nes.core.mapper
+
+class AxROMSpec extends MapperBaseSpec {
+
+    def "should switch 32 KB of program and single screen"() {
+        given:
+        connect(new AxROM(), Mirroring.VERTICAL)
+
+        expect:
+        programBanks() == [0, 1, 2, 3]
+        nameTableBanks() == [0, 0, 0, 0]
+
+        when:
+        write(0x8000, 0x12)
+
+        then:
+        programBanks() == [8, 9, 10, 11]
+        nameTableBanks() == [1, 1, 1, 1]
+    }
+}
@@ -0,0 +1,16 @@
+package net.novaware.nes.core.mapper
+
+class CNROMSpec extends MapperBaseSpec {
+
+    def "should switch 8 KB of video"() {
+        given:
+        connect(new CNROM())
+
+        when:
+        write(0x8000, 3)
+
+        then:
+        programBanks() == [0, 1, 14, 15]
+        videoBanks() == (24..31)
+    }
+}
@@ -0,0 +1,68 @@
+package net.novaware.nes.core.mapper
+
+class MMC1Spec extends MapperBaseSpec {
+
+    def mapper = new MMC1()
+
+    def setup() {
+        connect(mapper, Mirroring.VERTICAL)
+    }
+
+    def "should power on with last program bank fixed"() {
+        expect:
+        programBanks() == [0, 1, 14, 15]
+        videoBanks() == (0..7)
+        nameTableBanks() == [0, 1, 0, 1]
+    }
+
+    def "should load register on fifth write only"() {
+        when:
+        serial(0xE000, 0b0011, 4)
+
+        then:
+        programBanks() == [0, 1, 14, 15]
+
+        when:
+        write(0xE000, 0)
+
+        then:
+        programBanks() == [6, 7, 14, 15]
+    }
+
+    def "should reset shift register"() {
+        when:
+        serial(0xE000, 0b11, 2)
+        write(0x8000, 0x80)
+        serial(0xE000, 0b00101, 5)
+
+        then:
+        programBanks() == [10, 11, 14, 15]
+    }
+
+    def "should follow control modes"() {
+        when: "horizontal, fixed first program bank, 4 KB video"
+        serial(0x8000, 0b1_10_11, 5)
+        serial(0xE000, 3, 5)
+        serial(0xA000, 5, 5)
+        serial(0xC000, 9, 5)
+
+        then:
+        nameTableBanks() == [0, 0, 1, 1]
+        programBanks() == [0, 1, 6, 7]
+        videoBanks() == (20..23) + (36..39).collect { it % 32 }
+
+        when: "single screen upper, 32 KB program, 8 KB video"
+        serial(0x8000, 0b0_00_01, 5)
+
+        then:
+        nameTableBanks() == [1, 1, 1, 1]
+        programBanks() == [4, 5, 6, 7]
+        videoBanks() == (16..23)
+    }
+
+    void serial(int address, int value, int bits) {
+        for (int i = 0; i < bits; i++) {
+            write(address, (value >> i) & 1)
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package net.novaware.nes.core.mapper
+
+import net.novaware.nes.core.clock.ClockSync
+import net.novaware.nes.core.clock.PpuTimeline
+import net.novaware.nes.core.clock.Scheduler
+import net.novaware.nes.core.cpu.inject.CpuPinModule
+import net.novaware.nes.core.ppu.inject.PpuRegModule
+import net.novaware.nes.core.register.BooleanRegister
+
+import static net.novaware.nes.core.config.CoreConfigBuilder.ntsc
+
+class MMC3Spec extends MapperBaseSpec {
+
+    static final int LINE = 341
+    static final int FRAME = 262 * LINE
+
+    def mapper = new MMC3()
+
+    def config = ntsc().build()
+    def ppuDivisor = config.getVideoStandard().getPpuDivisor()
+
+    def scheduler = new Scheduler()
+    def clockSync = new ClockSync()
+
+    def frameCounter = PpuRegModule.provideFrameCounter()
+    def lineCounter = PpuRegModule.provideLineCounter()
+    def dotCounter = PpuRegModule.provideDotCounter()
+    def renderSprite = PpuRegModule.provideRenderSprite()
+    def renderBackground = PpuRegModule.provideRenderBackground()
+    def resetLock = PpuRegModule.provideResetLock()
+    def spriteSize = PpuRegModule.provideSpriteSize()
+    def backgroundTable = PpuRegModule.provideBackgroundPatternTable()
+    def spriteTable = PpuRegModule.provideSpritePatternTable()
+
+    def timeline = new PpuTimeline(config, scheduler, clockSync, frameCounter, lineCounter, dotCounter,
+            renderSprite, renderBackground, resetLock, spriteSize, backgroundTable, spriteTable)
+
+    def irqRegister = new BooleanRegister("IRQ")
+    def irq = CpuPinModule.provideIrqPin(irqRegister)
+
+    long position // dots since power on
+    long firedAt = -1
+
+    def setup() {
+        connect(mapper)
+    }
+
+    def "should map bank registers"() {
+        when:
+        (0..7).each { register ->
+            write(0x8000, register)
+            write(0x8001, [8, 11, 1, 2, 3, 4, 5, 6][register])
+        }
+
+        then:
+        programBanks() == [5, 6, 14, 15]
+        videoBanks() == [8, 9, 10, 11, 1, 2, 3, 4]
+    }
+
+    def "should swap fixed program bank and invert video"() {
+        given:
+        write(0x8000, 6)
+        write(0x8001, 5)
+
+        when:
+        write(0x8000, 0xC0)
+
+        then:
+        programBanks() == [14, 1, 5, 15]
+        videoBanks() == [4, 5, 6, 7, 0, 1, 2, 3]
+    }
+
+    def "should switch mirroring"() {
+        when:
+        write(0xA000, 0)
+
+        then:
+        nameTableBanks() == [0, 1, 0, 1]
+
+        when:
+        write(0xA000, 1)
+
+        then:
+        nameTableBanks() == [0, 0, 1, 1]
+    }
+
+    def "should fire IRQ at the A12 rise of the latched line"() {
+        given:
+        connectIrq(mode)
+        render(backgroundAt, spritesAt)
+
+        when:
+        write(0xC000, 10)
+        write(0xC001, 0)
+        write(0xE001, 0)
+        run(12 * LINE)
+
+        then:
+        firedAt == 10 * LINE + dot + 1
+        irqRegister.get()
+
+        where:
+        mode              | backgroundAt | spritesAt || dot
+        A12Mode.PREDICTED | 0x0000       | 0x1000    || 261
+        A12Mode.PREDICTED | 0x1000       | 0x0000    || 325
+        A12Mode.WATCHED   | 0x0000       | 0x1000    || 261
+        A12Mode.WATCHED   | 0x1000       | 0x0000    || 325
+    }
+
+    def "should count the pre-render line and continue in the next frame"() {
+        given:
+        connectIrq(mode)
+        render(0x0000, 0x1000)
+
+        when: "reloaded at line 0, 239 lines left 6, pre-render line 5"
+        write(0xC000, 245)
+        write(0xC001, 0)
+        write(0xE001, 0)
+        run(FRAME + 5 * LINE)
+
+        then:
+        firedAt == FRAME + 4 * LINE + 262
+
+        where:
+        mode << [A12Mode.PREDICTED, A12Mode.WATCHED]
+    }
+
+    def "should release IRQ on acknowledge and fire again after reload"() {
+        given:
+        connectIrq(A12Mode.PREDICTED)
+        render(0x0000, 0x1000)
+
+        write(0xC000, 4)
+        write(0xC001, 0)
+        write(0xE001, 0)
+        run(6 * LINE)
+
+        when:
+        write(0xE000, 0)
+
+        then:
+        firedAt == 4 * LINE + 262
+        !irqRegister.get()
+
+        when: "line 5 reloaded the counter"
+        firedAt = -1
+        write(0xE001, 0)
+        run(4 * LINE)
+
+        then:
+        firedAt == 9 * LINE + 262
+    }
+
+    def "should not count while rendering is off or when A12 does not rise"() {
+        given:
+        connectIrq(mode)
+        render(0x1000, 0x1000)
+        renderBackground.set(rendering)
+        renderSprite.set(rendering)
+
+        when:
+        write(0xC000, 2)
+        write(0xC001, 0)
+        write(0xE001, 0)
+        run(FRAME)
+
+        then:
+        firedAt == -1
+
+        when: "sprites switched to the other table at line 0 of the next frame"
+        clockSync.sync()
+        spriteTable.setAsShort(0x0000)
+        renderBackground.set(true)
+        run(4 * LINE)
+
+        then:
+        firedAt == FRAME + line * LINE + 326
+
+        where: "watched A12 stayed low while rendering was off, first background fetch of line 0 rises too"
+        mode              | rendering || line
+        A12Mode.PREDICTED | false     || 2
+        A12Mode.PREDICTED | true      || 2
+        A12Mode.WATCHED   | false     || 1
+        A12Mode.WATCHED   | true      || 2
+    }
+
+    void connectIrq(A12Mode mode) {
+        clockSync.connect({}, { 0 })
+        mapper.setClockSync(clockSync) // as the cartridge port does, PPU register writes sync the mapper
+        mapper.connectIrq(irq, timeline, mode)
+    }
+
+    void render(int backgroundAt, int spritesAt) {
+        renderBackground.set(true)
+        renderSprite.set(true)
+        backgroundTable.setAsShort(backgroundAt)
+        spriteTable.setAsShort(spritesAt)
+    }
+
+    /**
+     * PPU without lag, pattern fetches as in the rendering microcode: name table, attribute, low, high
+     */
+    void run(int dots) {
+        for (int i = 0; i < dots; i++) {
+            int line = lineCounter.getValue()
+            int dot = dotCounter.getValue()
+
+            int address = fetchAddress(line, dot)
+            if (address >= 0 && mapper.isWatchingPpu()) {
+                mapper.onPpuAccess(address)
+            }
+
+            if (dot == LINE - 1) {
+                dotCounter.setValue(0)
+                if (line == 261) {
+                    lineCounter.setValue(0)
+                    frameCounter.increment()
+                } else {
+                    lineCounter.increment()
+                }
+            } else {
+                dotCounter.increment()
+            }
+            position++
+
+            scheduler.advance(ppuDivisor)
+
+            if (firedAt < 0 && irqRegister.get()) {
+                firedAt = position
+            }
+        }
+    }
+
+    int fetchAddress(int line, int dot) {
+        if (!timeline.isRendering() || (line >= 240 && line < 261)) {
+            return -1
+        }
+
+        boolean sprites = dot >= 257 && dot <= 320
+        boolean background = (dot >= 1 && dot <= 256) || (dot >= 321 && dot <= 336)
+        if (!sprites && !background) {
+            return -1
+        }
+
+        switch ((dot - 1) & 7) {
+            case 0: return 0x2000
+            case 2: return sprites ? 0x2000 : 0x23C0
+            case 4:
+            case 6: return sprites ? spriteTable.getAsInt() : backgroundTable.getAsInt()
+            default: return -1
+        }
+    }
+}
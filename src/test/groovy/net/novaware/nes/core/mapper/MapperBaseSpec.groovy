@@ -0,0 +1,65 @@
+package net.novaware.nes.core.mapper
+
+import net.novaware.nes.core.memory.BankedMemory
+import net.novaware.nes.core.memory.MemoryDevice
+import net.novaware.nes.core.test.TestBus
+import net.novaware.nes.core.util.Quantity
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+
+import static net.novaware.nes.core.util.Quantity.Unit.BANK_1KB
+import static net.novaware.nes.core.util.Quantity.Unit.BANK_8KB
+import static net.novaware.nes.core.util.UTypes.sint
+import static net.novaware.nes.core.util.UTypes.ushort
+
+/**
+ * Each physical bank is filled with its own number, so the mapped banks can be read back
+ */
+abstract class MapperBaseSpec extends Specification {
+
+    def program = banks("PRG", 0x8000, BANK_8KB, 4, 16)  // 128 KB
+    def video = banks("CHR", 0x0000, BANK_1KB, 8, 32)    // 32 KB
+    def nameTables = banks("CIRAM", 0x2000, BANK_1KB, 4, 2)
+
+    TestBus registers
+
+    void connect(Mapper mapper, Mirroring mirroring = Mirroring.HORIZONTAL) {
+        mapper.connect(program, video)
+        mapper.connectNameTables(nameTables, mirroring)
+
+        registers = new TestBus((MemoryDevice.ReadOnly) null, mapper)
+    }
+
+    void write(int address, int data) {
+        registers.write(address, data)
+    }
+
+    List<Integer> programBanks() {
+        (0..<4).collect { sint(program.directBuffer(ushort(0x8000 + it * 0x2000)).get(0)) }
+    }
+
+    List<Integer> videoBanks() {
+        (0..<8).collect { sint(video.directBuffer(ushort(it * 0x400)).get(0)) }
+    }
+
+    List<Integer> nameTableBanks() {
+        (0..<4).collect { sint(nameTables.directBuffer(ushort(0x2000 + it * 0x400)).get(0)) }
+    }
+
+    static BankedMemory banks(String name, int start, Quantity.Unit unit, int virtual, int physical) {
+        int bankSize = new Quantity(1, unit).toBytes()
+
+        def data = ByteBuffer.allocate(physical * bankSize)
+        for (int i = 0; i < data.capacity(); i++) {
+            data.put(i, (byte) i.intdiv(bankSize))
+        }
+
+        def memory = new BankedMemory(name, ushort(start), new Quantity(1, unit))
+                .setVirtualBanks(new Quantity(virtual, unit))
+                .setPhysicalBanks(new Quantity(physical, unit))
+        memory.preloadPhysicalBanks(data)
+
+        memory
+    }
+}
@@ -1,8 +1,9 @@
 package net.novaware.nes.core.mapper
 
-import spock.lang.Specification
+import static net.novaware.nes.core.util.Quantity.Unit.BANK_1KB
+import static net.novaware.nes.core.util.Quantity.Unit.BANK_8KB
 
-class NROMSpec extends Specification {
+class NROMSpec extends MapperBaseSpec {
 
     def "should return correct number"() {
         given:
@@ -22,4 +23,19 @@ class NROMSpec extends Specification {
         where:
         banks << [0, 3, -1]
     }
+
+    def "should mirror single program bank and ignore writes"() {
+        given:
+        program = banks("PRG", 0x8000, BANK_8KB, 4, 2)
+        video = banks("CHR", 0x0000, BANK_1KB, 8, 8)
+        connect(new NROM(1), Mirroring.VERTICAL)
+
+        when:
+        write(0x8000, 0xFF)
+
+        then:
+        programBanks() == [0, 1, 0, 1]
+        videoBanks() == [0, 1, 2, 3, 4, 5, 6, 7]
+        nameTableBanks() == [0, 1, 0, 1]
+    }
 }
@@ -0,0 +1,39 @@
+package net.novaware.nes.core.mapper
+
+import net.novaware.nes.core.clock.ClockSync
+
+class UxROMSpec extends MapperBaseSpec {
+
+    def mapper = new UxROM()
+
+    def "should switch lower program bank and fix the last one"() {
+        given:
+        connect(mapper)
+
+        expect:
+        programBanks() == [0, 1, 14, 15]
+
+        when:
+        write(0xC123, 5)
+
+        then:
+        programBanks() == [10, 11, 14, 15]
+    }
+
+    def "should sync lagging components before switching"() {
+        given:
+        def banksOnSync = []
+        def clockSync = new ClockSync()
+        clockSync.connect { banksOnSync << programBanks() }
+
+        mapper.setClockSync(clockSync)
+        connect(mapper)
+
+        when:
+        write(0x8000, 2)
+
+        then:
+        banksOnSync == [[0, 1, 14, 15]]
+        programBanks() == [4, 5, 14, 15]
+    }
+}
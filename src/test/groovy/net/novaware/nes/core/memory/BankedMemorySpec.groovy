@@ -4,6 +4,8 @@ import net.novaware.nes.core.test.TestBus
 import net.novaware.nes.core.util.Quantity
 import spock.lang.Specification
 
+import java.nio.ByteBuffer
+
 import static net.novaware.nes.core.util.ProbeUtil.probeBus
 import static net.novaware.nes.core.util.Quantity.Unit.BANK_16KB
 import static net.novaware.nes.core.util.UTypes.UBYTE_MAX_VALUE
@@ -121,4 +123,55 @@ class BankedMemorySpec extends Specification {
         memory.access(ushort(0xF000)).read().data() == ubyte(0x44)
         memory.access(ushort(0xFFFF)).read().data() == ubyte(0x55)
     }
+
+    def "should ignore writes to read only banks"() {
+        given:
+        def data = ByteBuffer.allocate(2 * 16 * 1024)
+        data.put(0, (byte) 0x11)
+
+        def bankedMemory = new BankedMemory(
+            "NN",
+            ushort(0x8000),
+            new Quantity(1, BANK_16KB)
+        )
+        bankedMemory
+            .setPhysicalBanks(new Quantity(2, BANK_16KB))
+            .preloadPhysicalBanks(data.asReadOnlyBuffer())
+
+        bankedMemory
+            .setVirtualBanks(new Quantity(2, BANK_16KB))
+            .mapVirtualToPhysical(0, 0)
+            .mapVirtualToPhysical(1, 1)
+
+        def memory = new TestBus(bankedMemory)
+
+        when:
+        memory.access(ushort(0x8000)).write().data(ubyte(0x22))
+
+        then:
+        memory.access(ushort(0x8000)).read().data() == ubyte(0x11)
+    }
+
+    def "should report only pages of the remapped bank"() {
+        given:
+        def bankedMemory = new BankedMemory(
+            "NN",
+            ushort(0x8000),
+            new Quantity(1, BANK_16KB)
+        )
+        bankedMemory
+            .setPhysicalBanks(new Quantity(4, BANK_16KB))
+            .allocatePhysicalBanks({ UBYTE_MAX_VALUE })
+
+        bankedMemory.setVirtualBanks(new Quantity(2, BANK_16KB))
+
+        def remapped = []
+        bankedMemory.setRemapListener({ int first, int last -> remapped << [first, last] })
+
+        when:
+        bankedMemory.mapVirtualToPhysical(1, 3)
+
+        then:
+        remapped == [[0xC0, 0xFF]]
+    }
 }
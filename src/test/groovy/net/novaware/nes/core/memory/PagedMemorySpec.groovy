@@ -1,11 +1,13 @@
 package net.novaware.nes.core.memory
 
 import net.novaware.nes.core.test.TestBus
+import net.novaware.nes.core.util.Quantity
 import spock.lang.Specification
 
 import static net.novaware.nes.core.cpu.memory.CpuMemMap.*
 import static net.novaware.nes.core.ppu.memory.PpuMemMap.*
 import static net.novaware.nes.core.util.ProbeUtil.probeBus
+import static net.novaware.nes.core.util.Quantity.Unit.BANK_16KB
 import static net.novaware.nes.core.util.UTypes.*
 
 class PagedMemorySpec extends Specification {
@@ -145,4 +147,40 @@ class PagedMemorySpec extends Specification {
         1 * fallback.onAccess(randomWrite)
         1 * fallback.onWrite()
     }
+
+    def "should dispatch to every kind of page device"() {
+        given:
+        def rom = new BankedMemory("ROM", ushort(0x8000), new Quantity(1, BANK_16KB))
+            .setVirtualBanks(new Quantity(1, BANK_16KB))
+            .setPhysicalBanks(new Quantity(1, BANK_16KB))
+            .allocatePhysicalBanks({ ubyte(0x12) })
+        rom.mapVirtualToPhysical(0, 0)
+
+        def ram = new PhysicalMemory("RAM", USHORT_0, ushort(0x07FF), 0x800)
+
+        MemoryDevice.ReadWrite other = Mock() {
+            getStartAddress() >> ushort(0x4000)
+            getEndAddress() >> ushort(0x40FF)
+        }
+
+        def paged = new PagedMemory("TEST", 0x10000, new MemoryDevice.Empty())
+        paged.attach(rom)
+        paged.attach(ram)
+        paged.attach(other)
+
+        def bus = new TestBus(paged)
+
+        when:
+        bus.access(ushort(0x0001)).write().data(ubyte(0x34))
+        bus.access(ushort(0x4001)).write().data(ubyte(0x56))
+
+        then:
+        1 * other.onAccess(ushort(0x4001))
+        1 * other.onWrite()
+
+        and:
+        bus.access(ushort(0x8000)).read().data() == ubyte(0x12)
+        bus.access(ushort(0x0001)).read().data() == ubyte(0x34)
+        bus.access(ushort(0x6000)).read().data() == ubyte(0x34) // vacant, open bus keeps last value
+    }
 }
@@ -0,0 +1,48 @@
+package net.novaware.nes.core.ppu.action
+
+import spock.lang.Specification
+
+import static net.novaware.nes.core.ppu.action.Microcode.NOP
+import static net.novaware.nes.core.ppu.action.Microcode.decode
+import static net.novaware.nes.core.ppu.action.Microcode.encode
+
+class MicrocodeSpec extends Specification {
+
+    def "should encode every action into a distinct word"() {
+        given:
+        def actions = Action.stream()
+                .filter({ it != Action.NO_OPERATION && it != Action.UNKNOWN })
+                .toList()
+
+        when:
+        def words = actions.collect { encode(NOP, it) }
+
+        then:
+        words.toSet().size() == actions.size()
+        !words.contains(NOP)
+        words.every { (it & Microcode.UNLOCK) == 0 }
+        actions.every { decode(encode(NOP, it)) == [it] }
+    }
+
+    def "should decode one action per category in execution order"() {
+        given:
+        int word = NOP
+        [Action.SET_HBLANK, Action.EVAL_PRIMARY_OAM, Action.INCREMENT_X, Action.READ_SP_HI_BITS_DATA, Action.SHIFT, Action.RENDER]
+                .each { word = encode(word, it) }
+
+        expect:
+        decode(word) == [Action.RENDER, Action.SHIFT, Action.READ_SP_HI_BITS_DATA, Action.INCREMENT_X, Action.EVAL_PRIMARY_OAM, Action.SET_HBLANK]
+        Microcode.bus(word) == Microcode.SHD
+        Microcode.oam(word) == Microcode.EPO
+        Microcode.draw(word) == Microcode.RDR
+        Microcode.view(word) == Microcode.INX
+        Microcode.flag(word) == Microcode.SEH
+        (word & Microcode.RENDERING) != 0
+    }
+
+    def "should leave no operation as an empty word"() {
+        expect:
+        encode(NOP, Action.NO_OPERATION) == NOP
+        decode(NOP) == []
+    }
+}
@@ -3,6 +3,9 @@ package net.novaware.nes.core.ppu.memory
 import net.novaware.nes.core.board.inject.BoardMemModule
 import spock.lang.Specification
 
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+
 import static net.novaware.nes.core.config.CoreConfigBuilder.ntsc
 import static net.novaware.nes.core.util.UTypes.ubyte
 
@@ -27,6 +30,7 @@ class DisplayMemorySpec extends Specification {
         when:
         instance.setColor(y, x, ubyte(colorIn))
         instance.swap()
+        instance.acquire()
 
         then:
         instance.getColor(y, x) == ubyte(colorOut)
@@ -37,4 +41,73 @@ class DisplayMemorySpec extends Specification {
         120 | 128 | 0xCD    || 0x0D
         239 | 255 | 0xAB    || 0x2B
     }
+
+    def "should keep front frame until next acquire"() {
+        given:
+        def instance = new DisplayMemory("test", 2, 2)
+
+        expect:
+        !instance.acquire()
+
+        when:
+        instance.setColor(ubyte(0x01))
+        instance.swap()
+        instance.setColor(ubyte(0x02))
+
+        then:
+        instance.acquire()
+        instance.getColor(1, 1) == ubyte(0x01)
+
+        when:
+        instance.swap()
+        instance.setColor(ubyte(0x03))
+        instance.swap()
+        instance.setColor(ubyte(0x04))
+
+        then: "front frame untouched, latest published one acquired"
+        instance.getColor(1, 1) == ubyte(0x01)
+        instance.acquire()
+        instance.getColor(0, 0) == ubyte(0x03)
+        !instance.acquire()
+    }
+
+    def "should not tear frames under concurrent reader"() {
+        given:
+        def instance = BoardMemModule.provideDisplayMemory(ntsc().build())
+        int frames = 2_000
+
+        def torn = new AtomicInteger()
+        def acquired = new AtomicInteger()
+        def done = new AtomicBoolean()
+
+        def reader = Thread.start {
+            while (!done.get()) {
+                if (!instance.acquire()) {
+                    continue
+                }
+                acquired.incrementAndGet()
+
+                byte[] frame = instance.getFrame()
+                byte first = frame[0]
+                for (int i = 1; i < frame.length; i++) {
+                    if (frame[i] != first) {
+                        torn.incrementAndGet()
+                        break
+                    }
+                }
+            }
+        }
+
+        when:
+        for (int f = 1; f <= frames; f++) {
+            instance.setColor(ubyte(f)) // whole frame, one color per frame
+            instance.swap()
+        }
+        done.set(true)
+        reader.join()
+
+        then:
+        torn.get() == 0
+        acquired.get() > 0
+    }
 }
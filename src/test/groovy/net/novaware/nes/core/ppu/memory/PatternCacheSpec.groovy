@@ -0,0 +1,99 @@
+package net.novaware.nes.core.ppu.memory
+
+import net.novaware.nes.core.memory.BankedMemory
+import net.novaware.nes.core.memory.MemoryDevice
+import net.novaware.nes.core.memory.PagedMemory
+import net.novaware.nes.core.util.Quantity
+import spock.lang.Specification
+
+import static net.novaware.nes.core.ppu.memory.PpuMemMap.MEMORY_SIZE
+import static net.novaware.nes.core.util.Quantity.Unit.BANK_4KB
+import static net.novaware.nes.core.util.UTypes.UBYTE_0
+import static net.novaware.nes.core.util.UTypes.ubyte
+import static net.novaware.nes.core.util.UTypes.ushort
+
+class PatternCacheSpec extends Specification {
+
+    // example from https://www.nesdev.org/wiki/PPU_pattern_tables
+    static def squareData = [0x41, 0xC2, 0x44, 0x48, 0x10, 0x20, 0x40, 0x80, // lo plane
+                             0x01, 0x02, 0x04, 0x08, 0x16, 0x21, 0x42, 0x87] // hi plane
+
+    def chr = new BankedMemory("CHR-ROM", ushort(0x0000), new Quantity(1, BANK_4KB))
+        .setVirtualBanks(new Quantity(2, BANK_4KB))
+        .setPhysicalBanks(new Quantity(3, BANK_4KB))
+        .allocatePhysicalBanks({ UBYTE_0 })
+
+    def cache = new PatternCache()
+
+    def bus = new PpuBus(cache)
+
+    def setup() {
+        chr.mapVirtualToPhysical(0, 0).mapVirtualToPhysical(1, 1)
+
+        def cart = new PagedMemory("CART", MEMORY_SIZE, new MemoryDevice.Empty())
+        cart.attach(chr)
+        bus.attachCartridge(cart)
+    }
+
+    def "should decode rows of a tile"() {
+        given:
+        write(0x1010, squareData)
+
+        expect:
+        cache.isMapped(0x1010)
+        cache.getRow(0x1010 + sliver) == row
+        cache.getFlippedRow(0x1010 + sliver) == flipped
+
+        where:
+        sliver || row                  | flipped
+        0      || 0b0001_0000_0000_0011 | 0b1100_0000_0000_0100
+        4      || 0b0000_0011_0010_1000 | 0b0010_1000_1100_0000
+        7      || 0b1100_0000_0010_1010 | 0b1010_1000_0000_0011
+    }
+
+    def "should decode written tile again"() {
+        given:
+        write(0x0000, squareData)
+        int before = cache.getRow(0x0000)
+
+        when:
+        write(0x0000, [0xFF] * 16)
+
+        then:
+        before == 0b0001_0000_0000_0011
+        cache.getRow(0x0000) == 0xFFFF
+    }
+
+    def "should follow bank switches and keep decoded banks"() {
+        given:
+        write(0x0000, [0xFF] * 8)
+
+        when:
+        chr.mapVirtualToPhysical(0, 2)
+
+        then:
+        cache.getRow(0x0000) == 0
+
+        when:
+        chr.mapVirtualToPhysical(0, 0)
+
+        then:
+        cache.getRow(0x0000) == 0x5555
+        cache.getBankCount() == 3
+    }
+
+    def "should not map pages without direct memory"() {
+        when:
+        bus.detachCartridge()
+
+        then:
+        !cache.isMapped(0x0000)
+        !cache.isMapped(0x2000)
+    }
+
+    void write(int address, List<Integer> data) {
+        data.eachWithIndex { int value, int i ->
+            bus.access(ushort(address + i)).write().data(ubyte(value))
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package net.novaware.nes.core.ppu.memory
 
+import net.novaware.nes.core.clock.ClockSync
 import net.novaware.nes.core.memory.MemoryBus
 import net.novaware.nes.core.memory.PhysicalMemory
 import net.novaware.nes.core.ppu.inject.PpuMemModule
@@ -43,6 +44,7 @@ class PpuMemDeviceSpec extends Specification {
     def priOamAddress = PpuRegModule.providePrimaryObjAttrAddress()
     def secOamAddress = PpuRegModule.provideSecondaryObjAttrAddress()
     def resetLock = PpuRegModule.provideResetLock()
+    def clockSync = new ClockSync()
 
     def "should construct correctly"() {
         given:
@@ -84,10 +86,26 @@ class PpuMemDeviceSpec extends Specification {
             maskBackground,
             greyscale,
 
-            resetLock
+            resetLock,
+
+            clockSync
         )
     }
 
+    def "should sync clock before register access"() {
+        given:
+        MemoryBus ppuBus = Mock()
+        def ppuMemDevice = newPpuMemDev(ppuBus)
+        def syncs = 0
+        clockSync.connect { syncs++ }
+
+        when:
+        ppuMemDevice.onAccess(PPU_STATUS_REGISTER)
+
+        then:
+        syncs == 1
+    }
+
     private MemoryBus newCpuBus() {
         MemoryBus ppuBus = Mock()
         def ppuMemDevice = newPpuMemDev(ppuBus)
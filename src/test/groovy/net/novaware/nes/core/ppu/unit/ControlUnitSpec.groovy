@@ -2,6 +2,7 @@ package net.novaware.nes.core.ppu.unit
 
 import net.novaware.nes.core.config.VideoStandard
 import net.novaware.nes.core.ppu.action.Action
+import net.novaware.nes.core.ppu.action.Microcode
 import net.novaware.nes.core.ppu.action.ScanLine
 import net.novaware.nes.core.ppu.inject.PpuDepModule
 import net.novaware.nes.core.ppu.inject.PpuMemModule
@@ -18,6 +19,7 @@ import static java.util.stream.Collectors.groupingBy
 import static net.novaware.nes.core.config.CoreConfigBuilder.ntsc
 import static net.novaware.nes.core.config.VideoStandard.NTSC
 import static net.novaware.nes.core.config.VideoStandard.PAL
+import static net.novaware.nes.core.util.UTypes.ubyte
 
 class ControlUnitSpec extends Specification {
 
@@ -26,6 +28,7 @@ class ControlUnitSpec extends Specification {
     def scanLineCounter = PpuRegModule.provideLineCounter()
     def dotCounter = PpuRegModule.provideDotCounter()
     def frameToggle = PpuRegModule.provideFrameToggle()
+    def timingOnly = PpuRegModule.provideTimingOnly()
     def frameCounter = PpuRegModule.provideFrameCounter()
 
     def status = PpuRegModule.provideStatus()
@@ -53,7 +56,7 @@ class ControlUnitSpec extends Specification {
     def priObjAttrTable = PpuTabModule.providePriObjAttrTable(priObjAttrReg, priObjAttrMemory)
     def secObjAttrTable = PpuTabModule.provideSecObjAttrTable(secObjAttrReg, secObjAttrMemory)
 
-    def spriteUnit = new SpriteUnit(scanLineCounter, dotCounter, spriteSize, priObjAttrMemory, secObjAttrMemory)
+    def spriteUnit = new SpriteUnit(scanLineCounter, dotCounter, spriteSize, status, priObjAttrMemory, secObjAttrMemory)
 
     def "should construct an instance"() {
         when:
@@ -166,6 +169,132 @@ class ControlUnitSpec extends Specification {
         true      || 281   | 25  | 5
     }
 
+    def "should compile action tables into microcode"() {
+        given:
+        def cu = newCu(vs)
+
+        when:
+        int[][] microcode = cu.microcode
+
+        then:
+        microcode.length == vs.physicalHeight
+        microcode[1].is(microcode[238]) // shared per line type
+
+        (0..<vs.physicalWidth).every { dot ->
+            Microcode.decode(microcode[1][dot]) == [
+                cu.drawActions[dot], cu.shiftActions[dot], cu.busActions[dot],
+                cu.renderingViewActions[dot], cu.oamActions[dot], cu.getRenderingFlagAction(dot)
+            ].findAll { it != Action.NO_OPERATION }
+        }
+
+        (0..<vs.physicalWidth).every { dot ->
+            Microcode.decode(microcode[vs.physicalHeight - 1][dot]) == [
+                cu.getPreRenderDrawAction(dot), cu.shiftActions[dot], cu.busActions[dot],
+                cu.preRenderViewActions[dot], cu.getPreRenderFlagAction(dot)
+            ].findAll { it != Action.NO_OPERATION }
+        }
+
+        microcode[vs.physicalHeight - 1].every { (it & Microcode.UNLOCK) != 0 }
+        microcode[242].every { it == Microcode.NOP }
+        microcode[241].findAll { it != Microcode.NOP } == [Microcode.SEV << Microcode.FLAG_SHIFT]
+
+        where:
+        vs << [NTSC, PAL]
+    }
+
+    def "should strip picture from timing only microcode"() {
+        given:
+        def cu = newCu()
+        int picture = Microcode.DRAW_MASK << Microcode.DRAW_SHIFT | Microcode.SHIFT
+
+        when:
+        int[][] microcode = cu.microcode
+        int[][] timingMicrocode = cu.timingMicrocode
+
+        then:
+        timingMicrocode[1].is(timingMicrocode[238])
+        (0..<NTSC.physicalHeight).every { line ->
+            (0..<NTSC.physicalWidth).every { dot ->
+                int word = timingMicrocode[line][dot]
+                int kept = dot <= 256 ? ~picture : ~(Microcode.DRAW_MASK << Microcode.DRAW_SHIFT)
+
+                word == (microcode[line][dot] & kept)
+            }
+        }
+        timingMicrocode[1][321..336].every { (it & Microcode.SHIFT) != 0 } // prefetch refills shifters
+    }
+
+    def "should switch to timing only at the start of pre-render line"() {
+        given:
+        def cu = newCu()
+        timingOnly.set(true)
+
+        when:
+        scanLineCounter.setValue(100)
+        dotCounter.setValue(0)
+        cu.cycle()
+
+        then:
+        !cu.isTimingOnly()
+
+        when:
+        scanLineCounter.setValue(NTSC.physicalHeight - 1)
+        dotCounter.setValue(0)
+        cu.cycle()
+
+        then:
+        cu.isTimingOnly()
+    }
+
+    def "should keep status bits of a drawn frame on a timing only frame"() {
+        given:
+        def cu = newCu()
+        renderBackground.set(true)
+        renderSprite.set(true)
+
+        (0..<256).each { priObjAttrMemory.write(ubyte(it), ubyte(0xFF)) } // all below the picture
+        (0..<9).each { priObjAttrMemory.write(ubyte(it * 4), ubyte(20)) } // 9 on a line, overflow
+
+        scanLineCounter.setValue(NTSC.physicalHeight - 1)
+        dotCounter.setValue(0)
+        runFrame(cu) // settles the flags left from power on
+
+        when:
+        def drawn = runFrame(cu)
+        timingOnly.set(true)
+        def timing = runFrame(cu)
+
+        then:
+        cu.isTimingOnly()
+        drawn.any { (it[2] & 0x20) != 0 }
+        timing == drawn // sprite 0 hit is not emulated, bit 6 stays clear on both
+    }
+
+    /**
+     * @return [line, dot, $2002 bits] at every change of the status bits, from pre-render to pre-render
+     */
+    List<List<Integer>> runFrame(ControlUnit cu) {
+        int preRender = NTSC.physicalHeight - 1
+        def changes = []
+        int last = statusBits()
+
+        do {
+            cu.cycle()
+
+            int bits = statusBits()
+            if (bits != last) {
+                changes << [scanLineCounter.getValue(), dotCounter.getValue(), bits]
+                last = bits
+            }
+        } while (scanLineCounter.getValue() != preRender || dotCounter.getValue() != 0)
+
+        changes
+    }
+
+    int statusBits() {
+        (status.isVerticalBlank() ? 0x80 : 0) | (status.isSpriteZeroHit() ? 0x40 : 0) | (status.isSpriteOverflow() ? 0x20 : 0)
+    }
+
     static <T> Map<T, Long> countActions(T[] actions) {
         Stream.of(actions).collect(groupingBy(Function.identity(), counting()))
     }
@@ -187,6 +316,7 @@ class ControlUnitSpec extends Specification {
             scanLineCounter,
             dotCounter,
             frameToggle,
+            timingOnly,
             status,
             hBlank,
             vBlankInterruptEnabled,
@@ -1,6 +1,118 @@
 package net.novaware.nes.core.ppu.unit
 
+import net.novaware.nes.core.ppu.inject.PpuMemModule
+import net.novaware.nes.core.ppu.inject.PpuRegModule
 import spock.lang.Specification
 
+import static net.novaware.nes.core.util.UTypes.sint
+import static net.novaware.nes.core.util.UTypes.ubyte
+
 class SpriteUnitSpec extends Specification {
+
+    def lineCounter = PpuRegModule.provideLineCounter()
+    def dotCounter = PpuRegModule.provideDotCounter()
+    def spriteSize = PpuRegModule.provideSpriteSize()
+    def status = PpuRegModule.provideStatus()
+    def priObjAttrMemory = PpuMemModule.providePrimaryObjAttrMemory()
+    def secObjAttrMemory = PpuMemModule.provideSecondaryObjAttrMemory()
+
+    def spriteUnit = new SpriteUnit(lineCounter, dotCounter, spriteSize, status, priObjAttrMemory, secObjAttrMemory)
+
+    def setup() {
+        fill(priObjAttrMemory, 0xFF)
+        dotCounter.setValue(65)
+    }
+
+    def "should copy sprites in range of the next line in OAM order"() {
+        given:
+        sprite(5, 10, 0x55)
+        sprite(1, 12, 0x11)
+        sprite(9, 40, 0x99)
+
+        when:
+        evalLine(15)
+
+        then:
+        secondaryYs() == [12, 10, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF]
+        sint(secObjAttrMemory.read(ubyte(1))) == 0x11
+        sint(secObjAttrMemory.read(ubyte(5))) == 0x55
+        !status.isSpriteOverflow()
+    }
+
+    def "should follow Y writes and sprite size"() {
+        given:
+        sprite(3, 10, 0x33)
+
+        expect:
+        evalLine(19) == []
+
+        when:
+        spriteSize.set(true)
+
+        then:
+        evalLine(19) == [10]
+
+        when:
+        priObjAttrMemory.write(ubyte(3 * 4), ubyte(100))
+
+        then:
+        evalLine(19) == []
+        evalLine(105) == [100]
+    }
+
+    def "should set overflow for the ninth sprite in range"() {
+        given:
+        (0..8).each { sprite(it, 0, 0xFF) }
+
+        when:
+        evalLine(4)
+
+        then:
+        secondaryYs() == [0] * 8
+        status.isSpriteOverflow()
+    }
+
+    def "should emulate overflow bug with diagonal OAM reads"() {
+        given:
+        (0..7).each { sprite(it, 0, 0xFF) }
+        sprite(8, 100, 0xFF)
+        sprite(9, 200, tile9)     // out of range Y, but its tile gets compared as Y
+        sprite(10, 0, 0xFF)       // in range Y, compared at wrong byte
+
+        when:
+        evalLine(4)
+
+        then:
+        status.isSpriteOverflow() == overflow
+
+        where:
+        tile9 || overflow
+        0x02  || true  // false positive
+        0xFF  || false // false negative, entry 10 is read at its attributes
+    }
+
+    List<Integer> evalLine(int line) {
+        fill(secObjAttrMemory, 0xFF)
+        lineCounter.setValue(line - 1)
+        spriteUnit.eval()
+
+        secondaryYs().findAll { it != 0xFF }
+    }
+
+    List<Integer> secondaryYs() {
+        (0..<8).collect { sint(secObjAttrMemory.read(ubyte(it * 4))) }
+    }
+
+    void sprite(int n, int y, int tile) {
+        priObjAttrMemory.write(ubyte(n * 4), ubyte(y))
+        priObjAttrMemory.write(ubyte(n * 4 + 1), ubyte(tile))
+        priObjAttrMemory.write(ubyte(n * 4 + 2), ubyte(0xFF)) // 0xE3 stored, out of range as Y
+        priObjAttrMemory.write(ubyte(n * 4 + 3), ubyte(0xFF))
+    }
+
+    static void fill(def memory, int value) {
+        for (int i = 0; i < memory.getSize(); i++) {
+            memory.write(ubyte(i), ubyte(value))
+        }
+    }
 }
@@ -84,6 +84,35 @@ class TimingUnitSpec extends Specification {
         PAL  | true | true | true  |  311 |   340 || true   | false  |     0 |      0 | "next frame"
     }
 
+    def "should step a whole line like dot by dot"() {
+        given:
+        frameToggle.set(true)
+        renderBackground.set(true)
+        lineCounter.setValue(line)
+
+        def grid = newActionGrid(NTSC)
+
+        when:
+        grid.incrementLine()
+
+        then:
+        lineCounter.getValue() == line + 1
+        dotCounter.getValue() == 0
+        frameCounter.getValue() == 0
+
+        when: "next line is the pre-render one with the skipped dot"
+        for (int dot = 0; dot < 340; dot++) {
+            grid.increment()
+        }
+
+        then:
+        lineCounter.getValue() == (line + 1 == 261 ? 0 : line + 1)
+        frameCounter.getValue() == (line + 1 == 261 ? 1 : 0)
+
+        where:
+        line << [0, 239, 260]
+    }
+
     def "should print dots and lines"() {
         given:
         renderBackground.set(true)
@@ -1,18 +1,20 @@
 package net.novaware.nes.core.util
 
 import net.novaware.nes.core.TestNesCore
-import net.novaware.nes.core.cart.Cartridge
 import net.novaware.nes.core.cpu.instruction.Instruction
 import net.novaware.nes.core.cpu.memory.CpuBus
 import net.novaware.nes.core.cpu.register.CpuInsFile
 import net.novaware.nes.core.cpu.register.CpuRegFile
-import net.novaware.nes.core.file.NesFileBuilder
+import net.novaware.nes.core.memory.MemoryDevice
+import net.novaware.nes.core.memory.PagedMemory
+import net.novaware.nes.core.memory.PhysicalMemory
 import net.novaware.nes.core.memory.RecordingDevice
 import spock.lang.Specification
 
 import static UTypes.ubyte
 import static UTypes.ushort
 import static net.novaware.nes.core.cpu.memory.CpuMemMap.MEMORY_END
+import static net.novaware.nes.core.cpu.memory.CpuMemMap.MEMORY_SIZE
 import static net.novaware.nes.core.cpu.memory.CpuMemMap.MEMORY_START
 
 class RegsAndRamBaseSpec extends Specification {
@@ -24,12 +26,17 @@ class RegsAndRamBaseSpec extends Specification {
 
     CpuBus bus = factory.newCpuBus() as CpuBus
 
-    Cartridge cart = Cartridge.of(NesFileBuilder.marioBros().build())
+    // writable unlike PRG-ROM under a mapper, so tests can put code and vectors anywhere in $6000-$FFFF
+    PhysicalMemory wram = new PhysicalMemory("TEST.WRAM", ushort(0x6000), ushort(0x7FFF), 0x2000)
+    PhysicalMemory prg = new PhysicalMemory("TEST.PRG", ushort(0x8000), ushort(0xFFFF), 0x8000)
+    PagedMemory cart = new PagedMemory("CART", MEMORY_SIZE, new MemoryDevice.Empty())
 
     RecordingDevice rec = new RecordingDevice(MEMORY_START, MEMORY_END, factory.getCpuCycleCounter())
 
     def setup() {
-        bus.attachCartridge(cart.getCpuBusDevice())
+        cart.attach(wram)
+        cart.attach(prg)
+        bus.attachCartridge(cart)
         bus.attachExpansion(rec)
     }
 
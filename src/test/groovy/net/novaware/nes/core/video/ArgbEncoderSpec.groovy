@@ -0,0 +1,54 @@
+package net.novaware.nes.core.video
+
+import net.novaware.nes.core.ppu.memory.DisplayMemory
+import net.novaware.nes.core.ppu.unit.PaletteData
+import spock.lang.Specification
+
+import static net.novaware.nes.core.ppu.memory.DisplayMemory.TINT_BLUE
+import static net.novaware.nes.core.ppu.memory.DisplayMemory.TINT_GREYSCALE
+import static net.novaware.nes.core.ppu.memory.DisplayMemory.TINT_RED
+import static net.novaware.nes.core.util.UTypes.ubyte
+
+class ArgbEncoderSpec extends Specification {
+
+    def palette = new PaletteData()
+
+    def encoder = new ArgbEncoder(palette)
+
+    def "should look up opaque palette colors without tint"() {
+        expect:
+        (0..<ArgbEncoder.COLORS).every { int color ->
+            encoder.getArgb(0, ubyte(color)) == ((int) 0xFF000000 | palette.getColor(ubyte(color)))
+        }
+    }
+
+    def "should attenuate channels not emphasized"() {
+        expect:
+        encoder.getArgb(TINT_RED, ubyte(0x30)) == (int) 0xFFF8B9B9   // 0xF8F8F8, green and blue * 0.746
+        encoder.getArgb(TINT_RED | TINT_BLUE, ubyte(0x30)) == (int) 0xFFB9B9B9
+        encoder.getArgb(TINT_RED, ubyte(0x0F)) == (int) 0xFF000000   // blacks untouched
+    }
+
+    def "should drop hue in greyscale"() {
+        expect:
+        encoder.getArgb(TINT_GREYSCALE, ubyte(0x16)) == encoder.getArgb(0, ubyte(0x10))
+    }
+
+    def "should encode frame rows with their tints"() {
+        given:
+        def display = new DisplayMemory("test", 2, 3)
+        display.setColor(ubyte(0x16))
+        display.setTint(1, TINT_GREYSCALE)
+        display.swap()
+        display.acquire()
+
+        int[] argb = new int[6]
+
+        when:
+        encoder.encode(display, argb)
+
+        then:
+        argb[0..2].every { it == encoder.getArgb(0, ubyte(0x16)) }
+        argb[3..5].every { it == encoder.getArgb(0, ubyte(0x10)) }
+    }
+}
@@ -0,0 +1,96 @@
+package net.novaware.nes.core.video
+
+import net.novaware.nes.core.board.inject.BoardMemModule
+import net.novaware.nes.core.config.BorderRegion
+import net.novaware.nes.core.port.internal.DisplayPortImpl
+import net.novaware.nes.core.ppu.inject.PpuRegModule
+import net.novaware.nes.core.ppu.register.PpuMaskRegister
+import spock.lang.Specification
+
+import static net.novaware.nes.core.config.CoreConfigBuilder.ntsc
+import static net.novaware.nes.core.ppu.memory.DisplayMemory.TINT_GREYSCALE
+import static net.novaware.nes.core.util.UTypes.sint
+import static net.novaware.nes.core.util.UTypes.ubyte
+
+class VideoEncoderSpec extends Specification {
+
+    def config = ntsc().build()
+    def border = BorderRegion.NTSC
+
+    def videoOut = PpuRegModule.provideVideoOutRegister()
+    def mask = new PpuMaskRegister(
+        PpuRegModule.provideEmphasizeRed(),
+        PpuRegModule.provideEmphasizeGreen(),
+        PpuRegModule.provideEmphasizeBlue(),
+        PpuRegModule.provideRenderSprite(),
+        PpuRegModule.provideRenderBackground(),
+        PpuRegModule.provideMaskSprite(),
+        PpuRegModule.provideMaskBackground(),
+        PpuRegModule.provideGreyscale()
+    )
+    def display = BoardMemModule.provideDisplayMemory(config)
+    def displayPort = new DisplayPortImpl(display)
+    def frames = 0
+
+    def encoder = new VideoEncoder(config, videoOut, mask, display, displayPort)
+
+    def setup() {
+        displayPort.connect { frames++ }
+        frames = 0
+    }
+
+    def "should fill the frame and copy completed lines after the border"() {
+        given:
+        videoOut.setFill(ubyte(0x21))
+        encoder.cycle()
+
+        (0..<256).each { videoOut.setLineColor(it, ubyte(it & 0x3F)) }
+        videoOut.setLine(10)
+        mask.greyscale.set(true)
+
+        when:
+        encoder.cycle(341)
+        publish()
+
+        then:
+        !videoOut.isFillReady()
+        !videoOut.isLineReady()
+        sint(display.getColor(0, 0)) == 0x21
+        display.getTint(0) == 0
+        display.getTint(border.top + 10) == TINT_GREYSCALE
+        (0..<256).every { x -> sint(display.getColor(border.top + 10, border.left + x)) == (x & 0x3F) }
+    }
+
+    def "should publish the frame after the last line only"() {
+        when:
+        videoOut.setLine(238)
+        encoder.cycle(341)
+
+        then:
+        frames == 0
+
+        when:
+        videoOut.setLine(239)
+        encoder.cycle(85)
+
+        then:
+        frames == 1
+        display.acquire()
+    }
+
+    def "should do nothing without completed lines"() {
+        when:
+        encoder.cycle(341)
+        encoder.cycle()
+
+        then:
+        frames == 0
+        !display.acquire()
+    }
+
+    void publish() {
+        videoOut.setLine(239)
+        encoder.cycle()
+        display.acquire()
+    }
+}
@@ -0,0 +1,100 @@
+package net.novaware.nes.core.video
+
+import net.novaware.nes.core.config.Overscan
+import spock.lang.Specification
+
+class VideoFilterSpec extends Specification {
+
+    static VideoFrame frame(int width, int height, Closure<Integer> pixel) {
+        def frame = new VideoFrame(width, height)
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                frame.getPixels()[y * width + x] = pixel(y, x)
+            }
+        }
+        frame
+    }
+
+    static int[] pixelsOf(VideoFrame frame) {
+        frame.getPixels()[0..<(frame.getWidth() * frame.getHeight())] as int[]
+    }
+
+    def "should crop overscan"() {
+        given:
+        def input = frame(256 + 27, 240 + 2) { y, x -> y << 16 | x }
+
+        when:
+        def output = new VideoFilter(2, CropStage.of(Overscan.NTSC)).withCloseable { it.apply(input) }
+
+        then:
+        output.getWidth() == 256
+        output.getHeight() == 226
+        output.getPixel(0, 0) == (8 << 16 | 16)
+        output.getPixel(225, 255) == (233 << 16 | 271)
+    }
+
+    def "should scale by integer factor"() {
+        given:
+        def input = frame(2, 1) { y, x -> x + 1 }
+
+        when:
+        def output = new VideoFilter(2, new ScaleStage(3)).withCloseable { it.apply(input) }
+
+        then:
+        output.getWidth() == 6
+        output.getHeight() == 3
+        (0..<3).every { int y -> (0..<6).every { int x -> output.getPixel(y, x) == x.intdiv(3) + 1 } }
+    }
+
+    def "should round diagonal edges with scale2x"() {
+        given: "diagonal from top left to bottom right"
+        def input = frame(3, 3) { y, x -> y == x ? 1 : 0 }
+
+        when:
+        def output = new VideoFilter(2, new Scale2xStage()).withCloseable { it.apply(input) }
+
+        then:
+        output.getWidth() == 6
+        output.getHeight() == 6
+        output.getPixel(2, 2) == 1 // line stays
+        output.getPixel(3, 3) == 1
+        output.getPixel(1, 2) == 1 // steps get filled
+        output.getPixel(2, 1) == 1
+        output.getPixel(0, 5) == 0 // away from the line
+    }
+
+    def "should keep flat colors through ntsc filter"() {
+        given:
+        def input = frame(64, 4) { y, x -> 0xFF336699 as int }
+
+        when:
+        def output = new VideoFilter(2, new NtscStage()).withCloseable { it.apply(input) }
+
+        then:
+        pixelsOf(output).every { Math.abs((it & 0xFF) - 0x99) <= 1 && (it >>> 24) == 0xFF }
+    }
+
+    def "should produce the same picture in bands and reuse buffers"() {
+        given:
+        def random = new Random(42)
+        def input = frame(64, 100) { y, x -> random.nextInt() }
+        def stages = [CropStage.of(Overscan.PAL), new Scale2xStage(), new NtscStage(), new ScaleStage(2)] as VideoStage[]
+
+        def parallel = new VideoFilter(4, stages)
+        def single = new VideoFilter(1, stages)
+
+        when:
+        def first = parallel.apply(input)
+        def firstPixels = pixelsOf(first)
+        def second = parallel.apply(input)
+
+        then:
+        second.is(first)
+        pixelsOf(second) == firstPixels
+        pixelsOf(single.apply(input)) == firstPixels
+
+        cleanup:
+        parallel.close()
+        single.close()
+    }
+}
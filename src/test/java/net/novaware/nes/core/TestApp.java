@@ -39,7 +39,10 @@ public class TestApp {
         final DefaultDisplayModel displayModel = new DefaultDisplayModel();
         board.getDisplayPort().connect(
             displayMemory ->
-                SwingUtilities.invokeLater(() -> displayModel.setPixels(displayMemory))
+                SwingUtilities.invokeLater(() -> {
+                    displayMemory.acquire(); // EDT is the only consumer
+                    displayModel.setPixels(displayMemory);
+                })
         );
         SwingUtilities.invokeLater(()-> TestUI.createAndShowGui(displayModel, keyState));
 
@@ -32,8 +32,8 @@ import net.novaware.nes.core.port.internal.PortModule;
 import net.novaware.nes.core.ppu.Ppu;
 import net.novaware.nes.core.ppu.inject.PpuModule;
 import net.novaware.nes.core.ppu.register.PpuRegFile;
+import net.novaware.nes.core.register.CounterView;
 import net.novaware.nes.core.register.DelegatingRegister;
-import net.novaware.nes.core.register.IntegerCounter;
 
 import static net.novaware.nes.core.cpu.inject.CpuVarName.BUS;
 import static net.novaware.nes.core.cpu.inject.CpuVarName.CC;
@@ -78,7 +78,7 @@ public abstract class TestNesCore { // TODO: consider TestSubjectFactory name
     public abstract MemoryBus newCpuBus();
 
     @CpuVar(CC)
-    public abstract IntegerCounter getCpuCycleCounter();
+    public abstract CounterView getCpuCycleCounter();
 
     @CpuVar(DO)
     public abstract DelegatingRegister newDecodedOperand();
@@ -2,12 +2,14 @@ package net.novaware.nes.core.ui;
 
 import net.novaware.nes.core.ppu.memory.DisplayMemory;
 import net.novaware.nes.core.ppu.unit.PaletteData;
-import org.checkerframework.checker.signedness.qual.Unsigned;
+import net.novaware.nes.core.video.ArgbEncoder;
 
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 import javax.swing.event.EventListenerList;
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 
 public class DefaultDisplayModel implements DisplayModel {
 
@@ -17,6 +19,9 @@ public class DefaultDisplayModel implements DisplayModel {
     private DisplayMemory pixels; // TODO: do not expose display mem like that?
     protected PaletteData paletteData = new PaletteData();
 
+    private final ArgbEncoder argbEncoder = new ArgbEncoder(paletteData);
+    private BufferedImage image;
+
     @Override
     public void addChangeListener(ChangeListener listener) {
         listeners.add(ChangeListener.class, listener);
@@ -29,9 +34,12 @@ public class DefaultDisplayModel implements DisplayModel {
 
     @Override
     public Color getColor(int y, int x) { // TODO: model should know what is the y, x ranges?
-        @Unsigned byte index = pixels.getColor(y, x);
-        Color color = paletteData.getColorObj(index);
-        return color;
+        return new Color(image.getRGB(x, y));
+    }
+
+    @Override
+    public Image getImage() {
+        return image;
     }
 
     protected void fireStateChanged() {
@@ -50,6 +58,14 @@ public class DefaultDisplayModel implements DisplayModel {
 
     public void setPixels(DisplayMemory pixels) {
         this.pixels = pixels;
+
+        if (image == null || image.getWidth() != pixels.getWidth() || image.getHeight() != pixels.getHeight()) {
+            image = new BufferedImage(pixels.getWidth(), pixels.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        }
+
+        // straight into the raster, no per pixel calls
+        argbEncoder.encode(pixels, ((DataBufferInt) image.getRaster().getDataBuffer()).getData());
+
         fireStateChanged();
     }
 
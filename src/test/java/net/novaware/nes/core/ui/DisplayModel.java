@@ -10,4 +10,11 @@ public interface DisplayModel {
     void removeChangeListener(ChangeListener l);
 
     Color getColor(int y, int x);
+
+    /**
+     * @return whole frame to draw at once, null to draw pixel by pixel
+     */
+    default Image getImage() {
+        return null;
+    }
 }
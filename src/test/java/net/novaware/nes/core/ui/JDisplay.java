@@ -48,6 +48,8 @@ public class JDisplay extends JComponent implements ChangeListener {
 
     private boolean drawMask = true;
 
+    private static final Color SCANLINE_MASK = new Color(0, 0, 0, 0x50);
+
     public JDisplay(DisplayModel model, AtomicInteger keyState) {
         this.model = model;
         this.keyState = keyState;
@@ -151,6 +153,13 @@ public class JDisplay extends JComponent implements ChangeListener {
         pixelWidth = pixelHeight * 8 / 7; // TODO: support PAL too
         paddingLeft = (width - pixelWidth * screenWidth) / 2;
 
+        Image image = model.getImage();
+
+        if (image != null) {
+            paintImage(g, image);
+            return;
+        }
+
         for (int y = 0; y < screenHeight; y++) {
             for (int x = 0; x < screenWidth; x++) {
                 Color pixelColor = model.getColor(y, x);
@@ -182,6 +191,20 @@ public class JDisplay extends JComponent implements ChangeListener {
 //        System.out.println("Frame render time: " + renderTime);
     }
 
+    private void paintImage(Graphics g, Image image) {
+        g.drawImage(image, paddingLeft, paddingTop, screenWidth * pixelWidth, screenHeight * pixelHeight, null);
+
+        // https://en.wikipedia.org/wiki/Moir%C3%A9_pattern
+        if (pixelWidth > 1 && pixelHeight > 1 && drawMask) {
+            g.setColor(SCANLINE_MASK);
+
+            for (int y = 0; y < screenHeight; y++) {
+                int rectYPlusH = paddingTop + (y * pixelHeight) + pixelHeight - 1;
+                g.drawLine(paddingLeft, rectYPlusH, paddingLeft + screenWidth * pixelWidth - 1, rectYPlusH);
+            }
+        }
+    }
+
     @Override
     public void stateChanged(ChangeEvent e) {
         repaint();